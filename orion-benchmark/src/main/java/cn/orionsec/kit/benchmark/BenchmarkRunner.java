@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.benchmark;
+
+import cn.orionsec.kit.lang.constant.OrionConst;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * 基准测试运行器
+ * <p>
+ * 运行结果以 JSON 格式写入 {@code target/jmh-result-<version>.json}, 用于不同版本之间对比
+ * <p>
+ * 参数为需要运行的基准测试正则, 为空则运行全部
+ * 可以使用 {@code -Dbenchmark.result} 指定结果文件, {@code -Dbenchmark.threads} 指定线程数
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar              # 使用 jmh 默认入口
+ * java -cp target/benchmarks.jar cn.orionsec.kit.benchmark.BenchmarkRunner hash cache
+ * </pre>
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/30 10:20
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULT_DIR = "target";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String result = System.getProperty("benchmark.result",
+                RESULT_DIR + File.separator + "jmh-result-" + OrionConst.ORION_KIT_VERSION + ".json");
+        File resultFile = new File(result);
+        File parent = resultFile.getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.getAbsolutePath());
+        if (args.length == 0) {
+            builder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        } else {
+            for (String include : args) {
+                builder.include(include);
+            }
+        }
+        String threads = System.getProperty("benchmark.threads");
+        if (threads != null) {
+            builder.threads(Integer.parseInt(threads));
+        }
+        new Runner(builder.build()).run();
+        System.out.println("benchmark result: " + resultFile.getAbsolutePath());
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.benchmark.cache;
+
+import cn.orionsec.kit.lang.define.cache.LruCache;
+import cn.orionsec.kit.lang.define.cache.TimedCache;
+import cn.orionsec.kit.lang.define.cache.TimedCacheBuilder;
+import cn.orionsec.kit.lang.define.cache.TinyLfuCache;
+import cn.orionsec.kit.lang.define.cache.TinyLfuCacheBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地缓存基准测试
+ * <p>
+ * 键空间为容量的 4 倍, 并发测试分为纯读与读写 (3:1) 两组
+ * {@link LruCache} 非线程安全, 并发测试时使用 {@link Collections#synchronizedMap(Map)} 包装
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/30 11:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final int CAPACITY = 1 << 14;
+
+    private static final int KEY_SPACE = CAPACITY * 4;
+
+    private String[] keys;
+
+    private TinyLfuCache<String, String> tinyLfu;
+
+    private Map<String, String> lru;
+
+    private TimedCache<String> timed;
+
+    @Setup
+    public void setup() {
+        this.keys = new String[KEY_SPACE];
+        for (int i = 0; i < KEY_SPACE; i++) {
+            keys[i] = "key-" + i;
+        }
+        this.tinyLfu = TinyLfuCacheBuilder.create(CAPACITY);
+        this.lru = Collections.synchronizedMap(LruCache.create(CAPACITY));
+        this.timed = TimedCacheBuilder.<String>create()
+                .expireAfter(60_000)
+                .checkInterval(1000)
+                .build();
+        for (int i = 0; i < CAPACITY; i++) {
+            tinyLfu.put(keys[i], keys[i]);
+            lru.put(keys[i], keys[i]);
+            timed.put(keys[i], keys[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        timed.close();
+    }
+
+    @Benchmark
+    public String tinyLfuGet() {
+        return tinyLfu.get(this.nextKey());
+    }
+
+    @Benchmark
+    public String tinyLfuPut() {
+        String key = this.nextKey();
+        return tinyLfu.put(key, key);
+    }
+
+    @Benchmark
+    public String lruGet() {
+        return lru.get(this.nextKey());
+    }
+
+    @Benchmark
+    public String lruPut() {
+        String key = this.nextKey();
+        return lru.put(key, key);
+    }
+
+    @Benchmark
+    public String timedGet() {
+        return timed.get(this.nextKey());
+    }
+
+    @Benchmark
+    public String timedPut() {
+        String key = this.nextKey();
+        return timed.put(key, key);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String tinyLfuGetConcurrent() {
+        return tinyLfu.get(this.nextKey());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String lruGetConcurrent() {
+        return lru.get(this.nextKey());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String timedGetConcurrent() {
+        return timed.get(this.nextKey());
+    }
+
+    @Benchmark
+    @Group("tinyLfuMixed")
+    @GroupThreads(6)
+    public String tinyLfuMixedGet() {
+        return tinyLfu.get(this.nextKey());
+    }
+
+    @Benchmark
+    @Group("tinyLfuMixed")
+    @GroupThreads(2)
+    public String tinyLfuMixedPut() {
+        String key = this.nextKey();
+        return tinyLfu.put(key, key);
+    }
+
+    @Benchmark
+    @Group("lruMixed")
+    @GroupThreads(6)
+    public String lruMixedGet() {
+        return lru.get(this.nextKey());
+    }
+
+    @Benchmark
+    @Group("lruMixed")
+    @GroupThreads(2)
+    public String lruMixedPut() {
+        String key = this.nextKey();
+        return lru.put(key, key);
+    }
+
+    @Benchmark
+    @Group("timedMixed")
+    @GroupThreads(6)
+    public String timedMixedGet() {
+        return timed.get(this.nextKey());
+    }
+
+    @Benchmark
+    @Group("timedMixed")
+    @GroupThreads(2)
+    public String timedMixedPut() {
+        String key = this.nextKey();
+        return timed.put(key, key);
+    }
+
+    private String nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(KEY_SPACE)];
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.benchmark.convert;
+
+import cn.orionsec.kit.lang.function.Conversion;
+import cn.orionsec.kit.lang.utils.convert.Converts;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 类型转换基准测试
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/30 10:41
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvertsBenchmark {
+
+    private String number;
+
+    private Integer integer;
+
+    private Long timestamp;
+
+    private Conversion<String, Integer> compiled;
+
+    private List<String> numbers;
+
+    @Setup
+    public void setup() {
+        this.number = "123456";
+        this.integer = 123456;
+        this.timestamp = System.currentTimeMillis();
+        this.compiled = Converts.compile(String.class, Integer.class);
+        this.numbers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            numbers.add(String.valueOf(i));
+        }
+    }
+
+    @Benchmark
+    public Integer stringToInteger() {
+        return Converts.to(number, Integer.class);
+    }
+
+    @Benchmark
+    public Integer compiledStringToInteger() {
+        return compiled.apply(number);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public List<Integer> toList() {
+        return Converts.toList(numbers, Integer.class);
+    }
+
+    @Benchmark
+    public String integerToString() {
+        return Converts.to(integer, String.class);
+    }
+
+    @Benchmark
+    public BigDecimal stringToDecimal() {
+        return Converts.to(number, BigDecimal.class);
+    }
+
+    @Benchmark
+    public Date longToDate() {
+        return Converts.to(timestamp, Date.class);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer stringToIntegerConcurrent() {
+        return Converts.to(number, Integer.class);
+    }
+
+}
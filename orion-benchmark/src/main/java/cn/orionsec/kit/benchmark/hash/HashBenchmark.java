@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.benchmark.hash;
+
+import cn.orionsec.kit.lang.utils.hash.CityHash;
+import cn.orionsec.kit.lang.utils.hash.Hashes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 非加密哈希基准测试
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/30 11:02
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashBenchmark {
+
+    @Param({"16", "256", "4096"})
+    private int length;
+
+    private byte[] data;
+
+    @Setup
+    public void setup() {
+        this.data = new byte[length];
+        ThreadLocalRandom.current().nextBytes(data);
+    }
+
+    @Benchmark
+    public int murmur32() {
+        return Hashes.murmur32(data);
+    }
+
+    @Benchmark
+    public long murmur64() {
+        return Hashes.murmur64(data);
+    }
+
+    @Benchmark
+    public long[] murmur128() {
+        return Hashes.murmur128(data);
+    }
+
+    @Benchmark
+    public int cityHash32() {
+        return CityHash.hash32(data);
+    }
+
+    @Benchmark
+    public long cityHash64() {
+        return CityHash.hash64(data);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long murmur64Concurrent() {
+        return Hashes.murmur64(data);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long cityHash64Concurrent() {
+        return CityHash.hash64(data);
+    }
+
+}
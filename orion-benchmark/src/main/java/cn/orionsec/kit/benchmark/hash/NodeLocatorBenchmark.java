@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.benchmark.hash;
+
+import cn.orionsec.kit.lang.utils.hash.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一致性 hash 查找基准测试
+ * <p>
+ * 200 个节点, 每个节点 160 个虚拟节点
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/1 14:40
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeLocatorBenchmark {
+
+    private static final int NODES = 200;
+
+    private static final int KEYS = 1 << 16;
+
+    private String[] keys;
+
+    private ConsistentHash<String> consistentHash;
+
+    private HashRing<String> ring;
+
+    private JumpConsistentHash<String> jump;
+
+    private RendezvousHash<String> rendezvous;
+
+    @Setup
+    public void setup() {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add("10.0." + (i / 256) + "." + (i % 256) + ":6379");
+        }
+        this.keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "user:session:" + i;
+        }
+        this.consistentHash = new ConsistentHash<>(HashRing.DEFAULT_REPLICAS, nodes);
+        this.ring = HashRing.of(nodes);
+        this.jump = JumpConsistentHash.of(nodes);
+        this.rendezvous = RendezvousHash.of(nodes);
+    }
+
+    @Benchmark
+    public String consistentHash() {
+        return consistentHash.get(this.nextKey());
+    }
+
+    @Benchmark
+    public String hashRing() {
+        return ring.get(this.nextKey());
+    }
+
+    @Benchmark
+    public String jump() {
+        return jump.get(this.nextKey());
+    }
+
+    @Benchmark
+    public String rendezvous() {
+        return rendezvous.get(this.nextKey());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String hashRingConcurrent() {
+        return ring.get(this.nextKey());
+    }
+
+    private String nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(KEYS)];
+    }
+
+}
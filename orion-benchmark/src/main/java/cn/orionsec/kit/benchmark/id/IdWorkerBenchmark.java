@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.benchmark.id;
+
+import cn.orionsec.kit.lang.id.AtomicIdWorker;
+import cn.orionsec.kit.lang.id.SequenceIdWorker;
+import cn.orionsec.kit.lang.id.SnowFlakeIdWorker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * id 生成器基准测试
+ * <p>
+ * synchronized 实现与 CAS 实现对比, 使用 {@link #main(String[])} 以 1 ~ 64 线程分别运行
+ * <p>
+ * 注意: 毫秒内序列为 4096, 单节点吞吐上限为 4096 id/ms
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/29 15:40
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdWorkerBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    private SnowFlakeIdWorker snowFlake;
+
+    private SequenceIdWorker sequence;
+
+    private AtomicIdWorker atomicSnowFlake;
+
+    private AtomicIdWorker atomicSequence;
+
+    @Setup
+    public void setup() {
+        this.snowFlake = new SnowFlakeIdWorker(1, 1);
+        this.sequence = new SequenceIdWorker(1, 1);
+        this.atomicSnowFlake = AtomicIdWorker.snowFlake(1, 1);
+        this.atomicSequence = AtomicIdWorker.sequence(1, 1);
+    }
+
+    @Benchmark
+    public Long synchronizedSnowFlake() {
+        return snowFlake.nextId();
+    }
+
+    @Benchmark
+    public long atomicSnowFlake() {
+        return atomicSnowFlake.nextLongId();
+    }
+
+    @Benchmark
+    public Long synchronizedSequence() {
+        return sequence.nextId();
+    }
+
+    @Benchmark
+    public long atomicSequence() {
+        return atomicSequence.nextLongId();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public long[] atomicSnowFlakeBatch() {
+        return atomicSnowFlake.nextIds(100);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int thread : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(IdWorkerBenchmark.class.getSimpleName())
+                    .threads(thread)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.benchmark.reflect;
+
+import cn.orionsec.kit.lang.utils.reflect.BeanCopier;
+import cn.orionsec.kit.lang.utils.reflect.BeanMap;
+import cn.orionsec.kit.lang.utils.reflect.BeanWrapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * bean 复制基准测试
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/30 10:50
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanWrapperBenchmark {
+
+    private User source;
+
+    private BeanCopier<User, User> copier;
+
+    @Setup
+    public void setup() {
+        this.source = new User();
+        source.setId(1L);
+        source.setName("admin");
+        source.setAge(18);
+        source.setEmail("admin@orionsec.cn");
+        source.setCreateTime(new Date());
+        this.copier = BeanCopier.create(User.class, User.class);
+    }
+
+    @Benchmark
+    public User copyToClass() {
+        return BeanWrapper.copyProperties(source, User.class);
+    }
+
+    @Benchmark
+    public User copyToTarget() {
+        User target = new User();
+        BeanWrapper.copyProperties(source, target);
+        return target;
+    }
+
+    @Benchmark
+    public User copierToTarget() {
+        User target = new User();
+        copier.copy(source, target);
+        return target;
+    }
+
+    @Benchmark
+    public BeanMap beanMap() {
+        return BeanMap.create(source);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public User copyToClassConcurrent() {
+        return BeanWrapper.copyProperties(source, User.class);
+    }
+
+    public static class User {
+
+        private Long id;
+
+        private String name;
+
+        private Integer age;
+
+        private String email;
+
+        private Date createTime;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+
+        public void setAge(Integer age) {
+            this.age = age;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+
+        public Date getCreateTime() {
+            return createTime;
+        }
+
+        public void setCreateTime(Date createTime) {
+            this.createTime = createTime;
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.benchmark.strings;
+
+import cn.orionsec.kit.lang.define.StringTemplate;
+import cn.orionsec.kit.lang.utils.Strings;
+import cn.orionsec.kit.lang.utils.json.matcher.ReplacementFormatter;
+import cn.orionsec.kit.lang.utils.json.matcher.ReplacementFormatters;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字符串格式化基准测试
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/30 10:32
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringsBenchmark {
+
+    private static final String INDEX_TEMPLATE = "user {} login from {} at {}, retry {}";
+
+    private static final String KEY_TEMPLATE = "user ${name} login from ${address} at ${time}, retry ${retry}";
+
+    private static final String JSON = "{\"user\":{\"name\":\"admin\",\"address\":\"127.0.0.1\"},\"time\":\"2025-09-30 10:32:00\",\"retry\":3}";
+
+    private static final String JSON_TEMPLATE = "user ${user.name} login from ${user.address} at ${time}, retry ${retry}";
+
+    private Object[] args;
+
+    private StringTemplate indexTemplate;
+
+    private StringTemplate keyTemplate;
+
+    private ReplacementFormatter formatter;
+
+    private StringBuilder buffer;
+
+    private Map<String, Object> map;
+
+    @Setup
+    public void setup() {
+        this.args = new Object[]{"admin", "127.0.0.1", "2025-09-30 10:32:00", 3};
+        this.map = new HashMap<>();
+        map.put("name", "admin");
+        map.put("address", "127.0.0.1");
+        map.put("time", "2025-09-30 10:32:00");
+        map.put("retry", 3);
+        this.indexTemplate = StringTemplate.positional(INDEX_TEMPLATE);
+        this.keyTemplate = StringTemplate.compile(KEY_TEMPLATE);
+        this.formatter = ReplacementFormatters.create();
+        this.buffer = new StringBuilder(128);
+    }
+
+    @Benchmark
+    public String formatIndex() {
+        return Strings.format(INDEX_TEMPLATE, args);
+    }
+
+    @Benchmark
+    public String formatMap() {
+        return Strings.format(KEY_TEMPLATE, map);
+    }
+
+    @Benchmark
+    public String compiledIndex() {
+        return indexTemplate.format(args);
+    }
+
+    @Benchmark
+    public int compiledMapReuseBuffer() {
+        buffer.setLength(0);
+        return keyTemplate.render(buffer, map::get).length();
+    }
+
+    @Benchmark
+    public String formatJson() {
+        return formatter.format(JSON_TEMPLATE, JSON);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String formatIndexConcurrent() {
+        return Strings.format(INDEX_TEMPLATE, args);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String formatMapConcurrent() {
+        return Strings.format(KEY_TEMPLATE, map);
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.benchmark.strings;
+
+import cn.orionsec.kit.lang.utils.Xsses;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * xss 清理基准测试 对比原正则实现
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 11:40
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XssesBenchmark {
+
+    private static final Pattern SCRIPT = Pattern.compile("<[\\s]*?script[^>]*?>[\\s\\S]*?<[\\s]*?\\/[\\s]*?script[\\s]*?>", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern STYLE = Pattern.compile("<[\\s]*?style[^>]*?>[\\s\\S]*?<[\\s]*?\\/[\\s]*?style[\\s]*?>", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>", Pattern.CASE_INSENSITIVE);
+
+    private static final String PLAIN = "user_name-12345.example";
+
+    private static final String HTML = "<p>hello <b>world</b></p> & 'quote' <script>alert(1)</script>";
+
+    @Benchmark
+    public String regexHtml() {
+        return regexClean(HTML);
+    }
+
+    @Benchmark
+    public String scanHtml() {
+        return Xsses.clean(HTML);
+    }
+
+    @Benchmark
+    public String regexPlain() {
+        return regexClean(PLAIN);
+    }
+
+    @Benchmark
+    public String scanPlain() {
+        return Xsses.clean(PLAIN);
+    }
+
+    /**
+     * 原正则实现
+     */
+    private static String regexClean(String s) {
+        if (s.trim().isEmpty()) {
+            return s;
+        }
+        s = SCRIPT.matcher(s).replaceAll("");
+        s = STYLE.matcher(s).replaceAll("");
+        s = HTML_TAG.matcher(s).replaceAll("");
+        s = s.replaceAll("&", "&amp;");
+        s = s.replaceAll("<", "&lt;");
+        s = s.replaceAll(">", "&gt;");
+        s = s.replaceAll(" ", "&nbsp;");
+        s = s.replaceAll("'", "&apos;");
+        s = s.replaceAll("\"", "&quot;");
+        s = s.replaceAll("\n", "<br/>");
+        s = s.replaceAll("\t", "&nbsp;&nbsp;&nbsp;&nbsp;");
+        return s;
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.benchmark.time;
+
+import cn.orionsec.kit.lang.utils.time.cron.Cron;
+import cn.orionsec.kit.lang.utils.time.cron.CronEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * cron 计算下次执行时间基准测试
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/30 11:18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CronBenchmark {
+
+    @Param({"0/5 * * * * ?", "0 15 10 ? * MON-FRI", "0 0 12 L * ?", "0 0 0 29 2 ? *"})
+    private String expression;
+
+    private Cron cron;
+
+    private CronEvaluator evaluator;
+
+    private Date date;
+
+    @Setup
+    public void setup() {
+        this.cron = new Cron(expression);
+        this.evaluator = cron.getEvaluator();
+        this.date = new Date();
+    }
+
+    @Benchmark
+    public Date nextValidTimeAfter() {
+        return cron.getNextValidTimeAfter(date);
+    }
+
+    @Benchmark
+    public long evaluatorNextTime() {
+        return evaluator.nextTime(date.getTime());
+    }
+
+    @Benchmark
+    public long evaluatorNextTimes() {
+        return evaluator.nextTimes(date.getTime(), 10).sum();
+    }
+
+    @Benchmark
+    public Date parseAndNext() {
+        return new Cron(expression).getNextValidTimeAfter(date);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Date nextValidTimeAfterConcurrent() {
+        return cron.getNextValidTimeAfter(date);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long evaluatorNextTimeConcurrent() {
+        return evaluator.nextTime(date.getTime());
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.benchmark.time;
+
+import cn.orionsec.kit.lang.utils.time.format.FastDateFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期格式化基准测试
+ * <p>
+ * {@link FastDateFormat} 线程安全, 并发测试共享同一个实例
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/30 11:10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FastDateFormatBenchmark {
+
+    private static final String PATTERN = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    private FastDateFormat format;
+
+    private Date date;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        this.format = FastDateFormat.getInstance(PATTERN);
+        this.date = new Date();
+        this.text = format.format(date);
+    }
+
+    @Benchmark
+    public String format() {
+        return format.format(date);
+    }
+
+    @Benchmark
+    public Date parse() {
+        return format.parse(text);
+    }
+
+    @Benchmark
+    public String getInstanceAndFormat() {
+        return FastDateFormat.getInstance(PATTERN).format(date);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String formatConcurrent() {
+        return format.format(date);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Date parseConcurrent() {
+        return format.parse(text);
+    }
+
+}
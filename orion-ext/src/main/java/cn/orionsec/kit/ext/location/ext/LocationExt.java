@@ -27,6 +27,7 @@
 package cn.orionsec.kit.ext.location.ext;
 
 import cn.orionsec.kit.ext.location.Region;
+import cn.orionsec.kit.ext.location.ext.core.ConcurrentLocationSeeker;
 import cn.orionsec.kit.ext.location.ext.core.IpLocation;
 import cn.orionsec.kit.ext.location.ext.core.LocationSeeker;
 import cn.orionsec.kit.ext.location.region.LocationRegions;
@@ -44,6 +45,8 @@ import java.io.InputStream;
 
 /**
  * 纯真ip 地理位置提取器 cz88
+ * <p>
+ * 查询使用线程安全的 {@link ConcurrentLocationSeeker}
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -51,11 +54,6 @@ import java.io.InputStream;
  */
 public class LocationExt {
 
-    /**
-     * 查询器
-     */
-    private static final LocationSeeker SEEKER;
-
     /**
      * dat文件
      */
@@ -76,7 +74,6 @@ public class LocationExt {
         try {
             InputStream source = LocationRegions.class.getClassLoader().getResourceAsStream("region.dat");
             init = Files1.resourceToFile(source, new File(DAT_PATH), Const.GBK);
-            SEEKER = new LocationSeeker(DAT_PATH);
         } catch (IOException e) {
             throw Exceptions.init("region ext init error", e);
         }
@@ -87,11 +84,22 @@ public class LocationExt {
 
     /**
      * 获取 seeker 实例
+     * <p>
+     * 非线程安全
      *
      * @return 实例
      */
     public static LocationSeeker getSeeker() {
-        return SEEKER;
+        return SeekerHolder.SEEKER;
+    }
+
+    /**
+     * 获取线程安全的 seeker 实例
+     *
+     * @return 实例
+     */
+    public static ConcurrentLocationSeeker getConcurrentSeeker() {
+        return ConcurrentSeekerHolder.SEEKER;
     }
 
     /**
@@ -105,7 +113,7 @@ public class LocationExt {
             return null;
         }
         try {
-            return SEEKER.getCountry(ip);
+            return ConcurrentSeekerHolder.SEEKER.getCountry(ip);
         } catch (Exception e) {
             throw Exceptions.runtime(Strings.format("country query error ip: {}", ip), e);
         }
@@ -122,7 +130,7 @@ public class LocationExt {
             return null;
         }
         try {
-            return SEEKER.getAddress(ip);
+            return ConcurrentSeekerHolder.SEEKER.getAddress(ip);
         } catch (Exception e) {
             throw Exceptions.runtime(Strings.format("address query error ip: {}", ip), e);
         }
@@ -139,7 +147,7 @@ public class LocationExt {
             return null;
         }
         try {
-            return SEEKER.getArea(ip);
+            return ConcurrentSeekerHolder.SEEKER.getArea(ip);
         } catch (Exception e) {
             throw Exceptions.runtime(Strings.format("area query error ip: {}", ip), e);
         }
@@ -156,7 +164,7 @@ public class LocationExt {
             return null;
         }
         try {
-            return SEEKER.getIpLocation(ip);
+            return ConcurrentSeekerHolder.SEEKER.getIpLocation(ip);
         } catch (Exception e) {
             throw Exceptions.runtime(Strings.format("location query error ip: {}", ip), e);
         }
@@ -173,10 +181,24 @@ public class LocationExt {
             return null;
         }
         try {
-            return SEEKER.getRegion(ip);
+            return ConcurrentSeekerHolder.SEEKER.getRegion(ip);
         } catch (Exception e) {
             throw Exceptions.runtime(Strings.format("region query error ip: {}", ip), e);
         }
     }
 
+    /**
+     * 查询器 首次使用时创建
+     */
+    private static class SeekerHolder {
+        private static final LocationSeeker SEEKER = new LocationSeeker(DAT_PATH);
+    }
+
+    /**
+     * 并发查询器 首次使用时创建
+     */
+    private static class ConcurrentSeekerHolder {
+        private static final ConcurrentLocationSeeker SEEKER = new ConcurrentLocationSeeker(DAT_PATH);
+    }
+
 }
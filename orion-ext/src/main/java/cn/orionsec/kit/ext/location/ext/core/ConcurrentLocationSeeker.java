@@ -0,0 +1,471 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.ext.location.ext.core;
+
+import cn.orionsec.kit.ext.location.LocationConst;
+import cn.orionsec.kit.ext.location.Region;
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.define.cache.TinyLfuCache;
+import cn.orionsec.kit.lang.define.cache.TinyLfuCacheBuilder;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程安全的 ip 查询器
+ * <p>
+ * 创建时将纯真 ip 库文件只读映射到内存, 查询只使用绝对位置读取, 读取位置保存在调用栈中, 所以可以无锁并发查询
+ * 查询结果缓存在有界的 {@link TinyLfuCache} 中, 缓存 key 为 ipv4 的 int 值
+ * <p>
+ * 记录查询次数, 缓存命中率以及文件查询耗时
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/4 10:30
+ */
+public class ConcurrentLocationSeeker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentLocationSeeker.class);
+
+    /**
+     * 默认缓存数量
+     */
+    public static final int DEFAULT_CACHE_SIZE = 65536;
+
+    private static final int IP_RECORD_LENGTH = 7;
+
+    private static final byte AREA_FOLLOWED = 0x01;
+
+    private static final byte NO_AREA = 0x02;
+
+    private static final Charset GBK = Charset.forName(Const.GBK);
+
+    /**
+     * ip 库映射
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * 第一条索引的偏移
+     */
+    private final int ipBegin;
+
+    /**
+     * 最后一条索引的偏移
+     */
+    private final int ipEnd;
+
+    /**
+     * 缓存
+     */
+    private final TinyLfuCache<Integer, IpLocation> cache;
+
+    /**
+     * 查询次数
+     */
+    private final LongAdder lookups;
+
+    /**
+     * 文件查询次数
+     */
+    private final LongAdder searches;
+
+    /**
+     * 文件查询总耗时
+     */
+    private final LongAdder searchNanos;
+
+    /**
+     * 文件查询最大耗时
+     */
+    private final LongAccumulator maxSearchNanos;
+
+    public ConcurrentLocationSeeker(String file) {
+        this(new File(file), DEFAULT_CACHE_SIZE);
+    }
+
+    public ConcurrentLocationSeeker(File file) {
+        this(file, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param file      ip 库文件
+     * @param cacheSize 缓存数量
+     */
+    public ConcurrentLocationSeeker(File file, int cacheSize) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+        this.ipBegin = buffer.getInt(0);
+        this.ipEnd = buffer.getInt(4);
+        if (ipBegin < 8 || ipEnd < ipBegin || ipEnd + IP_RECORD_LENGTH > buffer.capacity()) {
+            throw Exceptions.parse("illegal ip location file: " + file);
+        }
+        this.cache = TinyLfuCacheBuilder.create(Math.max(cacheSize, 1));
+        this.lookups = new LongAdder();
+        this.searches = new LongAdder();
+        this.searchNanos = new LongAdder();
+        this.maxSearchNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * 根据 ip 得到国家
+     *
+     * @param ip ip
+     * @return 国家
+     */
+    public String getCountry(String ip) {
+        return this.getIpLocation(ip).getCountry();
+    }
+
+    /**
+     * 根据 ip 得到地区
+     *
+     * @param ip ip
+     * @return 地区
+     */
+    public String getArea(String ip) {
+        return this.getIpLocation(ip).getArea();
+    }
+
+    /**
+     * 获取 ip 的地址
+     *
+     * @param ip ip
+     * @return 国家 地区
+     */
+    public String getAddress(String ip) {
+        IpLocation location = this.getIpLocation(ip);
+        return (location.getCountry() + Strings.SPACE + location.getArea()).trim();
+    }
+
+    /**
+     * 解析 ip 地址对应的国家省份信息
+     *
+     * @param ip ipv4
+     * @return region
+     */
+    public Region getRegion(String ip) {
+        Region info = new Region();
+        if (ip == null || ip.trim().isEmpty()) {
+            return info;
+        }
+        try {
+            SeekerSupport.fillRegion(info, this.getIpLocation(ip).getCountry());
+        } catch (Exception e) {
+            LOGGER.error("ConcurrentLocationSeeker.getRegion error ip: {}", ip, e);
+        }
+        return info;
+    }
+
+    /**
+     * 根据 ip 搜索 ip 信息
+     *
+     * @param ip ip
+     * @return IpLocation
+     */
+    public IpLocation getIpLocation(String ip) {
+        return this.getIpLocation(parseIpv4(ip));
+    }
+
+    /**
+     * 根据 ip 搜索 ip 信息
+     * <p>
+     * 返回的对象会被缓存共享
+     *
+     * @param ip ipv4 的 int 值 (无符号)
+     * @return IpLocation
+     */
+    public IpLocation getIpLocation(int ip) {
+        lookups.increment();
+        Integer key = ip;
+        IpLocation location = cache.get(key);
+        if (location != null) {
+            return location;
+        }
+        long start = System.nanoTime();
+        location = this.search(ip);
+        long used = System.nanoTime() - start;
+        searches.increment();
+        searchNanos.add(used);
+        maxSearchNanos.accumulate(used);
+        cache.put(key, location);
+        return location;
+    }
+
+    /**
+     * @return 查询次数
+     */
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    /**
+     * @return 缓存命中次数
+     */
+    public long getCacheHits() {
+        return cache.getHits();
+    }
+
+    /**
+     * @return 缓存命中率
+     */
+    public double getCacheHitRate() {
+        return cache.getHitsRate();
+    }
+
+    /**
+     * @return 当前缓存数量
+     */
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * @return 文件查询次数
+     */
+    public long getSearchCount() {
+        return searches.sum();
+    }
+
+    /**
+     * @return 文件查询平均耗时 纳秒
+     */
+    public long getAverageSearchNanos() {
+        long count = searches.sum();
+        return count == 0 ? 0 : searchNanos.sum() / count;
+    }
+
+    /**
+     * @return 文件查询最大耗时 纳秒
+     */
+    public long getMaxSearchNanos() {
+        return maxSearchNanos.get();
+    }
+
+    /**
+     * 重置统计
+     */
+    public void resetMetrics() {
+        lookups.reset();
+        searches.reset();
+        searchNanos.reset();
+        maxSearchNanos.reset();
+        cache.resetStats();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * 解析 ipv4
+     *
+     * @param ip ip
+     * @return int 值 格式错误抛出异常
+     */
+    public static int parseIpv4(String ip) {
+        if (ip == null) {
+            throw Exceptions.argument("ip is null");
+        }
+        int value = 0, part = 0, digits = 0, dots = 0;
+        for (int i = 0, length = ip.length(); i < length; i++) {
+            char c = ip.charAt(i);
+            if (c == '.') {
+                if (digits == 0 || ++dots > 3) {
+                    throw Exceptions.argument("illegal ipv4: " + ip);
+                }
+                value = (value << 8) | part;
+                part = 0;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                part = part * 10 + (c - '0');
+                if (++digits > 3 || part > 255) {
+                    throw Exceptions.argument("illegal ipv4: " + ip);
+                }
+            } else {
+                throw Exceptions.argument("illegal ipv4: " + ip);
+            }
+        }
+        if (dots != 3 || digits == 0) {
+            throw Exceptions.argument("illegal ipv4: " + ip);
+        }
+        return (value << 8) | part;
+    }
+
+    /**
+     * 查询文件
+     *
+     * @param ip ip
+     * @return location
+     */
+    private IpLocation search(int ip) {
+        int offset = this.locate(ip & 0xFFFFFFFFL);
+        if (offset == -1) {
+            IpLocation location = new IpLocation();
+            location.country = LocationConst.UNKNOWN;
+            location.area = LocationConst.UNKNOWN;
+            return location;
+        }
+        return this.readLocation(offset);
+    }
+
+    /**
+     * 二分查找起始 ip 小于等于 ip 的最后一条索引, 并检查结束 ip
+     *
+     * @param ip ip
+     * @return 记录偏移 没找到返回 -1
+     */
+    private int locate(long ip) {
+        int low = 0, high = (ipEnd - ipBegin) / IP_RECORD_LENGTH;
+        if (ip < this.getUnsignedInt(ipBegin)) {
+            return -1;
+        }
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (this.getUnsignedInt(ipBegin + mid * IP_RECORD_LENGTH) <= ip) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int record = this.getInt3(ipBegin + low * IP_RECORD_LENGTH + 4);
+        // 记录的前 4 个字节为结束 ip
+        return ip <= this.getUnsignedInt(record) ? record : -1;
+    }
+
+    /**
+     * 读取记录
+     *
+     * @param offset 记录偏移
+     * @return location
+     */
+    private IpLocation readLocation(int offset) {
+        IpLocation location = new IpLocation();
+        // 跳过4字节ip
+        int position = offset + 4;
+        byte b = buffer.get(position);
+        int areaOffset;
+        if (b == AREA_FOLLOWED) {
+            int countryOffset = this.getInt3(position + 1);
+            // 国家可能再次重定向
+            if (buffer.get(countryOffset) == NO_AREA) {
+                location.country = this.readString(this.getInt3(countryOffset + 1));
+                areaOffset = countryOffset + 4;
+            } else {
+                location.country = this.readString(countryOffset);
+                areaOffset = this.stringEnd(countryOffset) + 1;
+            }
+        } else if (b == NO_AREA) {
+            location.country = this.readString(this.getInt3(position + 1));
+            areaOffset = offset + 8;
+        } else {
+            location.country = this.readString(position);
+            areaOffset = this.stringEnd(position) + 1;
+        }
+        location.area = this.readArea(areaOffset);
+        return location;
+    }
+
+    /**
+     * 读取地区
+     *
+     * @param offset 偏移
+     * @return 地区
+     */
+    private String readArea(int offset) {
+        byte b = buffer.get(offset);
+        if (b == AREA_FOLLOWED || b == NO_AREA) {
+            int areaOffset = this.getInt3(offset + 1);
+            if (areaOffset == 0) {
+                return LocationConst.UNKNOWN;
+            }
+            return this.readString(areaOffset);
+        }
+        return this.readString(offset);
+    }
+
+    /**
+     * 读取以 0 结束的字符串
+     *
+     * @param offset 偏移
+     * @return 字符串
+     */
+    private String readString(int offset) {
+        int end = this.stringEnd(offset);
+        if (end == offset) {
+            return Strings.EMPTY;
+        }
+        byte[] bytes = new byte[end - offset];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, GBK);
+    }
+
+    /**
+     * 查找字符串结束位置
+     *
+     * @param offset 偏移
+     * @return 0 的位置
+     */
+    private int stringEnd(int offset) {
+        int end = offset;
+        while (buffer.get(end) != 0) {
+            end++;
+        }
+        return end;
+    }
+
+    private long getUnsignedInt(int offset) {
+        return buffer.getInt(offset) & 0xFFFFFFFFL;
+    }
+
+    private int getInt3(int offset) {
+        return (buffer.get(offset) & 0xFF)
+                | ((buffer.get(offset + 1) & 0xFF) << 8)
+                | ((buffer.get(offset + 2) & 0xFF) << 16);
+    }
+
+}
@@ -26,6 +26,8 @@
  */
 package cn.orionsec.kit.ext.location.ext.core;
 
+import cn.orionsec.kit.ext.location.Region;
+import cn.orionsec.kit.lang.constant.Const;
 import cn.orionsec.kit.lang.utils.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -134,4 +136,99 @@ public class SeekerSupport {
                 .toString();
     }
 
+    /**
+     * 解析国家信息中的省市
+     * <p>
+     * 格式为: xxx省(xxx市)(xxx县/区)
+     *
+     * @param info    区域
+     * @param country 国家信息
+     */
+    public static void fillRegion(Region info, String country) {
+        if ("局域网".equals(country)) {
+            info.setCountry("中国");
+            info.setProvince("上海市");
+        } else if (country != null && !country.trim().isEmpty()) {
+            // 可解析 格式为: xxx省(xxx市)(xxx县/区)
+            country = country.trim();
+            int length = country.length();
+            int index = country.indexOf('省');
+            if (index > 0) {
+                // 23个省ip
+                info.setCountry("中国");
+                if (index == length - 1) {
+                    // 格式为 xx省
+                    info.setProvince(country);
+                } else {
+                    // 格式为 xx省xx市
+                    info.setProvince(country.substring(0, index + 1));
+                    int cityIndex = country.indexOf('市', index);
+                    if (cityIndex > 0) {
+                        info.setCity(country.substring(index + 1, Math.min(cityIndex + 1, length)));
+                    }
+                }
+            } else {
+                // 5个自治区 4个直辖市 2个特别行政区 ip
+                String h = country.substring(0, 2);
+                switch (h) {
+                    case "内蒙":
+                        info.setCountry("中国");
+                        info.setProvince("内蒙古自治区");
+                        country = country.substring(3);
+                        if (!country.isEmpty()) {
+                            index = country.indexOf('市');
+                            if (index > 0) {
+                                info.setCity(country.substring(0, Math.min(index + 1, country.length())));
+                            }
+                        }
+                        break;
+                    case "广西":
+                    case "西藏":
+                    case "宁夏":
+                    case "新疆":
+                        info.setCountry("中国");
+                        info.setProvince(h);
+                        country = country.substring(2);
+                        if (!country.isEmpty()) {
+                            index = country.indexOf('市');
+                            if (index > 0) {
+                                info.setCity(country.substring(0, Math.min(index + 1, country.length())));
+                            }
+                        }
+                        break;
+                    case "上海":
+                    case "北京":
+                    case "天津":
+                    case "重庆":
+                        info.setCountry("中国");
+                        info.setProvince(h + "市");
+                        country = country.substring(3);
+                        if (!country.isEmpty()) {
+                            index = country.indexOf('区');
+                            if (index > 0) {
+                                char ch = country.charAt(index - 1);
+                                if (ch != '校' || ch != '小') {
+                                    info.setCity(country.substring(0, Math.min(index + 1, country.length())));
+                                }
+                            }
+                            if (Const.UNKNOWN.equals(info.getCity())) {
+                                index = country.indexOf('县');
+                                if (index > 0) {
+                                    info.setCity(country.substring(0, Math.min(index + 1, country.length())));
+                                }
+                            }
+                        }
+                        break;
+                    case "香港":
+                    case "澳门":
+                        info.setCountry("中国");
+                        info.setProvince(h + "特别行政区");
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
+
 }
@@ -30,6 +30,8 @@ import cn.orionsec.kit.ext.location.Region;
 import cn.orionsec.kit.ext.location.region.block.DataBlock;
 import cn.orionsec.kit.ext.location.region.config.DbConfig;
 import cn.orionsec.kit.ext.location.region.core.DbSearcher;
+import cn.orionsec.kit.ext.location.region.core.RegionSupport;
+import cn.orionsec.kit.ext.location.region.core.MappedDbSearcher;
 import cn.orionsec.kit.lang.constant.Const;
 import cn.orionsec.kit.lang.define.builder.StringJoiner;
 import cn.orionsec.kit.lang.utils.Exceptions;
@@ -44,6 +46,8 @@ import java.io.InputStream;
 
 /**
  * ip查询地址提取器 ip2region
+ * <p>
+ * db 文件映射到内存后无锁查询, 线程安全
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -66,7 +70,7 @@ public class LocationRegions {
     /**
      * 搜索器
      */
-    private static final DbSearcher SEARCHER;
+    private static final MappedDbSearcher SEARCHER;
 
     private LocationRegions() {
     }
@@ -76,7 +80,7 @@ public class LocationRegions {
         try {
             InputStream source = LocationRegions.class.getClassLoader().getResourceAsStream("region.db");
             init = Files1.resourceToFile(source, new File(DB_PATH), Const.GBK);
-            SEARCHER = new DbSearcher(new DbConfig(), DB_PATH);
+            SEARCHER = new MappedDbSearcher(new DbConfig(), DB_PATH);
         } catch (IOException e) {
             throw Exceptions.init("location region 服务初始化异常", e);
         }
@@ -111,6 +115,46 @@ public class LocationRegions {
         return new Region(rs[0], rs[1], rs[2], rs[3], rs[4]);
     }
 
+    /**
+     * 批量获取ip信息
+     *
+     * @param ips ip
+     * @return 国家|区域|省|市|网络 与 ips 顺序一致
+     */
+    public static Region[] getRegions(String[] ips) {
+        return getRegions(ips, DbSearcher.BTREE_ALGORITHM);
+    }
+
+    /**
+     * 批量获取ip信息
+     *
+     * @param ips       ip
+     * @param algorithm 算法 1: b+tree 2: 二进制 3: 内存
+     * @return 国家|区域|省|市|网络 与 ips 顺序一致
+     */
+    public static Region[] getRegions(String[] ips, int algorithm) {
+        Region[] regions = new Region[ips.length];
+        for (int i = 0; i < ips.length; i++) {
+            regions[i] = getRegion(ips[i], algorithm);
+        }
+        return regions;
+    }
+
+    /**
+     * 批量获取ip信息
+     *
+     * @param ips       ip
+     * @param algorithm 算法 1: b+tree 2: 二进制 3: 内存
+     * @return 国家|区域|省|市|网络 与 ips 顺序一致
+     */
+    public static String[] getAddresses(String[] ips, int algorithm) {
+        String[] addresses = new String[ips.length];
+        for (int i = 0; i < ips.length; i++) {
+            addresses[i] = getAddress(ips[i], algorithm);
+        }
+        return addresses;
+    }
+
     /**
      * 获取ip信息
      *
@@ -133,18 +177,7 @@ public class LocationRegions {
             if (!IPs.isIpv4(ip)) {
                 return UNKNOWN;
             }
-            DataBlock dataBlock;
-            switch (algorithm) {
-                case DbSearcher.BINARY_ALGORITHM:
-                    dataBlock = SEARCHER.binarySearch(ip);
-                    break;
-                case DbSearcher.MEMORY_ALGORITHM:
-                    dataBlock = SEARCHER.memorySearch(ip);
-                    break;
-                case DbSearcher.BTREE_ALGORITHM:
-                default:
-                    dataBlock = SEARCHER.btreeSearch(ip);
-            }
+            DataBlock dataBlock = SEARCHER.search(RegionSupport.ip2long(ip), algorithm);
             if (dataBlock != null) {
                 return dataBlock.getRegion();
             } else {
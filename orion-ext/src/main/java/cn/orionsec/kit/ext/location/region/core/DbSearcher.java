@@ -38,6 +38,10 @@ import java.io.RandomAccessFile;
 import java.nio.charset.StandardCharsets;
 
 /**
+ * ip2region 搜索器
+ * <p>
+ * 查询时移动共享的文件指针, 非线程安全, 并发查询使用 {@link MappedDbSearcher}
+ *
  * @author Jiahang Li
  */
 public class DbSearcher {
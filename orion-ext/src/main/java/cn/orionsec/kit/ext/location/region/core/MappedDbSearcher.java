@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.ext.location.region.core;
+
+import cn.orionsec.kit.ext.location.region.block.DataBlock;
+import cn.orionsec.kit.ext.location.region.block.IndexBlock;
+import cn.orionsec.kit.ext.location.region.config.DbConfig;
+import cn.orionsec.kit.lang.utils.Exceptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 线程安全的 ip2region 搜索器
+ * <p>
+ * 创建时将 db 文件只读映射到内存, 并解析 super block 和 header block
+ * 查询只使用绝对位置读取映射区域, 不移动文件指针也不修改共享状态, 所以可以无锁并发查询
+ * 查询过程不会创建缓冲区, 区域字符串按数据指针缓存
+ * <p>
+ * 算法与 {@link DbSearcher} 相同, MEMORY 算法首次使用时将整个文件读入堆内存
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/3 10:20
+ */
+public class MappedDbSearcher {
+
+    /**
+     * header block 大小
+     */
+    private static final int HEADER_BLOCK_SIZE = 4096;
+
+    private static final int SUPER_BLOCK_SIZE = 8;
+
+    private static final int INDEX_BLOCK_LENGTH = IndexBlock.getIndexBlockLength();
+
+    /**
+     * db配置项
+     */
+    private final DbConfig dbConfig;
+
+    /**
+     * db 映射
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * header blocks
+     */
+    private final long[] headerSip;
+
+    private final int[] headerPtr;
+
+    private final int headerLength;
+
+    /**
+     * super blocks info
+     */
+    private final long firstIndexPtr;
+
+    private final int totalIndexBlocks;
+
+    /**
+     * 数据指针 -> 区域
+     */
+    private final Map<Integer, String> regions;
+
+    /**
+     * for memory mode
+     */
+    private volatile byte[] dbBinStr;
+
+    public MappedDbSearcher(DbConfig dbConfig, String dbFile) {
+        this(dbConfig, new File(dbFile));
+    }
+
+    public MappedDbSearcher(DbConfig dbConfig, File dbFile) {
+        this.dbConfig = dbConfig;
+        try (FileChannel channel = FileChannel.open(dbFile.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.load();
+            this.buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+        // super block
+        this.firstIndexPtr = this.getIntLong(0);
+        long lastIndexPtr = this.getIntLong(4);
+        this.totalIndexBlocks = (int) ((lastIndexPtr - firstIndexPtr) / INDEX_BLOCK_LENGTH) + 1;
+        // header block
+        int len = HEADER_BLOCK_SIZE >> 3, idx = 0;
+        this.headerSip = new long[len];
+        this.headerPtr = new int[len];
+        for (int i = 0; i < HEADER_BLOCK_SIZE; i += 8) {
+            long startIp = this.getIntLong(SUPER_BLOCK_SIZE + i);
+            long dataPtr = this.getIntLong(SUPER_BLOCK_SIZE + i + 4);
+            if (dataPtr == 0) {
+                break;
+            }
+            headerSip[idx] = startIp;
+            headerPtr[idx] = (int) dataPtr;
+            idx++;
+        }
+        this.headerLength = idx;
+        this.regions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 查询
+     *
+     * @param ip        ip
+     * @param algorithm 算法 {@link DbSearcher#BTREE_ALGORITHM} {@link DbSearcher#BINARY_ALGORITHM} {@link DbSearcher#MEMORY_ALGORITHM}
+     * @return DataBlock 未查询到返回 null
+     */
+    public DataBlock search(long ip, int algorithm) {
+        switch (algorithm) {
+            case DbSearcher.BINARY_ALGORITHM:
+                return this.binarySearch(ip);
+            case DbSearcher.MEMORY_ALGORITHM:
+                return this.memorySearch(ip);
+            case DbSearcher.BTREE_ALGORITHM:
+            default:
+                return this.btreeSearch(ip);
+        }
+    }
+
+    /**
+     * 使用内存二进制算法获取IP区域
+     *
+     * @param ip ip
+     * @return DataBlock
+     */
+    public DataBlock memorySearch(long ip) {
+        byte[] db = this.loadMemory();
+        int l = 0, h = totalIndexBlocks - 1;
+        long sip, eip, dataptr = 0;
+        while (l <= h) {
+            int m = (l + h) >> 1;
+            int p = (int) (firstIndexPtr + m * INDEX_BLOCK_LENGTH);
+            sip = RegionSupport.getIntLong(db, p);
+            if (ip < sip) {
+                h = m - 1;
+            } else {
+                eip = RegionSupport.getIntLong(db, p + 4);
+                if (ip > eip) {
+                    l = m + 1;
+                } else {
+                    dataptr = RegionSupport.getIntLong(db, p + 8);
+                    break;
+                }
+            }
+        }
+        return this.getDataBlock(dataptr);
+    }
+
+    public DataBlock memorySearch(String ip) {
+        return this.memorySearch(RegionSupport.ip2long(ip));
+    }
+
+    /**
+     * 使用B+TREE算法获取IP区域
+     *
+     * @param ip ip
+     * @return DataBlock
+     */
+    public DataBlock btreeSearch(long ip) {
+        if (headerLength == 0) {
+            return null;
+        }
+        // 1. define the index block with the binary search
+        if (ip == headerSip[0]) {
+            return this.getByIndexPtr(headerPtr[0]);
+        } else if (ip == headerSip[headerLength - 1]) {
+            return this.getByIndexPtr(headerPtr[headerLength - 1]);
+        }
+        int l = 0, h = headerLength, sptr = 0, eptr = 0;
+        while (l <= h) {
+            int m = (l + h) >> 1;
+            if (ip == headerSip[m]) {
+                if (m > 0) {
+                    sptr = headerPtr[m - 1];
+                    eptr = headerPtr[m];
+                } else {
+                    sptr = headerPtr[m];
+                    eptr = headerPtr[m + 1];
+                }
+                break;
+            }
+            if (ip < headerSip[m]) {
+                if (m == 0) {
+                    sptr = headerPtr[m];
+                    eptr = headerPtr[m + 1];
+                    break;
+                } else if (ip > headerSip[m - 1]) {
+                    sptr = headerPtr[m - 1];
+                    eptr = headerPtr[m];
+                    break;
+                }
+                h = m - 1;
+            } else {
+                if (m == headerLength - 1) {
+                    sptr = headerPtr[m - 1];
+                    eptr = headerPtr[m];
+                    break;
+                } else if (ip <= headerSip[m + 1]) {
+                    sptr = headerPtr[m];
+                    eptr = headerPtr[m + 1];
+                    break;
+                }
+                l = m + 1;
+            }
+        }
+        if (sptr == 0) {
+            return null;
+        }
+        // 2. search the index blocks to define the data, include the right border block
+        return this.getDataBlock(this.searchIndex(ip, sptr, (eptr - sptr) / INDEX_BLOCK_LENGTH));
+    }
+
+    public DataBlock btreeSearch(String ip) {
+        return this.btreeSearch(RegionSupport.ip2long(ip));
+    }
+
+    /**
+     * 使用二进制算法获取IP区域
+     *
+     * @param ip ip
+     * @return DataBlock
+     */
+    public DataBlock binarySearch(long ip) {
+        return this.getDataBlock(this.searchIndex(ip, firstIndexPtr, totalIndexBlocks - 1));
+    }
+
+    public DataBlock binarySearch(String ip) {
+        return this.binarySearch(RegionSupport.ip2long(ip));
+    }
+
+    /**
+     * 通过索引获取数据
+     *
+     * @param ptr 索引指针
+     * @return DataBlock
+     */
+    public DataBlock getByIndexPtr(long ptr) {
+        return this.getDataBlock(this.getIntLong((int) ptr + 8));
+    }
+
+    public DbConfig getDbConfig() {
+        return dbConfig;
+    }
+
+    /**
+     * 二分查找索引块
+     *
+     * @param ip    ip
+     * @param start 起始索引指针
+     * @param high  最大索引块下标 (包含)
+     * @return dataptr 未找到返回 0
+     */
+    private long searchIndex(long ip, long start, int high) {
+        int l = 0, h = high;
+        long sip, eip;
+        while (l <= h) {
+            int m = (l + h) >> 1;
+            int p = (int) (start + m * INDEX_BLOCK_LENGTH);
+            sip = this.getIntLong(p);
+            if (ip < sip) {
+                h = m - 1;
+            } else {
+                eip = this.getIntLong(p + 4);
+                if (ip > eip) {
+                    l = m + 1;
+                } else {
+                    return this.getIntLong(p + 8);
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 读取数据块
+     *
+     * @param dataptr 数据长度 &lt;&lt; 24 | 数据指针
+     * @return DataBlock
+     */
+    private DataBlock getDataBlock(long dataptr) {
+        if (dataptr == 0) {
+            return null;
+        }
+        int dataLen = (int) ((dataptr >> 24) & 0xFF);
+        int dataPtr = (int) ((dataptr & 0x00FFFFFF));
+        int cityId = (int) this.getIntLong(dataPtr);
+        String region = regions.get(dataPtr);
+        if (region == null) {
+            byte[] data = new byte[dataLen - 4];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = buffer.get(dataPtr + 4 + i);
+            }
+            region = new String(data, StandardCharsets.UTF_8);
+            regions.putIfAbsent(dataPtr, region);
+        }
+        return new DataBlock(cityId, region, dataPtr);
+    }
+
+    /**
+     * 加载整个文件到内存
+     *
+     * @return db
+     */
+    private byte[] loadMemory() {
+        byte[] db = dbBinStr;
+        if (db == null) {
+            synchronized (this) {
+                db = dbBinStr;
+                if (db == null) {
+                    db = new byte[buffer.capacity()];
+                    ByteBuffer source = buffer.duplicate();
+                    source.clear();
+                    source.get(db);
+                    this.dbBinStr = db;
+                }
+            }
+        }
+        return db;
+    }
+
+    private long getIntLong(int offset) {
+        return buffer.getInt(offset) & 0xFFFFFFFFL;
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.location;
+
+import cn.orionsec.kit.ext.location.ext.core.ConcurrentLocationSeeker;
+import cn.orionsec.kit.ext.location.ext.core.LocationSeeker;
+import cn.orionsec.kit.lang.utils.Threads;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并发 ip 查询器测试
+ * <p>
+ * 生成与纯真 ip 库结构相同的文件 (包含三种记录格式), 对比 {@link LocationSeeker} 的结果
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/4 14:10
+ */
+public class ConcurrentLocationSeekerTests {
+
+    private static final Charset GBK = Charset.forName("GBK");
+
+    private static final int RANGES = 3000;
+
+    private static final String[] COUNTRIES = {"北京市", "上海市浦东新区", "广东省深圳市", "美国", "局域网", "新疆乌鲁木齐市"};
+
+    private static final String[] AREAS = {"联通", "电信", "移动", "CZ88.NET", "对方和您在同一内部网"};
+
+    @Test
+    public void compare() throws IOException {
+        File file = createFile();
+        LocationSeeker seeker = new LocationSeeker(file);
+        ConcurrentLocationSeeker concurrent = new ConcurrentLocationSeeker(file, 1024);
+        Random random = new Random(1);
+        int count = 50000, diff = 0;
+        for (int i = 0; i < count; i++) {
+            int ip = random.nextInt();
+            String s = ((ip >>> 24) & 0xFF) + "." + ((ip >>> 16) & 0xFF) + "." + ((ip >>> 8) & 0xFF) + "." + (ip & 0xFF);
+            // 旧查询器首次查询返回原始值, 缓存后返回转换后的值
+            seeker.getCountry(s);
+            String expect = seeker.getCountry(s) + "|" + seeker.getArea(s);
+            String actual = concurrent.getCountry(s) + "|" + concurrent.getArea(s);
+            if (!expect.equals(actual)) {
+                diff++;
+            }
+        }
+        System.out.println("compare: " + count + ", diff: " + diff);
+        System.out.println("0.0.0.0 " + concurrent.getAddress("0.0.0.0"));
+        System.out.println("1.0.0.1 " + concurrent.getAddress("1.0.0.1") + " " + concurrent.getRegion("1.0.0.1"));
+        System.out.println("255.255.255.255 " + concurrent.getAddress("255.255.255.255"));
+        System.out.println("lookups: " + concurrent.getLookupCount() + ", hits: " + concurrent.getCacheHits()
+                + ", cached: " + concurrent.getCacheSize()
+                + ", avg: " + concurrent.getAverageSearchNanos() + "ns, max: " + concurrent.getMaxSearchNanos() + "ns");
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        File file = createFile();
+        LocationSeeker seeker = new LocationSeeker(file);
+        ConcurrentLocationSeeker concurrent = new ConcurrentLocationSeeker(file, 4096);
+        String[] ips = new String[20000];
+        String[] expect = new String[ips.length];
+        Random random = new Random(2);
+        for (int i = 0; i < ips.length; i++) {
+            // 热点 ip 与随机 ip 混合, 旧查询器查询第一个起始 ip 时会返回索引偏移, 这里跳过
+            int ip = i % 2 == 0 ? random.nextInt(512) << 12 | 0x01000001 : random.nextInt();
+            ips[i] = ((ip >>> 24) & 0xFF) + "." + ((ip >>> 16) & 0xFF) + "." + ((ip >>> 8) & 0xFF) + "." + (ip & 0xFF);
+            expect[i] = seeker.getAddress(ips[i]);
+        }
+        AtomicInteger diff = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        long start = System.currentTimeMillis();
+        Threads.blockRun(() -> {
+            for (int round = 0; round < 10; round++) {
+                for (int i = 0; i < ips.length; i++) {
+                    if (!expect[i].equals(concurrent.getAddress(ips[i]))) {
+                        diff.incrementAndGet();
+                    }
+                }
+            }
+        }, 8, pool);
+        pool.shutdown();
+        System.out.println("used: " + (System.currentTimeMillis() - start) + "ms, diff: " + diff.get());
+        System.out.println("lookups: " + concurrent.getLookupCount() + ", hit rate: " + concurrent.getCacheHitRate()
+                + ", cached: " + concurrent.getCacheSize()
+                + ", avg: " + concurrent.getAverageSearchNanos() + "ns, max: " + concurrent.getMaxSearchNanos() + "ns");
+    }
+
+    /**
+     * 生成 ip 库
+     * <p>
+     * [索引起始][索引结束][字符串][记录][索引]
+     */
+    private static File createFile() throws IOException {
+        Random random = new Random(RANGES);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[8], 0, 8);
+        // 字符串池
+        int[] countryOffsets = new int[COUNTRIES.length];
+        int[] areaOffsets = new int[AREAS.length];
+        for (int i = 0; i < COUNTRIES.length; i++) {
+            countryOffsets[i] = out.size();
+            writeString(out, COUNTRIES[i]);
+        }
+        for (int i = 0; i < AREAS.length; i++) {
+            areaOffsets[i] = out.size();
+            writeString(out, AREAS[i]);
+        }
+        // 国家 + 地区块 用于重定向模式 1
+        int[] blockOffsets = new int[COUNTRIES.length];
+        for (int i = 0; i < COUNTRIES.length; i++) {
+            blockOffsets[i] = out.size();
+            if (i % 2 == 0) {
+                writeString(out, COUNTRIES[i]);
+                writeString(out, AREAS[i % AREAS.length]);
+            } else {
+                // 国家再次重定向
+                out.write(0x02);
+                writeInt3(out, countryOffsets[i]);
+                out.write(0x02);
+                writeInt3(out, areaOffsets[i % AREAS.length]);
+            }
+        }
+        // 记录
+        long[] starts = new long[RANGES];
+        int[] records = new int[RANGES];
+        long ip = 0x01000000L;
+        for (int i = 0; i < RANGES; i++) {
+            starts[i] = ip;
+            long end = Math.min(ip + random.nextInt(1 << 20), 0xFFFFFFFEL);
+            records[i] = out.size();
+            writeInt(out, end);
+            int country = random.nextInt(COUNTRIES.length);
+            int area = random.nextInt(AREAS.length);
+            switch (i % 3) {
+                case 0:
+                    writeString(out, COUNTRIES[country]);
+                    writeString(out, AREAS[area]);
+                    break;
+                case 1:
+                    out.write(0x01);
+                    writeInt3(out, blockOffsets[country]);
+                    break;
+                default:
+                    out.write(0x02);
+                    writeInt3(out, countryOffsets[country]);
+                    out.write(0x01);
+                    writeInt3(out, areaOffsets[area]);
+                    break;
+            }
+            // 随机留出空隙
+            ip = end + 1 + (random.nextInt(4) == 0 ? random.nextInt(1 << 16) : 0);
+            if (ip >= 0xFFFFFFFFL) {
+                break;
+            }
+        }
+        int ipBegin = out.size();
+        int count = 0;
+        for (int i = 0; i < RANGES && records[i] != 0; i++) {
+            writeInt(out, starts[i]);
+            writeInt3(out, records[i]);
+            count++;
+        }
+        byte[] bytes = out.toByteArray();
+        int ipEnd = ipBegin + (count - 1) * 7;
+        for (int i = 0; i < 4; i++) {
+            bytes[i] = (byte) (ipBegin >>> (8 * i));
+            bytes[4 + i] = (byte) (ipEnd >>> (8 * i));
+        }
+        File file = File.createTempFile("region", ".dat");
+        file.deleteOnExit();
+        Files.write(file.toPath(), bytes);
+        return file;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        byte[] bytes = s.getBytes(GBK);
+        out.write(bytes, 0, bytes.length);
+        out.write(0);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, long v) {
+        for (int i = 0; i < 4; i++) {
+            out.write((int) (v >>> (8 * i)) & 0xFF);
+        }
+    }
+
+    private static void writeInt3(ByteArrayOutputStream out, int v) {
+        for (int i = 0; i < 3; i++) {
+            out.write((v >>> (8 * i)) & 0xFF);
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.location;
+
+import cn.orionsec.kit.ext.location.region.block.DataBlock;
+import cn.orionsec.kit.ext.location.region.config.DbConfig;
+import cn.orionsec.kit.ext.location.region.core.DbSearcher;
+import cn.orionsec.kit.ext.location.region.core.MappedDbSearcher;
+import cn.orionsec.kit.ext.location.region.core.RegionSupport;
+import cn.orionsec.kit.lang.utils.Threads;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 内存映射搜索器测试
+ * <p>
+ * 生成与 region.db 结构相同的 db 文件, 对比 {@link DbSearcher} 的结果
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/3 14:20
+ */
+public class MappedDbSearcherTests {
+
+    private static final int RANGES = 5000;
+
+    private static final int INDEX_PER_BLOCK = 100;
+
+    private static final String[] REGIONS = {
+            "中国|0|北京|北京市|联通",
+            "中国|0|上海|上海市|电信",
+            "美国|0|加利福尼亚|0|0",
+            "0|0|0|内网IP|内网IP",
+            "日本|0|东京都|东京|0"};
+
+    @Test
+    public void compare() throws IOException {
+        File db = createDb();
+        DbSearcher searcher = new DbSearcher(new DbConfig(), db);
+        MappedDbSearcher mapped = new MappedDbSearcher(new DbConfig(), db);
+        Random random = new Random(1);
+        int count = 100000, diff = 0;
+        for (int i = 0; i < count; i++) {
+            long ip = random.nextInt() & 0xFFFFFFFFL;
+            for (int algorithm = 1; algorithm <= 3; algorithm++) {
+                DataBlock expect = algorithm == 1 ? searcher.btreeSearch(ip)
+                        : algorithm == 2 ? searcher.binarySearch(ip)
+                        : searcher.memorySearch(ip);
+                DataBlock actual = mapped.search(ip, algorithm);
+                if (!String.valueOf(expect).equals(String.valueOf(actual))) {
+                    diff++;
+                }
+            }
+        }
+        System.out.println(RegionSupport.long2ip(0) + " " + mapped.btreeSearch(0));
+        System.out.println("255.255.255.255 " + mapped.btreeSearch("255.255.255.255"));
+        System.out.println("compare: " + count * 3 + ", diff: " + diff);
+        searcher.close();
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        File db = createDb();
+        MappedDbSearcher mapped = new MappedDbSearcher(new DbConfig(), db);
+        DbSearcher searcher = new DbSearcher(new DbConfig(), db);
+        long[] ips = new long[10000];
+        String[] expect = new String[ips.length];
+        Random random = new Random(2);
+        for (int i = 0; i < ips.length; i++) {
+            ips[i] = random.nextInt() & 0xFFFFFFFFL;
+            expect[i] = searcher.memorySearch(ips[i]).getRegion();
+        }
+        searcher.close();
+        AtomicInteger diff = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        long start = System.currentTimeMillis();
+        Threads.blockRun(() -> {
+            for (int round = 0; round < 20; round++) {
+                for (int i = 0; i < ips.length; i++) {
+                    if (!expect[i].equals(mapped.btreeSearch(ips[i]).getRegion())) {
+                        diff.incrementAndGet();
+                    }
+                }
+            }
+        }, 8, pool);
+        pool.shutdown();
+        System.out.println("used: " + (System.currentTimeMillis() - start) + "ms, diff: " + diff.get());
+    }
+
+    /**
+     * 生成 db
+     * <p>
+     * [super block][header block 4096][data][index]
+     *
+     * @return db 文件
+     */
+    private static File createDb() throws IOException {
+        Random random = new Random(RANGES);
+        // 分割 ip 段
+        long[] starts = new long[RANGES];
+        for (int i = 1; i < RANGES; i++) {
+            starts[i] = starts[i - 1] + 1 + (random.nextInt() & 0xFFFFFL) % ((0x100000000L - starts[i - 1]) / (RANGES - i) * 2);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[8 + 4096], 0, 8 + 4096);
+        // data
+        long[] dataPtrs = new long[REGIONS.length];
+        for (int i = 0; i < REGIONS.length; i++) {
+            byte[] region = REGIONS[i].getBytes(StandardCharsets.UTF_8);
+            byte[] data = new byte[4 + region.length];
+            RegionSupport.writeIntLong(data, 0, i + 1);
+            System.arraycopy(region, 0, data, 4, region.length);
+            dataPtrs[i] = ((long) data.length << 24) | out.size();
+            out.write(data, 0, data.length);
+        }
+        // index
+        int firstIndexPtr = out.size();
+        byte[] header = new byte[4096];
+        int headerIndex = 0;
+        byte[] index = new byte[12];
+        for (int i = 0; i < RANGES; i++) {
+            long sip = starts[i];
+            long eip = i == RANGES - 1 ? 0xFFFFFFFFL : starts[i + 1] - 1;
+            int ptr = out.size();
+            if (i % INDEX_PER_BLOCK == 0 || i == RANGES - 1) {
+                RegionSupport.writeIntLong(header, headerIndex, sip);
+                RegionSupport.writeIntLong(header, headerIndex + 4, ptr);
+                headerIndex += 8;
+            }
+            RegionSupport.writeIntLong(index, 0, sip);
+            RegionSupport.writeIntLong(index, 4, eip);
+            RegionSupport.writeIntLong(index, 8, dataPtrs[random.nextInt(REGIONS.length)]);
+            out.write(index, 0, index.length);
+        }
+        int lastIndexPtr = out.size() - 12;
+        byte[] bytes = out.toByteArray();
+        RegionSupport.writeIntLong(bytes, 0, firstIndexPtr);
+        RegionSupport.writeIntLong(bytes, 4, lastIndexPtr);
+        System.arraycopy(header, 0, bytes, 8, header.length);
+        File file = File.createTempFile("region", ".db");
+        file.deleteOnExit();
+        Files.write(file.toPath(), bytes);
+        return file;
+    }
+
+}
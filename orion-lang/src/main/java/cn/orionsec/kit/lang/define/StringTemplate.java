@@ -0,0 +1,449 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.define;
+
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.define.collect.ConcurrentReferenceHashMap;
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.Objects1;
+import cn.orionsec.kit.lang.utils.Strings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 预编译字符串模板
+ * <p>
+ * 模板只解析一次, 拆分为 文本 - 占位符 - 文本 ... 的片段, 按 [前缀, 后缀, 模板] 缓存
+ * 渲染时顺序写入 {@link StringBuilder} 或 {@link Appendable}, 不再进行正则匹配和字符串替换
+ * <p>
+ * 命名占位符: prefix + key + suffix, 匹配规则与正则 (prefix)(.+?)(suffix) 相同, key 不能为空且不能跨行
+ * <p>
+ * 位置占位符: {}, 转义规则与 {@link Strings#format(String, Object...)} 相同
+ * \{} 输出 {} 不占用参数, \\{} 输出 \ 并占用参数
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 10:12
+ */
+public class StringTemplate {
+
+    private static final Map<TemplateKey, StringTemplate> TEMPLATE_CACHE = new ConcurrentReferenceHashMap<>(Const.CAPACITY_16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+    private static final String POSITIONAL = "{}";
+
+    private final String template;
+
+    /**
+     * 前缀 位置占位符为 null
+     */
+    private final String prefix;
+
+    /**
+     * 后缀 位置占位符为 null
+     */
+    private final String suffix;
+
+    /**
+     * 文本片段 长度为占位符数量 + 1
+     */
+    private final String[] literals;
+
+    /**
+     * 占位符原文
+     */
+    private final String[] placeholders;
+
+    /**
+     * 占位符 key
+     */
+    private final String[] keys;
+
+    /**
+     * 位置占位符结束位置 参数不足时剩余部分按原文输出
+     */
+    private final int[] ends;
+
+    private StringTemplate(String template, String prefix, String suffix) {
+        this.template = template;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        if (prefix == null) {
+            parsePositional(template, literals, ends);
+        } else {
+            parseNamed(template, prefix, suffix, literals, placeholders, keys);
+        }
+        this.literals = literals.toArray(new String[0]);
+        this.placeholders = placeholders.toArray(new String[0]);
+        this.keys = keys.toArray(new String[0]);
+        this.ends = ends.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 编译 ${key} 模板
+     *
+     * @param template 模板
+     * @return template
+     */
+    public static StringTemplate compile(String template) {
+        return compile(template, "${", "}");
+    }
+
+    /**
+     * 编译 prefix + key + suffix 模板
+     *
+     * @param template 模板
+     * @param prefix   前缀
+     * @param suffix   后缀
+     * @return template
+     */
+    public static StringTemplate compile(String template, String prefix, String suffix) {
+        Assert.notNull(template, "template is null");
+        Assert.notEmpty(prefix, "prefix is empty");
+        Assert.notEmpty(suffix, "suffix is empty");
+        return get(new TemplateKey(template, prefix, suffix));
+    }
+
+    /**
+     * 解析 prefix + key + suffix 模板 不缓存
+     * <p>
+     * 用于一次性的动态模板, 重复使用的模板使用 {@link #compile(String, String, String)}
+     *
+     * @param template 模板
+     * @param prefix   前缀
+     * @param suffix   后缀
+     * @return template
+     */
+    public static StringTemplate parse(String template, String prefix, String suffix) {
+        Assert.notNull(template, "template is null");
+        Assert.notEmpty(prefix, "prefix is empty");
+        Assert.notEmpty(suffix, "suffix is empty");
+        return new StringTemplate(template, prefix, suffix);
+    }
+
+    /**
+     * 编译 {} 位置占位符模板
+     *
+     * @param template 模板
+     * @return template
+     */
+    public static StringTemplate positional(String template) {
+        Assert.notNull(template, "template is null");
+        return get(new TemplateKey(template, null, null));
+    }
+
+    /**
+     * 从缓存获取模板
+     *
+     * @param key key
+     * @return template
+     */
+    private static StringTemplate get(TemplateKey key) {
+        StringTemplate compiled = TEMPLATE_CACHE.get(key);
+        if (compiled == null) {
+            TEMPLATE_CACHE.put(key, compiled = new StringTemplate(key.template, key.prefix, key.suffix));
+        }
+        return compiled;
+    }
+
+    /**
+     * 渲染命名占位符
+     *
+     * @param map key = value, value 为 null 时保留占位符
+     * @return 字符串
+     */
+    public String render(Map<?, ?> map) {
+        return this.render(map::get);
+    }
+
+    /**
+     * 渲染命名占位符
+     *
+     * @param resolver key -> value, value 为 null 时保留占位符
+     * @return 字符串
+     */
+    public String render(Function<String, ?> resolver) {
+        if (keys.length == 0) {
+            return template;
+        }
+        return this.render(new StringBuilder(template.length() + (keys.length << 4)), resolver).toString();
+    }
+
+    /**
+     * 渲染命名占位符
+     *
+     * @param out      输出
+     * @param resolver key -> value, value 为 null 时保留占位符
+     * @param <A>      输出类型
+     * @return 输出
+     */
+    public <A extends Appendable> A render(A out, Function<String, ?> resolver) {
+        this.checkNamed();
+        try {
+            out.append(literals[0]);
+            for (int i = 0; i < keys.length; i++) {
+                Object value = resolver.apply(keys[i]);
+                out.append(value == null ? placeholders[i] : Objects1.toString(value));
+                out.append(literals[i + 1]);
+            }
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+        return out;
+    }
+
+    /**
+     * 渲染位置占位符
+     *
+     * @param args 参数
+     * @return 字符串
+     */
+    public String format(Object... args) {
+        if (args == null || args.length == 0) {
+            return template;
+        }
+        return this.format(new StringBuilder(template.length() + 50), args).toString();
+    }
+
+    /**
+     * 渲染位置占位符
+     *
+     * @param out  输出
+     * @param args 参数
+     * @param <A>  输出类型
+     * @return 输出
+     */
+    public <A extends Appendable> A format(A out, Object... args) {
+        this.checkPositional();
+        try {
+            if (args == null || args.length == 0) {
+                out.append(template);
+                return out;
+            }
+            int count = ends.length;
+            if (args.length > count) {
+                // 参数足够 全部渲染
+                out.append(literals[0]);
+                for (int i = 0; i < count; i++) {
+                    out.append(Strings.str(args[i]));
+                    out.append(literals[i + 1]);
+                }
+            } else {
+                // 参数不足 剩余部分按原文输出
+                for (int i = 0; i < args.length; i++) {
+                    out.append(literals[i]);
+                    out.append(Strings.str(args[i]));
+                }
+                out.append(template, ends[args.length - 1], template.length());
+            }
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+        return out;
+    }
+
+    /**
+     * 解析位置占位符
+     *
+     * @param template 模板
+     * @param literals 文本片段
+     * @param ends     占位符结束位置
+     */
+    private static void parsePositional(String template, List<String> literals, List<Integer> ends) {
+        StringBuilder literal = new StringBuilder();
+        int handled = 0;
+        int index;
+        while ((index = template.indexOf(POSITIONAL, handled)) != -1) {
+            if (index > 0 && template.charAt(index - 1) == '\\') {
+                if (index > 1 && template.charAt(index - 2) == '\\') {
+                    // \\{} 保留一个 \ 后为占位符
+                    literal.append(template, handled, index - 1);
+                } else {
+                    // \{} 转义
+                    literal.append(template, handled, index - 1).append('{');
+                    handled = index + 1;
+                    continue;
+                }
+            } else {
+                literal.append(template, handled, index);
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            handled = index + 2;
+            ends.add(handled);
+        }
+        literals.add(literal.append(template, handled, template.length()).toString());
+    }
+
+    /**
+     * 解析命名占位符
+     *
+     * @param template     模板
+     * @param prefix       前缀
+     * @param suffix       后缀
+     * @param literals     文本片段
+     * @param placeholders 占位符原文
+     * @param keys         占位符 key
+     */
+    private static void parseNamed(String template, String prefix, String suffix,
+                                   List<String> literals, List<String> placeholders, List<String> keys) {
+        int handled = 0;
+        int start = template.indexOf(prefix);
+        while (start != -1) {
+            int keyStart = start + prefix.length();
+            int end = keyStart < template.length() ? template.indexOf(suffix, keyStart + 1) : -1;
+            if (end == -1) {
+                // 之后不会再有后缀
+                break;
+            }
+            if (hasLineTerminator(template, keyStart, end)) {
+                start = template.indexOf(prefix, start + 1);
+                continue;
+            }
+            int next = end + suffix.length();
+            literals.add(template.substring(handled, start));
+            placeholders.add(template.substring(start, next));
+            keys.add(template.substring(keyStart, end));
+            handled = next;
+            start = template.indexOf(prefix, next);
+        }
+        literals.add(template.substring(handled));
+    }
+
+    /**
+     * 区间内是否有换行符
+     *
+     * @param s     s
+     * @param start 开始位置
+     * @param end   结束位置
+     * @return 是否有换行符
+     */
+    private static boolean hasLineTerminator(String s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == 0x2028 || c == 0x2029) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkNamed() {
+        if (prefix == null) {
+            throw Exceptions.unsupported("positional template not supported named render");
+        }
+    }
+
+    private void checkPositional() {
+        if (prefix != null) {
+            throw Exceptions.unsupported("named template not supported positional format");
+        }
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * 获取占位符数量
+     *
+     * @return 数量
+     */
+    public int getPlaceholderCount() {
+        return prefix == null ? ends.length : keys.length;
+    }
+
+    /**
+     * 获取命名占位符 key
+     *
+     * @return keys
+     */
+    public String[] getKeys() {
+        return keys.clone();
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    /**
+     * 缓存 key
+     */
+    private static class TemplateKey {
+
+        private final String template;
+
+        private final String prefix;
+
+        private final String suffix;
+
+        private TemplateKey(String template, String prefix, String suffix) {
+            this.template = template;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TemplateKey that = (TemplateKey) o;
+            return template.equals(that.template)
+                    && Objects.equals(prefix, that.prefix)
+                    && Objects.equals(suffix, that.suffix);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(template, prefix, suffix);
+        }
+
+    }
+
+}
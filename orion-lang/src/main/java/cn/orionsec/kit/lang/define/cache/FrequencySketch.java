@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.define.cache;
+
+import java.util.Arrays;
+
+/**
+ * 访问频率草图 (Count-Min Sketch)
+ * <p>
+ * 每个计数器占 4bit, 一个 long 存储 16 个计数器, 每个元素映射到 4 个计数器, 取最小值作为估算频率
+ * 当采样次数达到阈值时所有计数器减半, 使历史热点可以随时间衰减
+ * <p>
+ * 非线程安全, 需要由调用方保证同步
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/20 15:12
+ */
+public class FrequencySketch {
+
+    private static final long[] SEED = {
+            0xC3A5C85C97CB3127L,
+            0xB492B66FBE98F273L,
+            0x9AE16A3B2F90404FL,
+            0xCBF29CE484222325L
+    };
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    /**
+     * 计数器 最大值 15
+     */
+    private long[] table;
+
+    private int tableMask;
+
+    /**
+     * 衰减阈值
+     */
+    private int sampleSize;
+
+    /**
+     * 当前采样数
+     */
+    private int size;
+
+    /**
+     * @param maximumSize 预计的最大元素数
+     */
+    public FrequencySketch(long maximumSize) {
+        this.table = new long[0];
+        this.ensureCapacity(maximumSize);
+    }
+
+    /**
+     * 扩容计数器 容量不足时重新分配, 原有计数会被清空
+     * <p>
+     * 按权重淘汰时元素数未知, 可以从较小的容量开始, 随元素数增长扩容
+     *
+     * @param maximumSize 预计的最大元素数
+     */
+    public void ensureCapacity(long maximumSize) {
+        int maximum = (int) Math.min(Math.max(maximumSize, 1), Integer.MAX_VALUE >>> 1);
+        if (table.length >= maximum) {
+            return;
+        }
+        int length = ceilingPowerOfTwo(maximum);
+        this.table = new long[length];
+        this.tableMask = length - 1;
+        this.sampleSize = maximum > Integer.MAX_VALUE / 10 ? Integer.MAX_VALUE : 10 * maximum;
+        this.size = 0;
+    }
+
+    /**
+     * @return 计数器数组长度
+     */
+    public int capacity() {
+        return table.length;
+    }
+
+    /**
+     * 获取元素估算访问频率
+     *
+     * @param e 元素
+     * @return 频率 0 ~ 15
+     */
+    public int frequency(Object e) {
+        int hash = spread(e.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = this.indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xFL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * 增加元素访问频率
+     *
+     * @param e 元素
+     */
+    public void increment(Object e) {
+        int hash = spread(e.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= this.incrementAt(this.indexOf(hash, i), start + i);
+        }
+        if (added && ++size >= sampleSize) {
+            this.reset();
+        }
+    }
+
+    /**
+     * 清空计数器
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        this.size = 0;
+    }
+
+    /**
+     * 计数器 +1
+     *
+     * @param i 数组下标
+     * @param j 计数器下标
+     * @return 是否增加
+     */
+    private boolean incrementAt(int i, int j) {
+        int offset = j << 2;
+        long mask = 0xFL << offset;
+        if ((table[i] & mask) != mask) {
+            table[i] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 所有计数器减半
+     */
+    private void reset() {
+        int count = 0;
+        for (int i = 0; i < table.length; i++) {
+            count += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        this.size = (size >>> 1) - (count >>> 2);
+    }
+
+    /**
+     * 获取元素第 i 个哈希函数对应的数组下标
+     *
+     * @param item hash
+     * @param i    i
+     * @return index
+     */
+    private int indexOf(int item, int i) {
+        long hash = (item + SEED[i]) * SEED[i];
+        hash += hash >>> 32;
+        return ((int) hash) & tableMask;
+    }
+
+    /**
+     * 二次散列 防止低质量 hashCode
+     *
+     * @param x hash
+     * @return hash
+     */
+    static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45D9F3B;
+        x = ((x >>> 16) ^ x) * 0x45D9F3B;
+        return (x >>> 16) ^ x;
+    }
+
+    /**
+     * 向上取 2 的幂
+     *
+     * @param x x
+     * @return 2^n
+     */
+    static int ceilingPowerOfTwo(int x) {
+        if (x <= 1) {
+            return 1;
+        }
+        return 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(x - 1));
+    }
+
+}
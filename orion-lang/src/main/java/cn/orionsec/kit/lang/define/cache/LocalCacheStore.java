@@ -26,39 +26,81 @@
  */
 package cn.orionsec.kit.lang.define.cache;
 
+import cn.orionsec.kit.lang.able.SafeCloseable;
 import cn.orionsec.kit.lang.constant.Const;
 import cn.orionsec.kit.lang.utils.Exceptions;
-import cn.orionsec.kit.lang.utils.Strings;
 import cn.orionsec.kit.lang.utils.io.Files1;
 import cn.orionsec.kit.lang.utils.io.Streams;
 
 import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * 将对象存储到本地
  * 对象必须实现序列化接口
  * 如果解析不存在的对象会为null, 但是数据存在
  * getMap 不可以用于操作元素, 如果操作注意序列化问题, 以及使用 save() 存储
+ * <p>
+ * 数据由快照文件和预写日志组成, 修改只追加日志 (批量 fsync), 落盘后再修改内存, 日志超出阈值时合并为快照
+ * 加载时读取快照后重放日志, 线程安全
  *
  * @author Jiahang Li
  * @version 1.0.0
  * @since 2019/8/22 14:41
  */
-public class LocalCacheStore {
+public class LocalCacheStore implements SafeCloseable {
+
+    /**
+     * 默认合并阈值 8MB
+     */
+    private static final long DEFAULT_COMPACT_THRESHOLD = 8 * 1024 * 1024;
+
+    private static final String LOG_SUFFIX = ".log";
+
+    private static final String TEMP_SUFFIX = ".tmp";
 
     /**
      * 本地文件
      */
     private final File localDataStoreFile;
 
+    /**
+     * 日志文件
+     */
+    private final File localDataLogFile;
+
+    /**
+     * 日志合并阈值
+     */
+    private final long compactThreshold;
+
     /**
      * 数据容器
      */
     private Map<Object, Object> localStore;
 
+    /**
+     * 预写日志
+     */
+    private LocalCacheStoreLog log;
+
+    /**
+     * 写锁同时保证内存修改和日志追加的顺序一致
+     */
+    private final ReentrantReadWriteLock lock;
+
+    /**
+     * 等待日志落盘的内存修改 按序号排列 写锁保护
+     */
+    private final Deque<PendingModify> modifies;
+
     /**
      * 默认 store
      */
@@ -69,7 +111,15 @@ public class LocalCacheStore {
     }
 
     public LocalCacheStore(File file) {
+        this(file, DEFAULT_COMPACT_THRESHOLD);
+    }
+
+    public LocalCacheStore(File file, long compactThreshold) {
         this.localDataStoreFile = file;
+        this.localDataLogFile = new File(file.getPath() + LOG_SUFFIX);
+        this.compactThreshold = compactThreshold;
+        this.lock = new ReentrantReadWriteLock();
+        this.modifies = new ArrayDeque<>();
         this.init();
     }
 
@@ -88,6 +138,9 @@ public class LocalCacheStore {
         } finally {
             Streams.close(in);
         }
+        // 重放日志
+        this.log = new LocalCacheStoreLog(localDataLogFile);
+        log.replay(localStore);
     }
 
     /**
@@ -96,7 +149,17 @@ public class LocalCacheStore {
      * @return deleted
      */
     public boolean deleteFile() {
-        return localDataStoreFile.delete();
+        lock.writeLock().lock();
+        try {
+            log.close();
+            this.applyModifies();
+            boolean deleted = localDataStoreFile.delete();
+            localDataLogFile.delete();
+            this.log = new LocalCacheStoreLog(localDataLogFile);
+            return deleted;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -106,8 +169,8 @@ public class LocalCacheStore {
      * @param value value
      */
     public void put(Serializable key, Serializable value) {
-        localStore.put(key, value);
-        this.write();
+        byte[] record = LocalCacheStoreLog.encode(LocalCacheStoreLog.PUT, key, value);
+        this.apply(record, () -> localStore.put(key, value));
     }
 
     /**
@@ -116,8 +179,9 @@ public class LocalCacheStore {
      * @param map 集合
      */
     public void putAll(Map<? extends Serializable, ? extends Serializable> map) {
-        localStore.putAll(map);
-        this.write();
+        Map<Object, Object> copy = new HashMap<>(map);
+        byte[] record = LocalCacheStoreLog.encode(LocalCacheStoreLog.PUT_ALL, copy);
+        this.apply(record, () -> localStore.putAll(copy));
     }
 
     /**
@@ -127,12 +191,17 @@ public class LocalCacheStore {
      * @return 元素
      */
     public Object get(Object key) {
-        return localStore.get(key);
+        lock.readLock().lock();
+        try {
+            return localStore.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
      * 获取元素容器
-     * 不能插入
+     * 不能插入, 非线程安全
      *
      * @return 元素容器
      */
@@ -146,8 +215,8 @@ public class LocalCacheStore {
      * @param key key
      */
     public void remove(Object key) {
-        localStore.remove(key);
-        this.write();
+        byte[] record = LocalCacheStoreLog.encode(LocalCacheStoreLog.REMOVE, key);
+        this.apply(record, () -> localStore.remove(key));
     }
 
     /**
@@ -156,62 +225,214 @@ public class LocalCacheStore {
      * @return size
      */
     public int size() {
-        return localStore.size();
+        lock.readLock().lock();
+        try {
+            return localStore.size();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
      * 清空
      */
     public void clear() {
-        localStore.clear();
-        this.write();
+        byte[] record = LocalCacheStoreLog.encode(LocalCacheStoreLog.CLEAR);
+        this.apply(record, () -> localStore.clear());
     }
 
     /**
      * 持久化
+     * <p>
+     * 将当前数据写入快照并清空日志
      */
     public void save() {
-        this.write();
+        this.compact();
+    }
+
+    /**
+     * 合并日志到快照
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            // 日志落盘并修改内存后再写快照 快照写入成功后才清空日志
+            // 日志写入失败时快照只包含已落盘的修改, 清空日志后恢复写入
+            if (!log.isFailed()) {
+                log.syncAll();
+            }
+            this.applyModifies();
+            this.writeSnapshot();
+            log.truncate();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
-     * 写入
+     * 清空文件数据
      */
-    private void write() {
-        if (localStore != null) {
-            this.forceClean();
-            ObjectOutputStream out = null;
+    public void forceClean() {
+        lock.writeLock().lock();
+        try {
+            log.truncate();
+            BufferedWriter clean = null;
             try {
-                out = new ObjectOutputStream(Files.newOutputStream(localDataStoreFile.toPath()));
-                out.writeObject(localStore);
-                out.writeObject(null);
+                clean = new BufferedWriter(new FileWriter(localDataStoreFile));
+                clean.flush();
             } catch (Exception e) {
                 throw Exceptions.ioRuntime(e);
             } finally {
-                Streams.close(out);
+                Streams.close(clean);
             }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
     /**
-     * 清空文件数据
+     * @return 日志长度
      */
-    public void forceClean() {
-        BufferedWriter clean = null;
+    public long getLogLength() {
+        return log.length();
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
         try {
-            clean = new BufferedWriter(new FileWriter(localDataStoreFile));
-            clean.write(Strings.EMPTY);
-            clean.flush();
+            log.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 追加日志 等待日志落盘后修改内存
+     * <p>
+     * 内存修改按日志序号的顺序执行, 只执行已落盘的修改, 日志写入失败时内存不会被修改
+     *
+     * @param record 日志记录
+     * @param modify 内存修改
+     */
+    private void apply(byte[] record, Runnable modify) {
+        long seq;
+        LocalCacheStoreLog currentLog;
+        lock.writeLock().lock();
+        try {
+            currentLog = this.log;
+            seq = currentLog.append(record);
+            modifies.offer(new PendingModify(currentLog, seq, modify));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            currentLog.sync(seq);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                this.applyModifies();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        if (currentLog.length() > compactThreshold) {
+            this.compactIfNecessary();
+        }
+    }
+
+    /**
+     * 按序号执行已落盘的内存修改, 丢弃写入失败的修改 需要持有写锁
+     */
+    private void applyModifies() {
+        PendingModify head;
+        while ((head = modifies.peek()) != null) {
+            if (head.log.isDurable(head.seq)) {
+                modifies.poll();
+                head.modify.run();
+            } else if (head.log.isFailed()) {
+                modifies.poll();
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 日志超出阈值则合并
+     */
+    private void compactIfNecessary() {
+        if (!lock.writeLock().tryLock()) {
+            // 其他线程正在写入或合并
+            return;
+        }
+        try {
+            if (log.length() > compactThreshold) {
+                this.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 写入快照 先写临时文件再原子替换
+     */
+    private void writeSnapshot() {
+        File temp = new File(localDataStoreFile.getPath() + TEMP_SUFFIX);
+        FileOutputStream fileOut = null;
+        ObjectOutputStream out = null;
+        try {
+            fileOut = new FileOutputStream(temp);
+            out = new ObjectOutputStream(new BufferedOutputStream(fileOut));
+            out.writeObject(localStore);
+            out.writeObject(null);
+            out.flush();
+            fileOut.getFD().sync();
         } catch (Exception e) {
             throw Exceptions.ioRuntime(e);
         } finally {
-            Streams.close(clean);
+            Streams.close(out);
+            Streams.close(fileOut);
+        }
+        try {
+            try {
+                Files.move(temp.toPath(), localDataStoreFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), localDataStoreFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
         }
     }
 
     @Override
     public String toString() {
-        return localStore.toString();
+        lock.readLock().lock();
+        try {
+            return localStore.toString();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 等待日志落盘的内存修改
+     */
+    private static class PendingModify {
+
+        private final LocalCacheStoreLog log;
+
+        private final long seq;
+
+        private final Runnable modify;
+
+        private PendingModify(LocalCacheStoreLog log, long seq, Runnable modify) {
+            this.log = log;
+            this.seq = seq;
+            this.modify = modify;
+        }
+
     }
 
 }
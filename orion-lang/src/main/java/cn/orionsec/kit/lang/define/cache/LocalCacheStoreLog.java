@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.define.cache;
+
+import cn.orionsec.kit.lang.able.SafeCloseable;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.io.Streams;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * 本地缓存预写日志
+ * <p>
+ * 记录格式: [int 长度][int crc32][byte 操作][序列化数据]
+ * <p>
+ * 写入分为两步: {@link #append(byte[])} 按顺序放入待写入队列, {@link #sync(long)} 等待落盘
+ * 同一时间只有一个线程执行写入和 fsync, 其余线程等待, 一次 fsync 提交一批记录 (group commit)
+ * <p>
+ * 写入失败时截断到写入前的长度并标记失败, 之后拒绝追加, 直到 {@link #truncate()} 清空日志
+ * 防止后续记录写在不完整的记录之后, 重放时被一起丢弃
+ * <p>
+ * 加载时读取到堆内存, 遇到不完整或校验失败的记录 (崩溃时写入一半) 会截断
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/27 14:20
+ */
+public class LocalCacheStoreLog implements SafeCloseable {
+
+    public static final byte PUT = 1;
+
+    public static final byte PUT_ALL = 2;
+
+    public static final byte REMOVE = 3;
+
+    public static final byte CLEAR = 4;
+
+    private static final int HEADER_LENGTH = 8;
+
+    private final FileChannel channel;
+
+    private final ReentrantLock lock;
+
+    private final Condition flushed;
+
+    /**
+     * 待写入的记录
+     */
+    private List<byte[]> pending;
+
+    /**
+     * 已追加的序号
+     */
+    private long appendSeq;
+
+    /**
+     * 已落盘的序号
+     */
+    private long durableSeq;
+
+    /**
+     * 是否写入失败
+     */
+    private boolean failed;
+
+    /**
+     * 是否有线程正在写入
+     */
+    private boolean flushing;
+
+    /**
+     * 文件长度
+     */
+    private volatile long length;
+
+    public LocalCacheStoreLog(File file) {
+        try {
+            this.channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+        this.lock = new ReentrantLock();
+        this.flushed = lock.newCondition();
+        this.pending = new ArrayList<>();
+    }
+
+    /**
+     * 编码记录
+     *
+     * @param op    操作
+     * @param datas 数据
+     * @return 记录
+     */
+    public static byte[] encode(byte op, Object... datas) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            // 占位 长度 + crc
+            out.writeLong(0);
+            out.writeByte(op);
+            if (datas.length > 0) {
+                ObjectOutputStream objectOut = new ObjectOutputStream(out);
+                for (Object data : datas) {
+                    objectOut.writeObject(data);
+                }
+                objectOut.flush();
+            }
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+        byte[] record = bytes.toByteArray();
+        int bodyLength = record.length - HEADER_LENGTH;
+        CRC32 crc = new CRC32();
+        crc.update(record, HEADER_LENGTH, bodyLength);
+        ByteBuffer header = ByteBuffer.wrap(record, 0, HEADER_LENGTH);
+        header.putInt(bodyLength);
+        header.putInt((int) crc.getValue());
+        return record;
+    }
+
+    /**
+     * 重放日志
+     *
+     * @param store 容器
+     * @return 重放的记录数
+     */
+    @SuppressWarnings("unchecked")
+    public int replay(Map<Object, Object> store) {
+        lock.lock();
+        try {
+            long size = channel.size();
+            long valid = 0;
+            int count = 0;
+            if (size > Integer.MAX_VALUE) {
+                throw Exceptions.io("local cache store log too large: " + size);
+            }
+            if (size > 0) {
+                // 不使用内存映射 映射未释放时部分系统无法截断文件
+                ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                buffer.flip();
+                CRC32 crc = new CRC32();
+                while (buffer.remaining() >= HEADER_LENGTH) {
+                    int bodyLength = buffer.getInt();
+                    int checksum = buffer.getInt();
+                    if (bodyLength <= 0 || bodyLength > buffer.remaining()) {
+                        break;
+                    }
+                    byte[] body = new byte[bodyLength];
+                    buffer.get(body);
+                    crc.reset();
+                    crc.update(body, 0, bodyLength);
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                    valid = buffer.position();
+                    count++;
+                    ObjectInputStream in = null;
+                    try {
+                        byte op = body[0];
+                        if (op == CLEAR) {
+                            store.clear();
+                            continue;
+                        }
+                        in = new ObjectInputStream(new ByteArrayInputStream(body, 1, bodyLength - 1));
+                        if (op == PUT) {
+                            Object key = in.readObject();
+                            store.put(key, in.readObject());
+                        } else if (op == PUT_ALL) {
+                            store.putAll((Map<Object, Object>) in.readObject());
+                        } else if (op == REMOVE) {
+                            store.remove(in.readObject());
+                        }
+                    } catch (Exception e) {
+                        // 无法解析的对象忽略
+                    } finally {
+                        Streams.close(in);
+                    }
+                }
+            }
+            // 截断不完整的记录
+            if (valid < size) {
+                channel.truncate(valid);
+            }
+            channel.position(valid);
+            this.length = valid;
+            return count;
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 追加记录到待写入队列
+     * <p>
+     * 调用方需要保证追加顺序与内存修改顺序一致
+     *
+     * @param record 记录
+     * @return 序号
+     */
+    public long append(byte[] record) {
+        lock.lock();
+        try {
+            if (!channel.isOpen()) {
+                throw Exceptions.ioRuntime("local cache store log is closed");
+            }
+            if (failed) {
+                throw Exceptions.ioRuntime("local cache store log write failure");
+            }
+            pending.add(record);
+            return ++appendSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 等待序号之前的记录落盘
+     *
+     * @param seq 序号
+     */
+    public void sync(long seq) {
+        lock.lock();
+        try {
+            while (durableSeq < seq) {
+                if (failed) {
+                    throw Exceptions.ioRuntime("local cache store log write failure");
+                }
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                // 当前线程负责写入这一批
+                this.flushing = true;
+                List<byte[]> batch = pending;
+                long batchSeq = appendSeq;
+                this.pending = new ArrayList<>();
+                IOException error = null;
+                lock.unlock();
+                try {
+                    this.write(batch);
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    lock.lock();
+                    this.flushing = false;
+                    if (error == null) {
+                        this.durableSeq = batchSeq;
+                    } else {
+                        this.fail();
+                    }
+                    flushed.signalAll();
+                }
+                if (error != null) {
+                    throw Exceptions.ioRuntime(error);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 将所有已追加的记录落盘
+     */
+    public void syncAll() {
+        long seq;
+        lock.lock();
+        try {
+            seq = appendSeq;
+        } finally {
+            lock.unlock();
+        }
+        this.sync(seq);
+    }
+
+    /**
+     * 序号对应的记录是否已落盘
+     *
+     * @param seq 序号
+     * @return 是否已落盘
+     */
+    public boolean isDurable(long seq) {
+        lock.lock();
+        try {
+            return seq <= durableSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 是否写入失败 失败后未落盘的记录都不会再写入
+     */
+    public boolean isFailed() {
+        lock.lock();
+        try {
+            return failed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空日志
+     * <p>
+     * 调用方需要保证此时没有新的记录追加, 写入失败时丢弃未落盘的记录并恢复写入
+     */
+    public void truncate() {
+        if (!this.isFailed()) {
+            this.syncAll();
+        }
+        lock.lock();
+        try {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+            this.length = 0;
+            this.pending = new ArrayList<>();
+            this.durableSeq = appendSeq;
+            this.failed = false;
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 日志长度
+     */
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (!this.isFailed()) {
+                this.syncAll();
+            }
+        } finally {
+            Streams.close(channel);
+        }
+    }
+
+    /**
+     * 写入失败 截断写入一半的数据并拒绝后续追加 需要持有锁
+     */
+    private void fail() {
+        this.failed = true;
+        try {
+            channel.truncate(length);
+            channel.position(length);
+        } catch (IOException e) {
+            // 重放时会截断不完整的记录
+        }
+    }
+
+    /**
+     * 写入并 fsync
+     *
+     * @param batch batch
+     * @throws IOException IOException
+     */
+    private void write(List<byte[]> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int total = 0;
+        for (byte[] record : batch) {
+            total += record.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (byte[] record : batch) {
+            buffer.put(record);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        this.length += total;
+    }
+
+}
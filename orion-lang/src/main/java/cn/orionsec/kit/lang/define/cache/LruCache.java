@@ -40,6 +40,7 @@ import java.util.concurrent.locks.ReentrantLock;
  * @author Jiahang Li
  * @version 1.0.0
  * @since 2019/8/22 20:54
+ * @see TinyLfuCache
  */
 public class LruCache<K, V> extends LinkedHashMap<K, V> {
 
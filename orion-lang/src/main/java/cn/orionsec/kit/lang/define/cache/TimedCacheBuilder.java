@@ -27,14 +27,10 @@
 package cn.orionsec.kit.lang.define.cache;
 
 import cn.orionsec.kit.lang.able.Buildable;
-import cn.orionsec.kit.lang.constant.Const;
-import cn.orionsec.kit.lang.define.thread.ExecutorBuilder;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.SynchronousQueue;
 import java.util.function.BiConsumer;
 
 /**
@@ -46,18 +42,6 @@ import java.util.function.BiConsumer;
  */
 public class TimedCacheBuilder<T> implements Buildable<TimedCache<T>> {
 
-    /**
-     * 检测线程池
-     */
-    private static final ExecutorService CHECKER_EXECUTOR = ExecutorBuilder.create()
-            .namedThreadFactory("orion-cache-checker-")
-            .corePoolSize(1)
-            .maxPoolSize(Integer.MAX_VALUE)
-            .keepAliveTime(Const.MS_S_60)
-            .workQueue(new SynchronousQueue<>())
-            .allowCoreThreadTimeout(true)
-            .build();
-
     private static final int DEFAULT_CHECK_INTERVAL = 5000;
 
     /**
@@ -71,7 +55,7 @@ public class TimedCacheBuilder<T> implements Buildable<TimedCache<T>> {
     private int checkInterval;
 
     /**
-     * 检查线程池
+     * 检查线程池 为空则使用 {@link TimedCacheScheduler} 的工作线程池
      */
     private Executor checkExecutor;
 
@@ -82,7 +66,6 @@ public class TimedCacheBuilder<T> implements Buildable<TimedCache<T>> {
 
     private TimedCacheBuilder() {
         this.checkInterval = DEFAULT_CHECK_INTERVAL;
-        this.checkExecutor = CHECKER_EXECUTOR;
     }
 
     /**
@@ -144,7 +127,7 @@ public class TimedCacheBuilder<T> implements Buildable<TimedCache<T>> {
     }
 
     /**
-     * 设置检查线程池
+     * 设置检查线程池 用于执行过期检查及过期回调
      *
      * @param checkExecutor checkExecutor
      * @return this
@@ -26,15 +26,17 @@
  */
 package cn.orionsec.kit.lang.define.cache;
 
-import cn.orionsec.kit.lang.utils.Threads;
-
 import java.io.Closeable;
 import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 
 /**
  * 过期缓存检查
+ * <p>
+ * 使用分层时间轮记录过期时间, 每次检查只处理到期的格, 不再扫描全部元素
+ * 由全局的 {@link TimedCacheScheduler} 定时触发, 不再独占线程
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -50,6 +52,13 @@ public class TimedCacheChecker<T> implements Runnable, Closeable {
 
     private final BiConsumer<String, T> expiredListener;
 
+    private final TimedCacheWheel<T> wheel;
+
+    /**
+     * 是否正在检查
+     */
+    private final AtomicBoolean checking;
+
     private volatile boolean run;
 
     public TimedCacheChecker(int checkInterval,
@@ -61,37 +70,112 @@ public class TimedCacheChecker<T> implements Runnable, Closeable {
         this.executor = executor;
         this.checkInterval = checkInterval;
         this.expiredListener = expiredListener;
+        this.wheel = new TimedCacheWheel<>(checkInterval, System.currentTimeMillis());
+        this.checking = new AtomicBoolean();
     }
 
     /**
-     * 启动检查
+     * 启动检查 注册到全局调度器
      */
     public void start() {
         this.run = true;
-        executor.execute(this);
+        TimedCacheScheduler.getInstance().register(this);
+    }
+
+    /**
+     * 添加到时间轮
+     *
+     * @param value value
+     */
+    public void schedule(TimedCacheValue<T> value) {
+        wheel.add(value);
+    }
+
+    /**
+     * 从时间轮移除 元素被覆盖或删除时调用
+     *
+     * @param value value
+     */
+    public void cancel(TimedCacheValue<T> value) {
+        if (value != null) {
+            wheel.remove(value);
+        }
+    }
+
+    /**
+     * 清空时间轮
+     */
+    public void clear() {
+        wheel.clear();
     }
 
     @Override
     public void run() {
-        while (run) {
-            Threads.sleep(checkInterval);
-            long curr = System.currentTimeMillis();
-            for (String key : store.keySet()) {
-                TimedCacheValue<T> value = store.get(key);
-                if (value.expireTime < curr) {
-                    // 删除
-                    store.remove(key);
-                    // 通知
-                    if (expiredListener != null) {
-                        expiredListener.accept(key, value.value);
-                    }
-                }
-            }
+        this.check();
+    }
+
+    /**
+     * 检查到期的元素
+     */
+    public void check() {
+        if (!run) {
+            return;
+        }
+        for (TimedCacheValue<T> value : wheel.advance(System.currentTimeMillis())) {
+            this.expire(value);
         }
     }
 
+    /**
+     * 过期元素
+     * <p>
+     * 只有当前存储的值为该值时才会删除, 已被覆盖或删除的值会被忽略
+     *
+     * @param value value
+     * @return 是否删除
+     */
+    public boolean expire(TimedCacheValue<T> value) {
+        if (value.key == null || !store.remove(value.key, value)) {
+            return false;
+        }
+        // 惰性过期时元素还在时间轮中
+        wheel.remove(value);
+        // 通知
+        if (expiredListener != null) {
+            expiredListener.accept(value.key, value.value);
+        }
+        return true;
+    }
+
+    /**
+     * 获取检查权
+     *
+     * @return 是否获取成功
+     */
+    protected boolean tryAcquire() {
+        return checking.compareAndSet(false, true);
+    }
+
+    /**
+     * 释放检查权
+     */
+    protected void release() {
+        checking.set(false);
+    }
+
+    public int getCheckInterval() {
+        return checkInterval;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
     @Override
     public void close() {
         this.run = false;
+        TimedCacheScheduler.getInstance().unregister(this);
+        wheel.clear();
     }
+
 }
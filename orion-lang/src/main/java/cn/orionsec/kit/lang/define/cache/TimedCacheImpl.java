@@ -58,31 +58,36 @@ public class TimedCacheImpl<T> implements TimedCache<T> {
 
     @Override
     public T put(String key, T value) {
-        TimedCacheValue<T> returnValue = store.put(key, this.createValue(value));
-        return this.safeGet(returnValue);
+        return this.put(key, value, expireAfter);
     }
 
     @Override
     public T put(String key, T value, long expireAfter) {
-        TimedCacheValue<T> returnValue = store.put(key, this.createValue(value, expireAfter));
+        TimedCacheValue<T> cacheValue = this.createValue(key, value, expireAfter);
+        TimedCacheValue<T> returnValue = store.put(key, cacheValue);
+        checker.schedule(cacheValue);
+        checker.cancel(returnValue);
         return this.safeGet(returnValue);
     }
 
     @Override
     public T putIfAbsent(String key, T value) {
-        TimedCacheValue<T> returnValue = store.putIfAbsent(key, this.createValue(value));
-        return this.safeGet(returnValue);
+        return this.putIfAbsent(key, value, expireAfter);
     }
 
     @Override
     public T putIfAbsent(String key, T value, long expireAfter) {
-        TimedCacheValue<T> returnValue = store.putIfAbsent(key, this.createValue(value, expireAfter));
+        TimedCacheValue<T> cacheValue = this.createValue(key, value, expireAfter);
+        TimedCacheValue<T> returnValue = store.putIfAbsent(key, cacheValue);
+        if (returnValue == null) {
+            checker.schedule(cacheValue);
+        }
         return this.safeGet(returnValue);
     }
 
     @Override
     public void putAll(Map<? extends String, ? extends T> map) {
-        map.forEach((k, v) -> store.put(k, this.createValue(v)));
+        map.forEach((k, v) -> this.put(k, v, expireAfter));
     }
 
     @Override
@@ -93,12 +98,19 @@ public class TimedCacheImpl<T> implements TimedCache<T> {
     @Override
     public T getOrDefault(Object key, T defaultValue) {
         TimedCacheValue<T> value = store.get((String) key);
+        if (value != null && value.isExpired(System.currentTimeMillis())) {
+            // 惰性过期
+            checker.expire(value);
+            return defaultValue;
+        }
         return Objects1.def(this.safeGet(value), defaultValue);
     }
 
     @Override
     public T remove(Object key) {
-        return this.safeGet(store.remove(key));
+        TimedCacheValue<T> value = store.remove(key);
+        checker.cancel(value);
+        return this.safeGet(value);
     }
 
     @Override
@@ -125,6 +137,7 @@ public class TimedCacheImpl<T> implements TimedCache<T> {
 
     @Override
     public void clear() {
+        checker.clear();
         store.clear();
     }
 
@@ -170,22 +183,13 @@ public class TimedCacheImpl<T> implements TimedCache<T> {
     /**
      * 创建缓存值
      *
-     * @param o o
-     * @return value
-     */
-    private TimedCacheValue<T> createValue(T o) {
-        return this.createValue(o, expireAfter);
-    }
-
-    /**
-     * 创建缓存值
-     *
+     * @param key         key
      * @param o           o
      * @param expireAfter expireAfter
      * @return value
      */
-    private TimedCacheValue<T> createValue(T o, long expireAfter) {
-        return new TimedCacheValue<T>(System.currentTimeMillis() + expireAfter, o);
+    private TimedCacheValue<T> createValue(String key, T o, long expireAfter) {
+        return new TimedCacheValue<T>(key, System.currentTimeMillis() + expireAfter, o);
     }
 
     @Override
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.define.cache;
+
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.define.thread.ExecutorBuilder;
+import cn.orionsec.kit.lang.define.thread.ThreadFactoryBuilder;
+import cn.orionsec.kit.lang.utils.Systems;
+
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 过期缓存调度器
+ * <p>
+ * 全局共享一个守护定时线程, 定时线程只负责触发, 过期检查及过期回调在有界的工作线程池中执行
+ * 所有 {@link TimedCacheImpl} 启动时注册, 关闭时注销, 不再为每个缓存占用一个线程
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/25 11:08
+ */
+public class TimedCacheScheduler {
+
+    /**
+     * 工作线程数
+     */
+    private static final int WORKER_SIZE = Math.max(2, Math.min(Systems.PROCESS_NUM, 8));
+
+    /**
+     * 工作队列容量
+     */
+    private static final int WORKER_QUEUE_CAPACITY = 4096;
+
+    /**
+     * 定时器
+     */
+    private final ScheduledThreadPoolExecutor timer;
+
+    /**
+     * 工作线程池
+     */
+    private final ExecutorService workers;
+
+    /**
+     * 已注册的检查器
+     */
+    private final Map<TimedCacheChecker<?>, ScheduledFuture<?>> checkers;
+
+    private TimedCacheScheduler() {
+        this.timer = new ScheduledThreadPoolExecutor(1, ThreadFactoryBuilder.create()
+                .setPrefix("orion-cache-scheduler-")
+                .setDaemon(true)
+                .build());
+        timer.setRemoveOnCancelPolicy(true);
+        this.workers = ExecutorBuilder.create()
+                .threadFactory(ThreadFactoryBuilder.create()
+                        .setPrefix("orion-cache-checker-")
+                        .setDaemon(true)
+                        .build())
+                .corePoolSize(WORKER_SIZE)
+                .maxPoolSize(WORKER_SIZE)
+                .keepAliveTime(Const.MS_S_60)
+                .useLinkedBlockingQueue(WORKER_QUEUE_CAPACITY)
+                .allowCoreThreadTimeout(true)
+                // 队列已满时拒绝, 由 trigger 释放检查权, 本次检查合并到下一次触发, 不在定时线程中执行
+                .rejectHandler(new ThreadPoolExecutor.AbortPolicy())
+                .build();
+        this.checkers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 获取全局调度器
+     *
+     * @return scheduler
+     */
+    public static TimedCacheScheduler getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * 注册检查器
+     * <p>
+     * 每隔检查间隔触发一次检查, 上一次检查未完成时跳过本次
+     *
+     * @param checker checker
+     */
+    public void register(TimedCacheChecker<?> checker) {
+        long interval = Math.max(checker.getCheckInterval(), 1);
+        checkers.computeIfAbsent(checker, c -> timer.scheduleWithFixedDelay(
+                () -> this.trigger(c),
+                interval,
+                interval,
+                TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 注销检查器
+     *
+     * @param checker checker
+     */
+    public void unregister(TimedCacheChecker<?> checker) {
+        ScheduledFuture<?> future = checkers.remove(checker);
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * @return 已注册的检查器数量
+     */
+    public int getRegisteredCount() {
+        return checkers.size();
+    }
+
+    /**
+     * @return 默认的检查线程池
+     */
+    public Executor getWorkers() {
+        return workers;
+    }
+
+    /**
+     * 触发检查
+     *
+     * @param checker checker
+     */
+    private void trigger(TimedCacheChecker<?> checker) {
+        if (!checker.tryAcquire()) {
+            return;
+        }
+        Executor executor = checker.getExecutor() == null ? workers : checker.getExecutor();
+        try {
+            executor.execute(() -> {
+                try {
+                    checker.check();
+                } finally {
+                    checker.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 丢弃本次检查 下次触发时重试
+            checker.release();
+        }
+    }
+
+    /**
+     * 单例
+     */
+    private static class InstanceHolder {
+        private static final TimedCacheScheduler INSTANCE = new TimedCacheScheduler();
+    }
+
+}
@@ -35,6 +35,11 @@ package cn.orionsec.kit.lang.define.cache;
  */
 public class TimedCacheValue<T> {
 
+    /**
+     * key
+     */
+    protected final String key;
+
     /**
      * 过期时间
      */
@@ -45,11 +50,43 @@ public class TimedCacheValue<T> {
      */
     protected final T value;
 
+    /**
+     * 时间轮链表节点 由 {@link TimedCacheWheel} 维护
+     */
+    TimedCacheValue<T> prev;
+
+    TimedCacheValue<T> next;
+
+    /**
+     * 所在格 未加入时间轮为 null
+     */
+    Object bucket;
+
+    /**
+     * 是否已从时间轮取消
+     */
+    boolean cancelled;
+
     public TimedCacheValue(long expireTime, T value) {
+        this(null, expireTime, value);
+    }
+
+    public TimedCacheValue(String key, long expireTime, T value) {
+        this.key = key;
         this.expireTime = expireTime;
         this.value = value;
     }
 
+    /**
+     * 是否已过期
+     *
+     * @param now 当前时间
+     * @return 是否过期
+     */
+    public boolean isExpired(long now) {
+        return expireTime < now;
+    }
+
     @Override
     public String toString() {
         return value != null ? value.toString() : "null";
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.define.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 过期缓存分层时间轮
+ * <p>
+ * 第 0 层每格跨度为 tick, 第 n 层每格跨度为 tick * 64^n
+ * 添加元素只需要计算所在的层与格 O(1), 推进时只处理到期的格, 高层的格到期时会降级到低层
+ * <p>
+ * 每格是一个双向链表, 元素被覆盖或删除后调用 {@link #remove(TimedCacheValue)} 可以 O(1) 移除
+ * 到期的元素仍需要调用方根据元素身份二次确认 (如 {@code Map.remove(key, value)})
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/23 10:26
+ */
+public class TimedCacheWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    /**
+     * 层数 每层跨度为上一层的 64 倍
+     */
+    private static final int LEVELS = 6;
+
+    /**
+     * 每层每格跨度
+     */
+    private final long[] ticks;
+
+    /**
+     * 每层总跨度
+     */
+    private final long[] spans;
+
+    private final Bucket<T>[][] buckets;
+
+    /**
+     * 推进和清空时加写锁, 添加和移除时加读锁
+     */
+    private final ReentrantReadWriteLock lock;
+
+    /**
+     * 时间轮中的元素数
+     */
+    private final AtomicInteger size;
+
+    /**
+     * 当前时间 对齐到 tick
+     */
+    private volatile long currentTime;
+
+    @SuppressWarnings("unchecked")
+    public TimedCacheWheel(long tick, long startTime) {
+        this.ticks = new long[LEVELS];
+        this.spans = new long[LEVELS];
+        this.buckets = new Bucket[LEVELS][WHEEL_SIZE];
+        long levelTick = Math.max(tick, 1);
+        for (int i = 0; i < LEVELS; i++) {
+            ticks[i] = levelTick;
+            spans[i] = levelTick << WHEEL_BITS;
+            for (int j = 0; j < WHEEL_SIZE; j++) {
+                buckets[i][j] = new Bucket<>();
+            }
+            // 防止溢出
+            levelTick = levelTick > (Long.MAX_VALUE >> (WHEEL_BITS * 2)) ? levelTick : levelTick << WHEEL_BITS;
+        }
+        this.currentTime = startTime - startTime % ticks[0];
+        this.lock = new ReentrantReadWriteLock();
+        this.size = new AtomicInteger();
+    }
+
+    /**
+     * 添加元素
+     *
+     * @param value value
+     */
+    public void add(TimedCacheValue<T> value) {
+        ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            this.addInternal(value);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 移除元素 元素被覆盖或删除时调用, 移除后不会再被添加
+     *
+     * @param value value
+     */
+    public void remove(TimedCacheValue<T> value) {
+        ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            synchronized (value) {
+                value.cancelled = true;
+                Bucket<T> bucket = this.bucketOf(value);
+                if (bucket != null && bucket.unlink(value)) {
+                    size.decrementAndGet();
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 推进时间轮到指定时间
+     *
+     * @param now 当前时间
+     * @return 已到期的元素
+     */
+    public List<TimedCacheValue<T>> advance(long now) {
+        List<TimedCacheValue<T>> expired = new ArrayList<>();
+        ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            long tick = ticks[0];
+            while (currentTime + tick <= now) {
+                long time = currentTime;
+                // 高层到期的格降级
+                for (int i = LEVELS - 1; i > 0; i--) {
+                    if (time % ticks[i] == 0) {
+                        TimedCacheValue<T> value = buckets[i][this.indexOf(time, i)].drain();
+                        while (value != null) {
+                            TimedCacheValue<T> next = value.next;
+                            value.next = null;
+                            this.relink(value);
+                            value = next;
+                        }
+                    }
+                }
+                // 处理第 0 层当前格 [time, time + tick)
+                TimedCacheValue<T> value = buckets[0][this.indexOf(time, 0)].drain();
+                while (value != null) {
+                    TimedCacheValue<T> next = value.next;
+                    value.next = null;
+                    expired.add(value);
+                    size.decrementAndGet();
+                    value = next;
+                }
+                this.currentTime = time + tick;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return expired;
+    }
+
+    /**
+     * 清空时间轮
+     */
+    public void clear() {
+        ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            for (Bucket<T>[] level : buckets) {
+                for (Bucket<T> bucket : level) {
+                    TimedCacheValue<T> value = bucket.drain();
+                    while (value != null) {
+                        TimedCacheValue<T> next = value.next;
+                        value.next = null;
+                        value = next;
+                    }
+                }
+            }
+            size.set(0);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return 时间轮中的元素数
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return 当前时间
+     */
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * 添加元素 需要持有读锁
+     *
+     * @param value value
+     */
+    private void addInternal(TimedCacheValue<T> value) {
+        synchronized (value) {
+            if (value.cancelled || value.bucket != null) {
+                return;
+            }
+            this.relink(value);
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * 将元素链接到所在格 需要持有读锁并同步元素, 或持有写锁
+     *
+     * @param value value
+     */
+    private void relink(TimedCacheValue<T> value) {
+        long time = currentTime;
+        // 已经过期的元素放入当前格
+        long expireTime = Math.max(value.expireTime, time);
+        for (int i = 0; i < LEVELS; i++) {
+            long levelStart = time - time % ticks[i];
+            if (expireTime - levelStart < spans[i]) {
+                buckets[i][this.indexOf(expireTime, i)].link(value);
+                return;
+            }
+        }
+        // 超出最高层跨度 放入最高层的最后一格 到期后重新计算
+        int top = LEVELS - 1;
+        long levelStart = time - time % ticks[top];
+        buckets[top][this.indexOf(levelStart + spans[top] - 1, top)].link(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Bucket<T> bucketOf(TimedCacheValue<T> value) {
+        return (Bucket<T>) value.bucket;
+    }
+
+    /**
+     * 计算时间所在格
+     *
+     * @param time  时间
+     * @param level 层
+     * @return index
+     */
+    private int indexOf(long time, int level) {
+        return (int) ((time / ticks[level]) & WHEEL_MASK);
+    }
+
+    /**
+     * 格 元素组成的双向链表
+     */
+    private static final class Bucket<T> {
+
+        private TimedCacheValue<T> head;
+
+        private TimedCacheValue<T> tail;
+
+        private synchronized void link(TimedCacheValue<T> value) {
+            value.bucket = this;
+            value.next = null;
+            value.prev = tail;
+            if (tail == null) {
+                this.head = value;
+            } else {
+                tail.next = value;
+            }
+            this.tail = value;
+        }
+
+        private synchronized boolean unlink(TimedCacheValue<T> value) {
+            if (value.bucket != this) {
+                return false;
+            }
+            TimedCacheValue<T> prev = value.prev;
+            TimedCacheValue<T> next = value.next;
+            if (prev == null) {
+                this.head = next;
+            } else {
+                prev.next = next;
+            }
+            if (next == null) {
+                this.tail = prev;
+            } else {
+                next.prev = prev;
+            }
+            value.prev = null;
+            value.next = null;
+            value.bucket = null;
+            return true;
+        }
+
+        /**
+         * 取出所有元素 返回的链表通过 next 连接
+         *
+         * @return 头节点
+         */
+        private synchronized TimedCacheValue<T> drain() {
+            TimedCacheValue<T> first = head;
+            for (TimedCacheValue<T> value = first; value != null; value = value.next) {
+                value.prev = null;
+                value.bucket = null;
+            }
+            this.head = null;
+            this.tail = null;
+            return first;
+        }
+
+    }
+
+}
@@ -0,0 +1,828 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.define.cache;
+
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Objects1;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * W-TinyLFU 缓存
+ * <p>
+ * 按 key 的 hash 分段加锁, 每个分段内分为 window (LRU) 和 main (SLRU: probation + protected) 区域
+ * 新元素先进入 window, 被 window 淘汰的元素需要通过频率草图的准入判断才能进入 main
+ * 一次性扫描的数据无法挤掉 main 中的热点数据
+ * <p>
+ * 支持按数量或按权重限制大小, 并记录命中/未命中/淘汰数
+ * 不支持 null key 和 null value
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/20 15:30
+ * @see TinyLfuCacheBuilder
+ */
+public class TinyLfuCache<K, V> {
+
+    /**
+     * 每个分段最小权重 分段过小时会减少分段数
+     */
+    private static final int MIN_SEGMENT_WEIGHT = 32;
+
+    /**
+     * 按权重淘汰时频率草图的初始容量
+     */
+    private static final int INITIAL_SKETCH_SIZE = 64;
+
+    /**
+     * window 区域占比
+     */
+    private static final double WINDOW_PERCENT = 0.01D;
+
+    /**
+     * protected 区域占 main 区域比例
+     */
+    private static final double PROTECTED_PERCENT = 0.8D;
+
+    private final Segment<K, V>[] segments;
+
+    private final int segmentMask;
+
+    private final long maximumWeight;
+
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+
+    private final BiConsumer<K, V> evictionListener;
+
+    private final LongAdder hits;
+
+    private final LongAdder misses;
+
+    private final LongAdder evictions;
+
+    private final LongAdder evictionWeight;
+
+    @SuppressWarnings("unchecked")
+    TinyLfuCache(long maximumWeight,
+                 int concurrencyLevel,
+                 ToIntBiFunction<? super K, ? super V> weigher,
+                 BiConsumer<K, V> evictionListener) {
+        Assert.isTrue(maximumWeight > 0, "maximum weight must be greater than 0");
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.evictionWeight = new LongAdder();
+        // 计算分段数
+        int segmentCount = FrequencySketch.ceilingPowerOfTwo(Math.max(concurrencyLevel, 1));
+        while (segmentCount > 1 && maximumWeight / segmentCount < MIN_SEGMENT_WEIGHT) {
+            segmentCount >>>= 1;
+        }
+        this.segmentMask = segmentCount - 1;
+        this.segments = new Segment[segmentCount];
+        long remainder = maximumWeight % segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            long segmentWeight = maximumWeight / segmentCount + (i < remainder ? 1 : 0);
+            segments[i] = new Segment<>(this, segmentWeight);
+        }
+    }
+
+    /**
+     * 获取值 并记录访问
+     *
+     * @param key key
+     * @return value
+     */
+    public V get(Object key) {
+        Assert.notNull(key, "key is null");
+        Segment<K, V> segment = this.segmentFor(key);
+        V value = segment.get(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 获取值 并记录访问
+     *
+     * @param key key
+     * @param def 默认值
+     * @return value
+     */
+    public V getOrDefault(Object key, V def) {
+        return Objects1.def(this.get(key), def);
+    }
+
+    /**
+     * 获取值 不存在则计算并放入缓存
+     * <p>
+     * 计算时会持有分段锁, 计算函数不可以操作当前缓存
+     *
+     * @param key             key
+     * @param mappingFunction 计算函数 返回 null 则不缓存
+     * @return value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Assert.notNull(key, "key is null");
+        Assert.notNull(mappingFunction, "mapping function is null");
+        Segment<K, V> segment = this.segmentFor(key);
+        List<Node<K, V>> evicted = this.newEvictedList();
+        V value;
+        segment.lock.lock();
+        try {
+            value = segment.get(key);
+            if (value != null) {
+                hits.increment();
+                return value;
+            }
+            misses.increment();
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                segment.put(key, value, false, evicted);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+        this.notifyEvicted(evicted);
+        return value;
+    }
+
+    /**
+     * 放入缓存
+     *
+     * @param key   key
+     * @param value value
+     * @return 旧值
+     */
+    public V put(K key, V value) {
+        return this.put(key, value, false);
+    }
+
+    /**
+     * 不存在则放入缓存
+     *
+     * @param key   key
+     * @param value value
+     * @return 已存在的值
+     */
+    public V putIfAbsent(K key, V value) {
+        return this.put(key, value, true);
+    }
+
+    /**
+     * 放入全部
+     *
+     * @param map map
+     */
+    public void putAll(Map<? extends K, ? extends V> map) {
+        map.forEach(this::put);
+    }
+
+    /**
+     * 删除缓存
+     *
+     * @param key key
+     * @return value
+     */
+    public V remove(Object key) {
+        Assert.notNull(key, "key is null");
+        return this.segmentFor(key).remove(key);
+    }
+
+    /**
+     * 是否包含 key 不记录访问
+     *
+     * @param key key
+     * @return 是否包含
+     */
+    public boolean containsKey(Object key) {
+        Assert.notNull(key, "key is null");
+        return this.segmentFor(key).containsKey(key);
+    }
+
+    /**
+     * 清空缓存 不会触发淘汰监听器
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * @return 元素数量
+     */
+    public int size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.data.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * @return 当前总权重
+     */
+    public long weightedSize() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                weight += segment.windowWeight + segment.mainWeight;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * @return 最大权重
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * @return 分段数
+     */
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * 获取缓存快照
+     *
+     * @return 快照
+     */
+    public Map<K, V> snapshot() {
+        Map<K, V> map = new HashMap<>();
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.data.values().forEach(n -> map.put(n.key, n.value));
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return map;
+    }
+
+    /**
+     * @return 查询数
+     */
+    public long getCounts() {
+        return hits.sum() + misses.sum();
+    }
+
+    /**
+     * @return 命中数
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return 未命中数
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return 淘汰数
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return 淘汰权重
+     */
+    public long getEvictionWeight() {
+        return evictionWeight.sum();
+    }
+
+    /**
+     * @return 缓存命中率
+     */
+    public double getHitsRate() {
+        long count = this.getCounts();
+        return count == 0 ? 0 : ((double) hits.sum()) / ((double) count);
+    }
+
+    /**
+     * 重置统计
+     */
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        evictionWeight.reset();
+    }
+
+    @Override
+    public String toString() {
+        return this.snapshot().toString();
+    }
+
+    /**
+     * 放入缓存
+     *
+     * @param key          key
+     * @param value        value
+     * @param onlyIfAbsent 是否只有不存在时放入
+     * @return 旧值
+     */
+    private V put(K key, V value, boolean onlyIfAbsent) {
+        Assert.notNull(key, "key is null");
+        Assert.notNull(value, "value is null");
+        Segment<K, V> segment = this.segmentFor(key);
+        List<Node<K, V>> evicted = this.newEvictedList();
+        V prev;
+        segment.lock.lock();
+        try {
+            prev = segment.put(key, value, onlyIfAbsent, evicted);
+        } finally {
+            segment.lock.unlock();
+        }
+        this.notifyEvicted(evicted);
+        return prev;
+    }
+
+    /**
+     * 计算元素权重
+     *
+     * @param key   key
+     * @param value value
+     * @return 权重
+     */
+    private int weigh(K key, V value) {
+        if (weigher == null) {
+            return 1;
+        }
+        int weight = weigher.applyAsInt(key, value);
+        Assert.isTrue(weight >= 0, "weight must not be negative");
+        return weight;
+    }
+
+    /**
+     * 获取 key 所在分段
+     *
+     * @param key key
+     * @return 分段
+     */
+    private Segment<K, V> segmentFor(Object key) {
+        int hash = FrequencySketch.spread(key.hashCode());
+        return segments[(hash >>> 16) & segmentMask];
+    }
+
+    /**
+     * @return 淘汰元素容器 没有监听器则为 null
+     */
+    private List<Node<K, V>> newEvictedList() {
+        return evictionListener == null ? null : new ArrayList<>(2);
+    }
+
+    /**
+     * 在锁外通知淘汰监听器
+     *
+     * @param evicted 淘汰元素
+     */
+    private void notifyEvicted(List<Node<K, V>> evicted) {
+        if (evicted == null || evicted.isEmpty()) {
+            return;
+        }
+        for (Node<K, V> node : evicted) {
+            evictionListener.accept(node.key, node.value);
+        }
+    }
+
+    /**
+     * 元素所在区域
+     */
+    private enum Region {
+
+        /**
+         * 窗口
+         */
+        WINDOW,
+
+        /**
+         * 试用
+         */
+        PROBATION,
+
+        /**
+         * 保护
+         */
+        PROTECTED,
+
+    }
+
+    /**
+     * 缓存节点 同时是访问顺序双向链表的节点
+     */
+    private static final class Node<K, V> {
+
+        private final K key;
+
+        private V value;
+
+        private int weight;
+
+        private Region region;
+
+        private Node<K, V> prev;
+
+        private Node<K, V> next;
+
+        private Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+
+    }
+
+    /**
+     * 访问顺序双向链表 头部为最近访问 尾部为最久访问
+     */
+    private static final class NodeQueue<K, V> {
+
+        private final Node<K, V> head;
+
+        private NodeQueue() {
+            this.head = new Node<>(null, null, 0);
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void addFirst(Node<K, V> node) {
+            node.next = head.next;
+            node.prev = head;
+            head.next.prev = node;
+            head.next = node;
+        }
+
+        private void unlink(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+
+        private void moveToFirst(Node<K, V> node) {
+            if (head.next != node) {
+                this.unlink(node);
+                this.addFirst(node);
+            }
+        }
+
+        private Node<K, V> peekLast() {
+            return head.prev == head ? null : head.prev;
+        }
+
+        private void clear() {
+            head.prev = head;
+            head.next = head;
+        }
+
+    }
+
+    /**
+     * 分段
+     */
+    private static final class Segment<K, V> {
+
+        private final TinyLfuCache<K, V> cache;
+
+        private final ReentrantLock lock;
+
+        private final Map<Object, Node<K, V>> data;
+
+        private final FrequencySketch sketch;
+
+        private final NodeQueue<K, V> window;
+
+        private final NodeQueue<K, V> probation;
+
+        private final NodeQueue<K, V> protect;
+
+        private final long windowMaximum;
+
+        private final long mainMaximum;
+
+        private final long protectedMaximum;
+
+        private long windowWeight;
+
+        private long mainWeight;
+
+        private long protectedWeight;
+
+        private Segment(TinyLfuCache<K, V> cache, long maximum) {
+            this.cache = cache;
+            this.lock = new ReentrantLock();
+            this.data = new HashMap<>();
+            // 按权重淘汰时 maximum 是权重而不是元素数, 从较小的容量开始随元素数扩容
+            this.sketch = new FrequencySketch(cache.weigher == null ? maximum : Math.min(maximum, INITIAL_SKETCH_SIZE));
+            this.window = new NodeQueue<>();
+            this.probation = new NodeQueue<>();
+            this.protect = new NodeQueue<>();
+            this.windowMaximum = Math.max(1, (long) (maximum * WINDOW_PERCENT));
+            this.mainMaximum = Math.max(0, maximum - windowMaximum);
+            this.protectedMaximum = (long) (mainMaximum * PROTECTED_PERCENT);
+        }
+
+        private V get(Object key) {
+            lock.lock();
+            try {
+                sketch.increment(key);
+                Node<K, V> node = data.get(key);
+                if (node == null) {
+                    return null;
+                }
+                this.onAccess(node);
+                return node.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean containsKey(Object key) {
+            lock.lock();
+            try {
+                return data.containsKey(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 放入元素 需要持有锁
+         */
+        private V put(K key, V value, boolean onlyIfAbsent, List<Node<K, V>> evicted) {
+            int weight = cache.weigh(key, value);
+            Node<K, V> node = data.get(key);
+            if (node != null && onlyIfAbsent) {
+                sketch.increment(key);
+                this.onAccess(node);
+                return node.value;
+            }
+            sketch.increment(key);
+            V prev = null;
+            if (node == null) {
+                node = new Node<>(key, value, weight);
+                data.put(key, node);
+                if (cache.weigher != null) {
+                    sketch.ensureCapacity(data.size());
+                }
+                node.region = Region.WINDOW;
+                window.addFirst(node);
+                windowWeight += weight;
+            } else {
+                prev = node.value;
+                node.value = value;
+                this.adjustWeight(node, weight - node.weight);
+                node.weight = weight;
+                this.onAccess(node);
+            }
+            this.evict(evicted);
+            return prev;
+        }
+
+        private V remove(Object key) {
+            lock.lock();
+            try {
+                Node<K, V> node = data.remove(key);
+                if (node == null) {
+                    return null;
+                }
+                this.unlink(node);
+                return node.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void clear() {
+            lock.lock();
+            try {
+                data.clear();
+                window.clear();
+                probation.clear();
+                protect.clear();
+                sketch.clear();
+                this.windowWeight = 0;
+                this.mainWeight = 0;
+                this.protectedWeight = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 访问节点 调整其在链表中的位置
+         */
+        private void onAccess(Node<K, V> node) {
+            switch (node.region) {
+                case WINDOW:
+                    window.moveToFirst(node);
+                    break;
+                case PROBATION:
+                    // 晋升到保护区
+                    probation.unlink(node);
+                    node.region = Region.PROTECTED;
+                    protect.addFirst(node);
+                    protectedWeight += node.weight;
+                    this.demoteProtected();
+                    break;
+                case PROTECTED:
+                    protect.moveToFirst(node);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * 调整节点所在区域的权重
+         */
+        private void adjustWeight(Node<K, V> node, int delta) {
+            if (node.region == Region.WINDOW) {
+                windowWeight += delta;
+            } else {
+                mainWeight += delta;
+                if (node.region == Region.PROTECTED) {
+                    protectedWeight += delta;
+                }
+            }
+        }
+
+        /**
+         * 从链表中移除节点 并扣减权重
+         */
+        private void unlink(Node<K, V> node) {
+            switch (node.region) {
+                case WINDOW:
+                    window.unlink(node);
+                    break;
+                case PROBATION:
+                    probation.unlink(node);
+                    break;
+                case PROTECTED:
+                    protect.unlink(node);
+                    break;
+                default:
+                    break;
+            }
+            this.adjustWeight(node, -node.weight);
+        }
+
+        /**
+         * 保护区超出容量时将最久访问的节点降级到试用区
+         */
+        private void demoteProtected() {
+            while (protectedWeight > protectedMaximum) {
+                Node<K, V> last = protect.peekLast();
+                if (last == null) {
+                    break;
+                }
+                protect.unlink(last);
+                protectedWeight -= last.weight;
+                last.region = Region.PROBATION;
+                probation.addFirst(last);
+            }
+        }
+
+        /**
+         * 淘汰
+         */
+        private void evict(List<Node<K, V>> evicted) {
+            // window 溢出的元素作为候选者尝试进入 main
+            while (windowWeight > windowMaximum) {
+                Node<K, V> candidate = window.peekLast();
+                if (candidate == null) {
+                    break;
+                }
+                window.unlink(candidate);
+                windowWeight -= candidate.weight;
+                this.admit(candidate, evicted);
+            }
+            // main 溢出 (元素权重增加)
+            while (mainWeight > mainMaximum) {
+                Node<K, V> victim = this.victim();
+                if (victim == null) {
+                    break;
+                }
+                this.evictNode(victim, evicted);
+            }
+            this.demoteProtected();
+        }
+
+        /**
+         * 准入判断 候选者访问频率高于受害者时才可以进入 main
+         */
+        private void admit(Node<K, V> candidate, List<Node<K, V>> evicted) {
+            candidate.region = null;
+            while (mainWeight + candidate.weight > mainMaximum) {
+                Node<K, V> victim = this.victim();
+                if (victim == null) {
+                    break;
+                }
+                if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                    this.evictNode(victim, evicted);
+                } else {
+                    this.evictNode(candidate, evicted);
+                    return;
+                }
+            }
+            if (mainWeight + candidate.weight > mainMaximum) {
+                // 单个元素超出容量
+                this.evictNode(candidate, evicted);
+                return;
+            }
+            candidate.region = Region.PROBATION;
+            probation.addFirst(candidate);
+            mainWeight += candidate.weight;
+        }
+
+        /**
+         * @return 受害者 优先选择试用区最久访问的节点
+         */
+        private Node<K, V> victim() {
+            Node<K, V> victim = probation.peekLast();
+            if (victim == null) {
+                victim = protect.peekLast();
+            }
+            return victim;
+        }
+
+        /**
+         * 淘汰节点
+         */
+        private void evictNode(Node<K, V> node, List<Node<K, V>> evicted) {
+            if (node.region != null) {
+                this.unlink(node);
+            }
+            data.remove(node.key);
+            cache.evictions.increment();
+            cache.evictionWeight.add(node.weight);
+            if (evicted != null) {
+                evicted.add(node);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.define.cache;
+
+import cn.orionsec.kit.lang.able.Buildable;
+import cn.orionsec.kit.lang.utils.Systems;
+
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * W-TinyLFU 缓存构建器
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/20 16:48
+ */
+public class TinyLfuCacheBuilder<K, V> implements Buildable<TinyLfuCache<K, V>> {
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 10;
+
+    /**
+     * 最大数量 / 最大权重
+     */
+    private long maximum;
+
+    /**
+     * 并发级别 (分段数)
+     */
+    private int concurrencyLevel;
+
+    /**
+     * 权重计算器
+     */
+    private ToIntBiFunction<? super K, ? super V> weigher;
+
+    /**
+     * 淘汰监听器
+     */
+    private BiConsumer<K, V> evictionListener;
+
+    private TinyLfuCacheBuilder() {
+        this.maximum = DEFAULT_MAXIMUM_SIZE;
+        this.concurrencyLevel = Systems.PROCESS_NUM * 4;
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @param <K> K
+     * @param <V> V
+     * @return builder
+     */
+    public static <K, V> TinyLfuCacheBuilder<K, V> create() {
+        return new TinyLfuCacheBuilder<>();
+    }
+
+    /**
+     * 创建缓存
+     *
+     * @param maximumSize 最大数量
+     * @param <K>         K
+     * @param <V>         V
+     * @return cache
+     */
+    public static <K, V> TinyLfuCache<K, V> create(long maximumSize) {
+        return new TinyLfuCacheBuilder<K, V>()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * 设置最大数量
+     *
+     * @param maximumSize maximumSize
+     * @return this
+     */
+    public TinyLfuCacheBuilder<K, V> maximumSize(long maximumSize) {
+        this.maximum = maximumSize;
+        this.weigher = null;
+        return this;
+    }
+
+    /**
+     * 设置最大权重
+     *
+     * @param maximumWeight maximumWeight
+     * @param weigher       权重计算器
+     * @return this
+     */
+    public TinyLfuCacheBuilder<K, V> maximumWeight(long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+        this.maximum = maximumWeight;
+        this.weigher = weigher;
+        return this;
+    }
+
+    /**
+     * 设置并发级别 会向上取 2 的幂作为分段数
+     *
+     * @param concurrencyLevel concurrencyLevel
+     * @return this
+     */
+    public TinyLfuCacheBuilder<K, V> concurrencyLevel(int concurrencyLevel) {
+        this.concurrencyLevel = concurrencyLevel;
+        return this;
+    }
+
+    /**
+     * 设置淘汰监听器
+     *
+     * @param evictionListener evictionListener
+     * @return this
+     */
+    public TinyLfuCacheBuilder<K, V> evictionListener(BiConsumer<K, V> evictionListener) {
+        this.evictionListener = evictionListener;
+        return this;
+    }
+
+    @Override
+    public TinyLfuCache<K, V> build() {
+        return new TinyLfuCache<>(maximum, concurrencyLevel, weigher, evictionListener);
+    }
+
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.define.cron;
+
+import cn.orionsec.kit.lang.utils.time.cron.Cron;
+
+import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * cron 任务
+ * <p>
+ * 由 {@link CronScheduler#schedule(String, Cron, Runnable)} 创建, 同时是任务的句柄和执行指标
+ * <p>
+ * 触发延迟: 实际开始执行时间 - 计划触发时间, 包含调度和线程池排队的时间
+ * 执行耗时: 任务本身的执行时间
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 14:10
+ */
+public class CronJob {
+
+    private static final int IDLE = 0;
+
+    private static final int RUNNING = 1;
+
+    private static final int RUNNING_PENDING = 2;
+
+    private final long id;
+
+    private final String name;
+
+    private final Cron cron;
+
+    private final Runnable task;
+
+    private final MisfirePolicy misfirePolicy;
+
+    private final OverlapPolicy overlapPolicy;
+
+    private final CronScheduler scheduler;
+
+    /**
+     * 执行状态 用于 {@link OverlapPolicy#SKIP} {@link OverlapPolicy#SERIAL}
+     */
+    private final AtomicInteger state;
+
+    /**
+     * 合并的触发时间 {@link OverlapPolicy#SERIAL}
+     */
+    private volatile long pendingTime;
+
+    /**
+     * 下次触发时间 只在调度线程中修改
+     */
+    volatile long nextTime;
+
+    private volatile boolean cancelled;
+
+    private volatile boolean completed;
+
+    private final LongAdder executeCount;
+
+    private final LongAdder errorCount;
+
+    private final LongAdder misfireCount;
+
+    private final LongAdder skipCount;
+
+    private final LongAdder rejectCount;
+
+    private final LongAdder totalLatency;
+
+    private final AtomicLong maxLatency;
+
+    private final LongAdder totalDuration;
+
+    private final AtomicLong maxDuration;
+
+    private volatile long lastLatency;
+
+    private volatile long lastDuration;
+
+    private volatile long lastStartTime;
+
+    private volatile Throwable lastError;
+
+    CronJob(long id, String name, Cron cron, Runnable task,
+            MisfirePolicy misfirePolicy, OverlapPolicy overlapPolicy, CronScheduler scheduler) {
+        this.id = id;
+        this.name = name;
+        this.cron = cron;
+        this.task = task;
+        this.misfirePolicy = misfirePolicy;
+        this.overlapPolicy = overlapPolicy;
+        this.scheduler = scheduler;
+        this.state = new AtomicInteger(IDLE);
+        this.executeCount = new LongAdder();
+        this.errorCount = new LongAdder();
+        this.misfireCount = new LongAdder();
+        this.skipCount = new LongAdder();
+        this.rejectCount = new LongAdder();
+        this.totalLatency = new LongAdder();
+        this.maxLatency = new AtomicLong();
+        this.totalDuration = new LongAdder();
+        this.maxDuration = new AtomicLong();
+    }
+
+    /**
+     * 取消任务 正在执行的任务不会被中断
+     */
+    public void cancel() {
+        this.cancelled = true;
+        scheduler.remove(this);
+    }
+
+    /**
+     * 错过触发
+     *
+     * @param scheduledTime    计划触发时间
+     * @param executor         executor
+     * @param exceptionHandler 异常处理器
+     */
+    void misfire(long scheduledTime, Executor executor, BiConsumer<CronJob, Throwable> exceptionHandler) {
+        misfireCount.increment();
+        if (misfirePolicy == MisfirePolicy.FIRE_ONCE) {
+            this.trigger(scheduledTime, executor, exceptionHandler);
+        }
+    }
+
+    /**
+     * 触发执行
+     *
+     * @param scheduledTime    计划触发时间
+     * @param executor         executor
+     * @param exceptionHandler 异常处理器
+     */
+    void trigger(long scheduledTime, Executor executor, BiConsumer<CronJob, Throwable> exceptionHandler) {
+        if (overlapPolicy == OverlapPolicy.ALLOW) {
+            this.dispatch(scheduledTime, executor, exceptionHandler, false);
+            return;
+        }
+        while (true) {
+            int current = state.get();
+            if (current == IDLE) {
+                if (state.compareAndSet(IDLE, RUNNING)) {
+                    this.dispatch(scheduledTime, executor, exceptionHandler, true);
+                    return;
+                }
+            } else if (current == RUNNING && overlapPolicy == OverlapPolicy.SERIAL) {
+                this.pendingTime = scheduledTime;
+                if (state.compareAndSet(RUNNING, RUNNING_PENDING)) {
+                    return;
+                }
+            } else {
+                // 跳过 或 已有等待执行的触发
+                skipCount.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 提交到线程池
+     *
+     * @param scheduledTime    计划触发时间
+     * @param executor         executor
+     * @param exceptionHandler 异常处理器
+     * @param exclusive        是否独占执行
+     */
+    private void dispatch(long scheduledTime, Executor executor, BiConsumer<CronJob, Throwable> exceptionHandler, boolean exclusive) {
+        try {
+            executor.execute(() -> this.run(scheduledTime, executor, exceptionHandler, exclusive));
+        } catch (RejectedExecutionException e) {
+            rejectCount.increment();
+            if (exclusive) {
+                state.set(IDLE);
+            }
+        }
+    }
+
+    /**
+     * 执行任务
+     *
+     * @param scheduledTime    计划触发时间
+     * @param executor         executor
+     * @param exceptionHandler 异常处理器
+     * @param exclusive        是否独占执行
+     */
+    private void run(long scheduledTime, Executor executor, BiConsumer<CronJob, Throwable> exceptionHandler, boolean exclusive) {
+        if (cancelled) {
+            if (exclusive) {
+                state.set(IDLE);
+            }
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        long latency = Math.max(startTime - scheduledTime, 0);
+        long start = System.nanoTime();
+        this.lastStartTime = startTime;
+        try {
+            task.run();
+        } catch (Throwable e) {
+            this.lastError = e;
+            errorCount.increment();
+            if (exceptionHandler != null) {
+                exceptionHandler.accept(this, e);
+            }
+        } finally {
+            long duration = (System.nanoTime() - start) / 1000000;
+            this.lastLatency = latency;
+            this.lastDuration = duration;
+            totalLatency.add(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+            totalDuration.add(duration);
+            maxDuration.accumulateAndGet(duration, Math::max);
+            executeCount.increment();
+            if (exclusive) {
+                this.release(executor, exceptionHandler);
+            }
+        }
+    }
+
+    /**
+     * 释放执行状态 有合并的触发时继续执行
+     *
+     * @param executor         executor
+     * @param exceptionHandler 异常处理器
+     */
+    private void release(Executor executor, BiConsumer<CronJob, Throwable> exceptionHandler) {
+        while (true) {
+            if (state.compareAndSet(RUNNING_PENDING, RUNNING)) {
+                this.dispatch(pendingTime, executor, exceptionHandler, true);
+                return;
+            }
+            // 失败说明期间有新的触发合并进来 重试
+            if (state.compareAndSet(RUNNING, IDLE)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 没有下次执行时间
+     */
+    void complete() {
+        this.completed = true;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Cron getCron() {
+        return cron;
+    }
+
+    public MisfirePolicy getMisfirePolicy() {
+        return misfirePolicy;
+    }
+
+    public OverlapPolicy getOverlapPolicy() {
+        return overlapPolicy;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return 是否已结束 (取消或没有下次执行时间)
+     */
+    public boolean isDone() {
+        return cancelled || completed;
+    }
+
+    /**
+     * @return 是否正在执行 {@link OverlapPolicy#ALLOW} 时始终为 false
+     */
+    public boolean isRunning() {
+        return state.get() != IDLE;
+    }
+
+    /**
+     * @return 下次触发时间 已结束返回 null
+     */
+    public Date getNextTime() {
+        return this.isDone() ? null : new Date(nextTime);
+    }
+
+    /**
+     * @return 执行次数
+     */
+    public long getExecuteCount() {
+        return executeCount.sum();
+    }
+
+    /**
+     * @return 执行异常次数
+     */
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    /**
+     * @return 错过触发次数
+     */
+    public long getMisfireCount() {
+        return misfireCount.sum();
+    }
+
+    /**
+     * @return 因上次执行未完成跳过的次数
+     */
+    public long getSkipCount() {
+        return skipCount.sum();
+    }
+
+    /**
+     * @return 线程池拒绝次数
+     */
+    public long getRejectCount() {
+        return rejectCount.sum();
+    }
+
+    /**
+     * @return 平均触发延迟 ms
+     */
+    public long getAverageLatency() {
+        long count = executeCount.sum();
+        return count == 0 ? 0 : totalLatency.sum() / count;
+    }
+
+    /**
+     * @return 最大触发延迟 ms
+     */
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    /**
+     * @return 上次触发延迟 ms
+     */
+    public long getLastLatency() {
+        return lastLatency;
+    }
+
+    /**
+     * @return 平均执行耗时 ms
+     */
+    public long getAverageDuration() {
+        long count = executeCount.sum();
+        return count == 0 ? 0 : totalDuration.sum() / count;
+    }
+
+    /**
+     * @return 最大执行耗时 ms
+     */
+    public long getMaxDuration() {
+        return maxDuration.get();
+    }
+
+    /**
+     * @return 上次执行耗时 ms
+     */
+    public long getLastDuration() {
+        return lastDuration;
+    }
+
+    /**
+     * @return 上次开始执行时间 未执行返回 null
+     */
+    public Date getLastStartTime() {
+        return lastStartTime == 0 ? null : new Date(lastStartTime);
+    }
+
+    /**
+     * @return 上次执行异常
+     */
+    public Throwable getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public String toString() {
+        return name + " [" + cron.getCronExpression() + "]";
+    }
+
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.define.cron;
+
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.Threads;
+import cn.orionsec.kit.lang.utils.time.cron.Cron;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * cron 任务调度器
+ * <p>
+ * 所有任务按下次触发时间放在同一个优先队列中, 由一个调度线程等待队首任务到期后提交到线程池执行
+ * 调度线程只负责计算下次触发时间和提交任务, 任务在线程池中执行
+ * <p>
+ * 实际触发时间晚于计划时间超过错过阈值时按 {@link MisfirePolicy} 处理
+ * 上次执行未完成时按 {@link OverlapPolicy} 处理
+ * 每个任务的执行指标见 {@link CronJob}
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 14:30
+ */
+public class CronScheduler {
+
+    /**
+     * 最长等待时间 防止系统时间调整后等待过久
+     */
+    private static final long MAX_WAIT = 1000;
+
+    private final Executor executor;
+
+    /**
+     * 是否关闭时同时关闭线程池
+     */
+    private final boolean shutdownExecutor;
+
+    private final ThreadFactory threadFactory;
+
+    /**
+     * 错过阈值 ms
+     */
+    private final long misfireThreshold;
+
+    private final BiConsumer<CronJob, Throwable> exceptionHandler;
+
+    private final ReentrantLock lock;
+
+    private final Condition available;
+
+    /**
+     * 按下次触发时间排序的任务队列
+     */
+    private final PriorityQueue<CronJob> queue;
+
+    private final Set<CronJob> jobs;
+
+    private final AtomicLong sequence;
+
+    private Thread timer;
+
+    private volatile boolean shutdown;
+
+    CronScheduler(Executor executor, boolean shutdownExecutor, ThreadFactory threadFactory,
+                  long misfireThreshold, BiConsumer<CronJob, Throwable> exceptionHandler) {
+        this.executor = executor;
+        this.shutdownExecutor = shutdownExecutor;
+        this.threadFactory = threadFactory;
+        this.misfireThreshold = misfireThreshold;
+        this.exceptionHandler = exceptionHandler;
+        this.lock = new ReentrantLock();
+        this.available = lock.newCondition();
+        this.queue = new PriorityQueue<>(Comparator.<CronJob>comparingLong(j -> j.nextTime).thenComparingLong(CronJob::getId));
+        this.jobs = ConcurrentHashMap.newKeySet();
+        this.sequence = new AtomicLong();
+    }
+
+    /**
+     * 使用默认配置创建调度器
+     *
+     * @return scheduler
+     */
+    public static CronScheduler create() {
+        return CronSchedulerBuilder.create().build();
+    }
+
+    /**
+     * 添加任务
+     *
+     * @param name       任务名称
+     * @param expression cron 表达式
+     * @param task       task
+     * @return job
+     */
+    public CronJob schedule(String name, String expression, Runnable task) {
+        return this.schedule(name, Cron.of(expression), task);
+    }
+
+    /**
+     * 添加任务
+     * <p>
+     * 错过触发立即执行一次, 上次执行未完成时跳过
+     *
+     * @param name 任务名称
+     * @param cron cron
+     * @param task task
+     * @return job
+     */
+    public CronJob schedule(String name, Cron cron, Runnable task) {
+        return this.schedule(name, cron, task, MisfirePolicy.FIRE_ONCE, OverlapPolicy.SKIP);
+    }
+
+    /**
+     * 添加任务
+     *
+     * @param name          任务名称
+     * @param cron          cron
+     * @param task          task
+     * @param misfirePolicy 错过触发策略
+     * @param overlapPolicy 重叠执行策略
+     * @return job
+     */
+    public CronJob schedule(String name, Cron cron, Runnable task, MisfirePolicy misfirePolicy, OverlapPolicy overlapPolicy) {
+        Assert.notNull(cron, "cron is null");
+        Assert.notNull(task, "task is null");
+        Assert.notNull(misfirePolicy, "misfire policy is null");
+        Assert.notNull(overlapPolicy, "overlap policy is null");
+        long next = cron.getEvaluator().nextTime(System.currentTimeMillis());
+        if (next == -1) {
+            throw Exceptions.argument("cron has no next valid time: " + cron.getCronExpression());
+        }
+        CronJob job = new CronJob(sequence.incrementAndGet(), name, cron, task, misfirePolicy, overlapPolicy, this);
+        job.nextTime = next;
+        lock.lock();
+        try {
+            // 在锁中检查 防止与 shutdown 并发时任务在关闭后入队
+            if (shutdown) {
+                throw Exceptions.state("scheduler is shutdown");
+            }
+            jobs.add(job);
+            this.startTimer();
+            this.enqueue(job);
+        } finally {
+            lock.unlock();
+        }
+        return job;
+    }
+
+    /**
+     * 获取所有未结束的任务
+     *
+     * @return jobs
+     */
+    public List<CronJob> getJobs() {
+        return new ArrayList<>(jobs);
+    }
+
+    /**
+     * @return 未结束的任务数量
+     */
+    public int getJobCount() {
+        return jobs.size();
+    }
+
+    /**
+     * 关闭调度器 不再触发任务
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            if (shutdown) {
+                return;
+            }
+            this.shutdown = true;
+            queue.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (CronJob job : jobs) {
+            job.complete();
+        }
+        jobs.clear();
+        if (shutdownExecutor && executor instanceof ExecutorService) {
+            Threads.shutdownPool((ExecutorService) executor, 3, TimeUnit.SECONDS);
+        }
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public long getMisfireThreshold() {
+        return misfireThreshold;
+    }
+
+    /**
+     * 移除任务
+     *
+     * @param job job
+     */
+    void remove(CronJob job) {
+        jobs.remove(job);
+        lock.lock();
+        try {
+            queue.remove(job);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 放入队列 需要持有锁
+     *
+     * @param job job
+     */
+    private void enqueue(CronJob job) {
+        queue.offer(job);
+        // 新的队首任务需要唤醒调度线程重新计算等待时间
+        if (queue.peek() == job) {
+            available.signal();
+        }
+    }
+
+    /**
+     * 启动调度线程 需要持有锁
+     */
+    private void startTimer() {
+        if (timer == null) {
+            this.timer = threadFactory.newThread(this::loop);
+            timer.start();
+        }
+    }
+
+    /**
+     * 调度循环
+     */
+    private void loop() {
+        while (true) {
+            CronJob job;
+            lock.lock();
+            try {
+                job = this.take();
+            } catch (InterruptedException e) {
+                continue;
+            } finally {
+                lock.unlock();
+            }
+            if (job == null) {
+                return;
+            }
+            try {
+                this.fire(job);
+            } catch (Throwable e) {
+                if (exceptionHandler != null) {
+                    exceptionHandler.accept(job, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 等待并取出到期的任务 需要持有锁
+     *
+     * @return job 已关闭返回 null
+     * @throws InterruptedException InterruptedException
+     */
+    private CronJob take() throws InterruptedException {
+        while (!shutdown) {
+            CronJob job = queue.peek();
+            if (job == null) {
+                available.await();
+                continue;
+            }
+            long delay = job.nextTime - System.currentTimeMillis();
+            if (delay > 0) {
+                available.await(Math.min(delay, MAX_WAIT), TimeUnit.MILLISECONDS);
+                continue;
+            }
+            return queue.poll();
+        }
+        return null;
+    }
+
+    /**
+     * 触发任务并计算下次触发时间
+     *
+     * @param job job
+     */
+    private void fire(CronJob job) {
+        if (job.isCancelled()) {
+            return;
+        }
+        long scheduledTime = job.nextTime;
+        long now = System.currentTimeMillis();
+        long next;
+        if (now - scheduledTime > misfireThreshold) {
+            job.misfire(scheduledTime, executor, exceptionHandler);
+            next = job.getCron().getEvaluator().nextTime(now);
+        } else {
+            job.trigger(scheduledTime, executor, exceptionHandler);
+            next = job.getCron().getEvaluator().nextTime(scheduledTime);
+        }
+        if (next == -1) {
+            job.complete();
+            jobs.remove(job);
+            return;
+        }
+        lock.lock();
+        try {
+            // 触发期间被取消或调度器已关闭
+            if (job.isCancelled() || shutdown) {
+                return;
+            }
+            job.nextTime = next;
+            this.enqueue(job);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
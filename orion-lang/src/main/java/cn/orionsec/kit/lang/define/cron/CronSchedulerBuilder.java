@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.define.cron;
+
+import cn.orionsec.kit.lang.able.Buildable;
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.define.thread.ExecutorBuilder;
+import cn.orionsec.kit.lang.define.thread.ThreadFactoryBuilder;
+import cn.orionsec.kit.lang.utils.Systems;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.BiConsumer;
+
+/**
+ * cron 任务调度器构建器
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 15:10
+ */
+public class CronSchedulerBuilder implements Buildable<CronScheduler> {
+
+    /**
+     * 默认错过阈值
+     */
+    private static final long DEFAULT_MISFIRE_THRESHOLD = Const.MS_S_5;
+
+    /**
+     * 默认工作线程数
+     */
+    private static final int DEFAULT_WORKER_SIZE = Math.max(2, Math.min(Systems.PROCESS_NUM, 8));
+
+    /**
+     * 默认工作队列容量
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    /**
+     * 任务执行线程池
+     */
+    private Executor executor;
+
+    /**
+     * 关闭调度器时是否关闭线程池
+     */
+    private boolean shutdownExecutor;
+
+    /**
+     * 调度线程名称
+     */
+    private String threadName;
+
+    /**
+     * 错过阈值 ms
+     */
+    private long misfireThreshold;
+
+    /**
+     * 任务异常处理器
+     */
+    private BiConsumer<CronJob, Throwable> exceptionHandler;
+
+    private CronSchedulerBuilder() {
+        this.threadName = "orion-cron-scheduler-";
+        this.misfireThreshold = DEFAULT_MISFIRE_THRESHOLD;
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @return builder
+     */
+    public static CronSchedulerBuilder create() {
+        return new CronSchedulerBuilder();
+    }
+
+    /**
+     * 设置任务执行线程池 不设置则创建默认线程池, 并在关闭调度器时关闭
+     *
+     * @param executor executor
+     * @return this
+     */
+    public CronSchedulerBuilder executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * 设置关闭调度器时是否关闭线程池
+     *
+     * @param shutdownExecutor shutdownExecutor
+     * @return this
+     */
+    public CronSchedulerBuilder shutdownExecutor(boolean shutdownExecutor) {
+        this.shutdownExecutor = shutdownExecutor;
+        return this;
+    }
+
+    /**
+     * 设置调度线程名称前缀
+     *
+     * @param threadName threadName
+     * @return this
+     */
+    public CronSchedulerBuilder threadName(String threadName) {
+        this.threadName = threadName;
+        return this;
+    }
+
+    /**
+     * 设置错过阈值 实际触发时间晚于计划时间超过阈值时按照 {@link MisfirePolicy} 处理
+     *
+     * @param misfireThreshold 阈值 ms
+     * @return this
+     */
+    public CronSchedulerBuilder misfireThreshold(long misfireThreshold) {
+        this.misfireThreshold = misfireThreshold;
+        return this;
+    }
+
+    /**
+     * 设置任务异常处理器
+     *
+     * @param exceptionHandler exceptionHandler
+     * @return this
+     */
+    public CronSchedulerBuilder exceptionHandler(BiConsumer<CronJob, Throwable> exceptionHandler) {
+        this.exceptionHandler = exceptionHandler;
+        return this;
+    }
+
+    @Override
+    public CronScheduler build() {
+        Executor executor = this.executor;
+        boolean shutdownExecutor = this.shutdownExecutor;
+        if (executor == null) {
+            executor = ExecutorBuilder.create()
+                    .threadFactory(ThreadFactoryBuilder.create()
+                            .setPrefix("orion-cron-worker-")
+                            .setDaemon(true)
+                            .build())
+                    .corePoolSize(DEFAULT_WORKER_SIZE)
+                    .maxPoolSize(DEFAULT_WORKER_SIZE)
+                    .keepAliveTime(Const.MS_S_60)
+                    .useLinkedBlockingQueue(DEFAULT_QUEUE_CAPACITY)
+                    .allowCoreThreadTimeout(true)
+                    .rejectHandler(new ThreadPoolExecutor.AbortPolicy())
+                    .build();
+            shutdownExecutor = true;
+        }
+        return new CronScheduler(executor,
+                shutdownExecutor,
+                ThreadFactoryBuilder.create()
+                        .setPrefix(threadName)
+                        .setDaemon(true)
+                        .build(),
+                Math.max(misfireThreshold, 0),
+                exceptionHandler);
+    }
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.id;
+
+import cn.orionsec.kit.lang.able.IdGenerator;
+import cn.orionsec.kit.lang.define.SystemClock;
+import cn.orionsec.kit.lang.utils.Exceptions;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * 无锁 id 生成器
+ * <p>
+ * 将 [时间戳 | 毫秒内序列] 打包到一个 AtomicLong 中, 使用 CAS 分配
+ * 毫秒内序列溢出时进位到下一毫秒, 并等待时钟追上后返回, 生成的 id 与 {@link SnowFlakeIdWorker} / {@link SequenceIdWorker} 结构相同
+ * <p>
+ * 批量获取时一次 CAS 预留一段连续的序列
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/29 10:12
+ */
+public class AtomicIdWorker implements IdGenerator<Long> {
+
+    /**
+     * 默认允许时间回拨的毫秒数
+     */
+    private static final long DEFAULT_TIME_OFFSET = 5L;
+
+    private final long startTime;
+
+    private final long sequenceBits;
+
+    private final long sequenceMask;
+
+    private final long timestampShift;
+
+    /**
+     * 数据中心位 | 工作机器位
+     */
+    private final long node;
+
+    /**
+     * 允许时间回拨的毫秒数
+     */
+    private final long timeOffset;
+
+    /**
+     * 是否使用 SystemClock
+     */
+    private final boolean clock;
+
+    /**
+     * (时间戳 - 起始时间) &lt;&lt; sequenceBits | 序列
+     */
+    private final AtomicLong state;
+
+    /**
+     * @param startTime        起始时间戳
+     * @param dataCenterIdBits 数据中心id位数
+     * @param workerIdBits     工作机器id位数
+     * @param sequenceBits     序列位数
+     * @param dataCenterId     数据中心id
+     * @param workerId         工作机器id
+     * @param clock            是否使用 SystemClock
+     * @param timeOffset       允许时间回拨的毫秒数
+     */
+    public AtomicIdWorker(long startTime,
+                          long dataCenterIdBits,
+                          long workerIdBits,
+                          long sequenceBits,
+                          long dataCenterId,
+                          long workerId,
+                          boolean clock,
+                          long timeOffset) {
+        long maxDataCenterId = ~(-1L << dataCenterIdBits);
+        long maxWorkerId = ~(-1L << workerIdBits);
+        if (dataCenterId > maxDataCenterId || dataCenterId < 0) {
+            throw Exceptions.argument("data center id can't be greater than " + maxDataCenterId + " or less than 0");
+        }
+        if (workerId > maxWorkerId || workerId < 0) {
+            throw Exceptions.argument("worker id can't be greater than " + maxWorkerId + " or less than 0");
+        }
+        this.startTime = startTime;
+        this.sequenceBits = sequenceBits;
+        this.sequenceMask = ~(-1L << sequenceBits);
+        this.timestampShift = sequenceBits + workerIdBits + dataCenterIdBits;
+        this.node = (dataCenterId << (sequenceBits + workerIdBits)) | (workerId << sequenceBits);
+        this.clock = clock;
+        this.timeOffset = timeOffset;
+        this.state = new AtomicLong();
+    }
+
+    /**
+     * 创建与 {@link SnowFlakeIdWorker} 结构相同的生成器
+     *
+     * @param workerId     工作ID (0~31)
+     * @param dataCenterId 数据中心ID (0~31)
+     * @return worker
+     */
+    public static AtomicIdWorker snowFlake(long workerId, long dataCenterId) {
+        return new AtomicIdWorker(1489111610226L, 5L, 5L, 12L, dataCenterId, workerId, false, DEFAULT_TIME_OFFSET);
+    }
+
+    /**
+     * 创建与 {@link SequenceIdWorker} 结构相同的生成器
+     *
+     * @param dataCenterId 数据中心ID (0~3)
+     * @param workerId     工作机器ID (0~255)
+     * @return worker
+     */
+    public static AtomicIdWorker sequence(long dataCenterId, long workerId) {
+        return sequence(dataCenterId, workerId, false);
+    }
+
+    /**
+     * 创建与 {@link SequenceIdWorker} 结构相同的生成器
+     *
+     * @param dataCenterId 数据中心ID (0~3)
+     * @param workerId     工作机器ID (0~255)
+     * @param clock        是否使用 SystemClock
+     * @return worker
+     */
+    public static AtomicIdWorker sequence(long dataCenterId, long workerId, boolean clock) {
+        return new AtomicIdWorker(7L, 2L, 8L, 12L, dataCenterId, workerId, clock, DEFAULT_TIME_OFFSET);
+    }
+
+    @Override
+    public Long nextId() {
+        return this.nextLongId();
+    }
+
+    /**
+     * 获取下一个 id
+     *
+     * @return id
+     */
+    public long nextLongId() {
+        return this.toId(this.reserve(1));
+    }
+
+    /**
+     * 批量获取 id
+     * <p>
+     * 每次 CAS 最多预留一毫秒的序列数
+     *
+     * @param n 数量
+     * @return ids 有序
+     */
+    public long[] nextIds(int n) {
+        if (n < 0) {
+            throw Exceptions.argument("count must not be negative");
+        }
+        long[] ids = new long[n];
+        int max = (int) (sequenceMask + 1);
+        int index = 0;
+        while (index < n) {
+            int count = Math.min(n - index, max);
+            long first = this.reserve(count);
+            for (int i = 0; i < count; i++) {
+                ids[index++] = this.toId(first + i);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 批量获取 id
+     *
+     * @param n 数量
+     * @return ids 有序
+     */
+    public LongStream nextIdStream(int n) {
+        return Arrays.stream(this.nextIds(n));
+    }
+
+    /**
+     * 预留一段序列
+     *
+     * @param n 数量 不超过毫秒内序列数
+     * @return 第一个状态值
+     */
+    private long reserve(int n) {
+        for (; ; ) {
+            long current = state.get();
+            long currentTimestamp = current >>> sequenceBits;
+            long now = this.timeGen() - startTime;
+            if (now < currentTimestamp) {
+                // 序列溢出时状态会领先时钟 1ms, 超出则认为时钟回拨
+                long offset = currentTimestamp - now;
+                if (offset > timeOffset + 1) {
+                    throw Exceptions.runtime("clock moved backwards, refusing to generate id for [" + offset + "ms]");
+                }
+                Thread.yield();
+                continue;
+            }
+            long first = now == currentTimestamp ? current + 1 : now << sequenceBits;
+            long last = first + n - 1;
+            if (state.compareAndSet(current, last)) {
+                // 等待时钟追上预留的时间戳
+                long lastTimestamp = last >>> sequenceBits;
+                while (this.timeGen() - startTime < lastTimestamp) {
+                    Thread.yield();
+                }
+                return first;
+            }
+        }
+    }
+
+    /**
+     * 状态值转为 id
+     *
+     * @param value 状态值
+     * @return id
+     */
+    private long toId(long value) {
+        return ((value >>> sequenceBits) << timestampShift) | node | (value & sequenceMask);
+    }
+
+    /**
+     * 获得系统当前毫秒时间戳
+     *
+     * @return timestamp 毫秒时间戳
+     */
+    private long timeGen() {
+        return clock ? SystemClock.now() : System.currentTimeMillis();
+    }
+
+}
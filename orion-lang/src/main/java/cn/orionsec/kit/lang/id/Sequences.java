@@ -41,10 +41,10 @@ public class Sequences {
 
     private static byte LAST_IP;
 
-    private static final SequenceIdWorker ID_WORKER;
+    private static final AtomicIdWorker ID_WORKER;
 
     static {
-        ID_WORKER = new SequenceIdWorker(getLastAddress(), 0x000000FF & getLastAddress());
+        ID_WORKER = AtomicIdWorker.sequence(getLastAddress(), 0x000000FF & getLastAddress());
     }
 
     /**
@@ -54,6 +54,16 @@ public class Sequences {
         return ID_WORKER.nextId();
     }
 
+    /**
+     * 批量生成id
+     *
+     * @param n 数量
+     * @return ids
+     */
+    public static long[] nextIds(int n) {
+        return ID_WORKER.nextIds(n);
+    }
+
     /**
      * 用 IP 地址最后几个字节标识
      * <p>
@@ -42,10 +42,10 @@ import java.net.UnknownHostException;
  */
 public class SnowFlakes {
 
-    private static final SnowFlakeIdWorker ID_WORKER;
+    private static final AtomicIdWorker ID_WORKER;
 
     static {
-        ID_WORKER = new SnowFlakeIdWorker(getWorkId(), getDataCenterId());
+        ID_WORKER = AtomicIdWorker.snowFlake(getWorkId(), getDataCenterId());
     }
 
     /**
@@ -57,6 +57,16 @@ public class SnowFlakes {
         return ID_WORKER.nextId();
     }
 
+    /**
+     * 批量获取id
+     *
+     * @param n 数量
+     * @return ids
+     */
+    public static long[] nextIds(int n) {
+        return ID_WORKER.nextIds(n);
+    }
+
     /**
      * 获取工作机器id
      *
@@ -64,4 +64,26 @@ public class TimeoutCheckers {
         return new TimeoutCheckerImpl<T>(delay);
     }
 
+    /**
+     * 创建时间轮超时检测器
+     *
+     * @param <T> T
+     * @return checker
+     */
+    public static <T extends TimeoutEndpoint> TimingWheelTimeoutChecker<T> createWheel() {
+        return new TimingWheelTimeoutChecker<T>();
+    }
+
+    /**
+     * 创建时间轮超时检测器
+     *
+     * @param tick      tick ms
+     * @param wheelSize 槽位数
+     * @param <T>       T
+     * @return checker
+     */
+    public static <T extends TimeoutEndpoint> TimingWheelTimeoutChecker<T> createWheel(long tick, int wheelSize) {
+        return new TimingWheelTimeoutChecker<T>(tick, wheelSize);
+    }
+
 }
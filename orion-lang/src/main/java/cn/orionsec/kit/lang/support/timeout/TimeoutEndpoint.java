@@ -49,4 +49,15 @@ public interface TimeoutEndpoint {
      */
     boolean checkTimeout();
 
+    /**
+     * 获取超时时间点
+     * <p>
+     * 用于 {@link TimingWheelTimeoutChecker} 计算到期的槽位, 返回 0 则按照固定间隔检测
+     *
+     * @return 超时时间戳 ms
+     */
+    default long getTimeoutDeadline() {
+        return 0;
+    }
+
 }
@@ -0,0 +1,486 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.support.timeout;
+
+import cn.orionsec.kit.lang.utils.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 时间轮超时检测器
+ * <p>
+ * 任务按照 {@link TimeoutEndpoint#getTimeoutDeadline()} 放入对应的槽位, 每个 tick 只检测当前槽位中到期的任务
+ * 添加和取消任务都是 O(1), 可以在任意线程调用, 由检测线程统一放入时间轮
+ * <p>
+ * 超时触发时间在 [deadline, deadline + tick] 之间
+ * 未提供超时时间点的任务按照 pollInterval 间隔调用 {@link TimeoutEndpoint#checkTimeout()}
+ * 任务只在超时时间点检测 {@link TimeoutEndpoint#isDone()}, 提前完成的任务需要调用 {@link TimeoutTask#cancel()} 立即移除
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 16:40
+ */
+public class TimingWheelTimeoutChecker<T extends TimeoutEndpoint> implements TimeoutChecker<T> {
+
+    /**
+     * 默认 tick 100 ms
+     */
+    public static final long DEFAULT_TICK = 100;
+
+    /**
+     * 默认槽位数
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /**
+     * tick ms
+     */
+    private final long tick;
+
+    /**
+     * 未提供超时时间点的任务的检测间隔 ms
+     */
+    private final long pollInterval;
+
+    private final Bucket[] wheel;
+
+    private final int mask;
+
+    /**
+     * 等待放入时间轮的任务
+     */
+    private final Queue<TimeoutTask<T>> pending;
+
+    /**
+     * 等待从时间轮移除的任务
+     */
+    private final Queue<TimeoutTask<T>> cancelled;
+
+    private final Set<TimeoutTask<T>> tasks;
+
+    private final LongAdder timeoutCount;
+
+    private volatile boolean run;
+
+    /**
+     * 当前 tick 只在检测线程中修改
+     */
+    private long ticks;
+
+    public TimingWheelTimeoutChecker() {
+        this(DEFAULT_TICK, DEFAULT_WHEEL_SIZE, TimeoutCheckers.DEFAULT_DELAY);
+    }
+
+    public TimingWheelTimeoutChecker(long tick, int wheelSize) {
+        this(tick, wheelSize, TimeoutCheckers.DEFAULT_DELAY);
+    }
+
+    public TimingWheelTimeoutChecker(long tick, int wheelSize, long pollInterval) {
+        Assert.isTrue(tick > 0, "tick must be greater than 0");
+        Assert.isTrue(wheelSize > 0, "wheel size must be greater than 0");
+        Assert.isTrue(pollInterval > 0, "poll interval must be greater than 0");
+        // 槽位数取 2 的幂
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tick = tick;
+        this.pollInterval = pollInterval;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.cancelled = new ConcurrentLinkedQueue<>();
+        this.tasks = ConcurrentHashMap.newKeySet();
+        this.timeoutCount = new LongAdder();
+        this.run = true;
+    }
+
+    @Override
+    public void addTask(T task) {
+        this.schedule(task);
+    }
+
+    /**
+     * 添加任务
+     *
+     * @param task task
+     * @return 可以用于取消检测的句柄
+     */
+    public TimeoutTask<T> schedule(T task) {
+        Assert.notNull(task, "task is null");
+        TimeoutTask<T> timeout = new TimeoutTask<>(this, task);
+        tasks.add(timeout);
+        pending.offer(timeout);
+        return timeout;
+    }
+
+    @Override
+    public void run() {
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(tick);
+        long start = System.nanoTime();
+        while (run) {
+            // 等待下一个 tick
+            long deadline = start + (ticks + 1) * tickNanos;
+            long sleep;
+            while (run && (sleep = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+            if (!run) {
+                return;
+            }
+            this.removeCancelled();
+            this.transferPending();
+            this.expire(wheel[(int) (ticks & mask)]);
+            ticks++;
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (TimeoutTask<T> task : tasks) {
+            task.cancel();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    @Override
+    public boolean isRun() {
+        return run;
+    }
+
+    /**
+     * 获取全部任务的快照
+     *
+     * @return tasks
+     */
+    @Override
+    public List<T> getTasks() {
+        List<T> list = new ArrayList<>(tasks.size());
+        for (TimeoutTask<T> task : tasks) {
+            list.add(task.getTask());
+        }
+        return list;
+    }
+
+    /**
+     * @return 检测中的任务数量
+     */
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    /**
+     * @return 已超时的任务数量
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    @Override
+    public void close() {
+        this.run = false;
+    }
+
+    /**
+     * 从时间轮中移除已取消的任务
+     */
+    private void removeCancelled() {
+        TimeoutTask<T> task;
+        while ((task = cancelled.poll()) != null) {
+            if (task.bucket != null) {
+                task.bucket.remove(task);
+            }
+        }
+    }
+
+    /**
+     * 将新任务放入时间轮
+     */
+    private void transferPending() {
+        TimeoutTask<T> task;
+        while ((task = pending.poll()) != null) {
+            if (task.state != TimeoutTask.ACTIVE) {
+                continue;
+            }
+            this.place(task, this.toTicks(this.getDelay(task.getTask()), 0), true);
+        }
+    }
+
+    /**
+     * 检测槽位中到期的任务
+     *
+     * @param bucket bucket
+     */
+    @SuppressWarnings("unchecked")
+    private void expire(Bucket bucket) {
+        TimeoutTask<?> last = bucket.tail;
+        TimeoutTask<?> current = bucket.head;
+        while (current != null) {
+            TimeoutTask<T> task = (TimeoutTask<T>) current;
+            // 重新放入当前槽位的任务在 last 之后 本次不检测
+            boolean end = task == last;
+            current = task.next;
+            if (task.state != TimeoutTask.ACTIVE) {
+                bucket.remove(task);
+            } else if (task.rounds > 0) {
+                task.rounds--;
+            } else {
+                bucket.remove(task);
+                this.check(task);
+            }
+            if (end) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 检测任务
+     *
+     * @param task task
+     */
+    private void check(TimeoutTask<T> task) {
+        T endpoint = task.getTask();
+        boolean finished;
+        try {
+            if (endpoint.isDone()) {
+                finished = true;
+            } else if (endpoint.checkTimeout()) {
+                timeoutCount.increment();
+                finished = true;
+            } else {
+                finished = false;
+            }
+        } catch (Throwable e) {
+            // 检测异常不再检测
+            finished = true;
+        }
+        if (finished) {
+            task.finish();
+        } else {
+            // 未超时 (超时时间被修改或没有超时时间点) 重新放入
+            this.place(task, this.toTicks(this.getDelay(endpoint), 1), false);
+        }
+    }
+
+    /**
+     * 放入时间轮
+     *
+     * @param task           task
+     * @param delayTicks     延迟 tick 数
+     * @param includeCurrent 本次 tick 是否还会检测当前槽位
+     */
+    private void place(TimeoutTask<T> task, long delayTicks, boolean includeCurrent) {
+        int size = wheel.length;
+        // 距离第一次检测到目标槽位的 tick 数
+        long first = includeCurrent ? delayTicks % size : (delayTicks - 1) % size + 1;
+        task.rounds = (delayTicks - first) / size;
+        wheel[(int) ((ticks + delayTicks) & mask)].add(task);
+    }
+
+    /**
+     * 获取距离超时的时间
+     *
+     * @param endpoint endpoint
+     * @return ms
+     */
+    private long getDelay(T endpoint) {
+        long deadline = endpoint.getTimeoutDeadline();
+        if (deadline <= 0) {
+            return pollInterval;
+        }
+        return deadline - System.currentTimeMillis();
+    }
+
+    /**
+     * 时间转为 tick 数
+     *
+     * @param delay 延迟 ms
+     * @param min   最小 tick 数
+     * @return tick 数
+     */
+    private long toTicks(long delay, long min) {
+        if (delay <= 0) {
+            return min;
+        }
+        return Math.max((delay + tick - 1) / tick, min);
+    }
+
+    /**
+     * 取消任务
+     *
+     * @param task task
+     */
+    private void cancel(TimeoutTask<T> task) {
+        tasks.remove(task);
+        cancelled.offer(task);
+    }
+
+    /**
+     * 超时检测任务句柄
+     *
+     * @param <T> T
+     */
+    public static final class TimeoutTask<T extends TimeoutEndpoint> {
+
+        private static final int ACTIVE = 0;
+
+        private static final int CANCELLED = 1;
+
+        private static final int FINISHED = 2;
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<TimeoutTask> STATE = AtomicIntegerFieldUpdater.newUpdater(TimeoutTask.class, "state");
+
+        private final TimingWheelTimeoutChecker<T> checker;
+
+        private final T task;
+
+        private volatile int state;
+
+        /**
+         * 剩余轮数 以下字段只在检测线程中访问
+         */
+        private long rounds;
+
+        private Bucket bucket;
+
+        private TimeoutTask<?> prev;
+
+        private TimeoutTask<?> next;
+
+        private TimeoutTask(TimingWheelTimeoutChecker<T> checker, T task) {
+            this.checker = checker;
+            this.task = task;
+        }
+
+        /**
+         * 取消检测
+         *
+         * @return 是否取消成功 已完成或已取消返回 false
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ACTIVE, CANCELLED)) {
+                return false;
+            }
+            checker.cancel(this);
+            return true;
+        }
+
+        /**
+         * 检测完成
+         */
+        private void finish() {
+            if (STATE.compareAndSet(this, ACTIVE, FINISHED)) {
+                checker.tasks.remove(this);
+            }
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        /**
+         * @return 是否已完成检测 (任务完成或超时)
+         */
+        public boolean isFinished() {
+            return state == FINISHED;
+        }
+
+    }
+
+    /**
+     * 槽位 双向链表
+     */
+    private static final class Bucket {
+
+        private TimeoutTask<?> head;
+
+        private TimeoutTask<?> tail;
+
+        private void add(TimeoutTask<?> task) {
+            task.bucket = this;
+            task.prev = tail;
+            task.next = null;
+            if (tail == null) {
+                head = task;
+            } else {
+                tail.next = task;
+            }
+            tail = task;
+        }
+
+        private void remove(TimeoutTask<?> task) {
+            if (task.bucket != this) {
+                return;
+            }
+            if (task.prev == null) {
+                head = task.next;
+            } else {
+                task.prev.next = task.next;
+            }
+            if (task.next == null) {
+                tail = task.prev;
+            } else {
+                task.next.prev = task.prev;
+            }
+            task.prev = null;
+            task.next = null;
+            task.bucket = null;
+        }
+
+    }
+
+}
@@ -27,6 +27,7 @@
 package cn.orionsec.kit.lang.utils;
 
 import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.define.StringTemplate;
 import cn.orionsec.kit.lang.utils.collect.Collections;
 import cn.orionsec.kit.lang.utils.collect.Maps;
 import cn.orionsec.kit.lang.utils.json.matcher.ReplacementFormatters;
@@ -40,9 +41,6 @@ import java.util.Random;
 import java.util.StringJoiner;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * String 工具类
@@ -894,6 +892,7 @@ public class Strings {
     /**
      * 格式化字符串 replacement{}
      * <p>
+     * 使用 {@link StringTemplate} 单次解析渲染, 不缓存; 重复使用的模板使用 {@link StringTemplate#compile(String, String, String)}
      * 这里多层数据结构就会有问题 可以使用 {@link ReplacementFormatters}
      *
      * @param str 字符串
@@ -904,22 +903,7 @@ public class Strings {
         if (isEmpty(str) || Maps.isEmpty(map)) {
             return str;
         }
-        // 替换符
-        String newReplacement = replacement.chars()
-                .mapToObj(s -> "\\" + (char) s)
-                .collect(Collectors.joining());
-        Pattern p = Pattern.compile("(" + newReplacement + "\\{)(.+?)(\\})");
-        Matcher matcher = p.matcher(str);
-        while (matcher.find()) {
-            String group = matcher.group();
-            String key = group.substring(replacement.length() + 1, group.length() - 1);
-            Object value = map.get(key);
-            if (value == null) {
-                continue;
-            }
-            str = str.replace(group, Objects1.toString(value));
-        }
-        return str;
+        return StringTemplate.parse(str, replacement + "{", "}").render(map);
     }
 
     /**
@@ -29,10 +29,16 @@ package cn.orionsec.kit.lang.utils;
 import cn.orionsec.kit.lang.KitLangConfiguration;
 import cn.orionsec.kit.lang.config.KitConfig;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.regex.Pattern;
 
 /**
  * xss 工具类
+ * <p>
+ * 使用默认的 script / style / html 标签正则时, 标签使用扫描器移除, 结果与正则一致
+ * html 标签移除与特殊字符转义在同一次遍历中完成, 转义字符通过查表获取
+ * 配置了自定义正则时, 标签仍使用正则移除
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -46,6 +52,47 @@ public class Xsses {
 
     private static final Pattern HTML_TAG_PATTERN = KitConfig.get(KitLangConfiguration.CONFIG.XSS_HTML_TAG_PATTERN);
 
+    // 与 KitLangConfiguration 中的默认配置一致
+
+    private static final String DEFAULT_SCRIPT_REGEX = "<[\\s]*?script[^>]*?>[\\s\\S]*?<[\\s]*?\\/[\\s]*?script[\\s]*?>";
+
+    private static final String DEFAULT_STYLE_REGEX = "<[\\s]*?style[^>]*?>[\\s\\S]*?<[\\s]*?\\/[\\s]*?style[\\s]*?>";
+
+    private static final String DEFAULT_HTML_TAG_REGEX = "<[^>]+>";
+
+    private static final String SCRIPT = "script";
+
+    private static final String STYLE = "style";
+
+    private static final boolean SCAN_SCRIPT = isDefault(SCRIPT_PATTERN, DEFAULT_SCRIPT_REGEX);
+
+    private static final boolean SCAN_STYLE = isDefault(STYLE_PATTERN, DEFAULT_STYLE_REGEX);
+
+    private static final boolean SCAN_HTML_TAG = isDefault(HTML_TAG_PATTERN, DEFAULT_HTML_TAG_REGEX);
+
+    /**
+     * 没有特殊字符时可以直接返回 (自定义正则可能匹配任意字符)
+     */
+    private static final boolean FAST_PATH = (SCRIPT_PATTERN == null || SCAN_SCRIPT)
+            && (STYLE_PATTERN == null || SCAN_STYLE)
+            && (HTML_TAG_PATTERN == null || SCAN_HTML_TAG);
+
+    /**
+     * 转义表
+     */
+    private static final String[] ESCAPES = new String[128];
+
+    static {
+        ESCAPES['&'] = "&amp;";
+        ESCAPES['<'] = "&lt;";
+        ESCAPES['>'] = "&gt;";
+        ESCAPES[' '] = "&nbsp;";
+        ESCAPES['\''] = "&apos;";
+        ESCAPES['"'] = "&quot;";
+        ESCAPES['\n'] = "<br/>";
+        ESCAPES['\t'] = "&nbsp;&nbsp;&nbsp;&nbsp;";
+    }
+
     private Xsses() {
     }
 
@@ -56,53 +103,309 @@ public class Xsses {
      * @return ignore
      */
     public static String clean(String s) {
+        if (s == null || !needClean(s)) {
+            return s;
+        }
+        s = removeTags(s);
+        StringBuilder sb = new StringBuilder(s.length() + 16);
+        try {
+            escape(s, sb);
+        } catch (IOException e) {
+            // impossible
+            throw Exceptions.ioRuntime(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 过滤xss 直接写入输出流 用于较大的内容
+     *
+     * @param s   html代码
+     * @param out 输出流
+     * @throws IOException IOException
+     */
+    public static void clean(String s, Writer out) throws IOException {
+        if (s == null) {
+            return;
+        }
+        if (!needClean(s)) {
+            out.write(s);
+            return;
+        }
+        escape(removeTags(s), out);
+    }
+
+    /**
+     * html代码反转义
+     *
+     * @param s html代码
+     * @return ignore
+     */
+    public static String recode(String s) {
         if (Strings.isBlank(s)) {
             return s;
         }
+        if (s.indexOf('&') == -1 && s.indexOf('<') == -1) {
+            return s;
+        }
+        // 按顺序替换 前面替换的结果会参与后面的替换
+        s = replace(s, "&amp;", "&");
+        s = replace(s, "&lt;", "<");
+        s = replace(s, "&gt;", ">");
+        s = replace(s, "&nbsp;", " ");
+        s = replace(s, "&apos;", "'");
+        s = replace(s, "&quot;", "\"");
+        s = replace(s, "<br/>", "\n");
+        return s;
+    }
+
+    /**
+     * 移除 script style 标签
+     * <p>
+     * html 标签在转义时移除
+     *
+     * @param s html代码
+     * @return 移除后的代码
+     */
+    private static String removeTags(String s) {
         // 过滤 script 标签
         if (SCRIPT_PATTERN != null) {
-            s = SCRIPT_PATTERN.matcher(s).replaceAll(Strings.EMPTY);
+            s = SCAN_SCRIPT ? removeBlock(s, SCRIPT) : SCRIPT_PATTERN.matcher(s).replaceAll(Strings.EMPTY);
         }
         // 过滤 style 标签
         if (STYLE_PATTERN != null) {
-            s = STYLE_PATTERN.matcher(s).replaceAll(Strings.EMPTY);
+            s = SCAN_STYLE ? removeBlock(s, STYLE) : STYLE_PATTERN.matcher(s).replaceAll(Strings.EMPTY);
         }
         // 过滤 html 标签
-        if (HTML_TAG_PATTERN != null) {
+        if (HTML_TAG_PATTERN != null && !SCAN_HTML_TAG) {
             s = HTML_TAG_PATTERN.matcher(s).replaceAll(Strings.EMPTY);
         }
-
-        // 过滤特殊字符
-        s = s.replaceAll("&", "&amp;");
-        s = s.replaceAll("<", "&lt;");
-        s = s.replaceAll(">", "&gt;");
-        s = s.replaceAll(" ", "&nbsp;");
-        s = s.replaceAll("'", "&apos;");
-        s = s.replaceAll("\"", "&quot;");
-        s = s.replaceAll("\n", "<br/>");
-        s = s.replaceAll("\t", "&nbsp;&nbsp;&nbsp;&nbsp;");
         return s;
     }
 
     /**
-     * html代码反转义
+     * 移除 html 标签并转义特殊字符
      *
-     * @param s html代码
-     * @return ignore
+     * @param s   html代码
+     * @param out 输出
+     * @throws IOException IOException
      */
-    public static String recode(String s) {
-        if (Strings.isBlank(s)) {
+    private static void escape(String s, Appendable out) throws IOException {
+        boolean scanTag = HTML_TAG_PATTERN != null && SCAN_HTML_TAG;
+        int length = s.length();
+        int handled = 0;
+        // 下一个 > 的位置
+        int nextGt = 0;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '<' && scanTag && nextGt != -1) {
+                if (nextGt <= i) {
+                    nextGt = s.indexOf('>', i + 1);
+                }
+                // <[^>]+>
+                if (nextGt > i + 1) {
+                    append(out, s, handled, i);
+                    i = nextGt;
+                    handled = nextGt + 1;
+                    continue;
+                }
+            }
+            String escape = c < ESCAPES.length ? ESCAPES[c] : null;
+            if (escape != null) {
+                append(out, s, handled, i);
+                out.append(escape);
+                handled = i + 1;
+            }
+        }
+        append(out, s, handled, length);
+    }
+
+    /**
+     * 移除标签块 与正则 {@code <\s*?tag[^>]*?>[\s\S]*?<\s*?/\s*?tag\s*?>} 忽略大小写的匹配结果一致
+     *
+     * @param s   html代码
+     * @param tag 标签名称 小写
+     * @return 移除后的代码
+     */
+    private static String removeBlock(String s, String tag) {
+        int start = s.indexOf('<');
+        if (start == -1) {
             return s;
         }
-        s = s.replaceAll("&amp;", "&");
-        s = s.replaceAll("&lt;", "<");
-        s = s.replaceAll("&gt;", ">");
-        s = s.replaceAll("&nbsp;", " ");
-        s = s.replaceAll("&apos;", "'");
-        s = s.replaceAll("&quot;", "\"");
-        s = s.replaceAll("<br/>", "\n");
-        s = s.replaceAll("&nbsp;&nbsp;&nbsp;&nbsp;", "\t");
-        return s;
+        StringBuilder sb = null;
+        int handled = 0;
+        while (start != -1) {
+            int tagEnd = matchTagName(s, start + 1, tag);
+            if (tagEnd == -1) {
+                start = s.indexOf('<', start + 1);
+                continue;
+            }
+            int openEnd = s.indexOf('>', tagEnd);
+            int end = openEnd == -1 ? -1 : findCloseTag(s, openEnd + 1, tag);
+            if (end == -1) {
+                // 之后的位置也不会匹配
+                break;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(s.length());
+            }
+            sb.append(s, handled, start);
+            handled = end;
+            start = s.indexOf('<', end);
+        }
+        if (sb == null) {
+            return s;
+        }
+        return sb.append(s, handled, s.length()).toString();
+    }
+
+    /**
+     * 查找结束标签
+     *
+     * @param s    html代码
+     * @param from 开始位置
+     * @param tag  标签名称
+     * @return 结束标签的结束位置 未找到返回 -1
+     */
+    private static int findCloseTag(String s, int from, String tag) {
+        int length = s.length();
+        int start = s.indexOf('<', from);
+        while (start != -1) {
+            int i = skipSpace(s, start + 1);
+            if (i < length && s.charAt(i) == '/') {
+                i = matchTagName(s, i + 1, tag);
+                if (i != -1) {
+                    i = skipSpace(s, i);
+                    if (i < length && s.charAt(i) == '>') {
+                        return i + 1;
+                    }
+                }
+            }
+            start = s.indexOf('<', start + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * 跳过空白字符后匹配标签名称 ascii 忽略大小写
+     *
+     * @param s    html代码
+     * @param from 开始位置
+     * @param tag  标签名称 小写
+     * @return 标签名称的结束位置 不匹配返回 -1
+     */
+    private static int matchTagName(String s, int from, String tag) {
+        int i = skipSpace(s, from);
+        int tagLength = tag.length();
+        if (i + tagLength > s.length()) {
+            return -1;
+        }
+        for (int j = 0; j < tagLength; j++) {
+            char c = s.charAt(i + j);
+            char t = tag.charAt(j);
+            if (c != t && !(c >= 'A' && c <= 'Z' && c + 32 == t)) {
+                return -1;
+            }
+        }
+        return i + tagLength;
+    }
+
+    /**
+     * 跳过正则 \s 字符
+     *
+     * @param s    s
+     * @param from 开始位置
+     * @return 第一个非空白字符的位置
+     */
+    private static int skipSpace(String s, int from) {
+        int length = s.length();
+        while (from < length) {
+            char c = s.charAt(from);
+            if (c != ' ' && c != '\t' && c != '\n' && c != 0x0B && c != '\f' && c != '\r') {
+                break;
+            }
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * 是否需要过滤
+     * <p>
+     * 一次遍历同时判断 {@link Strings#isBlank(String)} 和是否包含需要转义的字符
+     *
+     * @param s s
+     * @return 空白字符串或不包含特殊字符时不需要过滤
+     */
+    private static boolean needClean(String s) {
+        boolean blank = true;
+        boolean special = false;
+        for (int i = 0, length = s.length(); i < length; i++) {
+            char c = s.charAt(i);
+            if (c > ' ') {
+                blank = false;
+            }
+            if (c < ESCAPES.length && ESCAPES[c] != null) {
+                special = true;
+            }
+        }
+        return !blank && (special || !FAST_PATH);
+    }
+
+    /**
+     * 写入区间 writer 直接写入避免创建子串
+     *
+     * @param out   输出
+     * @param s     s
+     * @param start 开始位置
+     * @param end   结束位置
+     * @throws IOException IOException
+     */
+    private static void append(Appendable out, String s, int start, int end) throws IOException {
+        if (start >= end) {
+            return;
+        }
+        if (out instanceof Writer) {
+            ((Writer) out).write(s, start, end - start);
+        } else {
+            out.append(s, start, end);
+        }
+    }
+
+    /**
+     * 替换字符串 不使用正则
+     *
+     * @param s           s
+     * @param target      target
+     * @param replacement replacement
+     * @return 替换后的字符串
+     */
+    private static String replace(String s, String target, String replacement) {
+        int index = s.indexOf(target);
+        if (index == -1) {
+            return s;
+        }
+        StringBuilder sb = new StringBuilder(s.length());
+        int handled = 0;
+        do {
+            sb.append(s, handled, index).append(replacement);
+            handled = index + target.length();
+            index = s.indexOf(target, handled);
+        } while (index != -1);
+        return sb.append(s, handled, s.length()).toString();
+    }
+
+    /**
+     * 是否为默认正则
+     *
+     * @param pattern pattern
+     * @param regex   默认正则
+     * @return 是否为默认
+     */
+    private static boolean isDefault(Pattern pattern, String regex) {
+        return pattern != null
+                && pattern.flags() == Pattern.CASE_INSENSITIVE
+                && pattern.pattern().equals(regex);
     }
 
 }
@@ -33,9 +33,10 @@ import cn.orionsec.kit.lang.utils.time.Dates8;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 转化对象类型
@@ -73,10 +74,60 @@ public class Converts {
         return f.apply(t);
     }
 
+    /**
+     * 编译转换器 转换链路只解析一次
+     *
+     * @param sourceClass 源class
+     * @param targetClass 目标class
+     * @param <T>         T
+     * @param <R>         R
+     * @return 转换器
+     */
+    public static <T, R> Conversion<T, R> compile(Class<T> sourceClass, Class<R> targetClass) {
+        return TypeStore.STORE.compile(sourceClass, targetClass);
+    }
+
     public static <T, R> List<R> toList(List<T> list, Class<R> targetClass) {
-        return list.stream()
-                .map(s -> to(s, targetClass))
-                .collect(Collectors.toList());
+        return TypeStore.STORE.toList(list, targetClass);
+    }
+
+    /**
+     * 批量转换
+     *
+     * @param values      values
+     * @param targetClass 目标class
+     * @param <T>         T
+     * @param <R>         R
+     * @return list
+     */
+    public static <T, R> List<R> toList(Collection<T> values, Class<R> targetClass) {
+        return TypeStore.STORE.toList(values, targetClass);
+    }
+
+    /**
+     * 批量转换为数组 基本类型会转为包装类型数组
+     *
+     * @param values      values
+     * @param targetClass 目标class
+     * @param <T>         T
+     * @param <R>         R
+     * @return array
+     */
+    public static <T, R> R[] toArray(Collection<T> values, Class<R> targetClass) {
+        return TypeStore.STORE.toArray(values, targetClass);
+    }
+
+    /**
+     * 批量转换为数组 基本类型会转为包装类型数组
+     *
+     * @param values      values
+     * @param targetClass 目标class
+     * @param <T>         T
+     * @param <R>         R
+     * @return array
+     */
+    public static <T, R> R[] toArray(T[] values, Class<R> targetClass) {
+        return TypeStore.STORE.toArray(Arrays.asList(values), targetClass);
     }
 
     // -------------------- toString --------------------
@@ -26,6 +26,8 @@
  */
 package cn.orionsec.kit.lang.utils.convert;
 
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.define.collect.ConcurrentReferenceHashMap;
 import cn.orionsec.kit.lang.define.collect.MultiConcurrentHashMap;
 import cn.orionsec.kit.lang.define.iterator.ClassIterator;
 import cn.orionsec.kit.lang.define.support.CloneSupport;
@@ -38,9 +40,10 @@ import cn.orionsec.kit.lang.utils.collect.Sets;
 import cn.orionsec.kit.lang.utils.reflect.Classes;
 
 import java.io.Serializable;
-import java.util.Map;
-import java.util.Set;
+import java.lang.reflect.Array;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * 类型转换容器
@@ -58,8 +61,26 @@ public class TypeStore extends CloneSupport<TypeStore> implements Serializable {
 
     public static final TypeStore STORE = new TypeStore();
 
+    /**
+     * 无法转换
+     */
+    private static final Conversion<Object, Object> UNSUPPORTED = t -> {
+        throw Exceptions.convert("unsupported conversion");
+    };
+
     private final MultiConcurrentHashMap<Class<?>, Class<?>, Conversion<?, ?>> conversionMapping;
 
+    /**
+     * 已解析的转换器 包含无法转换的结果
+     * 软引用, 不会一直持有任意类型的 class
+     */
+    private transient volatile Map<ResolvedKey, Conversion<?, ?>> resolvedMapping;
+
+    /**
+     * 注册版本 每次清空已解析的转换器时递增
+     */
+    private transient volatile long generation;
+
     public TypeStore() {
         this.conversionMapping = new MultiConcurrentHashMap<>();
     }
@@ -80,6 +101,7 @@ public class TypeStore extends CloneSupport<TypeStore> implements Serializable {
      */
     public <T, R> void register(Class<T> source, Class<R> target, Conversion<T, R> conversion) {
         conversionMapping.put(source, target, conversion);
+        this.clearResolved();
     }
 
     /**
@@ -97,11 +119,15 @@ public class TypeStore extends CloneSupport<TypeStore> implements Serializable {
 
     /**
      * 获取映射转换器
+     * <p>
+     * 返回只读快照, 修改需要通过 {@link #register(Class, Class, Conversion)}
      *
      * @return 转换器列表
      */
-    public MultiConcurrentHashMap<Class<?>, Class<?>, Conversion<?, ?>> getConversionMapping() {
-        return conversionMapping;
+    public Map<Class<?>, Map<Class<?>, Conversion<?, ?>>> getConversionMapping() {
+        Map<Class<?>, Map<Class<?>, Conversion<?, ?>>> mapping = new HashMap<>(conversionMapping.size());
+        conversionMapping.forEach((source, targets) -> mapping.put(source, Collections.unmodifiableMap(new HashMap<>(targets))));
+        return Collections.unmodifiableMap(mapping);
     }
 
     /**
@@ -116,46 +142,211 @@ public class TypeStore extends CloneSupport<TypeStore> implements Serializable {
         Assert.notNull(t, "convert target object is null");
         Class<?> sourceClass = t.getClass();
         targetClass = (Class<R>) Classes.getWrapClass(targetClass);
+        Conversion<T, R> conversion = (Conversion<T, R>) this.resolve(sourceClass, targetClass);
+        if (conversion == UNSUPPORTED) {
+            throw Exceptions.convert(Strings.format("unable to convert source [{}] class to target [{}] class", sourceClass, targetClass));
+        }
+        return conversion.apply(t);
+    }
+
+    /**
+     * 编译转换器
+     * <p>
+     * 转换链路只解析一次, 值的类型与 sourceClass 不同 (子类) 或 sourceClass 无法转换时按值的类型转换
+     *
+     * @param sourceClass 源class
+     * @param targetClass 目标class
+     * @param <T>         T
+     * @param <R>         R
+     * @return 转换器
+     */
+    public <T, R> Conversion<T, R> compile(Class<T> sourceClass, Class<R> targetClass) {
+        Assert.notNull(sourceClass, "source class is null");
+        Assert.notNull(targetClass, "target class is null");
+        Class<?> source = Classes.getWrapClass(sourceClass);
+        Class<R> target = (Class<R>) Classes.getWrapClass(targetClass);
+        Conversion<T, R> conversion = (Conversion<T, R>) this.resolve(source, target);
+        if (conversion == UNSUPPORTED) {
+            // 源类型无法转换时 按值的类型转换
+            return t -> this.to(t, target);
+        }
+        return t -> {
+            Assert.notNull(t, "convert target object is null");
+            if (t.getClass() == source) {
+                return conversion.apply(t);
+            }
+            return this.to(t, target);
+        };
+    }
+
+    /**
+     * 批量转换 每种元素类型只解析一次
+     *
+     * @param values      values
+     * @param targetClass targetClass
+     * @param <T>         T
+     * @param <R>         R
+     * @return list
+     */
+    public <T, R> List<R> toList(Collection<T> values, Class<R> targetClass) {
+        Assert.notNull(values, "convert values is null");
+        List<R> list = new ArrayList<>(values.size());
+        this.convertAll(values, targetClass, list::add);
+        return list;
+    }
+
+    /**
+     * 批量转换为数组 每种元素类型只解析一次
+     * <p>
+     * 基本类型会转为包装类型数组
+     *
+     * @param values      values
+     * @param targetClass targetClass
+     * @param <T>         T
+     * @param <R>         R
+     * @return array
+     */
+    public <T, R> R[] toArray(Collection<T> values, Class<R> targetClass) {
+        Assert.notNull(values, "convert values is null");
+        R[] array = (R[]) Array.newInstance(Classes.getWrapClass(targetClass), values.size());
+        int[] index = new int[1];
+        this.convertAll(values, targetClass, r -> array[index[0]++] = r);
+        return array;
+    }
+
+    /**
+     * 判断是否可以转换 sourceClass -> targetClass
+     *
+     * @param sourceClass 源class
+     * @param targetClass 目标class
+     * @return 是否可以转换
+     */
+    public boolean isConvertible(Class<?> sourceClass, Class<?> targetClass) {
+        Assert.notNull(sourceClass, "source class is null");
+        Assert.notNull(targetClass, "target class is null");
+        return this.resolve(Classes.getWrapClass(sourceClass), Classes.getWrapClass(targetClass)) != UNSUPPORTED;
+    }
+
+    /**
+     * 清空已解析的转换器
+     */
+    public void clearResolved() {
+        synchronized (this) {
+            this.generation++;
+        }
+        Map<ResolvedKey, Conversion<?, ?>> resolved = this.resolvedMapping;
+        if (resolved != null) {
+            resolved.clear();
+        }
+    }
+
+    /**
+     * 批量转换
+     *
+     * @param values      values
+     * @param targetClass targetClass
+     * @param consumer    转换结果
+     * @param <T>         T
+     * @param <R>         R
+     */
+    private <T, R> void convertAll(Collection<T> values, Class<R> targetClass, Consumer<R> consumer) {
+        Class<?> target = Classes.getWrapClass(targetClass);
+        Class<?> lastClass = null;
+        Conversion<T, R> conversion = null;
+        for (T value : values) {
+            Assert.notNull(value, "convert target object is null");
+            Class<?> sourceClass = value.getClass();
+            if (sourceClass != lastClass) {
+                conversion = (Conversion<T, R>) this.resolve(sourceClass, target);
+                if (conversion == UNSUPPORTED) {
+                    throw Exceptions.convert(Strings.format("unable to convert source [{}] class to target [{}] class", sourceClass, target));
+                }
+                lastClass = sourceClass;
+            }
+            consumer.accept(conversion.apply(value));
+        }
+    }
+
+    /**
+     * 获取已解析的转换器 没有则解析
+     *
+     * @param sourceClass 源class
+     * @param targetClass 包装后的目标class
+     * @return 转换器 无法转换返回 UNSUPPORTED
+     */
+    private Conversion<?, ?> resolve(Class<?> sourceClass, Class<?> targetClass) {
+        Map<ResolvedKey, Conversion<?, ?>> resolved = this.resolvedMapping;
+        if (resolved == null) {
+            synchronized (this) {
+                if ((resolved = this.resolvedMapping) == null) {
+                    this.resolvedMapping = resolved = new ConcurrentReferenceHashMap<>(Const.CAPACITY_16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+                }
+            }
+        }
+        ResolvedKey key = new ResolvedKey(sourceClass, targetClass);
+        Conversion<?, ?> conversion = resolved.get(key);
+        if (conversion == null) {
+            long gen = this.generation;
+            conversion = this.lookup(sourceClass, targetClass);
+            resolved.put(key, conversion);
+            // 解析期间有新的注册 解析结果可能已过期, 不缓存
+            if (this.generation != gen) {
+                resolved.remove(key, conversion);
+            }
+        }
+        return conversion;
+    }
+
+    /**
+     * 解析转换器
+     *
+     * @param sourceClass 源class
+     * @param targetClass 包装后的目标class
+     * @return 转换器 无法转换返回 UNSUPPORTED
+     */
+    private Conversion<?, ?> lookup(Class<?> sourceClass, Class<?> targetClass) {
         // 检查是否可以直接转换
         if (canDirectConvert(sourceClass, targetClass, false)) {
-            return (R) t;
+            return t -> t;
         }
         // 获取类转换器
-        Conversion<T, R> conversion = (Conversion<T, R>) this.get(sourceClass, targetClass);
+        Conversion<?, ?> conversion = conversionMapping.get(sourceClass, targetClass);
         if (conversion != null) {
-            return conversion.apply(t);
+            return conversion;
         }
         // 获取父类转换器
         for (Class<?> sourceParentClass : new ClassIterator<>(sourceClass)) {
-            conversion = (Conversion<T, R>) this.get(sourceParentClass, targetClass);
+            conversion = conversionMapping.get(sourceParentClass, targetClass);
             if (conversion != null) {
-                return conversion.apply(t);
+                return conversion;
             }
         }
         // 检查是否是数组
         if (!Classes.isArray(targetClass)) {
-            throw Exceptions.convert(Strings.format("unable to convert source [{}] class to target [{}] class", sourceClass, targetClass));
+            return UNSUPPORTED;
         }
         // 如果不是基本类型的数组则无法转换
         Class<?> baseArrayClass = Classes.getBaseArrayClass(targetClass);
         if (baseArrayClass.equals(targetClass)) {
-            throw Exceptions.convert(Strings.format("unable to convert source [{}] class to target [{}] class", sourceClass, targetClass));
+            return UNSUPPORTED;
         }
         // 如果 targetClass 是 sourceClass 的包装类数组则直接包装
         if (sourceClass.equals(baseArrayClass)) {
-            return (R) Arrays1.wrap(t);
+            return Arrays1::wrap;
         }
         // 尝试使用 targetClass 的基本类型数组获取
-        Conversion<T, ?> baseConvert = (Conversion<T, ?>) this.get(sourceClass, baseArrayClass);
+        Conversion<Object, ?> baseConvert = (Conversion<Object, ?>) conversionMapping.get(sourceClass, baseArrayClass);
         if (baseConvert == null) {
-            throw Exceptions.convert(Strings.format("unable to convert source [{}] class to target [{}] class", sourceClass, targetClass));
+            return UNSUPPORTED;
         }
         // 如果能获取到则将转换结果包装
-        Object apply = baseConvert.apply(t);
-        if (apply != null) {
-            return (R) Arrays1.wrap(apply);
-        }
-        return null;
+        return t -> {
+            Object apply = baseConvert.apply(t);
+            if (apply != null) {
+                return Arrays1.wrap(apply);
+            }
+            return null;
+        };
     }
 
     /**
@@ -254,32 +445,7 @@ public class TypeStore extends CloneSupport<TypeStore> implements Serializable {
      * @return true可以直接转换
      */
     public static boolean canConvert(Class<?> sourceClass, Class<?> targetClass, TypeStore store) {
-        Assert.notNull(sourceClass, "source class is null");
-        Assert.notNull(targetClass, "target class is null");
-        sourceClass = Classes.getWrapClass(sourceClass);
-        targetClass = Classes.getWrapClass(targetClass);
-        if (canDirectConvert(sourceClass, targetClass, false)) {
-            return true;
-        }
-        if (store.get(sourceClass, targetClass) != null) {
-            return true;
-        }
-        for (Class<?> sourceParentClass : new ClassIterator<>(sourceClass)) {
-            if (store.get(sourceParentClass, targetClass) != null) {
-                return true;
-            }
-        }
-        if (!Classes.isArray(targetClass)) {
-            return false;
-        }
-        Class<?> baseArrayClass = Classes.getBaseArrayClass(targetClass);
-        if (baseArrayClass.equals(targetClass)) {
-            return false;
-        }
-        if (sourceClass.equals(baseArrayClass)) {
-            return true;
-        }
-        return store.get(sourceClass, baseArrayClass) != null;
+        return store.isConvertible(sourceClass, targetClass);
     }
 
     /**
@@ -316,4 +482,37 @@ public class TypeStore extends CloneSupport<TypeStore> implements Serializable {
         return Classes.isImplClass(targetClass, sourceClass);
     }
 
+    /**
+     * 已解析的转换器 key
+     */
+    private static class ResolvedKey {
+
+        private final Class<?> sourceClass;
+
+        private final Class<?> targetClass;
+
+        private ResolvedKey(Class<?> sourceClass, Class<?> targetClass) {
+            this.sourceClass = sourceClass;
+            this.targetClass = targetClass;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ResolvedKey that = (ResolvedKey) o;
+            return sourceClass == that.sourceClass && targetClass == that.targetClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sourceClass.hashCode() + targetClass.hashCode();
+        }
+
+    }
+
 }
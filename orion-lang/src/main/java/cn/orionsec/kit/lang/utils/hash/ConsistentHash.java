@@ -27,16 +27,23 @@
 package cn.orionsec.kit.lang.utils.hash;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.function.ToIntFunction;
 
 /**
  * 一致性 hash 算法
+ * <p>
+ * 增删节点时加锁修改 hash 环, 并发布一份有序的 int[] 快照, 查找时在快照上二分查找, 不加锁也不会创建对象
+ * 需要 64 位 hash 或节点权重时使用 {@link HashRing}
  *
  * @author Jiahang Li
  * @version 1.0.0
  * @since 2020/10/31 17:30
+ * @see HashRing
+ * @see JumpConsistentHash
+ * @see RendezvousHash
  */
 public class ConsistentHash<T> {
 
@@ -55,6 +62,11 @@ public class ConsistentHash<T> {
      */
     private final SortedMap<Integer, T> circle = new TreeMap<>();
 
+    /**
+     * hash 环快照
+     */
+    private volatile Snapshot snapshot = new Snapshot(new int[0], new Object[0]);
+
     /**
      * @param numberOfReplicas 复制的节点个数, 增加每个节点的复制节点有利于负载均衡
      * @param nodes            节点对象
@@ -72,8 +84,11 @@ public class ConsistentHash<T> {
         this.numberOfReplicas = numberOfReplicas;
         this.hashFun = hashFun;
         // 初始化节点
-        for (T node : nodes) {
-            this.add(node);
+        synchronized (circle) {
+            for (T node : nodes) {
+                this.put(node);
+            }
+            this.publish();
         }
     }
 
@@ -88,8 +103,9 @@ public class ConsistentHash<T> {
      * @param node 节点对象
      */
     public void add(T node) {
-        for (int i = 0; i < numberOfReplicas; i++) {
-            circle.put(hashFun.applyAsInt(node.toString() + i), node);
+        synchronized (circle) {
+            this.put(node);
+            this.publish();
         }
     }
 
@@ -99,8 +115,12 @@ public class ConsistentHash<T> {
      * @param node 节点对象
      */
     public void remove(T node) {
-        for (int i = 0; i < numberOfReplicas; i++) {
-            circle.remove(hashFun.applyAsInt(node.toString() + i));
+        synchronized (circle) {
+            String name = node.toString();
+            for (int i = 0; i < numberOfReplicas; i++) {
+                circle.remove(hashFun.applyAsInt(name + i));
+            }
+            this.publish();
         }
     }
 
@@ -110,18 +130,68 @@ public class ConsistentHash<T> {
      * @param key 为给定键取Hash, 取得顺时针方向上最近的一个虚拟节点对应的实际节点
      * @return 节点对象
      */
+    @SuppressWarnings("unchecked")
     public T get(Object key) {
-        if (circle.isEmpty()) {
+        Snapshot current = this.snapshot;
+        int[] hashes = current.hashes;
+        int length = hashes.length;
+        if (length == 0) {
             return null;
         }
         int hash = hashFun.applyAsInt(key);
-        if (!circle.containsKey(hash)) {
-            // 返回此映射的部分视图, 其键大于等于 hash
-            SortedMap<Integer, T> tailMap = circle.tailMap(hash);
-            hash = tailMap.isEmpty() ? circle.firstKey() : tailMap.firstKey();
+        // 第一个大于等于 hash 的虚拟节点
+        int low = 0, high = length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (hashes[mid] < hash) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return (T) current.nodes[low == length ? 0 : low];
+    }
+
+    /**
+     * 添加虚拟节点 需要持有锁
+     *
+     * @param node 节点对象
+     */
+    private void put(T node) {
+        String name = node.toString();
+        for (int i = 0; i < numberOfReplicas; i++) {
+            circle.put(hashFun.applyAsInt(name + i), node);
+        }
+    }
+
+    /**
+     * 发布快照 需要持有锁
+     */
+    private void publish() {
+        int size = circle.size();
+        int[] hashes = new int[size];
+        Object[] nodes = new Object[size];
+        int i = 0;
+        for (Map.Entry<Integer, T> entry : circle.entrySet()) {
+            hashes[i] = entry.getKey();
+            nodes[i++] = entry.getValue();
+        }
+        this.snapshot = new Snapshot(hashes, nodes);
+    }
+
+    /**
+     * hash 环快照
+     */
+    private static class Snapshot {
+
+        private final int[] hashes;
+
+        private final Object[] nodes;
+
+        private Snapshot(int[] hashes, Object[] nodes) {
+            this.hashes = hashes;
+            this.nodes = nodes;
         }
-        // 正好命中
-        return circle.get(hash);
     }
 
 }
@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.hash;
+
+import cn.orionsec.kit.lang.utils.Exceptions;
+
+import java.util.*;
+
+/**
+ * 一致性 hash 环
+ * <p>
+ * 虚拟节点的 hash 按顺序存放在 long[] 中, 查找时二分查找顺时针方向上最近的虚拟节点, 查找过程不会创建对象
+ * 虚拟节点的 hash 为 {@code MurmurHash.hash64(node.toString(), 虚拟节点序号)}, 不需要拼接字符串
+ * <p>
+ * 节点的虚拟节点数为 replicas * 权重
+ * 实例不可变, 增删节点时将新节点的虚拟节点与当前的环归并为新的环 O(n)
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/1 10:32
+ * @see ConsistentHash
+ */
+public class HashRing<T> implements NodeLocator<T> {
+
+    /**
+     * 默认每个权重的虚拟节点数
+     */
+    public static final int DEFAULT_REPLICAS = 160;
+
+    /**
+     * 每个权重的虚拟节点数
+     */
+    private final int replicas;
+
+    /**
+     * 节点及权重
+     */
+    private final Map<T, Integer> weights;
+
+    /**
+     * 节点
+     */
+    private final List<T> nodes;
+
+    /**
+     * 虚拟节点 hash 升序
+     */
+    private final long[] points;
+
+    /**
+     * 虚拟节点对应的节点
+     */
+    private final Object[] owners;
+
+    private HashRing(int replicas, Map<T, Integer> weights, long[] points, Object[] owners) {
+        this.replicas = replicas;
+        this.weights = weights;
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(weights.keySet()));
+        this.points = points;
+        this.owners = owners;
+    }
+
+    /**
+     * 创建空的 hash 环
+     *
+     * @param <T> T
+     * @return ring
+     */
+    public static <T> HashRing<T> create() {
+        return create(DEFAULT_REPLICAS);
+    }
+
+    /**
+     * 创建空的 hash 环
+     *
+     * @param replicas 每个权重的虚拟节点数
+     * @param <T>      T
+     * @return ring
+     */
+    public static <T> HashRing<T> create(int replicas) {
+        if (replicas < 1) {
+            throw Exceptions.argument("replicas must be greater than 0");
+        }
+        return new HashRing<>(replicas, new LinkedHashMap<>(), new long[0], new Object[0]);
+    }
+
+    /**
+     * 创建 hash 环 节点权重都为 1
+     *
+     * @param nodes 节点
+     * @param <T>   T
+     * @return ring
+     */
+    public static <T> HashRing<T> of(Collection<T> nodes) {
+        return of(DEFAULT_REPLICAS, nodes);
+    }
+
+    /**
+     * 创建 hash 环 节点权重都为 1
+     *
+     * @param replicas 每个权重的虚拟节点数
+     * @param nodes    节点
+     * @param <T>      T
+     * @return ring
+     */
+    public static <T> HashRing<T> of(int replicas, Collection<T> nodes) {
+        Map<T, Integer> weights = new LinkedHashMap<>();
+        for (T node : nodes) {
+            weights.put(node, 1);
+        }
+        return of(replicas, weights);
+    }
+
+    /**
+     * 创建带权重的 hash 环
+     *
+     * @param replicas 每个权重的虚拟节点数
+     * @param weights  节点及权重
+     * @param <T>      T
+     * @return ring
+     */
+    public static <T> HashRing<T> of(int replicas, Map<T, Integer> weights) {
+        HashRing<T> ring = create(replicas);
+        if (weights.isEmpty()) {
+            return ring;
+        }
+        Map<T, Integer> copy = new LinkedHashMap<>();
+        int total = 0;
+        for (Map.Entry<T, Integer> entry : weights.entrySet()) {
+            int weight = checkWeight(entry.getKey(), entry.getValue());
+            copy.put(entry.getKey(), weight);
+            total += weight * replicas;
+        }
+        // 一次性生成后排序
+        long[] points = new long[total];
+        Object[] owners = new Object[total];
+        int index = 0;
+        for (Map.Entry<T, Integer> entry : copy.entrySet()) {
+            String name = entry.getKey().toString();
+            int count = entry.getValue() * replicas;
+            for (int i = 0; i < count; i++) {
+                points[index] = MurmurHash.hash64(name, i);
+                owners[index++] = entry.getKey();
+            }
+        }
+        sort(points, owners);
+        return new HashRing<>(replicas, copy, points, owners);
+    }
+
+    /**
+     * 添加节点 权重为 1
+     *
+     * @param node 节点
+     * @return 新的 hash 环
+     */
+    public HashRing<T> add(T node) {
+        return this.add(node, 1);
+    }
+
+    /**
+     * 添加节点
+     * <p>
+     * 节点已存在时修改权重
+     *
+     * @param node   节点
+     * @param weight 权重
+     * @return 新的 hash 环
+     */
+    public HashRing<T> add(T node, int weight) {
+        checkWeight(node, weight);
+        Integer current = weights.get(node);
+        if (current != null) {
+            if (current == weight) {
+                return this;
+            }
+            return this.remove(node).add(node, weight);
+        }
+        // 新节点的虚拟节点
+        String name = node.toString();
+        int count = weight * replicas;
+        long[] addPoints = new long[count];
+        Object[] addOwners = new Object[count];
+        for (int i = 0; i < count; i++) {
+            addPoints[i] = MurmurHash.hash64(name, i);
+            addOwners[i] = node;
+        }
+        sort(addPoints, addOwners);
+        // 归并
+        long[] mergePoints = new long[points.length + count];
+        Object[] mergeOwners = new Object[mergePoints.length];
+        int i = 0, j = 0, k = 0;
+        while (i < points.length && j < count) {
+            if (points[i] <= addPoints[j]) {
+                mergePoints[k] = points[i];
+                mergeOwners[k++] = owners[i++];
+            } else {
+                mergePoints[k] = addPoints[j];
+                mergeOwners[k++] = addOwners[j++];
+            }
+        }
+        while (i < points.length) {
+            mergePoints[k] = points[i];
+            mergeOwners[k++] = owners[i++];
+        }
+        while (j < count) {
+            mergePoints[k] = addPoints[j];
+            mergeOwners[k++] = addOwners[j++];
+        }
+        Map<T, Integer> newWeights = new LinkedHashMap<>(weights);
+        newWeights.put(node, weight);
+        return new HashRing<>(replicas, newWeights, mergePoints, mergeOwners);
+    }
+
+    /**
+     * 移除节点及其虚拟节点
+     *
+     * @param node 节点
+     * @return 新的 hash 环
+     */
+    public HashRing<T> remove(T node) {
+        Integer weight = weights.get(node);
+        if (weight == null) {
+            return this;
+        }
+        int size = points.length - weight * replicas;
+        long[] newPoints = new long[size];
+        Object[] newOwners = new Object[size];
+        int k = 0;
+        for (int i = 0; i < points.length; i++) {
+            if (!node.equals(owners[i])) {
+                newPoints[k] = points[i];
+                newOwners[k++] = owners[i];
+            }
+        }
+        Map<T, Integer> newWeights = new LinkedHashMap<>(weights);
+        newWeights.remove(node);
+        return new HashRing<>(replicas, newWeights, newPoints, newOwners);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(long hash) {
+        int length = points.length;
+        if (length == 0) {
+            return null;
+        }
+        // 第一个大于等于 hash 的虚拟节点
+        int low = 0, high = length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (points[mid] < hash) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return (T) owners[low == length ? 0 : low];
+    }
+
+    /**
+     * 获取节点权重
+     *
+     * @param node 节点
+     * @return 权重 不存在返回 0
+     */
+    public int getWeight(T node) {
+        return weights.getOrDefault(node, 0);
+    }
+
+    /**
+     * @return 虚拟节点数量
+     */
+    public int getPointCount() {
+        return points.length;
+    }
+
+    public int getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    @Override
+    public List<T> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 检查权重
+     *
+     * @param node   节点
+     * @param weight 权重
+     * @return 权重
+     */
+    private static int checkWeight(Object node, Integer weight) {
+        if (node == null) {
+            throw Exceptions.argument("node must not be null");
+        }
+        if (weight == null || weight < 1) {
+            throw Exceptions.argument("node " + node + " weight must be greater than 0");
+        }
+        return weight;
+    }
+
+    /**
+     * 按 hash 升序排序, 相同 hash 保持原顺序
+     *
+     * @param points points
+     * @param owners owners
+     */
+    private static void sort(long[] points, Object[] owners) {
+        int length = points.length;
+        Integer[] indexes = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, (a, b) -> Long.compare(points[a], points[b]));
+        long[] sortedPoints = new long[length];
+        Object[] sortedOwners = new Object[length];
+        for (int i = 0; i < length; i++) {
+            sortedPoints[i] = points[indexes[i]];
+            sortedOwners[i] = owners[indexes[i]];
+        }
+        System.arraycopy(sortedPoints, 0, points, 0, length);
+        System.arraycopy(sortedOwners, 0, owners, 0, length);
+    }
+
+}
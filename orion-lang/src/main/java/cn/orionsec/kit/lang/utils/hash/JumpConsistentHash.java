@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.hash;
+
+import cn.orionsec.kit.lang.utils.Exceptions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * jump 一致性 hash
+ * <p>
+ * Lamping &amp; Veach 2014, 不需要虚拟节点, 内存 O(1), 查找 O(ln n) 且分布均匀
+ * 节点按添加顺序编号, 只有在末尾增删节点时才能保证最少的 key 迁移, 不支持权重
+ * 适合节点按编号扩缩容的场景 (如分片), 节点可能从中间下线时使用 {@link HashRing} 或 {@link RendezvousHash}
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/1 11:05
+ */
+public class JumpConsistentHash<T> implements NodeLocator<T> {
+
+    private final Object[] buckets;
+
+    private final List<T> nodes;
+
+    private JumpConsistentHash(List<T> nodes) {
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.buckets = nodes.toArray();
+    }
+
+    /**
+     * 创建
+     *
+     * @param nodes 节点 顺序即编号
+     * @param <T>   T
+     * @return hash
+     */
+    public static <T> JumpConsistentHash<T> of(Collection<T> nodes) {
+        for (T node : nodes) {
+            if (node == null) {
+                throw Exceptions.argument("node must not be null");
+            }
+        }
+        return new JumpConsistentHash<>(new ArrayList<>(nodes));
+    }
+
+    /**
+     * 计算 hash 所在的桶
+     *
+     * @param hash    hash
+     * @param buckets 桶数量
+     * @return 桶编号 [0, buckets)
+     */
+    public static int jump(long hash, int buckets) {
+        if (buckets <= 0) {
+            throw Exceptions.argument("buckets must be greater than 0");
+        }
+        long b = -1, j = 0;
+        while (j < buckets) {
+            b = j;
+            hash = hash * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((hash >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    /**
+     * 在末尾添加节点
+     *
+     * @param node 节点
+     * @return 新的实例
+     */
+    public JumpConsistentHash<T> add(T node) {
+        if (node == null) {
+            throw Exceptions.argument("node must not be null");
+        }
+        List<T> list = new ArrayList<>(nodes);
+        list.add(node);
+        return new JumpConsistentHash<>(list);
+    }
+
+    /**
+     * 移除节点
+     * <p>
+     * 移除非末尾的节点时, 其后所有节点的编号都会改变, 迁移的 key 会多于移除末尾节点
+     *
+     * @param node 节点
+     * @return 新的实例
+     */
+    public JumpConsistentHash<T> remove(T node) {
+        if (!nodes.contains(node)) {
+            return this;
+        }
+        List<T> list = new ArrayList<>(nodes);
+        list.remove(node);
+        return new JumpConsistentHash<>(list);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(long hash) {
+        if (buckets.length == 0) {
+            return null;
+        }
+        return (T) buckets[jump(hash, buckets.length)];
+    }
+
+    @Override
+    public int size() {
+        return buckets.length;
+    }
+
+    @Override
+    public List<T> getNodes() {
+        return nodes;
+    }
+
+}
@@ -225,6 +225,60 @@ public class MurmurHash {
         return hash;
     }
 
+    /**
+     * Murmur3 64-bit Hash值计算
+     * <p>
+     * 直接读取字符的 UTF-16 编码 (小端), 不会创建字节数组
+     * 等价于 {@code hash64(data.toString().getBytes(UTF_16LE), length * 2, seed)}, 与 {@link #hash64(String)} 结果不同
+     *
+     * @param data 数据
+     * @param seed 种子
+     * @return Hash值
+     */
+    public static long hash64(CharSequence data, int seed) {
+        long hash = seed;
+        int length = data.length();
+        int nblocks = length >> 2;
+
+        // body
+        for (int i = 0; i < nblocks; i++) {
+            final int i4 = i << 2;
+            long k = ((long) data.charAt(i4))
+                    | ((long) data.charAt(i4 + 1) << 16)
+                    | ((long) data.charAt(i4 + 2) << 32)
+                    | ((long) data.charAt(i4 + 3) << 48);
+
+            // mix functions
+            k *= C1;
+            k = Long.rotateLeft(k, R1);
+            k *= C2;
+            hash ^= k;
+            hash = Long.rotateLeft(hash, R2) * M + N1;
+        }
+
+        // tail
+        long k1 = 0;
+        int tailStart = nblocks << 2;
+        switch (length - tailStart) {
+            case 3:
+                k1 ^= (long) data.charAt(tailStart + 2) << 32;
+            case 2:
+                k1 ^= (long) data.charAt(tailStart + 1) << 16;
+            case 1:
+                k1 ^= data.charAt(tailStart);
+                k1 *= C1;
+                k1 = Long.rotateLeft(k1, R1);
+                k1 *= C2;
+                hash ^= k1;
+        }
+
+        // finalization
+        hash ^= (long) length << 1;
+        hash = fmix64(hash);
+
+        return hash;
+    }
+
     /**
      * Murmur3 128-bit Hash值计算
      *
@@ -358,7 +412,13 @@ public class MurmurHash {
         return new long[]{h1, h2};
     }
 
-    private static long fmix64(long h) {
+    /**
+     * 64-bit 最终混淆
+     *
+     * @param h h
+     * @return 混淆后的值
+     */
+    static long fmix64(long h) {
         h ^= (h >>> 33);
         h *= 0xFF51AFD7ED558CCDL;
         h ^= (h >>> 33);
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.hash;
+
+import java.util.List;
+
+/**
+ * 节点定位器
+ * <p>
+ * 根据 key 的 64 位 hash 选择节点, 实现均为不可变对象, 增删节点返回新的实例 (copy-on-write)
+ * 调用方持有 volatile 引用即可在并发读的同时更新节点
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/1 10:15
+ * @see HashRing
+ * @see JumpConsistentHash
+ * @see RendezvousHash
+ */
+public interface NodeLocator<T> {
+
+    /**
+     * 获取节点
+     * <p>
+     * 不会创建对象
+     *
+     * @param hash key 的 hash
+     * @return 节点 没有节点返回 null
+     */
+    T get(long hash);
+
+    /**
+     * 获取节点
+     *
+     * @param key key
+     * @return 节点 没有节点返回 null
+     * @see #hash(Object)
+     */
+    default T get(Object key) {
+        return this.get(hash(key));
+    }
+
+    /**
+     * @return 节点数量
+     */
+    int size();
+
+    /**
+     * @return 节点 (只读)
+     */
+    List<T> getNodes();
+
+    /**
+     * 计算 key 的 64 位 hash
+     * <p>
+     * 字符串使用 {@link MurmurHash#hash64(CharSequence, int)} 计算, 不会创建对象
+     * 整数直接混淆, 其他对象使用 toString 计算
+     *
+     * @param key key
+     * @return hash
+     */
+    static long hash(Object key) {
+        if (key instanceof CharSequence) {
+            return MurmurHash.hash64((CharSequence) key, 0);
+        } else if (key instanceof Long || key instanceof Integer) {
+            return MurmurHash.fmix64(((Number) key).longValue());
+        } else {
+            return MurmurHash.hash64(String.valueOf(key), 0);
+        }
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.hash;
+
+import cn.orionsec.kit.lang.utils.Exceptions;
+
+import java.util.*;
+
+/**
+ * rendezvous hash (最高随机权重)
+ * <p>
+ * 每次查找对所有节点计算 {@code hash(key, node)} 并取得分最高的节点, 查找 O(n) 且不会创建对象
+ * 不需要虚拟节点, 增删任意节点都只会迁移该节点上的 key
+ * <p>
+ * 带权重时得分为 {@code -weight / ln(u)}, u 为 (0, 1) 上均匀分布的 hash, 节点命中概率与权重成正比
+ * 适合节点数较少 (几十个以内) 的场景, 节点多时使用 {@link HashRing}
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/1 11:24
+ */
+public class RendezvousHash<T> implements NodeLocator<T> {
+
+    private final Object[] owners;
+
+    /**
+     * 节点 hash
+     */
+    private final long[] seeds;
+
+    private final double[] weights;
+
+    /**
+     * 权重是否都相同
+     */
+    private final boolean uniform;
+
+    private final List<T> nodes;
+
+    private RendezvousHash(Map<T, Integer> nodeWeights) {
+        int size = nodeWeights.size();
+        this.owners = new Object[size];
+        this.seeds = new long[size];
+        this.weights = new double[size];
+        boolean uniform = true;
+        int i = 0;
+        for (Map.Entry<T, Integer> entry : nodeWeights.entrySet()) {
+            owners[i] = entry.getKey();
+            seeds[i] = MurmurHash.hash64(entry.getKey().toString(), 0);
+            weights[i] = entry.getValue();
+            uniform &= weights[i] == weights[0];
+            i++;
+        }
+        this.uniform = uniform;
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodeWeights.keySet()));
+    }
+
+    /**
+     * 创建 节点权重都为 1
+     *
+     * @param nodes 节点
+     * @param <T>   T
+     * @return hash
+     */
+    public static <T> RendezvousHash<T> of(Collection<T> nodes) {
+        Map<T, Integer> weights = new LinkedHashMap<>();
+        for (T node : nodes) {
+            weights.put(node, 1);
+        }
+        return of(weights);
+    }
+
+    /**
+     * 创建带权重的实例
+     *
+     * @param weights 节点及权重
+     * @param <T>     T
+     * @return hash
+     */
+    public static <T> RendezvousHash<T> of(Map<T, Integer> weights) {
+        Map<T, Integer> copy = new LinkedHashMap<>();
+        for (Map.Entry<T, Integer> entry : weights.entrySet()) {
+            if (entry.getKey() == null) {
+                throw Exceptions.argument("node must not be null");
+            }
+            Integer weight = entry.getValue();
+            if (weight == null || weight < 1) {
+                throw Exceptions.argument("node " + entry.getKey() + " weight must be greater than 0");
+            }
+            copy.put(entry.getKey(), weight);
+        }
+        return new RendezvousHash<>(copy);
+    }
+
+    /**
+     * 添加节点 权重为 1
+     *
+     * @param node 节点
+     * @return 新的实例
+     */
+    public RendezvousHash<T> add(T node) {
+        return this.add(node, 1);
+    }
+
+    /**
+     * 添加节点
+     * <p>
+     * 节点已存在时修改权重
+     *
+     * @param node   节点
+     * @param weight 权重
+     * @return 新的实例
+     */
+    public RendezvousHash<T> add(T node, int weight) {
+        Map<T, Integer> map = this.toWeights();
+        map.put(node, weight);
+        return of(map);
+    }
+
+    /**
+     * 移除节点
+     *
+     * @param node 节点
+     * @return 新的实例
+     */
+    public RendezvousHash<T> remove(T node) {
+        Map<T, Integer> map = this.toWeights();
+        if (map.remove(node) == null) {
+            return this;
+        }
+        return new RendezvousHash<>(map);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(long hash) {
+        int size = owners.length;
+        if (size == 0) {
+            return null;
+        }
+        int best = 0;
+        if (uniform) {
+            // 权重相同时直接比较 hash
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                long score = MurmurHash.fmix64(hash ^ seeds[i]);
+                if (score > max || i == 0) {
+                    max = score;
+                    best = i;
+                }
+            }
+        } else {
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < size; i++) {
+                // 取高 53 位映射到 (0, 1)
+                double u = ((MurmurHash.fmix64(hash ^ seeds[i]) >>> 11) + 0.5) * 0x1.0p-53;
+                double score = -weights[i] / Math.log(u);
+                if (score > max) {
+                    max = score;
+                    best = i;
+                }
+            }
+        }
+        return (T) owners[best];
+    }
+
+    @Override
+    public int size() {
+        return owners.length;
+    }
+
+    @Override
+    public List<T> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return 节点及权重
+     */
+    @SuppressWarnings("unchecked")
+    private Map<T, Integer> toWeights() {
+        Map<T, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < owners.length; i++) {
+            map.put((T) owners[i], (int) weights[i]);
+        }
+        return map;
+    }
+
+}
@@ -353,6 +353,16 @@ public class FileLocks {
             return lockFile.exists();
         }
 
+        /**
+         * 获取锁文件 锁文件可以用来记录锁定期间的状态
+         *
+         * @return 锁文件
+         */
+        public File getLockFile() {
+            this.init();
+            return lockFile;
+        }
+
         private void init() {
             if (this.lockFile == null) {
                 this.lockFile = new File(file.getParent() + Const.SEPARATOR + prefix + file.getName() + suffix);
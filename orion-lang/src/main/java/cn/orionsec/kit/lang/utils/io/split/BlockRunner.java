@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.io.split;
+
+import cn.orionsec.kit.lang.utils.Exceptions;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+/**
+ * 块任务执行器
+ * <p>
+ * 调用线程也会领取块执行, 线程池只提供辅助线程, 调用线程只等待已被领取的块
+ * 线程池饱和 (包括在同一个线程池的任务中调用) 时所有块由调用线程执行, 不会死锁
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/2 10:48
+ */
+final class BlockRunner {
+
+    private BlockRunner() {
+    }
+
+    /**
+     * 执行块任务
+     *
+     * @param count       块数量
+     * @param task        块任务 参数为块下标
+     * @param executor    辅助线程池
+     * @param parallelism 最大并行数 包括调用线程
+     * @param <T>         结果类型
+     * @return 按下标排列的结果
+     * @throws CompletionException 任意块失败 会等待所有已领取的块结束
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> run(int count, IntFunction<T> task, Executor executor, int parallelism) {
+        Object[] results = new Object[count];
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(count);
+        Runnable worker = () -> {
+            int i;
+            while ((i = next.getAndIncrement()) < count) {
+                try {
+                    // 已经失败则跳过剩余块
+                    if (error.get() == null) {
+                        results[i] = task.apply(i);
+                    }
+                } catch (Throwable t) {
+                    error.compareAndSet(null, t);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        int helpers = Math.min(parallelism, count) - 1;
+        for (int i = 0; i < helpers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        worker.run();
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Exceptions.interruptedRuntime(e);
+        }
+        if (error.get() != null) {
+            throw new CompletionException(error.get());
+        }
+        return Arrays.asList((T[]) results);
+    }
+
+}
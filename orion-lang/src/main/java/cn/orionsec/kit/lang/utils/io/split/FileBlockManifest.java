@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.io.split;
+
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.Strings;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 文件块清单
+ * <p>
+ * 记录原文件名称, 长度以及每个块的偏移, 长度和 CRC32, 用于合并时校验和断点续合
+ * <p>
+ * 文件格式为文本, 块信息每行一个: {@code 序号,偏移,长度,crc32}
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/2 10:12
+ */
+public class FileBlockManifest {
+
+    /**
+     * 清单文件后缀
+     */
+    public static final String SUFFIX = ".manifest";
+
+    private static final String HEADER = "# orion file block manifest";
+
+    private static final String NAME = "name=";
+
+    private static final String LENGTH = "length=";
+
+    private static final String BLOCK_SIZE = "block.size=";
+
+    /**
+     * 计算校验和时每次映射的大小
+     */
+    private static final long MAP_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * 原文件名称
+     */
+    private final String name;
+
+    /**
+     * 原文件长度
+     */
+    private final long length;
+
+    /**
+     * 块大小
+     */
+    private final long blockSize;
+
+    /**
+     * 块
+     */
+    private final List<Block> blocks;
+
+    public FileBlockManifest(String name, long length, long blockSize, List<Block> blocks) {
+        this.name = name;
+        this.length = length;
+        this.blockSize = blockSize;
+        this.blocks = Collections.unmodifiableList(blocks);
+    }
+
+    /**
+     * 读取清单
+     *
+     * @param file 清单文件
+     * @return manifest
+     */
+    public static FileBlockManifest read(File file) {
+        String name = null;
+        long length = -1, blockSize = -1;
+        List<Block> blocks = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith(NAME)) {
+                    name = line.substring(NAME.length());
+                } else if (line.startsWith(LENGTH)) {
+                    length = Long.parseLong(line.substring(LENGTH.length()));
+                } else if (line.startsWith(BLOCK_SIZE)) {
+                    blockSize = Long.parseLong(line.substring(BLOCK_SIZE.length()));
+                } else {
+                    String[] fields = line.split(",");
+                    if (fields.length != 4) {
+                        throw Exceptions.parse("illegal manifest block line: " + line);
+                    }
+                    blocks.add(new Block(Integer.parseInt(fields[0]),
+                            Long.parseLong(fields[1]),
+                            Long.parseLong(fields[2]),
+                            Long.parseLong(fields[3], 16)));
+                }
+            }
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+        if (Strings.isBlank(name) || length < 0 || blockSize <= 0) {
+            throw Exceptions.parse("illegal manifest file: " + file);
+        }
+        return new FileBlockManifest(name, length, blockSize, blocks);
+    }
+
+    /**
+     * 写入清单
+     *
+     * @param file 清单文件
+     */
+    public void write(File file) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            writer.write(NAME + name);
+            writer.newLine();
+            writer.write(LENGTH + length);
+            writer.newLine();
+            writer.write(BLOCK_SIZE + blockSize);
+            writer.newLine();
+            for (Block block : blocks) {
+                writer.write(block.index + "," + block.offset + "," + block.length + "," + Long.toHexString(block.checksum));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+    }
+
+    /**
+     * 计算文件区域的 CRC32
+     * <p>
+     * 使用内存映射读取, 不经过堆内缓冲区
+     *
+     * @param channel channel
+     * @param offset  偏移
+     * @param length  长度
+     * @return crc32
+     * @throws IOException IOException
+     */
+    public static long checksum(FileChannel channel, long offset, long length) throws IOException {
+        CRC32 crc = new CRC32();
+        long position = offset;
+        long end = offset + length;
+        while (position < end) {
+            long size = Math.min(MAP_SIZE, end - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            crc.update(buffer);
+            position += size;
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * 获取块文件名称
+     *
+     * @param name  原文件名称
+     * @param index 块序号 从 1 开始
+     * @return 块文件名称 与 {@link FileSplit} 相同
+     */
+    public static String getBlockName(String name, int index) {
+        return name + ".000" + index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public long getBlockSize() {
+        return blockSize;
+    }
+
+    public List<Block> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * 文件块
+     */
+    public static class Block {
+
+        /**
+         * 序号 从 1 开始
+         */
+        private final int index;
+
+        /**
+         * 在原文件中的偏移
+         */
+        private final long offset;
+
+        /**
+         * 长度
+         */
+        private final long length;
+
+        /**
+         * crc32
+         */
+        private final long checksum;
+
+        public Block(int index, long offset, long length, long checksum) {
+            this.index = index;
+            this.offset = offset;
+            this.length = length;
+            this.checksum = checksum;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public long getChecksum() {
+            return checksum;
+        }
+
+        @Override
+        public String toString() {
+            return index + "," + offset + "," + length + "," + Long.toHexString(checksum);
+        }
+    }
+
+}
@@ -44,6 +44,8 @@ import java.util.concurrent.Callable;
 
 /**
  * 文件合并器
+ * <p>
+ * 使用缓冲区复制, 大文件使用 {@link ParallelFileMerge}
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -41,6 +41,8 @@ import java.util.concurrent.Callable;
 
 /**
  * 文件拆分器
+ * <p>
+ * 使用缓冲区复制, 大文件使用 {@link ParallelFileSplit}
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.io.split;
+
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.Strings;
+import cn.orionsec.kit.lang.utils.Threads;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 并行文件合并器
+ * <p>
+ * 读取 {@link ParallelFileSplit} 生成的清单, 先按原文件长度预分配文件, 再将各个块并行写入对应的偏移
+ * 写入使用 {@link FileChannel#transferFrom(java.nio.channels.ReadableByteChannel, long, long)} (零拷贝)
+ * <p>
+ * 写入前校验块文件的 CRC32, 每合并完一个块会追加到进度文件 {@code <文件>.progress}
+ * 合并中断后再次执行会跳过进度文件中已完成的块, 全部完成后删除进度文件
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/2 11:20
+ */
+public class ParallelFileMerge implements Callable<String> {
+
+    /**
+     * 进度文件后缀
+     */
+    public static final String PROGRESS_SUFFIX = ".progress";
+
+    /**
+     * 最大并行数
+     */
+    private static final int MAX_PARALLELISM = 8;
+
+    /**
+     * 块文件夹
+     */
+    private final File dir;
+
+    /**
+     * 清单
+     */
+    private final FileBlockManifest manifest;
+
+    /**
+     * 线程池
+     */
+    private final Executor executor;
+
+    /**
+     * 合并后是否校验整个文件
+     */
+    private boolean verify;
+
+    public ParallelFileMerge(File dir) {
+        this(dir, null);
+    }
+
+    /**
+     * @param dir      块文件夹
+     * @param executor 辅助线程池 为空则使用 {@link Threads#GLOBAL_EXECUTOR}, 调用线程也会执行块
+     */
+    public ParallelFileMerge(File dir, Executor executor) {
+        if (dir == null || !dir.isDirectory()) {
+            throw Exceptions.runtime("the folder path is incorrect");
+        }
+        File[] manifests = dir.listFiles((d, name) -> name.endsWith(FileBlockManifest.SUFFIX));
+        if (manifests == null || manifests.length == 0) {
+            throw Exceptions.runtime("file block manifest does not exist");
+        }
+        this.dir = dir;
+        this.manifest = FileBlockManifest.read(manifests[0]);
+        this.executor = executor == null ? Threads.GLOBAL_EXECUTOR : executor;
+    }
+
+    /**
+     * 设置合并后是否校验整个文件
+     *
+     * @param verify verify
+     * @return this
+     */
+    public ParallelFileMerge verify(boolean verify) {
+        this.verify = verify;
+        return this;
+    }
+
+    @Override
+    public String call() {
+        File target = new File(dir, manifest.getName());
+        File progress = new File(dir, manifest.getName() + PROGRESS_SUFFIX);
+        Set<Integer> completed = this.prepare(target, progress);
+        List<FileBlockManifest.Block> blocks = new ArrayList<>();
+        for (FileBlockManifest.Block block : manifest.getBlocks()) {
+            if (!completed.contains(block.getIndex())) {
+                blocks.add(block);
+            }
+        }
+        try {
+            // 失败时会等待所有已领取的块结束 防止失败后仍有块在写入
+            BlockRunner.run(blocks.size(), i -> {
+                this.mergeBlock(blocks.get(i), target, progress);
+                return null;
+            }, executor, MAX_PARALLELISM);
+        } catch (CompletionException e) {
+            throw Exceptions.ioRuntime("file merge error: " + target, e.getCause());
+        }
+        if (verify) {
+            List<Integer> broken = this.verify(target);
+            if (!broken.isEmpty()) {
+                // 进度中只保留校验通过的块 下次重新合并损坏的块
+                this.rewriteProgress(progress, broken);
+                throw Exceptions.ioRuntime(Strings.format("merged file {} checksum mismatch blocks: {}", target, broken));
+            }
+        }
+        progress.delete();
+        return target.getAbsolutePath();
+    }
+
+    /**
+     * 校验合并后的文件
+     *
+     * @param target 合并后的文件
+     * @return 校验失败的块序号
+     */
+    public List<Integer> verify(File target) {
+        List<Integer> broken = new ArrayList<>();
+        if (!target.isFile() || target.length() != manifest.getLength()) {
+            for (FileBlockManifest.Block block : manifest.getBlocks()) {
+                broken.add(block.getIndex());
+            }
+            return broken;
+        }
+        try (FileChannel channel = FileChannel.open(target.toPath(), StandardOpenOption.READ)) {
+            for (FileBlockManifest.Block block : manifest.getBlocks()) {
+                long checksum = FileBlockManifest.checksum(channel, block.getOffset(), block.getLength());
+                if (checksum != block.getChecksum()) {
+                    broken.add(block.getIndex());
+                }
+            }
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+        return broken;
+    }
+
+    public FileBlockManifest getManifest() {
+        return manifest;
+    }
+
+    /**
+     * 准备合并文件
+     *
+     * @param target   合并文件
+     * @param progress 进度文件
+     * @return 已完成的块
+     */
+    private Set<Integer> prepare(File target, File progress) {
+        Set<Integer> completed = new HashSet<>();
+        try {
+            if (progress.isFile() && target.isFile() && target.length() == manifest.getLength()) {
+                // 续合
+                for (String line : Files.readAllLines(progress.toPath(), StandardCharsets.UTF_8)) {
+                    if (Strings.isNumber(line.trim())) {
+                        completed.add(Integer.valueOf(line.trim()));
+                    }
+                }
+                return completed;
+            }
+            Files.write(progress.toPath(), new byte[0]);
+            try (RandomAccessFile file = new RandomAccessFile(target, "rw")) {
+                file.setLength(0);
+                file.setLength(manifest.getLength());
+            }
+            return completed;
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+    }
+
+    /**
+     * 合并块
+     *
+     * @param block    块
+     * @param target   合并文件
+     * @param progress 进度文件
+     */
+    private void mergeBlock(FileBlockManifest.Block block, File target, File progress) {
+        File blockFile = new File(dir, FileBlockManifest.getBlockName(manifest.getName(), block.getIndex()));
+        if (!blockFile.isFile() || blockFile.length() != block.getLength()) {
+            throw Exceptions.ioRuntime("block file missing or incomplete: " + blockFile);
+        }
+        try (FileChannel in = FileChannel.open(blockFile.toPath(), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.WRITE)) {
+            if (FileBlockManifest.checksum(in, 0, block.getLength()) != block.getChecksum()) {
+                throw Exceptions.ioRuntime("block file checksum mismatch: " + blockFile);
+            }
+            long transferred = 0;
+            while (transferred < block.getLength()) {
+                long count = out.transferFrom(in.position(transferred),
+                        block.getOffset() + transferred,
+                        block.getLength() - transferred);
+                if (count <= 0) {
+                    throw Exceptions.ioRuntime(Strings.format("unexpected end of block {} at {}", blockFile, transferred));
+                }
+                transferred += count;
+            }
+            out.force(false);
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+        this.appendProgress(progress, block.getIndex());
+    }
+
+    /**
+     * 记录已完成的块
+     *
+     * @param progress 进度文件
+     * @param index    序号
+     */
+    private synchronized void appendProgress(File progress, int index) {
+        try {
+            Files.write(progress.toPath(), (index + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+    }
+
+    /**
+     * 从进度中移除损坏的块
+     *
+     * @param progress 进度文件
+     * @param broken   损坏的块
+     */
+    private void rewriteProgress(File progress, List<Integer> broken) {
+        StringBuilder sb = new StringBuilder();
+        for (FileBlockManifest.Block block : manifest.getBlocks()) {
+            if (!broken.contains(block.getIndex())) {
+                sb.append(block.getIndex()).append('\n');
+            }
+        }
+        try {
+            Files.write(progress.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+    }
+
+}
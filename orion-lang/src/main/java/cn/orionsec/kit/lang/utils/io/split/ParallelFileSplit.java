@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.io.split;
+
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.Strings;
+import cn.orionsec.kit.lang.utils.Threads;
+import cn.orionsec.kit.lang.utils.io.Files1;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * 并行文件拆分器
+ * <p>
+ * 使用 {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} 复制块 (零拷贝), 各个块并行拆分
+ * 块文件名称与 {@link FileSplit} 相同, 同时在块文件夹中生成 {@link FileBlockManifest} 清单, 记录每个块的 CRC32
+ * <p>
+ * 合并使用 {@link ParallelFileMerge}
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/2 10:48
+ */
+public class ParallelFileSplit implements Callable<String[]> {
+
+    /**
+     * 默认分割为几块 8
+     */
+    private static final int DEFAULT_SPLIT_BLOCK = 8;
+
+    /**
+     * 最大并行数
+     */
+    private static final int MAX_PARALLELISM = 8;
+
+    /**
+     * 最小块大小
+     */
+    private static final long MIN_BLOCK_SIZE = 1024;
+
+    /**
+     * 文件
+     */
+    private final File file;
+
+    /**
+     * 块大小
+     */
+    private final long blockSize;
+
+    /**
+     * 块数量
+     */
+    private final int blockCount;
+
+    /**
+     * 线程池
+     */
+    private final Executor executor;
+
+    /**
+     * 清单
+     */
+    private FileBlockManifest manifest;
+
+    public ParallelFileSplit(File file) {
+        this(file, DEFAULT_SPLIT_BLOCK, null);
+    }
+
+    public ParallelFileSplit(File file, int blockCount) {
+        this(file, blockCount, null);
+    }
+
+    /**
+     * @param file       文件
+     * @param blockCount 块数量
+     * @param executor   辅助线程池 为空则使用 {@link Threads#GLOBAL_EXECUTOR}, 调用线程也会执行块
+     */
+    public ParallelFileSplit(File file, int blockCount, Executor executor) {
+        this(checkFile(file), blockSizeOf(file.length(), blockCount), executor);
+    }
+
+    private ParallelFileSplit(File file, long blockSize, Executor executor) {
+        this.file = checkFile(file);
+        this.blockSize = Math.max(blockSize, MIN_BLOCK_SIZE);
+        long count = (file.length() + this.blockSize - 1) / this.blockSize;
+        if (count > Integer.MAX_VALUE) {
+            throw Exceptions.argument("block count too large: " + count);
+        }
+        this.blockCount = (int) count;
+        this.executor = executor == null ? Threads.GLOBAL_EXECUTOR : executor;
+    }
+
+    /**
+     * 按块大小拆分
+     *
+     * @param file      文件
+     * @param blockSize 块大小
+     * @return ParallelFileSplit
+     */
+    public static ParallelFileSplit ofBlockSize(File file, long blockSize) {
+        return ofBlockSize(file, blockSize, null);
+    }
+
+    /**
+     * 按块大小拆分
+     *
+     * @param file      文件
+     * @param blockSize 块大小
+     * @param executor  辅助线程池 为空则使用 {@link Threads#GLOBAL_EXECUTOR}, 调用线程也会执行块
+     * @return ParallelFileSplit
+     */
+    public static ParallelFileSplit ofBlockSize(File file, long blockSize, Executor executor) {
+        return new ParallelFileSplit(file, blockSize, executor);
+    }
+
+    @Override
+    public String[] call() {
+        File dir = new File(file.getAbsolutePath() + ".block");
+        Files1.mkdirs(dir);
+        long length = file.length();
+        String[] blockPaths = new String[blockCount];
+        File[] blockFiles = new File[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            blockFiles[i] = new File(dir, FileBlockManifest.getBlockName(file.getName(), i + 1));
+            blockPaths[i] = blockFiles[i].getAbsolutePath();
+        }
+        List<FileBlockManifest.Block> blocks;
+        try {
+            blocks = BlockRunner.run(blockCount, i -> {
+                long offset = i * blockSize;
+                return this.splitBlock(i + 1, offset, Math.min(blockSize, length - offset), blockFiles[i]);
+            }, executor, MAX_PARALLELISM);
+        } catch (CompletionException e) {
+            throw Exceptions.ioRuntime("file split error: " + file, e.getCause());
+        }
+        this.manifest = new FileBlockManifest(file.getName(), length, blockSize, blocks);
+        manifest.write(new File(dir, file.getName() + FileBlockManifest.SUFFIX));
+        return blockPaths;
+    }
+
+    /**
+     * 拆分块
+     *
+     * @param index     序号
+     * @param offset    偏移
+     * @param size      大小
+     * @param blockFile 块文件
+     * @return block
+     */
+    private FileBlockManifest.Block splitBlock(int index, long offset, long size, File blockFile) {
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(blockFile.toPath(),
+                     StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = offset;
+            long end = offset + size;
+            while (position < end) {
+                long transferred = in.transferTo(position, end - position, out);
+                if (transferred <= 0) {
+                    throw Exceptions.ioRuntime(Strings.format("unexpected end of file {} at {}", file, position));
+                }
+                position += transferred;
+            }
+            return new FileBlockManifest.Block(index, offset, size, FileBlockManifest.checksum(in, offset, size));
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime(e);
+        }
+    }
+
+    /**
+     * @return 清单 拆分后可用
+     */
+    public FileBlockManifest getManifest() {
+        return manifest;
+    }
+
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    public long getBlockSize() {
+        return blockSize;
+    }
+
+    private static File checkFile(File file) {
+        if (file == null || !file.isFile()) {
+            throw Exceptions.runtime(Strings.format("file not found {}", file));
+        }
+        if (file.length() == 0) {
+            throw Exceptions.runtime(Strings.format("file is empty {}", file));
+        }
+        return file;
+    }
+
+    private static long blockSizeOf(long length, int blockCount) {
+        if (blockCount < 1) {
+            blockCount = DEFAULT_SPLIT_BLOCK;
+        }
+        return (length + blockCount - 1) / blockCount;
+    }
+
+}
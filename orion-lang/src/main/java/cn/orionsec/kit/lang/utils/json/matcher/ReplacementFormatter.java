@@ -27,20 +27,24 @@
 package cn.orionsec.kit.lang.utils.json.matcher;
 
 import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.define.StringTemplate;
+import cn.orionsec.kit.lang.define.collect.ConcurrentReferenceHashMap;
 import cn.orionsec.kit.lang.utils.Exceptions;
-import cn.orionsec.kit.lang.utils.Objects1;
 import cn.orionsec.kit.lang.utils.Strings;
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONPath;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
  * json 占位符替换器
+ * <p>
+ * 模板使用 {@link StringTemplate} 解析, json 只解析一次, json path 编译后缓存
+ * 重复使用的模板可以通过 {@link StringTemplate#compile(String, String, String)} 预编译后传入
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -48,7 +52,9 @@ import java.util.stream.Collectors;
  */
 public class ReplacementFormatter {
 
-    private final Pattern pattern;
+    private static final Map<String, JSONPath> PATH_CACHE = new ConcurrentReferenceHashMap<>(Const.CAPACITY_16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+    private Pattern pattern;
 
     private final String prefix;
 
@@ -63,7 +69,6 @@ public class ReplacementFormatter {
     public ReplacementFormatter(String prefix, String suffix) {
         this.prefix = prefix;
         this.suffix = suffix;
-        this.pattern = this.createPattern();
         this.noMatchStrategy = NoMatchStrategy.EMPTY;
         this.errorStrategy = ErrorStrategy.THROW;
     }
@@ -156,58 +161,143 @@ public class ReplacementFormatter {
         if (Strings.isAnyEmpty(template, json)) {
             return template;
         }
-        String result = template;
-        Matcher matcher = pattern.matcher(template);
-        while (matcher.find()) {
-            // 获取替换符
-            String replacement = matcher.group();
-            String path = replacement.substring(prefix.length(), replacement.length() - suffix.length()).trim();
-            Object readValue = null;
+        StringTemplate compiled = StringTemplate.parse(template, prefix, suffix);
+        if (compiled.getPlaceholderCount() == 0) {
+            return template;
+        }
+        return this.format(new StringBuilder(template.length() + 32), compiled, json).toString();
+    }
+
+    /**
+     * 格式化到输出
+     *
+     * @param out      输出
+     * @param template template
+     * @param o        o
+     * @param <A>      输出类型
+     * @return 输出
+     */
+    public <A extends Appendable> A format(A out, String template, Object o) {
+        return this.format(out, template, JSON.toJSONString(o));
+    }
+
+    /**
+     * 格式化到输出
+     *
+     * @param out      输出
+     * @param template template
+     * @param json     json
+     * @param <A>      输出类型
+     * @return 输出
+     */
+    public <A extends Appendable> A format(A out, String template, String json) {
+        if (Strings.isEmpty(template)) {
+            return out;
+        }
+        if (Strings.isEmpty(json)) {
             try {
-                // 解析内容
-                readValue = JSONPath.read(json, path);
-                // 设置默认值
-                if (readValue == null && defaults != null) {
+                out.append(template);
+            } catch (IOException e) {
+                throw Exceptions.ioRuntime(e);
+            }
+            return out;
+        }
+        return this.format(out, StringTemplate.parse(template, prefix, suffix), json);
+    }
+
+    /**
+     * 使用预编译的模板格式化 json 只解析一次
+     *
+     * @param out      输出
+     * @param compiled 模板 前后缀需要与当前格式化器相同
+     * @param json     json
+     * @param <A>      输出类型
+     * @return 输出
+     */
+    public <A extends Appendable> A format(A out, StringTemplate compiled, String json) {
+        Object root;
+        Exception parseError = null;
+        try {
+            root = JSON.parse(json);
+        } catch (Exception e) {
+            // 每个占位符都按照解析失败处理
+            root = null;
+            parseError = e;
+        }
+        Object document = root;
+        Exception documentError = parseError;
+        return compiled.render(out, key -> this.readValue(document, documentError, key.trim()));
+    }
+
+    /**
+     * 读取占位符的值
+     *
+     * @param document      json 对象
+     * @param documentError json 解析异常
+     * @param path          路径
+     * @return 值 null 保留占位符
+     */
+    private Object readValue(Object document, Exception documentError, String path) {
+        Object readValue = null;
+        try {
+            if (documentError != null) {
+                throw documentError;
+            }
+            // 解析内容
+            readValue = getPath(path).eval(document);
+            // 设置默认值
+            if (readValue == null && defaults != null) {
+                readValue = defaults.get(path);
+            }
+        } catch (Exception e) {
+            // 解析失败
+            if (ErrorStrategy.DEFAULT.equals(errorStrategy)) {
+                // 使用默认值
+                if (defaults != null) {
                     readValue = defaults.get(path);
                 }
-            } catch (Exception e) {
-                // 解析失败
-                if (ErrorStrategy.DEFAULT.equals(errorStrategy)) {
-                    // 使用默认值
-                    if (defaults != null) {
-                        readValue = defaults.get(path);
-                    }
-                } else if (ErrorStrategy.EMPTY.equals(errorStrategy)) {
-                    // 设置为空串
-                    readValue = Const.EMPTY;
-                } else if (ErrorStrategy.THROW.equals(errorStrategy)) {
-                    // 抛出异常
-                    throw Exceptions.argument("parse argument " + path + " error", e);
-                } else {
-                    // 保留占位符
-                    continue;
-                }
+            } else if (ErrorStrategy.EMPTY.equals(errorStrategy)) {
+                // 设置为空串
+                readValue = Const.EMPTY;
+            } else if (ErrorStrategy.THROW.equals(errorStrategy)) {
+                // 抛出异常
+                throw Exceptions.argument("parse argument " + path + " error", e);
+            } else {
+                // 保留占位符
+                return null;
             }
-            // 未匹配策略
-            if (readValue == null) {
-                if (NoMatchStrategy.EMPTY.equals(noMatchStrategy)) {
-                    // 设置为空串
-                    readValue = Const.EMPTY;
-                } else if (NoMatchStrategy.THROW.equals(noMatchStrategy)) {
-                    // 抛出异常
-                    throw Exceptions.argument("argument " + path + " is null");
-                } else {
-                    // 保留占位符
-                    continue;
-                }
+        }
+        // 未匹配策略
+        if (readValue == null) {
+            if (NoMatchStrategy.EMPTY.equals(noMatchStrategy)) {
+                // 设置为空串
+                readValue = Const.EMPTY;
+            } else if (NoMatchStrategy.THROW.equals(noMatchStrategy)) {
+                // 抛出异常
+                throw Exceptions.argument("argument " + path + " is null");
             }
-            // 替换内容
-            result = result.replace(replacement, Objects1.toString(readValue));
         }
-        return result;
+        return readValue;
+    }
+
+    /**
+     * 获取编译后的 json path
+     *
+     * @param path path
+     * @return json path
+     */
+    private static JSONPath getPath(String path) {
+        JSONPath compiled = PATH_CACHE.get(path);
+        if (compiled == null) {
+            PATH_CACHE.put(path, compiled = JSONPath.compile(path));
+        }
+        return compiled;
     }
 
     public Pattern getPattern() {
+        if (pattern == null) {
+            this.pattern = this.createPattern();
+        }
         return pattern;
     }
 
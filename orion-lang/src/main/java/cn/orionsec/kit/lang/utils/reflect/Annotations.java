@@ -36,6 +36,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.toMap;
 
@@ -789,15 +790,19 @@ public class Annotations {
      */
     private static <T extends Annotation> Map<Method, T> getAnnotatedMethodsMergeField(Class<?> targetClass, Class<T> annotatedClass, boolean isGetter, boolean byCache) {
         Map<Method, T> map = new LinkedHashMap<>();
-        List<Field> fields = new ArrayList<>();
-        List<Method> methods = new ArrayList<>();
+        Collection<Field> fields;
+        List<Method> methods;
+        Function<String, Method> mapping;
         if (byCache) {
+            PropertyIndex index = PropertyIndex.of(targetClass);
             if (isGetter) {
                 methods = Methods.getGetterMethodsByCache(targetClass);
+                mapping = index::getGetterByMethodName;
             } else {
                 methods = Methods.getSetterMethodsByCache(targetClass);
+                mapping = index::getSetterByMethodName;
             }
-            fields = Fields.getFields(targetClass);
+            fields = index.getFields();
         } else {
             if (isGetter) {
                 methods = Methods.getGetterMethods(targetClass);
@@ -805,8 +810,8 @@ public class Annotations {
                 methods = Methods.getSetterMethods(targetClass);
             }
             fields = Fields.getFields(targetClass);
+            mapping = methods.stream().collect(toMap(Method::getName, s -> s))::get;
         }
-        Map<String, Method> mapping = methods.stream().collect(toMap(Method::getName, s -> s));
         for (Field field : fields) {
             T annotation = getAnnotation(field, annotatedClass);
             if (annotation != null) {
@@ -816,7 +821,7 @@ public class Annotations {
                 } else {
                     methodName = Methods.getSetterMethodNameByField(field);
                 }
-                Method method = mapping.get(methodName);
+                Method method = mapping.apply(methodName);
                 if (method != null) {
                     map.put(method, annotation);
                 }
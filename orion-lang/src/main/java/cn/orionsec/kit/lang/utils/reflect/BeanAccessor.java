@@ -0,0 +1,456 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.reflect;
+
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.define.collect.ConcurrentReferenceHashMap;
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * bean 属性访问器
+ * <p>
+ * 每个类只生成一次, getter / setter 首次调用时通过 {@link LambdaMetafactory} 生成直接调用的 lambda
+ * 无法生成时 (非 public 类, 类加载器不可见) 使用 {@link MethodHandle} 调用
+ * 同时持有类的 {@link PropertyIndex}, 反射信息只缓存一份
+ * <p>
+ * getter / setter 的顺序与 {@link Methods#getGetterMethodsByCache(Class)} / {@link Methods#getSetterMethodsByCache(Class)} 一致
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/5 10:16
+ */
+public class BeanAccessor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BeanAccessor.class);
+
+    private static final Map<Class<?>, BeanAccessor> ACCESSOR_CACHE = new ConcurrentReferenceHashMap<>(Const.CAPACITY_16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> beanClass;
+
+    private final Getter[] getters;
+
+    private final Setter[] setters;
+
+    /**
+     * 属性名称 - 第一个 getter
+     */
+    private final Map<String, Getter> getterMapping;
+
+    /**
+     * 属性名称 - 第一个 setter
+     */
+    private final Map<String, Setter> setterMapping;
+
+    /**
+     * 属性索引 首次使用时创建
+     */
+    private volatile PropertyIndex propertyIndex;
+
+    private BeanAccessor(Class<?> beanClass) {
+        this.beanClass = beanClass;
+        List<Method> getterMethods = Methods.getGetterMethodsByCache(beanClass);
+        List<Method> setterMethods = Methods.getSetterMethodsByCache(beanClass);
+        this.getters = new Getter[getterMethods.size()];
+        this.setters = new Setter[setterMethods.size()];
+        this.getterMapping = new HashMap<>();
+        this.setterMapping = new HashMap<>();
+        for (int i = 0; i < getters.length; i++) {
+            Method method = getterMethods.get(i);
+            Getter getter = new Getter(Fields.getFieldNameByMethod(method.getName()), method);
+            getters[i] = getter;
+            getterMapping.putIfAbsent(getter.name, getter);
+        }
+        for (int i = 0; i < setters.length; i++) {
+            Method method = setterMethods.get(i);
+            Setter setter = new Setter(Strings.firstLower(method.getName().substring(3)), method);
+            setters[i] = setter;
+            setterMapping.putIfAbsent(setter.name, setter);
+        }
+    }
+
+    /**
+     * 获取属性访问器
+     *
+     * @param beanClass beanClass
+     * @return accessor
+     */
+    public static BeanAccessor of(Class<?> beanClass) {
+        Assert.notNull(beanClass, "bean class is null");
+        BeanAccessor accessor = ACCESSOR_CACHE.get(beanClass);
+        if (accessor == null) {
+            ACCESSOR_CACHE.put(beanClass, accessor = new BeanAccessor(beanClass));
+        }
+        return accessor;
+    }
+
+    /**
+     * 获取属性值
+     *
+     * @param bean bean
+     * @param name 属性名称
+     * @param <E>  属性类型
+     * @return 属性值
+     */
+    @SuppressWarnings("unchecked")
+    public <E> E get(Object bean, String name) {
+        Getter getter = getterMapping.get(name);
+        if (getter == null) {
+            throw Exceptions.invoke("not found getter method: " + name + ", class: " + beanClass.getName());
+        }
+        return (E) getter.get(bean);
+    }
+
+    /**
+     * 设置属性值 不会进行类型转换
+     *
+     * @param bean  bean
+     * @param name  属性名称
+     * @param value 属性值
+     */
+    public void set(Object bean, String name, Object value) {
+        Setter setter = setterMapping.get(name);
+        if (setter == null) {
+            throw Exceptions.invoke("not found setter method: " + name + ", class: " + beanClass.getName());
+        }
+        setter.set(bean, value);
+    }
+
+    /**
+     * 获取 getter
+     *
+     * @param name 属性名称
+     * @return getter nullable
+     */
+    public Getter getGetter(String name) {
+        return getterMapping.get(name);
+    }
+
+    /**
+     * 获取 setter
+     *
+     * @param name 属性名称
+     * @return setter nullable
+     */
+    public Setter getSetter(String name) {
+        return setterMapping.get(name);
+    }
+
+    public Getter[] getGetters() {
+        return getters.clone();
+    }
+
+    public Setter[] getSetters() {
+        return setters.clone();
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    /**
+     * 获取属性索引
+     *
+     * @return index
+     */
+    public PropertyIndex getPropertyIndex() {
+        PropertyIndex index = this.propertyIndex;
+        if (index == null) {
+            this.propertyIndex = index = new PropertyIndex(this);
+        }
+        return index;
+    }
+
+    /**
+     * 内部访问 不复制数组
+     *
+     * @return getters
+     */
+    Getter[] getters() {
+        return getters;
+    }
+
+    /**
+     * 内部访问 不复制数组
+     *
+     * @return setters
+     */
+    Setter[] setters() {
+        return setters;
+    }
+
+    /**
+     * 生成 getter 调用
+     *
+     * @param method method
+     * @return getter
+     */
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createGetter(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        Class<?> returnType = method.getReturnType();
+        if (canGenerate(method, returnType)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP,
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        GETTER_TYPE,
+                        handle,
+                        MethodType.methodType(Classes.getWrapClass(returnType), declaringClass));
+                return (Function<Object, Object>) invokeFactory(site);
+            } catch (IllegalAccessException | LambdaConversionException e) {
+                LOGGER.debug("BeanAccessor generate getter error, fallback to method handle: {}", method, e);
+            }
+        }
+        MethodHandle handle = unreflect(method).asType(GETTER_TYPE);
+        return bean -> {
+            try {
+                return handle.invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw Exceptions.invoke(e);
+            }
+        };
+    }
+
+    /**
+     * 生成 setter 调用
+     *
+     * @param method method
+     * @return setter
+     */
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createSetter(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        Class<?> paramType = method.getParameterTypes()[0];
+        if (canGenerate(method, paramType)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        SETTER_TYPE,
+                        handle,
+                        MethodType.methodType(void.class, declaringClass, Classes.getWrapClass(paramType)));
+                return (BiConsumer<Object, Object>) invokeFactory(site);
+            } catch (IllegalAccessException | LambdaConversionException e) {
+                LOGGER.debug("BeanAccessor generate setter error, fallback to method handle: {}", method, e);
+            }
+        }
+        // setter 可能有返回值 (链式调用)
+        MethodHandle handle = unreflect(method);
+        MethodHandle setter = handle.asType(handle.type().changeReturnType(void.class)).asType(SETTER_TYPE);
+        return (bean, value) -> {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw Exceptions.invoke(e);
+            }
+        };
+    }
+
+    /**
+     * 调用 lambda 工厂 工厂没有参数, 只会抛出 Error
+     *
+     * @param site site
+     * @return lambda
+     */
+    private static Object invokeFactory(CallSite site) {
+        try {
+            return site.getTarget().invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw Exceptions.invoke(e);
+        }
+    }
+
+    /**
+     * 是否可以生成 lambda
+     * <p>
+     * 方法和声明类需要为 public, 且相关类对当前类加载器可见
+     *
+     * @param method method
+     * @param type   返回值或参数类型
+     * @return 是否可以生成
+     */
+    private static boolean canGenerate(Method method, Class<?> type) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        return Modifier.isPublic(method.getModifiers())
+                && Modifier.isPublic(declaringClass.getModifiers())
+                && isVisible(declaringClass)
+                && isVisible(type);
+    }
+
+    /**
+     * 类是否对当前类加载器可见
+     *
+     * @param type type
+     * @return 是否可见
+     */
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        ClassLoader loader = BeanAccessor.class.getClassLoader();
+        if (type.getClassLoader() == null || type.getClassLoader() == loader) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, loader) == type;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取方法句柄
+     *
+     * @param method method
+     * @return handle
+     */
+    private static MethodHandle unreflect(Method method) {
+        try {
+            Methods.setAccessible(method);
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw Exceptions.invoke("could not access method: " + method, e);
+        }
+    }
+
+    /**
+     * getter
+     */
+    public static class Getter {
+
+        private final String name;
+
+        private final Method method;
+
+        private volatile Function<Object, Object> function;
+
+        private Getter(String name, Method method) {
+            this.name = name;
+            this.method = method;
+        }
+
+        /**
+         * 调用 getter
+         *
+         * @param bean bean
+         * @return value
+         */
+        public Object get(Object bean) {
+            Function<Object, Object> function = this.function;
+            if (function == null) {
+                this.function = function = createGetter(method);
+            }
+            return function.apply(bean);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public Class<?> getType() {
+            return method.getReturnType();
+        }
+
+    }
+
+    /**
+     * setter
+     */
+    public static class Setter {
+
+        private final String name;
+
+        private final Method method;
+
+        private volatile BiConsumer<Object, Object> consumer;
+
+        private Setter(String name, Method method) {
+            this.name = name;
+            this.method = method;
+        }
+
+        /**
+         * 调用 setter 不会进行类型转换
+         *
+         * @param bean  bean
+         * @param value value
+         */
+        public void set(Object bean, Object value) {
+            BiConsumer<Object, Object> consumer = this.consumer;
+            if (consumer == null) {
+                this.consumer = consumer = createSetter(method);
+            }
+            consumer.accept(bean, value);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public Class<?> getType() {
+            return method.getParameterTypes()[0];
+        }
+
+    }
+
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.reflect;
+
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.define.collect.ConcurrentReferenceHashMap;
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.convert.TypeStore;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * bean 属性复制器
+ * <p>
+ * 每对 [源类型, 目标类型] 只生成一次复制计划, 计划为按名称匹配好的 getter / setter 数组
+ * 复制时顺序执行直接调用, 类型可直接赋值的属性不再进行类型推断, 否则使用 {@link Methods#invokeMethodInfer(Object, java.lang.reflect.Method, Object...)} 转换
+ * <p>
+ * 与 {@link BeanWrapper#copyProperties(Object, Object, String...)} 规则相同: 以目标对象 setter 为准, 源对象值为 null 时跳过
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/5 11:02
+ */
+public class BeanCopier<R, T> {
+
+    private static final Map<CopierKey, BeanCopier<?, ?>> COPIER_CACHE = new ConcurrentReferenceHashMap<>(Const.CAPACITY_16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+    private final Class<R> sourceClass;
+
+    private final Class<T> targetClass;
+
+    private final BeanAccessor sourceAccessor;
+
+    private final BeanAccessor targetAccessor;
+
+    /**
+     * 复制计划
+     */
+    private final CopyProperty[] properties;
+
+    /**
+     * 字段映射的复制计划 key 为字段映射的副本
+     */
+    private final Map<Map<String, String>, CopyProperty[]> mapperPlans;
+
+    private BeanCopier(Class<R> sourceClass, Class<T> targetClass) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.sourceAccessor = BeanAccessor.of(sourceClass);
+        this.targetAccessor = BeanAccessor.of(targetClass);
+        this.properties = this.plan(null);
+        this.mapperPlans = new ConcurrentReferenceHashMap<>(Const.CAPACITY_16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+    }
+
+    /**
+     * 获取属性复制器
+     *
+     * @param sourceClass 源类型
+     * @param targetClass 目标类型
+     * @param <R>         R
+     * @param <T>         T
+     * @return copier
+     */
+    @SuppressWarnings("unchecked")
+    public static <R, T> BeanCopier<R, T> create(Class<R> sourceClass, Class<T> targetClass) {
+        Assert.notNull(sourceClass, "source class is null");
+        Assert.notNull(targetClass, "target class is null");
+        CopierKey key = new CopierKey(sourceClass, targetClass);
+        BeanCopier<R, T> copier = (BeanCopier<R, T>) COPIER_CACHE.get(key);
+        if (copier == null) {
+            COPIER_CACHE.put(key, copier = new BeanCopier<>(sourceClass, targetClass));
+        }
+        return copier;
+    }
+
+    /**
+     * 复制属性到新对象
+     *
+     * @param source 源对象
+     * @return 目标对象
+     */
+    public T copy(R source) {
+        Assert.notNull(source, "source object is null");
+        Constructor<T> constructor = Constructors.getDefaultConstructorByCache(targetClass);
+        T target = Constructors.newInstance(constructor);
+        this.execute(source, target, properties, null);
+        return target;
+    }
+
+    /**
+     * 复制属性
+     *
+     * @param source 源对象
+     * @param target 目标对象
+     */
+    public void copy(R source, T target) {
+        Assert.notNull(source, "source object is null");
+        Assert.notNull(target, "target object is null");
+        this.execute(source, target, properties, null);
+    }
+
+    /**
+     * 复制属性
+     *
+     * @param source       源对象
+     * @param target       目标对象
+     * @param fieldMapper  key: 源对象字段 value: 目标对象字段
+     * @param ignoreFields 忽略的字段 (目标对象字段)
+     */
+    public void copy(R source, T target, Map<String, String> fieldMapper, String... ignoreFields) {
+        Assert.notNull(source, "source object is null");
+        Assert.notNull(target, "target object is null");
+        CopyProperty[] plan = properties;
+        if (fieldMapper != null && !fieldMapper.isEmpty()) {
+            // 有字段映射时按映射缓存计划
+            plan = mapperPlans.get(fieldMapper);
+            if (plan == null) {
+                Map<String, String> mapper = new HashMap<>(fieldMapper);
+                mapperPlans.put(mapper, plan = this.plan(mapper));
+            }
+        }
+        this.execute(source, target, plan, ignoreFields);
+    }
+
+    /**
+     * 执行复制计划
+     *
+     * @param source       源对象
+     * @param target       目标对象
+     * @param plan         复制计划
+     * @param ignoreFields 忽略的字段
+     */
+    private void execute(Object source, Object target, CopyProperty[] plan, String[] ignoreFields) {
+        boolean checkIgnore = ignoreFields != null && ignoreFields.length != 0;
+        for (CopyProperty property : plan) {
+            if (checkIgnore && isIgnore(property.setter.getName(), ignoreFields)) {
+                continue;
+            }
+            try {
+                Object value = property.getter.get(source);
+                if (value == null) {
+                    continue;
+                }
+                if (property.direct) {
+                    property.setter.set(target, value);
+                } else {
+                    Methods.invokeMethodInfer(target, property.setter.getMethod(), value);
+                }
+            } catch (Exception e) {
+                throw Exceptions.parse("could not copy source property " + property.getter.getName() + " to target " + property.setter.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * 生成复制计划
+     *
+     * @param fieldMapper key: 源对象字段 value: 目标对象字段
+     * @return 复制计划
+     */
+    private CopyProperty[] plan(Map<String, String> fieldMapper) {
+        List<CopyProperty> list = new ArrayList<>();
+        for (BeanAccessor.Setter setter : targetAccessor.setters()) {
+            String sourceName = getFieldNameAlias(setter.getName(), fieldMapper);
+            BeanAccessor.Getter getter = sourceAccessor.getGetter(sourceName);
+            if (getter == null) {
+                continue;
+            }
+            boolean direct = TypeStore.canDirectConvert(getter.getType(), setter.getType());
+            list.add(new CopyProperty(getter, setter, direct));
+        }
+        return list.toArray(new CopyProperty[0]);
+    }
+
+    /**
+     * 是否被忽略
+     *
+     * @param name         字段
+     * @param ignoreFields 忽略的字段
+     * @return true 被忽略
+     */
+    private static boolean isIgnore(String name, String[] ignoreFields) {
+        for (String ignore : ignoreFields) {
+            if (ignore.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取字段别名
+     *
+     * @param name        字段名
+     * @param fieldMapper 字段映射
+     * @return 别名
+     */
+    private static String getFieldNameAlias(String name, Map<String, String> fieldMapper) {
+        if (fieldMapper != null) {
+            for (Map.Entry<String, String> entry : fieldMapper.entrySet()) {
+                if (entry.getValue().equals(name)) {
+                    return entry.getKey();
+                }
+            }
+        }
+        return name;
+    }
+
+    public Class<R> getSourceClass() {
+        return sourceClass;
+    }
+
+    public Class<T> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * 复制属性
+     */
+    private static class CopyProperty {
+
+        private final BeanAccessor.Getter getter;
+
+        private final BeanAccessor.Setter setter;
+
+        /**
+         * 是否可以直接赋值
+         */
+        private final boolean direct;
+
+        private CopyProperty(BeanAccessor.Getter getter, BeanAccessor.Setter setter, boolean direct) {
+            this.getter = getter;
+            this.setter = setter;
+            this.direct = direct;
+        }
+
+    }
+
+    /**
+     * 缓存 key
+     */
+    private static class CopierKey {
+
+        private final Class<?> sourceClass;
+
+        private final Class<?> targetClass;
+
+        private CopierKey(Class<?> sourceClass, Class<?> targetClass) {
+            this.sourceClass = sourceClass;
+            this.targetClass = targetClass;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CopierKey that = (CopierKey) o;
+            return sourceClass == that.sourceClass && targetClass == that.targetClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sourceClass, targetClass);
+        }
+
+    }
+
+}
@@ -31,9 +31,6 @@ import cn.orionsec.kit.lang.utils.Arrays1;
 import cn.orionsec.kit.lang.utils.Assert;
 import cn.orionsec.kit.lang.utils.VariableStyles;
 
-import java.lang.reflect.Method;
-import java.util.List;
-
 /**
  * bean map 根据getter方法获取
  *
@@ -81,7 +78,7 @@ public class BeanMap extends MutableLinkedHashMap<String, Object> {
         this.variableStyle = variableStyle;
         this.addNull = addNull;
         this.ignoreFields = ignoreFields;
-        this.invokeGetter(Methods.getGetterMethodsByCache(o.getClass()));
+        this.invokeGetter(BeanAccessor.of(o.getClass()).getters());
     }
 
     public static BeanMap create(Object o, String... ignoreFields) {
@@ -112,18 +109,18 @@ public class BeanMap extends MutableLinkedHashMap<String, Object> {
     /**
      * 调用 getter
      *
-     * @param methods getterMethods
+     * @param getters getters
      */
-    private void invokeGetter(List<Method> methods) {
-        for (Method method : methods) {
-            String fieldName = Fields.getFieldNameByMethod(method.getName());
+    private void invokeGetter(BeanAccessor.Getter[] getters) {
+        for (BeanAccessor.Getter getter : getters) {
+            String fieldName = getter.getName();
             if (this.isIgnoreField(fieldName)) {
                 continue;
             }
             if (variableStyle != null) {
                 fieldName = VariableStyles.convert(fieldName, variableStyle);
             }
-            Object value = Methods.invokeMethod(this.o, method);
+            Object value = BeanWrapper.invokeGetter(this.o, getter);
             if (value == null) {
                 if (addNull) {
                     put(fieldName, null);
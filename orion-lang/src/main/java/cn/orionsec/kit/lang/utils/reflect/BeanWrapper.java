@@ -87,9 +87,8 @@ public class BeanWrapper {
         if (bean == null) {
             return map;
         }
-        List<Method> getterMethods = Methods.getGetterMethodsByCache(bean.getClass());
-        for (Method getterMethod : getterMethods) {
-            String fieldName = Fields.getFieldNameByMethod(getterMethod.getName());
+        for (BeanAccessor.Getter getter : BeanAccessor.of(bean.getClass()).getters()) {
+            String fieldName = getter.getName();
             if (fieldMapper != null) {
                 String s = fieldMapper.get(fieldName);
                 if (s != null) {
@@ -99,7 +98,7 @@ public class BeanWrapper {
             if (isIgnore(fieldName, ignoreFields)) {
                 continue;
             }
-            Object o = Methods.invokeMethod(bean, getterMethod);
+            Object o = invokeGetter(bean, getter);
             if (o == null) {
                 if (putNull) {
                     map.put(fieldName, null);
@@ -322,28 +321,22 @@ public class BeanWrapper {
     private static <R, T> void copy(R source, T target, Map<String, String> fieldMapper, String[] ignoreFields) {
         Assert.notNull(source, "source object is null");
         Assert.notNull(target, "target object is null");
-        List<Method> sourceGetters = Methods.getGetterMethodsByCache(source.getClass());
-        List<Method> targetSetters = Methods.getSetterMethodsByCache(target.getClass());
-        for (Method targetSetter : targetSetters) {
-            String targetSetterName = targetSetter.getName();
-            String targetFieldName = Strings.firstLower(targetSetterName.substring(3));
-            if (isIgnore(targetFieldName, ignoreFields)) {
-                continue;
-            }
-            String sourceFieldName = getFieldNameAlias(targetFieldName, fieldMapper);
-            for (Method sourceGetter : sourceGetters) {
-                if (Objects1.eq(Fields.getFieldNameByMethod(sourceGetter.getName()), sourceFieldName)) {
-                    try {
-                        Object sourceValue = Methods.invokeMethod(source, sourceGetter);
-                        if (sourceValue != null) {
-                            Methods.invokeMethodInfer(target, targetSetter, sourceValue);
-                        }
-                        break;
-                    } catch (Exception e) {
-                        throw Exceptions.parse("could not copy source property " + sourceFieldName + " to target " + targetFieldName);
-                    }
-                }
-            }
+        BeanCopier<R, T> copier = BeanCopier.create((Class<R>) source.getClass(), (Class<T>) target.getClass());
+        copier.copy(source, target, fieldMapper, ignoreFields);
+    }
+
+    /**
+     * 调用 getter
+     *
+     * @param bean   bean
+     * @param getter getter
+     * @return value
+     */
+    static Object invokeGetter(Object bean, BeanAccessor.Getter getter) {
+        try {
+            return getter.get(bean);
+        } catch (Exception e) {
+            throw Exceptions.invoke(Strings.format("invoke method error: {}, class: {}", getter.getMethod().getName(), bean.getClass().getName()), e);
         }
     }
 
@@ -365,22 +358,4 @@ public class BeanWrapper {
         return false;
     }
 
-    /**
-     * 获取字段别名
-     *
-     * @param name        字段名
-     * @param fieldMapper 字段映射
-     * @return 别名
-     */
-    private static String getFieldNameAlias(String name, Map<String, String> fieldMapper) {
-        if (fieldMapper != null) {
-            for (Map.Entry<String, String> entry : fieldMapper.entrySet()) {
-                if (entry.getValue().equals(name)) {
-                    return entry.getKey();
-                }
-            }
-        }
-        return name;
-    }
-
 }
@@ -71,19 +71,7 @@ public class Fields {
     }
 
     public static Field getFieldByCache(Class<?> clazz, String fieldName) {
-        List<Field> fields = FIELD_CACHE.get(clazz);
-        if (fields == null) {
-            FIELD_CACHE.put(clazz, fields = getFields(clazz));
-        }
-        if (fields == null) {
-            return null;
-        }
-        for (Field field : fields) {
-            if (field.getName().equals(fieldName)) {
-                return field;
-            }
-        }
-        return null;
+        return PropertyIndex.of(clazz).getField(fieldName);
     }
 
     // -------------------- cache end --------------------
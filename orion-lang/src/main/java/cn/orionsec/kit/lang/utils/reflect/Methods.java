@@ -80,25 +80,7 @@ public class Methods {
      * @return getter
      */
     public static Method getGetterMethodByCache(Class<?> clazz, String field) {
-        List<Method> methods = getGetterMethodsByCache(clazz);
-        if (methods == null) {
-            return null;
-        }
-        // 使用 get 前缀
-        String methodName = getGetterMethodNameByField(field, false);
-        for (Method method : methods) {
-            if (method.getParameterCount() == 0 && method.getName().equals(methodName)) {
-                return method;
-            }
-        }
-        // 使用 is 前缀
-        methodName = getGetterMethodNameByField(field, true);
-        for (Method method : methods) {
-            if (method.getParameterCount() == 0 && method.getName().equals(methodName)) {
-                return method;
-            }
-        }
-        return null;
+        return PropertyIndex.of(clazz).getGetter(field);
     }
 
     /**
@@ -109,17 +91,7 @@ public class Methods {
      * @return method
      */
     public static Method getSetterMethodByCache(Class<?> clazz, String field) {
-        List<Method> methods = getSetterMethodsByCache(clazz);
-        if (methods == null) {
-            return null;
-        }
-        String methodName = getSetterMethodNameByField(field);
-        for (Method method : methods) {
-            if (method.getParameterCount() == 1 && method.getName().equals(methodName)) {
-                return method;
-            }
-        }
-        return null;
+        return PropertyIndex.of(clazz).getSetter(field);
     }
 
     /**
@@ -527,6 +499,10 @@ public class Methods {
         Assert.notNull(obj, "invoke object is null");
         Assert.notBlank(fieldName, "invoke getter field is null");
         try {
+            PropertyIndex.Property property = PropertyIndex.of(obj.getClass()).getProperty(fieldName);
+            if (property != null && property.getGetter() != null) {
+                return property.get(obj);
+            }
             Method method = getGetterMethodByField(obj.getClass(), fieldName);
             return invokeMethod(obj, method);
         } catch (Exception e) {
@@ -586,6 +562,11 @@ public class Methods {
      * @param <E>       属性类型
      */
     public static <E> void invokeSetter(Object obj, String fieldName, E value) {
+        PropertyIndex.Property property = PropertyIndex.of(obj.getClass()).getProperty(fieldName);
+        if (property != null && property.getSetter() != null) {
+            property.set(obj, value);
+            return;
+        }
         invokeMethod(obj, getSetterMethodByField(obj.getClass(), fieldName), value);
     }
 
@@ -598,7 +579,11 @@ public class Methods {
      * @param <E>       属性类型
      */
     public static <E> void invokeSetterInfer(Object obj, String fieldName, E value) {
-        invokeMethodInfer(obj, getSetterMethodByField(obj.getClass(), fieldName), value);
+        Method setter = PropertyIndex.of(obj.getClass()).getSetter(fieldName);
+        if (setter == null) {
+            setter = getSetterMethodByField(obj.getClass(), fieldName);
+        }
+        invokeMethodInfer(obj, setter, value);
     }
 
     /**
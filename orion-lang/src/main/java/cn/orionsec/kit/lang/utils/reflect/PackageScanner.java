@@ -29,6 +29,8 @@ package cn.orionsec.kit.lang.utils.reflect;
 import cn.orionsec.kit.lang.constant.Const;
 import cn.orionsec.kit.lang.utils.*;
 import cn.orionsec.kit.lang.utils.io.Files1;
+import cn.orionsec.kit.lang.utils.reflect.index.ClassIndex;
+import cn.orionsec.kit.lang.utils.reflect.index.ClassIndexScanner;
 
 import java.io.File;
 import java.io.IOException;
@@ -206,6 +208,33 @@ public class PackageScanner {
         return this;
     }
 
+    /**
+     * 解析字节码扫描 不加载类
+     * <p>
+     * 只有从索引中获取 {@link Class} 时才加载匹配到的类
+     *
+     * @return 类索引
+     */
+    public ClassIndex index() {
+        return this.indexScanner().scan();
+    }
+
+    /**
+     * 使用当前的包和资源创建字节码索引扫描器
+     * 可以继续设置并行扫描的线程池和索引文件
+     *
+     * @return scanner
+     */
+    public ClassIndexScanner indexScanner() {
+        ClassIndexScanner scanner = new ClassIndexScanner(packages.toArray(new String[0]))
+                .addResource(resources.toArray(new URL[0]))
+                .classLoader(classLoader);
+        if (scanAll) {
+            scanner.all();
+        }
+        return scanner;
+    }
+
     // -------------------- SCAN --------------------
 
     /**
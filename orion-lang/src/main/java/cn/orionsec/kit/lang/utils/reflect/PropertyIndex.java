@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.reflect;
+
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.Strings;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * 类属性索引
+ * <p>
+ * 每个类构建一次: 属性名称 - field / getter / setter / 类型, 替代在缓存的方法列表中线性查找
+ * getter / setter 与 {@link Methods#getGetterMethodsByCache(Class)} / {@link Methods#getSetterMethodsByCache(Class)} 相同, 只包含 public 方法
+ * <p>
+ * 索引由 {@link BeanAccessor} 持有, 与访问器共用同一个类缓存, 属性调用使用访问器的 getter / setter
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/5 16:40
+ */
+public class PropertyIndex {
+
+    private final Class<?> clazz;
+
+    /**
+     * 方法名称 - getter
+     */
+    private final Map<String, BeanAccessor.Getter> getterMapping;
+
+    /**
+     * 方法名称 - setter
+     */
+    private final Map<String, BeanAccessor.Setter> setterMapping;
+
+    /**
+     * 属性名称 - field
+     */
+    private final Map<String, Field> fieldMapping;
+
+    /**
+     * 属性名称 - 属性
+     */
+    private final Map<String, Property> properties;
+
+    /**
+     * 方法对应的属性名称 - getter
+     */
+    private final Map<String, Method> getters;
+
+    /**
+     * 方法对应的属性名称 - setter
+     */
+    private final Map<String, Method> setters;
+
+    PropertyIndex(BeanAccessor accessor) {
+        this.clazz = accessor.getBeanClass();
+        this.getterMapping = new HashMap<>();
+        this.setterMapping = new HashMap<>();
+        this.fieldMapping = new LinkedHashMap<>();
+        this.properties = new LinkedHashMap<>();
+        Map<String, Method> getters = new LinkedHashMap<>();
+        Map<String, Method> setters = new LinkedHashMap<>();
+        for (BeanAccessor.Getter getter : accessor.getters()) {
+            String methodName = getter.getMethod().getName();
+            getterMapping.putIfAbsent(methodName, getter);
+            getters.putIfAbsent(Fields.getFieldNameByMethod(methodName), getter.getMethod());
+        }
+        for (BeanAccessor.Setter setter : accessor.setters()) {
+            String methodName = setter.getMethod().getName();
+            setterMapping.putIfAbsent(methodName, setter);
+            setters.putIfAbsent(Fields.getFieldNameByMethod(methodName), setter.getMethod());
+        }
+        this.getters = Collections.unmodifiableMap(getters);
+        this.setters = Collections.unmodifiableMap(setters);
+        for (Field field : Fields.getFieldsByCache(clazz)) {
+            fieldMapping.putIfAbsent(field.getName(), field);
+            this.addProperty(field.getName());
+        }
+        getters.keySet().forEach(this::addProperty);
+        setters.keySet().forEach(this::addProperty);
+    }
+
+    /**
+     * 获取类属性索引
+     *
+     * @param clazz class
+     * @return index
+     */
+    public static PropertyIndex of(Class<?> clazz) {
+        Assert.notNull(clazz, "class is null");
+        return BeanAccessor.of(clazz).getPropertyIndex();
+    }
+
+    /**
+     * 获取属性
+     *
+     * @param name 属性名称
+     * @return 属性 nullable
+     */
+    public Property getProperty(String name) {
+        return properties.get(name);
+    }
+
+    /**
+     * 获取 getter
+     *
+     * @param name 属性名称
+     * @return getter nullable
+     */
+    public Method getGetter(String name) {
+        Property property = properties.get(name);
+        if (property != null) {
+            return property.getGetter();
+        }
+        return getMethod(this.findGetter(name));
+    }
+
+    /**
+     * 获取 setter
+     *
+     * @param name 属性名称
+     * @return setter nullable
+     */
+    public Method getSetter(String name) {
+        Property property = properties.get(name);
+        if (property != null) {
+            return property.getSetter();
+        }
+        return getMethod(this.findSetter(name));
+    }
+
+    /**
+     * 获取 field
+     *
+     * @param name 属性名称
+     * @return field nullable
+     */
+    public Field getField(String name) {
+        return fieldMapping.get(name);
+    }
+
+    /**
+     * 通过方法名称获取 getter
+     *
+     * @param methodName 方法名称
+     * @return getter nullable
+     */
+    public Method getGetterByMethodName(String methodName) {
+        return getMethod(getterMapping.get(methodName));
+    }
+
+    /**
+     * 通过方法名称获取 setter
+     *
+     * @param methodName 方法名称
+     * @return setter nullable
+     */
+    public Method getSetterByMethodName(String methodName) {
+        return getMethod(setterMapping.get(methodName));
+    }
+
+    /**
+     * 获取所有属性
+     *
+     * @return 属性
+     */
+    public Collection<Property> getProperties() {
+        return Collections.unmodifiableCollection(properties.values());
+    }
+
+    /**
+     * 获取所有 field
+     *
+     * @return fields
+     */
+    public Collection<Field> getFields() {
+        return Collections.unmodifiableCollection(fieldMapping.values());
+    }
+
+    /**
+     * 通过 field 获取 getter
+     * <p>
+     * 优先使用 public getter, 不存在时同 {@link Methods#getGetterMethodByField(Class, String)}
+     *
+     * @param field field
+     * @return getter nullable
+     */
+    public Method getAccessibleGetter(Field field) {
+        Method getter = this.getGetter(field.getName());
+        if (getter == null) {
+            getter = Methods.getGetterMethodByField(clazz, field);
+        }
+        return getter;
+    }
+
+    /**
+     * 通过 field 获取 setter
+     * <p>
+     * 优先使用 public setter, 不存在时同 {@link Methods#getSetterMethodByField(Class, String)}
+     *
+     * @param field field
+     * @return setter nullable
+     */
+    public Method getAccessibleSetter(Field field) {
+        Method setter = this.getSetter(field.getName());
+        if (setter == null) {
+            setter = Methods.getSetterMethodByField(clazz, field);
+        }
+        return setter;
+    }
+
+    /**
+     * 获取 getter 方法对应的属性名称 - getter
+     *
+     * @return getters
+     */
+    public Map<String, Method> getGetters() {
+        return getters;
+    }
+
+    /**
+     * 获取 setter 方法对应的属性名称 - setter
+     *
+     * @return setters
+     */
+    public Map<String, Method> getSetters() {
+        return setters;
+    }
+
+    public Class<?> getIndexClass() {
+        return clazz;
+    }
+
+    /**
+     * 添加属性
+     *
+     * @param name 属性名称
+     */
+    private void addProperty(String name) {
+        if (name == null || properties.containsKey(name)) {
+            return;
+        }
+        BeanAccessor.Getter getter = this.findGetter(name);
+        BeanAccessor.Setter setter = this.findSetter(name);
+        if (getter == null && setter == null && !fieldMapping.containsKey(name)) {
+            return;
+        }
+        properties.put(name, new Property(name, fieldMapping.get(name), getter, setter));
+    }
+
+    /**
+     * 查找 getter 先 get 后 is
+     *
+     * @param name 属性名称
+     * @return getter
+     */
+    private BeanAccessor.Getter findGetter(String name) {
+        if (Strings.isBlank(name)) {
+            return null;
+        }
+        BeanAccessor.Getter getter = getterMapping.get(Methods.getGetterMethodNameByField(name, false));
+        if (getter == null) {
+            getter = getterMapping.get(Methods.getGetterMethodNameByField(name, true));
+        }
+        return getter;
+    }
+
+    /**
+     * 查找 setter
+     *
+     * @param name 属性名称
+     * @return setter
+     */
+    private BeanAccessor.Setter findSetter(String name) {
+        if (Strings.isBlank(name)) {
+            return null;
+        }
+        return setterMapping.get(Methods.getSetterMethodNameByField(name));
+    }
+
+    private static Method getMethod(BeanAccessor.Getter getter) {
+        return getter == null ? null : getter.getMethod();
+    }
+
+    private static Method getMethod(BeanAccessor.Setter setter) {
+        return setter == null ? null : setter.getMethod();
+    }
+
+    /**
+     * 属性
+     */
+    public static class Property {
+
+        private final String name;
+
+        private final Field field;
+
+        private final BeanAccessor.Getter getter;
+
+        private final BeanAccessor.Setter setter;
+
+        private Property(String name, Field field, BeanAccessor.Getter getter, BeanAccessor.Setter setter) {
+            this.name = name;
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        /**
+         * 调用 getter
+         *
+         * @param obj 对象
+         * @param <E> 属性类型
+         * @return 属性值
+         */
+        @SuppressWarnings("unchecked")
+        public <E> E get(Object obj) {
+            if (getter == null) {
+                throw Exceptions.invoke("not found getter method: " + name);
+            }
+            try {
+                return (E) getter.get(obj);
+            } catch (Exception e) {
+                throw Exceptions.invoke(Strings.format("invoke method error: {}, class: {}", getter.getMethod().getName(), obj.getClass().getName()), e);
+            }
+        }
+
+        /**
+         * 调用 setter 不会进行类型转换
+         *
+         * @param obj   对象
+         * @param value 属性值
+         */
+        public void set(Object obj, Object value) {
+            if (setter == null) {
+                throw Exceptions.invoke("not found setter method: " + name);
+            }
+            try {
+                setter.set(obj, value);
+            } catch (Exception e) {
+                throw Exceptions.invoke(Strings.format("invoke method error: {}, class: {}, args: {}", setter.getMethod().getName(), obj.getClass().getName(), value), e);
+            }
+        }
+
+        /**
+         * 获取属性类型
+         *
+         * @return 类型
+         */
+        public Class<?> getType() {
+            if (field != null) {
+                return field.getType();
+            } else if (getter != null) {
+                return getter.getType();
+            } else {
+                return setter.getType();
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public Method getGetter() {
+            return getMethod(getter);
+        }
+
+        public Method getSetter() {
+            return getMethod(setter);
+        }
+
+    }
+
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.reflect.index;
+
+import cn.orionsec.kit.lang.utils.Exceptions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * class 文件解析器
+ * <p>
+ * 只读取常量池, 类名, 父类, 接口和 RuntimeVisibleAnnotations, 不加载类
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 17:05
+ */
+public class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final String CONSTRUCTOR = "<init>";
+
+    /**
+     * ACC_MODULE
+     */
+    private static final int MODULE = 0x8000;
+
+    private final byte[] b;
+
+    /**
+     * 常量池每项的偏移量
+     */
+    private int[] offsets;
+
+    /**
+     * 已解析的 utf8 常量
+     */
+    private String[] strings;
+
+    private int index;
+
+    private ClassFileReader(byte[] b) {
+        this.b = b;
+    }
+
+    /**
+     * 解析 class 文件
+     *
+     * @param b class 文件内容
+     * @return 元数据 module-info 返回 null
+     */
+    public static ClassMetadata read(byte[] b) {
+        try {
+            return new ClassFileReader(b).read();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw Exceptions.parse("class file is truncated", e);
+        }
+    }
+
+    /**
+     * 解析
+     *
+     * @return metadata
+     */
+    private ClassMetadata read() {
+        if (this.readInt() != MAGIC) {
+            throw Exceptions.parse("invalid class file magic");
+        }
+        // minor major
+        index += 4;
+        this.readConstantPool();
+        int access = this.readUnsignedShort();
+        if ((access & MODULE) != 0) {
+            return null;
+        }
+        String name = this.readClassName();
+        String superName = this.readClassName();
+        int interfaceCount = this.readUnsignedShort();
+        String[] interfaces = new String[interfaceCount];
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaces[i] = this.readClassName();
+        }
+        // 字段
+        List<String[]> fieldAnnotations = null;
+        int fieldCount = this.readUnsignedShort();
+        for (int i = 0; i < fieldCount; i++) {
+            // access name descriptor
+            index += 6;
+            String[] annotations = this.readAttributes();
+            if (annotations != null) {
+                if (fieldAnnotations == null) {
+                    fieldAnnotations = new ArrayList<>();
+                }
+                fieldAnnotations.add(annotations);
+            }
+        }
+        // 方法
+        List<String[]> constructorAnnotations = null;
+        List<String[]> methodAnnotations = null;
+        int methodCount = this.readUnsignedShort();
+        for (int i = 0; i < methodCount; i++) {
+            index += 2;
+            boolean constructor = CONSTRUCTOR.equals(this.readUtf8(this.readUnsignedShort()));
+            index += 2;
+            String[] annotations = this.readAttributes();
+            if (annotations == null) {
+                continue;
+            }
+            if (constructor) {
+                if (constructorAnnotations == null) {
+                    constructorAnnotations = new ArrayList<>();
+                }
+                constructorAnnotations.add(annotations);
+            } else {
+                if (methodAnnotations == null) {
+                    methodAnnotations = new ArrayList<>();
+                }
+                methodAnnotations.add(annotations);
+            }
+        }
+        String[] annotations = this.readAttributes();
+        return new ClassMetadata(name, superName, access, interfaces, annotations,
+                toArray(constructorAnnotations), toArray(methodAnnotations), toArray(fieldAnnotations));
+    }
+
+    /**
+     * 读取常量池 只记录偏移量
+     */
+    private void readConstantPool() {
+        int count = this.readUnsignedShort();
+        this.offsets = new int[count];
+        this.strings = new String[count];
+        for (int i = 1; i < count; i++) {
+            offsets[i] = index + 1;
+            int tag = b[index++];
+            switch (tag) {
+                case 1:
+                    // utf8
+                    index += 2 + this.readUnsignedShort(index);
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    // class string methodType module package
+                    index += 2;
+                    break;
+                case 15:
+                    // methodHandle
+                    index += 3;
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    index += 4;
+                    break;
+                case 5:
+                case 6:
+                    // long double 占用两项
+                    index += 8;
+                    i++;
+                    break;
+                default:
+                    throw Exceptions.parse("invalid constant pool tag: " + tag);
+            }
+        }
+    }
+
+    /**
+     * 读取属性
+     *
+     * @return RuntimeVisibleAnnotations 中的注解类名 没有则返回 null
+     */
+    private String[] readAttributes() {
+        String[] annotations = null;
+        int count = this.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            String name = this.readUtf8(this.readUnsignedShort());
+            int length = this.readInt();
+            int end = index + length;
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) {
+                int annotationCount = this.readUnsignedShort();
+                if (annotationCount > 0) {
+                    annotations = new String[annotationCount];
+                    for (int j = 0; j < annotationCount; j++) {
+                        annotations[j] = this.readAnnotation();
+                    }
+                }
+            }
+            index = end;
+        }
+        return annotations;
+    }
+
+    /**
+     * 读取注解
+     *
+     * @return 注解类名
+     */
+    private String readAnnotation() {
+        String descriptor = this.readUtf8(this.readUnsignedShort());
+        int pairs = this.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            index += 2;
+            this.skipElementValue();
+        }
+        // Lcom/xxx/Annotation;
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+
+    /**
+     * 跳过注解值
+     */
+    private void skipElementValue() {
+        int tag = b[index++];
+        switch (tag) {
+            case 'e':
+                index += 4;
+                break;
+            case '@':
+                this.readAnnotation();
+                break;
+            case '[':
+                int count = this.readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    this.skipElementValue();
+                }
+                break;
+            default:
+                // 基本类型 string class
+                index += 2;
+                break;
+        }
+    }
+
+    /**
+     * 读取 CONSTANT_Class 对应的类名
+     *
+     * @return 类名 0 返回 null
+     */
+    private String readClassName() {
+        int classIndex = this.readUnsignedShort();
+        if (classIndex == 0) {
+            return null;
+        }
+        return this.readUtf8(this.readUnsignedShort(offsets[classIndex])).replace('/', '.');
+    }
+
+    /**
+     * 读取 utf8 常量 (modified utf8)
+     *
+     * @param i 常量池索引
+     * @return string
+     */
+    private String readUtf8(int i) {
+        String s = strings[i];
+        if (s != null) {
+            return s;
+        }
+        int offset = offsets[i];
+        int length = this.readUnsignedShort(offset);
+        int pos = offset + 2;
+        int end = pos + length;
+        char[] chars = new char[length];
+        int size = 0;
+        while (pos < end) {
+            int c = b[pos++] & 0xFF;
+            if (c < 0x80) {
+                chars[size++] = (char) c;
+            } else if (c < 0xE0) {
+                chars[size++] = (char) (((c & 0x1F) << 6) | (b[pos++] & 0x3F));
+            } else {
+                chars[size++] = (char) (((c & 0x0F) << 12) | ((b[pos++] & 0x3F) << 6) | (b[pos++] & 0x3F));
+            }
+        }
+        return strings[i] = new String(chars, 0, size);
+    }
+
+    private int readUnsignedShort() {
+        int v = this.readUnsignedShort(index);
+        index += 2;
+        return v;
+    }
+
+    private int readUnsignedShort(int offset) {
+        return ((b[offset] & 0xFF) << 8) | (b[offset + 1] & 0xFF);
+    }
+
+    private int readInt() {
+        int v = ((b[index] & 0xFF) << 24) | ((b[index + 1] & 0xFF) << 16) | ((b[index + 2] & 0xFF) << 8) | (b[index + 3] & 0xFF);
+        index += 4;
+        return v;
+    }
+
+    private static String[][] toArray(List<String[]> list) {
+        return list == null ? null : list.toArray(new String[0][]);
+    }
+
+}
@@ -0,0 +1,677 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.reflect.index;
+
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.io.Streams;
+import cn.orionsec.kit.lang.utils.reflect.Annotations;
+
+import java.io.*;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 类索引
+ * <p>
+ * 由 {@link ClassIndexScanner} 解析字节码得到, 按照类名, 注解, 父类和接口查询时不加载类
+ * 只有调用返回 {@link Class} 的方法时才加载匹配到的类 (不初始化)
+ * <p>
+ * 父类和接口不在索引中时, 通过类加载器读取 class 文件解析继承关系, 依然不加载类
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 17:10
+ */
+public class ClassIndex {
+
+    private static final int MAGIC = 0x4F434958;
+
+    private static final int VERSION = 1;
+
+    private static final String OBJECT = "java.lang.Object";
+
+    /**
+     * 不存在的类
+     */
+    private static final ClassMetadata MISSING = new ClassMetadata(null, null, 0, null, null, null, null, null);
+
+    private final Map<String, ClassMetadata> classes;
+
+    private final ClassLoader classLoader;
+
+    /**
+     * 生成索引的资源指纹
+     */
+    private final String fingerprint;
+
+    /**
+     * 索引外的类的继承关系
+     */
+    private final Map<String, ClassMetadata> hierarchy;
+
+    public ClassIndex(Collection<ClassMetadata> classes, ClassLoader classLoader, String fingerprint) {
+        this.classes = new LinkedHashMap<>(Math.max(Const.CAPACITY_16, classes.size() * 4 / 3 + 1));
+        for (ClassMetadata metadata : classes) {
+            this.classes.putIfAbsent(metadata.getName(), metadata);
+        }
+        this.classLoader = classLoader;
+        this.fingerprint = fingerprint;
+        this.hierarchy = new ConcurrentHashMap<>(Const.CAPACITY_16);
+    }
+
+    /**
+     * 读取索引文件
+     *
+     * @param file        索引文件
+     * @param classLoader 加载类使用的类加载器
+     * @return index
+     */
+    public static ClassIndex load(File file, ClassLoader classLoader) {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return load(in, classLoader);
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime("read class index error", e);
+        }
+    }
+
+    /**
+     * 读取索引
+     *
+     * @param in          in
+     * @param classLoader 加载类使用的类加载器
+     * @return index
+     * @throws IOException IOException
+     */
+    public static ClassIndex load(InputStream in, ClassLoader classLoader) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw Exceptions.parse("invalid class index file");
+        }
+        String fingerprint = data.readUTF();
+        int size = data.readInt();
+        // 注解名称大量重复 读取时复用
+        Map<String, String> names = new HashMap<>(Const.CAPACITY_16);
+        List<ClassMetadata> classes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = data.readUTF();
+            String superName = data.readBoolean() ? names.computeIfAbsent(data.readUTF(), Function.identity()) : null;
+            int access = data.readInt();
+            String[] interfaces = readNames(data, names);
+            String[] annotations = readNames(data, names);
+            String[][] constructorAnnotations = readMembers(data, names);
+            String[][] methodAnnotations = readMembers(data, names);
+            String[][] fieldAnnotations = readMembers(data, names);
+            classes.add(new ClassMetadata(name, superName, access, interfaces, annotations,
+                    constructorAnnotations, methodAnnotations, fieldAnnotations));
+        }
+        return new ClassIndex(classes, classLoader, fingerprint);
+    }
+
+    /**
+     * 写入索引文件
+     *
+     * @param file 索引文件
+     */
+    public void store(File file) {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            this.store(out);
+        } catch (IOException e) {
+            throw Exceptions.ioRuntime("write class index error", e);
+        }
+    }
+
+    /**
+     * 写入索引
+     *
+     * @param out out
+     * @throws IOException IOException
+     */
+    public void store(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeUTF(fingerprint == null ? "" : fingerprint);
+        data.writeInt(classes.size());
+        for (ClassMetadata metadata : classes.values()) {
+            data.writeUTF(metadata.getName());
+            data.writeBoolean(metadata.getSuperName() != null);
+            if (metadata.getSuperName() != null) {
+                data.writeUTF(metadata.getSuperName());
+            }
+            data.writeInt(metadata.getAccess());
+            writeNames(data, metadata.getInterfaces());
+            writeNames(data, metadata.getAnnotations());
+            writeMembers(data, metadata.getConstructorAnnotations());
+            writeMembers(data, metadata.getMethodAnnotations());
+            writeMembers(data, metadata.getFieldAnnotations());
+        }
+        data.flush();
+    }
+
+    // -------------------- name --------------------
+
+    /**
+     * @return 全部类名
+     */
+    public Set<String> getClassNames() {
+        return Collections.unmodifiableSet(classes.keySet());
+    }
+
+    /**
+     * 获取类的元数据
+     *
+     * @param className 类名
+     * @return 元数据 不在索引中返回 null
+     */
+    public ClassMetadata getMetadata(String className) {
+        return classes.get(className);
+    }
+
+    /**
+     * 获取给定类型的所有子类和实现类名称 不包含自身
+     *
+     * @param typeName 类名
+     * @return 类名
+     */
+    public Set<String> getImplClassNames(String typeName) {
+        Assert.notNull(typeName, "type name is null");
+        if (OBJECT.equals(typeName)) {
+            return this.getClassNames();
+        }
+        Map<String, Boolean> memo = new HashMap<>(Const.CAPACITY_16);
+        Set<String> result = new LinkedHashSet<>();
+        for (String name : classes.keySet()) {
+            if (!name.equals(typeName) && this.isSubType(name, typeName, memo)) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取标注全部注解的类名 不处理 {@link Inherited}
+     *
+     * @param annotationNames 注解类名
+     * @return 类名
+     */
+    public Set<String> getAnnotatedClassNames(String... annotationNames) {
+        Assert.notEmpty(annotationNames, "annotation names length is 0");
+        return this.getAnnotatedClassNames(false, annotationNames);
+    }
+
+    /**
+     * 获取有构造方法标注全部注解的类名
+     *
+     * @param annotationNames 注解类名
+     * @return 类名
+     */
+    public Set<String> getAnnotatedConstructorClassNames(String... annotationNames) {
+        Assert.notEmpty(annotationNames, "annotation names length is 0");
+        return this.filterNames(m -> ClassMetadata.anyMemberHasAnnotations(m.getConstructorAnnotations(), annotationNames));
+    }
+
+    /**
+     * 获取有方法标注全部注解的类名
+     *
+     * @param annotationNames 注解类名
+     * @return 类名
+     */
+    public Set<String> getAnnotatedMethodClassNames(String... annotationNames) {
+        Assert.notEmpty(annotationNames, "annotation names length is 0");
+        return this.filterNames(m -> ClassMetadata.anyMemberHasAnnotations(m.getMethodAnnotations(), annotationNames));
+    }
+
+    /**
+     * 获取有字段标注全部注解的类名
+     *
+     * @param annotationNames 注解类名
+     * @return 类名
+     */
+    public Set<String> getAnnotatedFieldClassNames(String... annotationNames) {
+        Assert.notEmpty(annotationNames, "annotation names length is 0");
+        return this.filterNames(m -> ClassMetadata.anyMemberHasAnnotations(m.getFieldAnnotations(), annotationNames));
+    }
+
+    // -------------------- class --------------------
+
+    /**
+     * 加载类 不初始化
+     *
+     * @param className 类名
+     * @return class 加载失败返回 null
+     */
+    public Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * 加载全部类
+     *
+     * @return classes
+     */
+    public Set<Class<?>> getClasses() {
+        return this.loadClasses(classes.keySet());
+    }
+
+    /**
+     * 获取给定类的所有实现类
+     *
+     * @param superClass class
+     * @return ImplClasses
+     */
+    public Set<Class<?>> getImplClass(Class<?> superClass) {
+        Assert.notNull(superClass, "super class is null");
+        return this.loadClasses(this.getImplClassNames(superClass.getName()));
+    }
+
+    /**
+     * 获取所有标注指定注解的类
+     *
+     * @param annotatedClasses 注解class
+     * @return AnnotatedClasses
+     */
+    @SafeVarargs
+    public final Set<Class<?>> getAnnotatedClass(Class<? extends Annotation>... annotatedClasses) {
+        Assert.notEmpty(annotatedClasses, "annotated classes length is 0");
+        return this.loadClasses(this.getAnnotatedClassNames(annotatedClasses));
+    }
+
+    /**
+     * 获取所有标注指定注解的构造方法
+     *
+     * @param annotatedClasses 注解class
+     * @return AnnotatedConstructor
+     */
+    @SafeVarargs
+    public final Map<Class<?>, Set<Constructor<?>>> getAnnotatedConstructor(Class<? extends Annotation>... annotatedClasses) {
+        Assert.notEmpty(annotatedClasses, "annotated classes length is 0");
+        return this.collectMembers(this.getAnnotatedConstructorClassNames(toNames(annotatedClasses)),
+                Class::getDeclaredConstructors,
+                c -> Annotations.present(c, annotatedClasses));
+    }
+
+    /**
+     * 获取标注类注解的类中所有标注指定注解的构造方法
+     *
+     * @param classAnnotatedClass        类注解class
+     * @param constructorAnnotateClasses 构造方法注解class
+     * @return AnnotatedConstructor
+     */
+    @SafeVarargs
+    public final Map<Class<?>, Set<Constructor<?>>> getAnnotatedConstructorByAnnotatedClass(Class<? extends Annotation> classAnnotatedClass, Class<? extends Annotation>... constructorAnnotateClasses) {
+        Assert.notNull(classAnnotatedClass, "class annotated class is null");
+        Assert.notEmpty(constructorAnnotateClasses, "constructor annotate classes length is 0");
+        Set<String> names = this.getAnnotatedConstructorClassNames(toNames(constructorAnnotateClasses));
+        names.retainAll(this.getAnnotatedClassNames(classAnnotatedClass));
+        return this.collectMembers(names,
+                Class::getDeclaredConstructors,
+                c -> Annotations.present(c, constructorAnnotateClasses));
+    }
+
+    /**
+     * 获取所有标注指定注解的方法
+     *
+     * @param annotatedClasses 注解class
+     * @return AnnotatedMethod
+     */
+    @SafeVarargs
+    public final Map<Class<?>, Set<Method>> getAnnotatedMethod(Class<? extends Annotation>... annotatedClasses) {
+        Assert.notEmpty(annotatedClasses, "annotated classes length is 0");
+        return this.collectMembers(this.getAnnotatedMethodClassNames(toNames(annotatedClasses)),
+                Class::getDeclaredMethods,
+                m -> Annotations.present(m, annotatedClasses));
+    }
+
+    /**
+     * 获取标注类注解的类中所有标注指定注解的方法
+     *
+     * @param classAnnotatedClass   类注解class
+     * @param methodAnnotateClasses 方法注解class
+     * @return AnnotatedMethod
+     */
+    @SafeVarargs
+    public final Map<Class<?>, Set<Method>> getAnnotatedMethodByAnnotatedClass(Class<? extends Annotation> classAnnotatedClass, Class<? extends Annotation>... methodAnnotateClasses) {
+        Assert.notNull(classAnnotatedClass, "class annotated class is null");
+        Assert.notEmpty(methodAnnotateClasses, "method annotated classes length is 0");
+        Set<String> names = this.getAnnotatedMethodClassNames(toNames(methodAnnotateClasses));
+        names.retainAll(this.getAnnotatedClassNames(classAnnotatedClass));
+        return this.collectMembers(names,
+                Class::getDeclaredMethods,
+                m -> Annotations.present(m, methodAnnotateClasses));
+    }
+
+    /**
+     * 获取所有标注指定注解的字段
+     *
+     * @param annotatedClasses 注解class
+     * @return AnnotatedField
+     */
+    @SafeVarargs
+    public final Map<Class<?>, Set<Field>> getAnnotatedField(Class<? extends Annotation>... annotatedClasses) {
+        Assert.notEmpty(annotatedClasses, "annotated classes length is 0");
+        return this.collectMembers(this.getAnnotatedFieldClassNames(toNames(annotatedClasses)),
+                Class::getDeclaredFields,
+                f -> Annotations.present(f, annotatedClasses));
+    }
+
+    /**
+     * 获取标注类注解的类中所有标注指定注解的字段
+     *
+     * @param classAnnotatedClass   类注解class
+     * @param fieldAnnotatedClasses 字段注解class
+     * @return AnnotatedField
+     */
+    @SafeVarargs
+    public final Map<Class<?>, Set<Field>> getAnnotatedFieldByAnnotatedClass(Class<? extends Annotation> classAnnotatedClass, Class<? extends Annotation>... fieldAnnotatedClasses) {
+        Assert.notNull(classAnnotatedClass, "class annotated class is null");
+        Assert.notEmpty(fieldAnnotatedClasses, "field annotated classes length is 0");
+        Set<String> names = this.getAnnotatedFieldClassNames(toNames(fieldAnnotatedClasses));
+        names.retainAll(this.getAnnotatedClassNames(classAnnotatedClass));
+        return this.collectMembers(names,
+                Class::getDeclaredFields,
+                f -> Annotations.present(f, fieldAnnotatedClasses));
+    }
+
+    public int size() {
+        return classes.size();
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    // -------------------- internal --------------------
+
+    /**
+     * 获取标注注解的类名 {@link Inherited} 注解匹配父类
+     *
+     * @param annotatedClasses 注解class
+     * @return 类名
+     */
+    private Set<String> getAnnotatedClassNames(Class<?>... annotatedClasses) {
+        boolean inherited = false;
+        for (Class<?> annotatedClass : annotatedClasses) {
+            if (annotatedClass.isAnnotationPresent(Inherited.class)) {
+                inherited = true;
+                break;
+            }
+        }
+        return this.getAnnotatedClassNames(inherited, toNames(annotatedClasses));
+    }
+
+    /**
+     * 获取标注注解的类名
+     *
+     * @param inherited       是否匹配父类的注解
+     * @param annotationNames 注解类名
+     * @return 类名
+     */
+    private Set<String> getAnnotatedClassNames(boolean inherited, String[] annotationNames) {
+        if (!inherited) {
+            return this.filterNames(m -> m.hasAnnotations(annotationNames));
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (ClassMetadata metadata : classes.values()) {
+            boolean match = true;
+            for (String annotationName : annotationNames) {
+                if (!this.hasAnnotation(metadata, annotationName)) {
+                    match = false;
+                    break;
+                }
+            }
+            if (match) {
+                result.add(metadata.getName());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 类或父类是否有注解
+     *
+     * @param metadata       metadata
+     * @param annotationName 注解类名
+     * @return 是否有注解
+     */
+    private boolean hasAnnotation(ClassMetadata metadata, String annotationName) {
+        if (metadata.hasAnnotations(annotationName)) {
+            return true;
+        }
+        // 接口的注解不会被继承
+        if (metadata.isInterface()) {
+            return false;
+        }
+        String superName = metadata.getSuperName();
+        while (superName != null && !OBJECT.equals(superName)) {
+            ClassMetadata superMetadata = this.getHierarchy(superName);
+            if (superMetadata == MISSING) {
+                return false;
+            }
+            if (superMetadata.hasAnnotations(annotationName)) {
+                return true;
+            }
+            superName = superMetadata.getSuperName();
+        }
+        return false;
+    }
+
+    /**
+     * 是否为子类型
+     *
+     * @param name   类名
+     * @param target 父类型
+     * @param memo   缓存
+     * @return 是否为子类型
+     */
+    private boolean isSubType(String name, String target, Map<String, Boolean> memo) {
+        if (name == null) {
+            return false;
+        }
+        if (name.equals(target)) {
+            return true;
+        }
+        if (OBJECT.equals(name)) {
+            return false;
+        }
+        Boolean cached = memo.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        memo.put(name, false);
+        ClassMetadata metadata = this.getHierarchy(name);
+        boolean result = false;
+        if (metadata != MISSING) {
+            result = this.isSubType(metadata.getSuperName(), target, memo);
+            for (String interfaceName : metadata.getInterfaces()) {
+                if (result) {
+                    break;
+                }
+                result = this.isSubType(interfaceName, target, memo);
+            }
+        }
+        memo.put(name, result);
+        return result;
+    }
+
+    /**
+     * 获取类的继承关系 不在索引中时读取 class 文件
+     *
+     * @param name 类名
+     * @return metadata 不存在返回 MISSING
+     */
+    private ClassMetadata getHierarchy(String name) {
+        ClassMetadata metadata = classes.get(name);
+        if (metadata != null) {
+            return metadata;
+        }
+        return hierarchy.computeIfAbsent(name, this::readHierarchy);
+    }
+
+    /**
+     * 通过类加载器读取 class 文件
+     *
+     * @param name 类名
+     * @return metadata 不存在返回 MISSING
+     */
+    private ClassMetadata readHierarchy(String name) {
+        if (classLoader == null) {
+            return MISSING;
+        }
+        try (InputStream in = classLoader.getResourceAsStream(name.replace('.', '/') + ".class")) {
+            if (in == null) {
+                return MISSING;
+            }
+            ClassMetadata metadata = ClassFileReader.read(Streams.toByteArray(in));
+            return metadata == null ? MISSING : metadata;
+        } catch (Exception e) {
+            return MISSING;
+        }
+    }
+
+    /**
+     * 过滤类名
+     *
+     * @param filter filter
+     * @return 类名
+     */
+    private Set<String> filterNames(Predicate<ClassMetadata> filter) {
+        Set<String> result = new LinkedHashSet<>();
+        for (ClassMetadata metadata : classes.values()) {
+            if (filter.test(metadata)) {
+                result.add(metadata.getName());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 加载类
+     *
+     * @param names 类名
+     * @return classes
+     */
+    private Set<Class<?>> loadClasses(Collection<String> names) {
+        Set<Class<?>> result = new LinkedHashSet<>();
+        for (String name : names) {
+            Class<?> c = this.loadClass(name);
+            if (c != null) {
+                result.add(c);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 加载类并获取匹配的成员
+     *
+     * @param names   类名
+     * @param members 获取成员
+     * @param filter  成员过滤器
+     * @param <M>     成员类型
+     * @return 成员
+     */
+    private <M> Map<Class<?>, Set<M>> collectMembers(Collection<String> names, Function<Class<?>, M[]> members, Predicate<M> filter) {
+        Map<Class<?>, Set<M>> result = new HashMap<>(Const.CAPACITY_16);
+        for (Class<?> c : this.loadClasses(names)) {
+            Set<M> matched = null;
+            for (M member : members.apply(c)) {
+                if (filter.test(member)) {
+                    if (matched == null) {
+                        matched = new LinkedHashSet<>();
+                    }
+                    matched.add(member);
+                }
+            }
+            if (matched != null) {
+                result.put(c, matched);
+            }
+        }
+        return result;
+    }
+
+    private static String[] toNames(Class<?>[] classes) {
+        String[] names = new String[classes.length];
+        for (int i = 0; i < classes.length; i++) {
+            names[i] = classes[i].getName();
+        }
+        return names;
+    }
+
+    private static void writeNames(DataOutputStream data, String[] names) throws IOException {
+        data.writeShort(names.length);
+        for (String name : names) {
+            data.writeUTF(name);
+        }
+    }
+
+    private static void writeMembers(DataOutputStream data, String[][] members) throws IOException {
+        data.writeShort(members.length);
+        for (String[] member : members) {
+            writeNames(data, member);
+        }
+    }
+
+    private static String[] readNames(DataInputStream data, Map<String, String> names) throws IOException {
+        int size = data.readUnsignedShort();
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = names.computeIfAbsent(data.readUTF(), Function.identity());
+        }
+        return result;
+    }
+
+    private static String[][] readMembers(DataInputStream data, Map<String, String> names) throws IOException {
+        int size = data.readUnsignedShort();
+        String[][] result = new String[size][];
+        for (int i = 0; i < size; i++) {
+            result[i] = readNames(data, names);
+        }
+        return result;
+    }
+
+}
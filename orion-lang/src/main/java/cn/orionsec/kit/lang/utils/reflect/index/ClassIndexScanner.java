@@ -0,0 +1,593 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.reflect.index;
+
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.utils.*;
+import cn.orionsec.kit.lang.utils.crypto.Signatures;
+import cn.orionsec.kit.lang.utils.io.Streams;
+import cn.orionsec.kit.lang.utils.reflect.Classes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * 字节码索引扫描器
+ * <p>
+ * 与 {@link cn.orionsec.kit.lang.utils.reflect.PackageScanner} 的扫描规则相同, 但直接解析 class 文件, 不加载类
+ * 多个 jar 和目录并行扫描, 结果为 {@link ClassIndex}
+ * <p>
+ * 设置索引文件后, 资源未修改时直接读取索引文件, 否则重新扫描并写入
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 17:20
+ */
+public class ClassIndexScanner {
+
+    private static final String CLASS_SUFFIX = "." + Const.SUFFIX_CLASS;
+
+    private static final String JAR_SUFFIX = ".jar";
+
+    /**
+     * spring boot 3.2+ 嵌套 jar 协议
+     */
+    private static final String NESTED_PROTOCOL = "nested:";
+
+    /**
+     * 扫描的包
+     */
+    private final Set<String> packages;
+
+    /**
+     * 加载的资源
+     */
+    private final Set<URL> resources;
+
+    /**
+     * 扫描类加载器
+     */
+    private ClassLoader classLoader;
+
+    /**
+     * 是否扫描所有包
+     */
+    private boolean scanAll;
+
+    /**
+     * 并行扫描的线程池
+     */
+    private Executor executor;
+
+    /**
+     * 索引文件
+     */
+    private File indexFile;
+
+    /**
+     * 扫描指定包 如果不填扫描所有的包
+     *
+     * @param packages 包名 可以用.*结尾 扫描子包
+     */
+    public ClassIndexScanner(String... packages) {
+        this.packages = new LinkedHashSet<>();
+        this.resources = new LinkedHashSet<>();
+        this.classLoader = Classes.getCurrentClassLoader();
+        if (Arrays1.isEmpty(packages)) {
+            this.scanAll = true;
+        } else {
+            this.addPackage(packages);
+        }
+    }
+
+    /**
+     * 添加扫描的包
+     *
+     * @param packageName 包名 可以用.*结尾 扫描子包
+     * @return this
+     */
+    public ClassIndexScanner addPackage(String... packageName) {
+        if (Arrays1.isEmpty(packageName)) {
+            return this;
+        }
+        for (String p : packageName) {
+            if (!Strings.isBlank(p)) {
+                packages.add(p);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 设置扫描的资源 目录或 jar
+     *
+     * @param resource resource
+     * @return this
+     */
+    public ClassIndexScanner addResource(URL... resource) {
+        if (Arrays1.isEmpty(resource)) {
+            return this;
+        }
+        for (URL r : resource) {
+            if (r != null) {
+                resources.add(r);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 添加资源 class
+     *
+     * @param resourceClass resourceClass
+     * @return this
+     */
+    public ClassIndexScanner with(Class<?> resourceClass) {
+        Assert.notNull(resourceClass, "resourceClass is null");
+        URL r1 = resourceClass.getClassLoader().getResource(Strings.EMPTY);
+        URL r2 = resourceClass.getProtectionDomain().getCodeSource().getLocation();
+        if (r1 != null) {
+            resources.add(r1);
+        }
+        if (r2 != null) {
+            resources.add(r2);
+        }
+        return this;
+    }
+
+    /**
+     * 扫描所有包
+     *
+     * @return this
+     */
+    public ClassIndexScanner all() {
+        this.scanAll = true;
+        return this;
+    }
+
+    /**
+     * 设置加载类使用的类加载器
+     *
+     * @param classLoader classLoader
+     * @return this
+     */
+    public ClassIndexScanner classLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        return this;
+    }
+
+    /**
+     * 设置并行扫描的线程池 默认使用 {@link ForkJoinPool#commonPool()}
+     *
+     * @param executor executor
+     * @return this
+     */
+    public ClassIndexScanner executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * 设置索引文件
+     *
+     * @param indexFile 索引文件
+     * @return this
+     */
+    public ClassIndexScanner indexFile(File indexFile) {
+        this.indexFile = indexFile;
+        return this;
+    }
+
+    /**
+     * 开始扫描
+     *
+     * @return 类索引
+     */
+    public ClassIndex scan() {
+        if (resources.isEmpty()) {
+            throw Exceptions.init("not set scan resources");
+        }
+        List<PackageMatcher> matchers = this.getMatchers();
+        List<Object> roots = new ArrayList<>();
+        for (URL resource : resources) {
+            Object root = this.resolveRoot(resource);
+            if (root != null) {
+                roots.add(root);
+            }
+        }
+        // 读取索引文件
+        String fingerprint = null;
+        if (indexFile != null) {
+            fingerprint = this.getFingerprint(roots, matchers);
+            if (indexFile.isFile()) {
+                try {
+                    ClassIndex index = ClassIndex.load(indexFile, classLoader);
+                    if (fingerprint.equals(index.getFingerprint())) {
+                        return index;
+                    }
+                } catch (Exception e) {
+                    // 索引文件损坏 重新扫描
+                }
+            }
+        }
+        // 并行扫描
+        Executor pool = executor == null ? ForkJoinPool.commonPool() : executor;
+        List<CompletableFuture<List<ClassMetadata>>> futures = new ArrayList<>();
+        for (Object root : roots) {
+            futures.add(CompletableFuture.supplyAsync(() -> this.scanRoot(root, matchers), pool));
+        }
+        List<ClassMetadata> classes = new ArrayList<>();
+        for (CompletableFuture<List<ClassMetadata>> future : futures) {
+            try {
+                classes.addAll(future.join());
+            } catch (Exception e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : Exceptions.runtime(cause);
+            }
+        }
+        ClassIndex index = new ClassIndex(classes, classLoader, fingerprint);
+        if (indexFile != null) {
+            index.store(indexFile);
+        }
+        return index;
+    }
+
+    // -------------------- SCAN --------------------
+
+    /**
+     * 解析扫描根路径
+     *
+     * @param resource resource
+     * @return 目录 / jar 文件 / 无法直接访问的 jar url
+     */
+    private Object resolveRoot(URL resource) {
+        String protocol = resource.getProtocol();
+        if (Const.PROTOCOL_FILE.equals(protocol)) {
+            File file = new File(Urls.decode(resource.getPath()));
+            if (file.isDirectory() || (file.isFile() && file.getName().endsWith(JAR_SUFFIX))) {
+                return file;
+            }
+        } else if (Const.PROTOCOL_JAR.equals(protocol)) {
+            try {
+                JarURLConnection connection = (JarURLConnection) resource.openConnection();
+                URL jarFileUrl = connection.getJarFileURL();
+                if (Const.PROTOCOL_FILE.equals(jarFileUrl.getProtocol())) {
+                    File file = new File(Urls.decode(jarFileUrl.getPath()));
+                    if (file.isFile()) {
+                        return file;
+                    }
+                }
+                // 嵌套的 jar
+                return resource;
+            } catch (IOException e) {
+                throw Exceptions.ioRuntime("scan jar file error", e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 扫描根路径
+     *
+     * @param root     root
+     * @param matchers 包匹配器
+     * @return metadata
+     */
+    private List<ClassMetadata> scanRoot(Object root, List<PackageMatcher> matchers) {
+        List<ClassMetadata> classes = new ArrayList<>();
+        if (root instanceof URL) {
+            try {
+                JarURLConnection connection = (JarURLConnection) ((URL) root).openConnection();
+                connection.setUseCaches(false);
+                try (JarFile jarFile = connection.getJarFile()) {
+                    this.scanJar(jarFile, matchers, classes);
+                }
+            } catch (IOException e) {
+                throw Exceptions.ioRuntime("scan jar file error", e);
+            }
+            return classes;
+        }
+        File file = (File) root;
+        if (file.isDirectory()) {
+            for (PackageMatcher matcher : matchers) {
+                File dir = matcher.path.isEmpty() ? file : new File(file, matcher.path);
+                this.scanDirectory(dir, matcher.all, classes);
+            }
+        } else {
+            try (JarFile jarFile = new JarFile(file)) {
+                this.scanJar(jarFile, matchers, classes);
+            } catch (IOException e) {
+                throw Exceptions.ioRuntime("scan jar file error", e);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * 扫描 jar
+     *
+     * @param jarFile  jarFile
+     * @param matchers 包匹配器
+     * @param classes  classes
+     * @throws IOException IOException
+     */
+    private void scanJar(JarFile jarFile, List<PackageMatcher> matchers, List<ClassMetadata> classes) throws IOException {
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            String name = entry.getName();
+            if (entry.isDirectory() || !name.endsWith(CLASS_SUFFIX) || !matches(matchers, name)) {
+                continue;
+            }
+            try (InputStream in = jarFile.getInputStream(entry)) {
+                addClass(Streams.toByteArray(in), classes);
+            }
+        }
+    }
+
+    /**
+     * 扫描目录
+     *
+     * @param dir     目录
+     * @param all     是否扫描子目录
+     * @param classes classes
+     */
+    private void scanDirectory(File dir, boolean all, List<ClassMetadata> classes) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                if (all) {
+                    this.scanDirectory(file, true, classes);
+                }
+            } else if (file.getName().endsWith(CLASS_SUFFIX)) {
+                try {
+                    addClass(Files.readAllBytes(file.toPath()), classes);
+                } catch (IOException e) {
+                    throw Exceptions.ioRuntime("scan class file error", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 解析 class 文件
+     *
+     * @param bytes   bytes
+     * @param classes classes
+     */
+    private static void addClass(byte[] bytes, List<ClassMetadata> classes) {
+        try {
+            ClassMetadata metadata = ClassFileReader.read(bytes);
+            if (metadata != null) {
+                classes.add(metadata);
+            }
+        } catch (RuntimeException e) {
+            // 无法解析的 class 文件
+        }
+    }
+
+    // -------------------- fingerprint --------------------
+
+    /**
+     * 计算资源指纹 jar 使用文件大小和修改时间, 目录使用 class 文件数量和最后修改时间
+     * 嵌套的 jar 使用最外层 jar 文件的大小和修改时间
+     *
+     * @param roots    roots
+     * @param matchers 包匹配器
+     * @return 指纹
+     */
+    private String getFingerprint(List<Object> roots, List<PackageMatcher> matchers) {
+        StringBuilder sb = new StringBuilder();
+        for (PackageMatcher matcher : matchers) {
+            sb.append(matcher.path).append(matcher.all ? "/**" : "/*").append(';');
+        }
+        for (Object root : roots) {
+            sb.append('\n');
+            if (root instanceof URL) {
+                sb.append(root);
+                File outer = getOuterFile((URL) root);
+                if (outer != null) {
+                    sb.append(':').append(outer.length()).append(':').append(outer.lastModified());
+                } else {
+                    sb.append(':').append(getLastModified((URL) root));
+                }
+                continue;
+            }
+            File file = (File) root;
+            sb.append(file.getAbsolutePath());
+            if (file.isFile()) {
+                sb.append(':').append(file.length()).append(':').append(file.lastModified());
+            } else {
+                long[] stat = new long[2];
+                for (PackageMatcher matcher : matchers) {
+                    File dir = matcher.path.isEmpty() ? file : new File(file, matcher.path);
+                    statDirectory(dir, matcher.all, stat);
+                }
+                sb.append(':').append(stat[0]).append(':').append(stat[1]);
+            }
+        }
+        return Signatures.md5(sb.toString());
+    }
+
+    /**
+     * 获取嵌套 jar url 最外层的 jar 文件
+     * <p>
+     * jar:file:/app.jar!/BOOT-INF/lib/a.jar!/ 或 jar:nested:/app.jar/!BOOT-INF/lib/a.jar!/
+     *
+     * @param url url
+     * @return 文件 无法解析返回 null
+     */
+    private static File getOuterFile(URL url) {
+        String path = url.toString();
+        while (path.startsWith(Const.PROTOCOL_JAR + ":")) {
+            path = path.substring(Const.PROTOCOL_JAR.length() + 1);
+        }
+        int end;
+        if (path.startsWith(NESTED_PROTOCOL)) {
+            path = path.substring(NESTED_PROTOCOL.length());
+            end = path.indexOf("/!");
+        } else if (path.startsWith(Const.PROTOCOL_FILE + ":")) {
+            path = path.substring(Const.PROTOCOL_FILE.length() + 1);
+            end = path.indexOf("!/");
+        } else {
+            return null;
+        }
+        if (end != -1) {
+            path = path.substring(0, end);
+        }
+        File file = new File(Urls.decode(path));
+        return file.isFile() ? file : null;
+    }
+
+    /**
+     * 获取 url 的最后修改时间
+     *
+     * @param url url
+     * @return 最后修改时间 无法获取返回 0
+     */
+    private static long getLastModified(URL url) {
+        try {
+            URLConnection connection = url.openConnection();
+            connection.setUseCaches(false);
+            return connection.getLastModified();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 统计目录中 class 文件的数量和最后修改时间
+     *
+     * @param dir  目录
+     * @param all  是否统计子目录
+     * @param stat [数量, 最后修改时间]
+     */
+    private static void statDirectory(File dir, boolean all, long[] stat) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                if (all) {
+                    statDirectory(file, true, stat);
+                }
+            } else if (file.getName().endsWith(CLASS_SUFFIX)) {
+                stat[0]++;
+                stat[1] = Math.max(stat[1], file.lastModified());
+            }
+        }
+    }
+
+    // -------------------- package --------------------
+
+    /**
+     * 获取包匹配器
+     *
+     * @return matchers
+     */
+    private List<PackageMatcher> getMatchers() {
+        List<PackageMatcher> matchers = new ArrayList<>();
+        if (scanAll || packages.isEmpty()) {
+            matchers.add(new PackageMatcher(Strings.EMPTY, true));
+            return matchers;
+        }
+        for (String p : packages) {
+            boolean all = p.endsWith(".*");
+            if (all) {
+                p = p.substring(0, p.length() - 2);
+            }
+            matchers.add(new PackageMatcher(p.replace('.', '/'), all));
+        }
+        return matchers;
+    }
+
+    /**
+     * jar 内的 class 是否匹配扫描的包
+     *
+     * @param matchers  包匹配器
+     * @param entryName entryName
+     * @return 是否匹配
+     */
+    private static boolean matches(List<PackageMatcher> matchers, String entryName) {
+        int index = entryName.lastIndexOf('/');
+        String path = index == -1 ? Strings.EMPTY : entryName.substring(0, index);
+        for (PackageMatcher matcher : matchers) {
+            if (matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 包匹配器
+     */
+    private static class PackageMatcher {
+
+        /**
+         * 包路径 a/b/c
+         */
+        private final String path;
+
+        /**
+         * 是否匹配子包
+         */
+        private final boolean all;
+
+        private PackageMatcher(String path, boolean all) {
+            this.path = path;
+            this.all = all;
+        }
+
+        private boolean matches(String packagePath) {
+            if (packagePath.equals(path)) {
+                return true;
+            }
+            if (!all) {
+                return false;
+            }
+            return path.isEmpty() || (packagePath.startsWith(path) && packagePath.length() > path.length() && packagePath.charAt(path.length()) == '/');
+        }
+
+    }
+
+}
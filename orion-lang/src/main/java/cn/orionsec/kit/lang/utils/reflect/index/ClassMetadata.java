@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.reflect.index;
+
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+/**
+ * class 文件元数据
+ * <p>
+ * 由 {@link ClassFileReader} 解析得到, 只包含运行时可见的注解
+ * 成员注解只记录有注解的成员, 每个元素为一个成员上的全部注解
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 17:00
+ */
+public class ClassMetadata {
+
+    private static final String[] EMPTY = new String[0];
+
+    private static final String[][] EMPTY_MEMBERS = new String[0][];
+
+    /**
+     * ACC_ANNOTATION
+     */
+    private static final int ANNOTATION = 0x2000;
+
+    private final String name;
+
+    private final String superName;
+
+    private final int access;
+
+    private final String[] interfaces;
+
+    private final String[] annotations;
+
+    private final String[][] constructorAnnotations;
+
+    private final String[][] methodAnnotations;
+
+    private final String[][] fieldAnnotations;
+
+    public ClassMetadata(String name, String superName, int access, String[] interfaces, String[] annotations,
+                         String[][] constructorAnnotations, String[][] methodAnnotations, String[][] fieldAnnotations) {
+        this.name = name;
+        this.superName = superName;
+        this.access = access;
+        this.interfaces = interfaces == null ? EMPTY : interfaces;
+        this.annotations = annotations == null ? EMPTY : annotations;
+        this.constructorAnnotations = constructorAnnotations == null ? EMPTY_MEMBERS : constructorAnnotations;
+        this.methodAnnotations = methodAnnotations == null ? EMPTY_MEMBERS : methodAnnotations;
+        this.fieldAnnotations = fieldAnnotations == null ? EMPTY_MEMBERS : fieldAnnotations;
+    }
+
+    /**
+     * 类上是否有全部注解
+     *
+     * @param annotationNames 注解类名
+     * @return 是否有全部注解
+     */
+    public boolean hasAnnotations(String... annotationNames) {
+        return containsAll(annotations, annotationNames);
+    }
+
+    /**
+     * 是否有成员有全部注解
+     *
+     * @param members         成员注解
+     * @param annotationNames 注解类名
+     * @return 是否匹配
+     */
+    static boolean anyMemberHasAnnotations(String[][] members, String... annotationNames) {
+        for (String[] member : members) {
+            if (containsAll(member, annotationNames)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 数组是否包含全部元素
+     *
+     * @param array  数组
+     * @param values 元素
+     * @return 是否包含
+     */
+    private static boolean containsAll(String[] array, String... values) {
+        for (String value : values) {
+            boolean contains = false;
+            for (String s : array) {
+                if (s.equals(value)) {
+                    contains = true;
+                    break;
+                }
+            }
+            if (!contains) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 父类名称 Object 和接口的父类为 java.lang.Object, Object 本身为 null
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    public int getAccess() {
+        return access;
+    }
+
+    public boolean isInterface() {
+        return Modifier.isInterface(access);
+    }
+
+    public boolean isAbstract() {
+        return Modifier.isAbstract(access);
+    }
+
+    public boolean isAnnotation() {
+        return (access & ANNOTATION) != 0;
+    }
+
+    public String[] getInterfaces() {
+        return interfaces;
+    }
+
+    public String[] getAnnotations() {
+        return annotations;
+    }
+
+    public String[][] getConstructorAnnotations() {
+        return constructorAnnotations;
+    }
+
+    public String[][] getMethodAnnotations() {
+        return methodAnnotations;
+    }
+
+    public String[][] getFieldAnnotations() {
+        return fieldAnnotations;
+    }
+
+    @Override
+    public String toString() {
+        return name + " extends " + superName + " implements " + Arrays.toString(interfaces) + " " + Arrays.toString(annotations);
+    }
+
+}
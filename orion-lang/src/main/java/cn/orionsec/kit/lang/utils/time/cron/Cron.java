@@ -100,6 +100,7 @@ public class Cron implements Serializable {
     protected transient boolean nearestWeekday;
     protected transient int lastDayOffset;
     protected transient boolean expressionParsed;
+    protected transient volatile CronEvaluator evaluator;
 
     public static final int MAX_YEAR = Calendar.getInstance().get(Calendar.YEAR) + 100;
 
@@ -179,6 +180,20 @@ public class Cron implements Serializable {
 
     public void setTimeZone(TimeZone timeZone) {
         this.timeZone = timeZone;
+        this.evaluator = null;
+    }
+
+    /**
+     * 获取位图计算器 时区修改后重新创建
+     *
+     * @return evaluator
+     */
+    public CronEvaluator getEvaluator() {
+        CronEvaluator evaluator = this.evaluator;
+        if (evaluator == null) {
+            this.evaluator = evaluator = new CronEvaluator(this);
+        }
+        return evaluator;
     }
 
     public String getCronExpression() {
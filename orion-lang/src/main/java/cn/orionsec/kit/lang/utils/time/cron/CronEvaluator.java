@@ -0,0 +1,670 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.lang.utils.time.cron;
+
+import cn.orionsec.kit.lang.utils.Assert;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * cron 表达式位图计算器
+ * <p>
+ * 每个字段使用 long 位图存储 (年份使用 {@link BitSet}), 在 epoch 秒 / epoch 天上直接计算下次 / 上次执行时间
+ * 不创建 {@link java.util.Calendar}, 不遍历 {@link java.util.TreeSet}, 固定偏移的时区计算过程不创建对象
+ * <p>
+ * 执行规则与 {@link Cron#getNextValidTimeAfter(Date)} 相同, 夏令时切换时按 java.time 规则处理:
+ * 不存在的本地时间向后顺延, 重复的本地时间取第一次出现的时间
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 16:20
+ */
+public class CronEvaluator {
+
+    private static final int SECONDS_PER_DAY = 86400;
+
+    private static final int[] MONTH_DAYS = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /**
+     * 最小年份
+     */
+    private static final int MIN_YEAR = 1970;
+
+    private final Cron cron;
+
+    private final long seconds;
+
+    private final long minutes;
+
+    private final long hours;
+
+    /**
+     * bit 1 ~ 31
+     */
+    private final long daysOfMonth;
+
+    /**
+     * bit 1 ~ 12
+     */
+    private final long months;
+
+    /**
+     * bit 1 ~ 7 (1: 周日)
+     */
+    private final long daysOfWeek;
+
+    private final BitSet years;
+
+    /**
+     * 是否按照 day of month 匹配
+     */
+    private final boolean dayOfMonthSpec;
+
+    private final boolean lastDayOfMonth;
+
+    private final int lastDayOffset;
+
+    private final boolean nearestWeekday;
+
+    /**
+     * W 的目标日期
+     */
+    private final int nearestDay;
+
+    private final boolean lastDayOfWeek;
+
+    private final int nthDayOfWeek;
+
+    /**
+     * L / # 的目标星期
+     */
+    private final int targetDayOfWeek;
+
+    private final int maxYear;
+
+    private final ZoneRules rules;
+
+    /**
+     * 固定偏移秒数 非固定偏移的时区为 null
+     */
+    private final Integer fixedOffset;
+
+    CronEvaluator(Cron cron) {
+        this.cron = cron;
+        this.seconds = toMask(cron.seconds, 0, 59);
+        this.minutes = toMask(cron.minutes, 0, 59);
+        this.hours = toMask(cron.hours, 0, 23);
+        this.daysOfMonth = toMask(cron.daysOfMonth, 1, 31);
+        this.months = toMask(cron.months, 1, 12);
+        this.daysOfWeek = toMask(cron.daysOfWeek, 1, 7);
+        this.maxYear = Math.min(Cron.MAX_YEAR, 2999);
+        this.years = new BitSet();
+        for (Integer year : cron.years) {
+            if (year >= MIN_YEAR && year <= maxYear) {
+                years.set(year);
+            }
+        }
+        this.dayOfMonthSpec = !cron.daysOfMonth.contains(Cron.NO_SPEC);
+        this.lastDayOfMonth = cron.lastDayOfMonth;
+        this.lastDayOffset = cron.lastDayOffset;
+        this.nearestWeekday = cron.nearestWeekday;
+        this.nearestDay = daysOfMonth == 0 ? 0 : Long.numberOfTrailingZeros(daysOfMonth);
+        this.lastDayOfWeek = cron.lastDayOfWeek;
+        this.nthDayOfWeek = cron.nthDayOfWeek;
+        this.targetDayOfWeek = daysOfWeek == 0 ? 0 : Long.numberOfTrailingZeros(daysOfWeek);
+        this.rules = cron.getTimeZone().toZoneId().getRules();
+        this.fixedOffset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH).getTotalSeconds() : null;
+    }
+
+    /**
+     * 创建计算器
+     *
+     * @param expression 表达式
+     * @return evaluator
+     */
+    public static CronEvaluator of(String expression) {
+        return new CronEvaluator(new Cron(expression));
+    }
+
+    /**
+     * 创建计算器
+     *
+     * @param cron cron
+     * @return evaluator
+     */
+    public static CronEvaluator of(Cron cron) {
+        Assert.notNull(cron, "cron is null");
+        return new CronEvaluator(cron);
+    }
+
+    /**
+     * 获取给定时间之后的下次执行时间
+     *
+     * @param date 开始时间
+     * @return 下次执行时间 未来不会执行返回 null
+     */
+    public Date getNextValidTimeAfter(Date date) {
+        long next = this.nextTime(date.getTime());
+        return next == -1 ? null : new Date(next);
+    }
+
+    /**
+     * 获取给定时间之后的下次执行时间
+     *
+     * @param from 开始时间戳 ms
+     * @return 下次执行时间戳 ms 未来不会执行返回 -1
+     */
+    public long nextTime(long from) {
+        long start = Math.floorDiv(from, 1000) + 1;
+        long local = start + this.getOffset(start);
+        long epochDay = Math.floorDiv(local, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(local, SECONDS_PER_DAY);
+        while (true) {
+            long date = civil(epochDay);
+            int year = (int) (date >> 9);
+            int month = (int) (date >> 5) & 0xF;
+            int day = (int) date & 0x1F;
+            if (year > maxYear) {
+                return -1;
+            }
+            // 年
+            if (!years.get(year)) {
+                int nextYear = years.nextSetBit(year + 1);
+                if (nextYear == -1) {
+                    return -1;
+                }
+                epochDay = epochDay(nextYear, 1, 1);
+                secondOfDay = 0;
+                continue;
+            }
+            // 月
+            if ((months & (1L << month)) == 0) {
+                int nextMonth = nextBit(months, month + 1);
+                epochDay = nextMonth == -1 ? epochDay(year + 1, 1, 1) : epochDay(year, nextMonth, 1);
+                secondOfDay = 0;
+                continue;
+            }
+            // 日
+            int monthDays = monthDays(year, month);
+            int matchDay = this.nextDay(year, month, day, monthDays, epochDay);
+            if (matchDay == -1) {
+                epochDay += monthDays - day + 1;
+                secondOfDay = 0;
+                continue;
+            } else if (matchDay != day) {
+                epochDay += matchDay - day;
+                secondOfDay = 0;
+            }
+            // 时分秒
+            int time = this.nextSecondOfDay(secondOfDay);
+            if (time == -1) {
+                epochDay++;
+                secondOfDay = 0;
+                continue;
+            }
+            long epochSecond = this.toEpochSecond(epochDay * SECONDS_PER_DAY + time, start);
+            if (epochSecond < start) {
+                // 夏令时重复的时间已经过去
+                secondOfDay = time + 1;
+                if (secondOfDay == SECONDS_PER_DAY) {
+                    epochDay++;
+                    secondOfDay = 0;
+                }
+                continue;
+            }
+            return epochSecond * 1000;
+        }
+    }
+
+    /**
+     * 获取给定时间之前的上次执行时间
+     *
+     * @param from 开始时间戳 ms
+     * @return 上次执行时间戳 ms 不存在返回 -1
+     */
+    public long previousTime(long from) {
+        long end = Math.floorDiv(from - 1, 1000);
+        long local = end + this.getOffset(end);
+        long epochDay = Math.floorDiv(local, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(local, SECONDS_PER_DAY);
+        while (true) {
+            long date = civil(epochDay);
+            int year = (int) (date >> 9);
+            int month = (int) (date >> 5) & 0xF;
+            int day = (int) date & 0x1F;
+            if (year < MIN_YEAR) {
+                return -1;
+            }
+            // 年
+            if (year > maxYear || !years.get(year)) {
+                int prevYear = years.previousSetBit(Math.min(year - 1, maxYear));
+                if (prevYear == -1) {
+                    return -1;
+                }
+                epochDay = epochDay(prevYear, 12, 31);
+                secondOfDay = SECONDS_PER_DAY - 1;
+                continue;
+            }
+            // 月
+            if ((months & (1L << month)) == 0) {
+                int prevMonth = prevBit(months, month - 1);
+                epochDay = prevMonth < 1
+                        ? epochDay(year - 1, 12, 31)
+                        : epochDay(year, prevMonth, monthDays(year, prevMonth));
+                secondOfDay = SECONDS_PER_DAY - 1;
+                continue;
+            }
+            // 日
+            int monthDays = monthDays(year, month);
+            int matchDay = this.previousDay(year, month, day, monthDays, epochDay);
+            if (matchDay == -1) {
+                epochDay -= day;
+                secondOfDay = SECONDS_PER_DAY - 1;
+                continue;
+            } else if (matchDay != day) {
+                epochDay -= day - matchDay;
+                secondOfDay = SECONDS_PER_DAY - 1;
+            }
+            // 时分秒
+            int time = this.previousSecondOfDay(secondOfDay);
+            if (time == -1) {
+                epochDay--;
+                secondOfDay = SECONDS_PER_DAY - 1;
+                continue;
+            }
+            long epochSecond = this.toEpochSecond(epochDay * SECONDS_PER_DAY + time, Long.MIN_VALUE);
+            if (epochSecond > end) {
+                // 夏令时顺延后超过了结束时间
+                secondOfDay = time - 1;
+                if (secondOfDay < 0) {
+                    epochDay--;
+                    secondOfDay = SECONDS_PER_DAY - 1;
+                }
+                continue;
+            }
+            return epochSecond * 1000;
+        }
+    }
+
+    /**
+     * 获取给定时间之后的多次执行时间
+     *
+     * @param from  开始时间戳 ms
+     * @param times 次数
+     * @return 执行时间戳 ms
+     */
+    public LongStream nextTimes(long from, int times) {
+        long[] result = new long[Math.max(times, 0)];
+        int count = 0;
+        while (count < result.length) {
+            from = this.nextTime(from);
+            if (from == -1) {
+                break;
+            }
+            result[count++] = from;
+        }
+        return Arrays.stream(result, 0, count);
+    }
+
+    /**
+     * 给定时间是否满足表达式 毫秒被忽略
+     *
+     * @param time 时间戳 ms
+     * @return 是否满足
+     */
+    public boolean isSatisfiedBy(long time) {
+        long second = Math.floorDiv(time, 1000);
+        return this.nextTime(second * 1000 - 1000) == second * 1000;
+    }
+
+    public Cron getCron() {
+        return cron;
+    }
+
+    /**
+     * 获取当月从 day 开始第一个匹配的日期
+     *
+     * @param year      年
+     * @param month     月
+     * @param day       日
+     * @param monthDays 当月天数
+     * @param epochDay  epochDay
+     * @return 日期 没有则返回 -1
+     */
+    private int nextDay(int year, int month, int day, int monthDays, long epochDay) {
+        if (dayOfMonthSpec) {
+            if (lastDayOfMonth || nearestWeekday) {
+                int target = this.getTargetDay(year, month, monthDays, epochDay - day);
+                return target >= day ? target : -1;
+            }
+            int next = nextBit(daysOfMonth, day);
+            return next > monthDays ? -1 : next;
+        }
+        for (; day <= monthDays; day++, epochDay++) {
+            if (this.matchDayOfWeek(day, monthDays, epochDay)) {
+                return day;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获取当月从 day 开始向前第一个匹配的日期
+     *
+     * @param year      年
+     * @param month     月
+     * @param day       日
+     * @param monthDays 当月天数
+     * @param epochDay  epochDay
+     * @return 日期 没有则返回 -1
+     */
+    private int previousDay(int year, int month, int day, int monthDays, long epochDay) {
+        if (dayOfMonthSpec) {
+            if (lastDayOfMonth || nearestWeekday) {
+                int target = this.getTargetDay(year, month, monthDays, epochDay - day);
+                return target >= 1 && target <= day ? target : -1;
+            }
+            return prevBit(daysOfMonth, Math.min(day, monthDays));
+        }
+        for (; day >= 1; day--, epochDay--) {
+            if (this.matchDayOfWeek(day, monthDays, epochDay)) {
+                return day;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获取 L / W 的目标日期
+     *
+     * @param year      年
+     * @param month     月
+     * @param monthDays 当月天数
+     * @param baseDay   当月第 0 天的 epochDay
+     * @return 目标日期 不存在返回 -1
+     */
+    private int getTargetDay(int year, int month, int monthDays, long baseDay) {
+        int target = lastDayOfMonth ? monthDays - lastDayOffset : nearestDay;
+        if (nearestWeekday) {
+            // 目标日期超出当月天数时与 Cron 相同, 使用顺延后的日期计算星期
+            int dayOfWeek = dayOfWeek(baseDay + target);
+            if (dayOfWeek == 7) {
+                // 周六
+                target = target == 1 ? target + 2 : target - 1;
+            } else if (dayOfWeek == 1) {
+                // 周日
+                target = target == monthDays ? target - 2 : target + 1;
+            }
+        }
+        return target < 1 || target > monthDays ? -1 : target;
+    }
+
+    /**
+     * 是否匹配 day of week 规则
+     *
+     * @param day       日
+     * @param monthDays 当月天数
+     * @param epochDay  epochDay
+     * @return 是否匹配
+     */
+    private boolean matchDayOfWeek(int day, int monthDays, long epochDay) {
+        int dayOfWeek = dayOfWeek(epochDay);
+        if (lastDayOfWeek) {
+            return dayOfWeek == targetDayOfWeek && day + 7 > monthDays;
+        } else if (nthDayOfWeek != 0) {
+            return dayOfWeek == targetDayOfWeek && (day - 1) / 7 + 1 == nthDayOfWeek;
+        }
+        return (daysOfWeek & (1L << dayOfWeek)) != 0;
+    }
+
+    /**
+     * 获取当天大于等于 secondOfDay 的第一个匹配的时间
+     *
+     * @param secondOfDay 当天秒数
+     * @return 当天秒数 没有则返回 -1
+     */
+    private int nextSecondOfDay(int secondOfDay) {
+        int h0 = secondOfDay / 3600;
+        int m0 = secondOfDay / 60 % 60;
+        int s0 = secondOfDay % 60;
+        int h = nextBit(hours, h0);
+        if (h == -1) {
+            return -1;
+        }
+        if (h == h0) {
+            int m = nextBit(minutes, m0);
+            if (m == m0) {
+                int s = nextBit(seconds, s0);
+                if (s != -1) {
+                    return h * 3600 + m * 60 + s;
+                }
+                m = nextBit(minutes, m0 + 1);
+            }
+            if (m != -1) {
+                return h * 3600 + m * 60 + nextBit(seconds, 0);
+            }
+            h = nextBit(hours, h0 + 1);
+            if (h == -1) {
+                return -1;
+            }
+        }
+        return h * 3600 + nextBit(minutes, 0) * 60 + nextBit(seconds, 0);
+    }
+
+    /**
+     * 获取当天小于等于 secondOfDay 的第一个匹配的时间
+     *
+     * @param secondOfDay 当天秒数
+     * @return 当天秒数 没有则返回 -1
+     */
+    private int previousSecondOfDay(int secondOfDay) {
+        int h0 = secondOfDay / 3600;
+        int m0 = secondOfDay / 60 % 60;
+        int s0 = secondOfDay % 60;
+        int h = prevBit(hours, h0);
+        if (h == -1) {
+            return -1;
+        }
+        if (h == h0) {
+            int m = prevBit(minutes, m0);
+            if (m == m0) {
+                int s = prevBit(seconds, s0);
+                if (s != -1) {
+                    return h * 3600 + m * 60 + s;
+                }
+                m = prevBit(minutes, m0 - 1);
+            }
+            if (m != -1) {
+                return h * 3600 + m * 60 + prevBit(seconds, 59);
+            }
+            h = prevBit(hours, h0 - 1);
+            if (h == -1) {
+                return -1;
+            }
+        }
+        return h * 3600 + prevBit(minutes, 59) * 60 + prevBit(seconds, 59);
+    }
+
+    /**
+     * 获取时区偏移
+     *
+     * @param epochSecond epochSecond
+     * @return 偏移秒数
+     */
+    private int getOffset(long epochSecond) {
+        if (fixedOffset != null) {
+            return fixedOffset;
+        }
+        return rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+
+    /**
+     * 本地时间转为 epochSecond
+     *
+     * @param local 本地时间秒数
+     * @param start 最小的 epochSecond 重复的本地时间优先取大于等于此值的第一个
+     * @return epochSecond
+     */
+    private long toEpochSecond(long local, long start) {
+        if (fixedOffset != null) {
+            return local - fixedOffset;
+        }
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(local, 0, ZoneOffset.UTC);
+        List<ZoneOffset> offsets = rules.getValidOffsets(dateTime);
+        if (offsets.isEmpty()) {
+            // 不存在的时间 按切换前的偏移顺延
+            ZoneOffsetTransition transition = rules.getTransition(dateTime);
+            return local - transition.getOffsetBefore().getTotalSeconds();
+        }
+        for (ZoneOffset offset : offsets) {
+            long epochSecond = local - offset.getTotalSeconds();
+            if (epochSecond >= start) {
+                return epochSecond;
+            }
+        }
+        return local - offsets.get(offsets.size() - 1).getTotalSeconds();
+    }
+
+    /**
+     * 集合转为位图 忽略范围外的值 (* ? 标记)
+     *
+     * @param values values
+     * @param min    最小值
+     * @param max    最大值
+     * @return 位图
+     */
+    private static long toMask(Iterable<Integer> values, int min, int max) {
+        long mask = 0;
+        for (Integer value : values) {
+            if (value >= min && value <= max) {
+                mask |= 1L << value;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * 获取大于等于 from 的第一个位
+     *
+     * @param mask mask
+     * @param from from
+     * @return 位 没有则返回 -1
+     */
+    private static int nextBit(long mask, int from) {
+        if (from > 63) {
+            return -1;
+        }
+        long m = mask & (-1L << Math.max(from, 0));
+        return m == 0 ? -1 : Long.numberOfTrailingZeros(m);
+    }
+
+    /**
+     * 获取小于等于 from 的第一个位
+     *
+     * @param mask mask
+     * @param from from
+     * @return 位 没有则返回 -1
+     */
+    private static int prevBit(long mask, int from) {
+        if (from < 0) {
+            return -1;
+        }
+        long m = from >= 63 ? mask : mask & ((1L << (from + 1)) - 1);
+        return m == 0 ? -1 : 63 - Long.numberOfLeadingZeros(m);
+    }
+
+    /**
+     * 获取星期
+     *
+     * @param epochDay epochDay
+     * @return 1: 周日 ~ 7: 周六
+     */
+    private static int dayOfWeek(long epochDay) {
+        // 1970-01-01 为周四
+        return (int) Math.floorMod(epochDay + 4, 7) + 1;
+    }
+
+    /**
+     * 获取当月天数
+     *
+     * @param year  年
+     * @param month 月
+     * @return 天数
+     */
+    private static int monthDays(int year, int month) {
+        if (month == 2 && (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0))) {
+            return 29;
+        }
+        return MONTH_DAYS[month];
+    }
+
+    /**
+     * 日期转为 epochDay
+     *
+     * @param year  年
+     * @param month 月
+     * @param day   日
+     * @return epochDay
+     */
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    /**
+     * epochDay 转为日期
+     *
+     * @param epochDay epochDay
+     * @return year << 9 | month << 5 | day
+     */
+    private static long civil(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        long day = doy - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+}
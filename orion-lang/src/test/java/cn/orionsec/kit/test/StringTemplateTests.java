@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test;
+
+import cn.orionsec.kit.lang.define.StringTemplate;
+import cn.orionsec.kit.lang.utils.Objects1;
+import cn.orionsec.kit.lang.utils.Strings;
+import cn.orionsec.kit.lang.utils.collect.Maps;
+import cn.orionsec.kit.lang.utils.json.matcher.NoMatchStrategy;
+import cn.orionsec.kit.lang.utils.json.matcher.ReplacementFormatter;
+import cn.orionsec.kit.lang.utils.json.matcher.ReplacementFormatters;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 10:40
+ */
+public class StringTemplateTests {
+
+    private static final String[] NAMED = {
+            "hello ${name}, age: ${age}",
+            "${name}${name}${none}",
+            "${}${name}",
+            "${}}${$}",
+            "${na\nme} ${name}",
+            "$${name}} ${",
+            "no placeholder",
+            "${ name }${age"
+    };
+
+    private static final String[] POSITIONAL = {
+            "{} + {} = {}",
+            "\\{} {} \\\\{} {}",
+            "{}{}",
+            "a\\{}b",
+            "{}}{{}",
+            "no placeholder"
+    };
+
+    @Test
+    public void named() {
+        Map<String, Object> map = Maps.of("name", "whh", "age", 18, "}", "brace", "$", "dollar");
+        for (String template : NAMED) {
+            String expected = regexFormat(template, map);
+            String actual = Strings.format(template, map);
+            System.out.println(expected.equals(actual) + " " + actual);
+        }
+        StringBuilder sb = new StringBuilder();
+        StringTemplate.compile("[#{name}]", "#{", "}").render(sb, map::get);
+        System.out.println(sb);
+    }
+
+    @Test
+    public void positional() {
+        Object[][] argsList = {{}, {1}, {1, 2}, {1, 2, 3}, {1, 2, 3, 4, 5}};
+        for (String template : POSITIONAL) {
+            for (Object[] args : argsList) {
+                String expected = Strings.format(template, args);
+                String actual = StringTemplate.positional(template).format(args);
+                System.out.println(expected.equals(actual) + " " + actual);
+            }
+        }
+    }
+
+    @Test
+    public void json() {
+        String json = "{\"name\":\"whh\",\"info\":{\"tags\":[\"a\",\"b\"],\"age\":18}}";
+        System.out.println(ReplacementFormatters.format("${name} ${info.age} ${ info.tags[1] } ${none}", json));
+        ReplacementFormatter formatter = ReplacementFormatters.create("#{", "}")
+                .noMatchStrategy(NoMatchStrategy.KEEP)
+                .defaultValue("info.sex", "男");
+        System.out.println(formatter.format("#{name} #{info.sex} #{none}", json));
+        System.out.println(formatter.format(new StringBuilder(), "#{info.tags}", json));
+    }
+
+    @Test
+    public void throughput() {
+        Map<String, Object> map = Maps.of("name", "whh", "age", 18);
+        String template = "hello ${name}, age: ${age}, hello ${name}";
+        int count = 1000000;
+        for (int i = 0; i < count; i++) {
+            Strings.format(template, map);
+            regexFormat(template, map);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            regexFormat(template, map);
+        }
+        System.out.println("regex: " + (System.nanoTime() - start) / count + " ns/op");
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            Strings.format(template, map);
+        }
+        System.out.println("compiled: " + (System.nanoTime() - start) / count + " ns/op");
+    }
+
+    /**
+     * 原正则实现
+     */
+    private static String regexFormat(String str, Map<?, ?> map) {
+        Matcher matcher = Pattern.compile("(\\$\\{)(.+?)(\\})").matcher(str);
+        while (matcher.find()) {
+            String group = matcher.group();
+            Object value = map.get(group.substring(2, group.length() - 1));
+            if (value != null) {
+                str = str.replace(group, Objects1.toString(value));
+            }
+        }
+        return str;
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test;
+
+import cn.orionsec.kit.lang.support.timeout.TimeoutCheckers;
+import cn.orionsec.kit.lang.support.timeout.TimeoutEndpoint;
+import cn.orionsec.kit.lang.support.timeout.TimingWheelTimeoutChecker;
+import cn.orionsec.kit.lang.utils.Threads;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 16:40
+ */
+public class TimeoutCheckerTests {
+
+    @Test
+    public void wheel() throws InterruptedException {
+        TimingWheelTimeoutChecker<Endpoint> checker = TimeoutCheckers.createWheel(20, 256);
+        new Thread(checker).start();
+        AtomicLong maxJitter = new AtomicLong();
+        int threads = 4;
+        int size = 25000;
+        List<Endpoint> all = new ArrayList<>();
+        for (int i = 0; i < threads * size; i++) {
+            // 一半任务在超时前完成
+            all.add(new Endpoint(300 + ThreadLocalRandom.current().nextInt(2000), i % 2 != 0, maxJitter));
+        }
+        CountDownLatch latch = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            List<Endpoint> part = all.subList(t * size, (t + 1) * size);
+            new Thread(() -> {
+                for (Endpoint endpoint : part) {
+                    endpoint.start();
+                    checker.addTask(endpoint);
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        System.out.println("add " + all.size() + " tasks: " + (System.nanoTime() - start) / 1000000 + "ms");
+        Threads.sleep(3000);
+        long timeout = all.stream().filter(e -> e.timeout).count();
+        System.out.println("timeout: " + timeout + " count: " + checker.getTimeoutCount()
+                + " remaining: " + checker.getTaskCount() + " maxJitter: " + maxJitter.get() + "ms");
+        Assert.assertEquals(all.size() / 2, timeout);
+        Assert.assertTrue(checker.isEmpty());
+        checker.close();
+    }
+
+    @Test
+    public void cancel() {
+        TimingWheelTimeoutChecker<Endpoint> checker = TimeoutCheckers.createWheel(10, 64);
+        new Thread(checker).start();
+        Endpoint endpoint = new Endpoint(200, false, new AtomicLong());
+        endpoint.start();
+        TimingWheelTimeoutChecker.TimeoutTask<Endpoint> task = checker.schedule(endpoint);
+        Assert.assertTrue(task.cancel());
+        Assert.assertFalse(task.cancel());
+        // 超过一圈的任务
+        Endpoint longer = new Endpoint(1500, false, new AtomicLong());
+        longer.start();
+        checker.addTask(longer);
+        Threads.sleep(1000);
+        Assert.assertFalse(endpoint.timeout);
+        Assert.assertFalse(longer.timeout);
+        Threads.sleep(800);
+        Assert.assertTrue(longer.timeout);
+        Assert.assertTrue(checker.isEmpty());
+        checker.close();
+    }
+
+    @Test
+    public void done() {
+        TimingWheelTimeoutChecker<Endpoint> checker = new TimingWheelTimeoutChecker<>(10, 64, 100);
+        new Thread(checker).start();
+        List<TimingWheelTimeoutChecker.TimeoutTask<Endpoint>> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Endpoint endpoint = new Endpoint(60000, false, new AtomicLong());
+            endpoint.start();
+            tasks.add(checker.schedule(endpoint));
+        }
+        Threads.sleep(50);
+        Assert.assertEquals(100, checker.getTaskCount());
+        // 完成时取消 不需要等到超时时间点才移除
+        for (TimingWheelTimeoutChecker.TimeoutTask<Endpoint> task : tasks) {
+            task.getTask().done = true;
+            task.cancel();
+        }
+        Threads.sleep(50);
+        Assert.assertTrue(checker.isEmpty());
+        Assert.assertEquals(0, checker.getTimeoutCount());
+        checker.close();
+    }
+
+    static class Endpoint implements TimeoutEndpoint {
+
+        private final long timeoutMillis;
+
+        private final AtomicLong maxJitter;
+
+        private long deadline;
+
+        private volatile boolean done;
+
+        private volatile boolean timeout;
+
+        Endpoint(long timeoutMillis, boolean done, AtomicLong maxJitter) {
+            this.timeoutMillis = timeoutMillis;
+            this.done = done;
+            this.maxJitter = maxJitter;
+        }
+
+        void start() {
+            this.deadline = System.currentTimeMillis() + timeoutMillis;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public boolean checkTimeout() {
+            long now = System.currentTimeMillis();
+            if (now < deadline) {
+                return false;
+            }
+            maxJitter.accumulateAndGet(now - deadline, Math::max);
+            this.timeout = true;
+            return true;
+        }
+
+        @Override
+        public long getTimeoutDeadline() {
+            return deadline;
+        }
+
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test;
+
+import cn.orionsec.kit.lang.utils.Xsses;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 11:20
+ */
+public class XssesTests {
+
+    private static final Pattern SCRIPT = Pattern.compile("<[\\s]*?script[^>]*?>[\\s\\S]*?<[\\s]*?\\/[\\s]*?script[\\s]*?>", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern STYLE = Pattern.compile("<[\\s]*?style[^>]*?>[\\s\\S]*?<[\\s]*?\\/[\\s]*?style[\\s]*?>", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>", Pattern.CASE_INSENSITIVE);
+
+    private static final String[] PARTS = {"<", ">", "/", " ", "\t", "\n", "&", "'", "\"", "a", "1",
+            "script", "SCRIPT", "Style", "style", "<script>", "</script>", "<style>", "</ style >", "<b>", "中"};
+
+    @Test
+    public void clean() {
+        System.out.println(Xsses.clean("<script type=\"text/javascript\">alert(1)</script><b>bold</b> & 'quote'\n\tend"));
+        System.out.println(Xsses.clean("< STYLE >body{}</style >text<>"));
+        System.out.println(Xsses.clean("plain_text-without.special"));
+        System.out.println(Xsses.recode(Xsses.clean("a < b & c > 'd' \"e\"\n")));
+    }
+
+    @Test
+    public void writer() throws Exception {
+        StringWriter writer = new StringWriter();
+        Xsses.clean("<div>hello world</div> & <script>x</script>", writer);
+        System.out.println(writer);
+    }
+
+    @Test
+    public void differential() {
+        Random random = new Random(1);
+        int mismatch = 0;
+        for (int i = 0; i < 100000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int count = random.nextInt(16);
+            for (int j = 0; j < count; j++) {
+                sb.append(PARTS[random.nextInt(PARTS.length)]);
+            }
+            String s = sb.toString();
+            if (!regexClean(s).equals(Xsses.clean(s))) {
+                mismatch++;
+                System.out.println("mismatch: " + s);
+            }
+        }
+        System.out.println("mismatch: " + mismatch);
+        Assert.assertEquals(0, mismatch);
+    }
+
+    /**
+     * 原正则实现
+     */
+    private static String regexClean(String s) {
+        if (s.trim().isEmpty()) {
+            return s;
+        }
+        s = SCRIPT.matcher(s).replaceAll("");
+        s = STYLE.matcher(s).replaceAll("");
+        s = HTML_TAG.matcher(s).replaceAll("");
+        s = s.replaceAll("&", "&amp;");
+        s = s.replaceAll("<", "&lt;");
+        s = s.replaceAll(">", "&gt;");
+        s = s.replaceAll(" ", "&nbsp;");
+        s = s.replaceAll("'", "&apos;");
+        s = s.replaceAll("\"", "&quot;");
+        s = s.replaceAll("\n", "<br/>");
+        s = s.replaceAll("\t", "&nbsp;&nbsp;&nbsp;&nbsp;");
+        return s;
+    }
+
+}
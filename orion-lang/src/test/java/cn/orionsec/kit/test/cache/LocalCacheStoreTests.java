@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.cache;
+
+import cn.orionsec.kit.lang.define.cache.LocalCacheStore;
+import cn.orionsec.kit.lang.utils.Threads;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地缓存存储测试
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/27 17:32
+ */
+public class LocalCacheStoreTests {
+
+    @Test
+    public void concurrentPut() throws Exception {
+        File file = File.createTempFile("dataStore", ".map");
+        LocalCacheStore store = new LocalCacheStore(file);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        AtomicInteger seq = new AtomicInteger();
+        long start = System.currentTimeMillis();
+        Threads.blockRun(() -> {
+            for (int i = 0; i < 1000; i++) {
+                int id = seq.incrementAndGet();
+                store.put("key" + id, id);
+            }
+        }, 8, pool);
+        pool.shutdown();
+        System.out.println("put 8000 used: " + (System.currentTimeMillis() - start) + "ms");
+        System.out.println(store.getLogLength());
+        store.remove("key1");
+        store.close();
+        // 重新加载
+        LocalCacheStore reload = new LocalCacheStore(file);
+        System.out.println(reload.size());
+        System.out.println(reload.get("key2"));
+        reload.deleteFile();
+        reload.close();
+    }
+
+    @Test
+    public void compactAndRecover() throws Exception {
+        File file = File.createTempFile("dataStore", ".map");
+        LocalCacheStore store = new LocalCacheStore(file, 4096);
+        for (int i = 0; i < 500; i++) {
+            store.put("key" + i, "value" + i);
+        }
+        System.out.println(store.getLogLength());
+        store.put("last", "last");
+        store.close();
+        // 模拟写入一半时崩溃
+        File log = new File(file.getPath() + ".log");
+        try (RandomAccessFile raf = new RandomAccessFile(log, "rw")) {
+            raf.seek(raf.length());
+            raf.writeInt(1024);
+            raf.writeInt(0);
+            raf.write(new byte[]{1, 2, 3});
+        }
+        LocalCacheStore reload = new LocalCacheStore(file, 4096);
+        System.out.println(reload.size());
+        System.out.println(reload.get("last"));
+        reload.deleteFile();
+        reload.close();
+    }
+
+    @Test
+    public void appendFailure() throws Exception {
+        File file = File.createTempFile("dataStore", ".map");
+        LocalCacheStore store = new LocalCacheStore(file);
+        store.put("key", "value");
+        store.close();
+        // 日志追加失败时不修改内存
+        try {
+            store.put("key", "changed");
+            Assert.fail();
+        } catch (RuntimeException e) {
+            System.out.println(e.getMessage());
+        }
+        Assert.assertEquals("value", store.get("key"));
+    }
+
+    @Test
+    public void tornTail() throws Exception {
+        File file = File.createTempFile("dataStore", ".map");
+        LocalCacheStore store = new LocalCacheStore(file);
+        store.put("a", 1);
+        store.close();
+        // 模拟写入一半的记录
+        File log = new File(file.getPath() + ".log");
+        try (FileOutputStream out = new FileOutputStream(log, true)) {
+            out.write(new byte[]{0, 0, 0, 100, 1, 2, 3});
+        }
+        LocalCacheStore reload = new LocalCacheStore(file);
+        Assert.assertEquals(1, reload.get("a"));
+        reload.put("b", 2);
+        reload.close();
+        // 截断后追加的记录可以重放
+        LocalCacheStore again = new LocalCacheStore(file);
+        Assert.assertEquals(1, again.get("a"));
+        Assert.assertEquals(2, again.get("b"));
+        again.deleteFile();
+        again.close();
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.cache;
+
+import cn.orionsec.kit.lang.define.cache.TimedCache;
+import cn.orionsec.kit.lang.define.cache.TimedCacheBuilder;
+import cn.orionsec.kit.lang.define.cache.TimedCacheScheduler;
+import cn.orionsec.kit.lang.define.cache.TimedCacheValue;
+import cn.orionsec.kit.lang.define.cache.TimedCacheWheel;
+import cn.orionsec.kit.lang.utils.Threads;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 过期缓存测试
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/23 14:05
+ */
+public class TimedCacheTests {
+
+    @Test
+    public void expire() throws IOException {
+        TimedCache<Integer> cache = TimedCacheBuilder.<Integer>create()
+                .expireAfter(300)
+                .checkInterval(100)
+                .expiredListener((k, v) -> System.out.println("expired " + k + " " + v))
+                .build();
+        for (int i = 0; i < 5; i++) {
+            cache.put("key" + i, i);
+        }
+        cache.put("long", 100, 2000);
+        System.out.println(cache.size());
+        Threads.sleep(600);
+        System.out.println(cache.size());
+        System.out.println(cache.get("long"));
+        cache.close();
+    }
+
+    @Test
+    public void lazyExpire() throws IOException {
+        TimedCache<String> cache = TimedCacheBuilder.<String>create()
+                .expireAfter(100)
+                .checkInterval(60000)
+                .build();
+        cache.put("key", "value");
+        System.out.println(cache.get("key"));
+        Threads.sleep(200);
+        System.out.println(cache.get("key"));
+        System.out.println(cache.size());
+        cache.close();
+    }
+
+    @Test
+    public void shared() throws IOException {
+        List<TimedCache<Integer>> caches = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            TimedCache<Integer> cache = TimedCacheBuilder.create(100, 50);
+            cache.put("key", i);
+            caches.add(cache);
+        }
+        System.out.println(TimedCacheScheduler.getInstance().getRegisteredCount());
+        Threads.sleep(300);
+        System.out.println(caches.stream().mapToInt(TimedCache::size).sum());
+        System.out.println(Thread.activeCount());
+        for (TimedCache<Integer> cache : caches) {
+            cache.close();
+        }
+        System.out.println(TimedCacheScheduler.getInstance().getRegisteredCount());
+    }
+
+    @Test
+    public void wheelRemove() {
+        long now = System.currentTimeMillis();
+        TimedCacheWheel<Integer> wheel = new TimedCacheWheel<>(100, now);
+        List<TimedCacheValue<Integer>> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            TimedCacheValue<Integer> value = new TimedCacheValue<>("key" + i, now + 1000 + i * 100L, i);
+            wheel.add(value);
+            values.add(value);
+        }
+        Assert.assertEquals(1000, wheel.size());
+        // 覆盖或删除后立即从时间轮移除
+        for (int i = 0; i < 1000; i += 2) {
+            wheel.remove(values.get(i));
+        }
+        Assert.assertEquals(500, wheel.size());
+        // 已移除的元素不会再被添加
+        wheel.add(values.get(0));
+        Assert.assertEquals(500, wheel.size());
+        List<TimedCacheValue<Integer>> expired = wheel.advance(now + 1000 * 100L + 1000);
+        Assert.assertEquals(500, expired.size());
+        Assert.assertEquals(0, wheel.size());
+        wheel.add(new TimedCacheValue<>("key", now + 200000, 1));
+        wheel.clear();
+        Assert.assertEquals(0, wheel.size());
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.cache;
+
+import cn.orionsec.kit.lang.define.cache.TinyLfuCache;
+import cn.orionsec.kit.lang.define.cache.TinyLfuCacheBuilder;
+import cn.orionsec.kit.lang.utils.Threads;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * W-TinyLFU 缓存测试
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/20 17:20
+ */
+public class TinyLfuCacheTests {
+
+    @Test
+    public void bounded() {
+        TinyLfuCache<Integer, String> cache = TinyLfuCacheBuilder.<Integer, String>create()
+                .maximumSize(100)
+                .evictionListener((k, v) -> System.out.println("evicted " + k))
+                .build();
+        for (int i = 0; i < 150; i++) {
+            cache.put(i, "v" + i);
+        }
+        System.out.println(cache.size());
+        System.out.println(cache.getEvictions());
+    }
+
+    @Test
+    public void scanResistant() {
+        TinyLfuCache<Integer, Integer> cache = TinyLfuCacheBuilder.create(1000);
+        // 热点数据
+        for (int r = 0; r < 10; r++) {
+            for (int i = 0; i < 500; i++) {
+                cache.computeIfAbsent(i, k -> k);
+            }
+        }
+        // 一次性扫描
+        for (int i = 10000; i < 100000; i++) {
+            cache.computeIfAbsent(i, k -> k);
+        }
+        cache.resetStats();
+        for (int i = 0; i < 500; i++) {
+            cache.get(i);
+        }
+        System.out.println("hot hits rate: " + cache.getHitsRate());
+    }
+
+    @Test
+    public void weighted() {
+        TinyLfuCache<String, String> cache = TinyLfuCacheBuilder.<String, String>create()
+                .maximumWeight(1000, (k, v) -> v.length())
+                .build();
+        for (int i = 0; i < 100; i++) {
+            cache.put("key" + i, "0123456789012345678901234567890123456789");
+        }
+        System.out.println(cache.weightedSize());
+        System.out.println(cache.size());
+    }
+
+    @Test
+    public void hugeWeight() {
+        // 按字节计算权重 草图容量与元素数相关, 与权重无关
+        TinyLfuCache<Integer, byte[]> cache = TinyLfuCacheBuilder.<Integer, byte[]>create()
+                .maximumWeight(8L * 1024 * 1024 * 1024, (k, v) -> v.length)
+                .build();
+        for (int i = 0; i < 10000; i++) {
+            cache.put(i, new byte[16]);
+        }
+        Assert.assertEquals(10000, cache.size());
+        System.out.println(cache.weightedSize());
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        TinyLfuCache<Integer, Integer> cache = TinyLfuCacheBuilder.<Integer, Integer>create()
+                .maximumSize(10000)
+                .concurrencyLevel(16)
+                .build();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        Threads.blockRun(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 100000; i++) {
+                int key = random.nextInt(20000);
+                if (cache.get(key) == null) {
+                    cache.put(key, key);
+                }
+            }
+        }, 8, pool);
+        pool.shutdown();
+        System.out.println(cache.getSegmentCount());
+        System.out.println(cache.size());
+        System.out.println(cache.getHitsRate());
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.date;
+
+import cn.orionsec.kit.lang.utils.time.cron.Cron;
+import cn.orionsec.kit.lang.utils.time.cron.CronEvaluator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.stream.Collectors;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 16:20
+ */
+public class CronEvaluatorTests {
+
+    private static final String[] EXPRESSIONS = {
+            "* * * * * ?",
+            "0 * * * * ?",
+            "0 0 * * * ?",
+            "0 0 0 * * ?",
+            "0/5 * * * * ?",
+            "3/7 1-50/4 * * * ?",
+            "0 0/15 9-17 * * ?",
+            "0 30 10,14,16 * * ?",
+            "0 0 12 ? * MON-FRI",
+            "0 0 12 ? * SAT,SUN",
+            "0 15 10 ? * 6L",
+            "0 15 10 ? * 2#1",
+            "0 15 10 ? * 6#3",
+            "0 15 10 ? * 1#5",
+            "0 15 10 L * ?",
+            "0 15 10 L-2 * ?",
+            "0 0 8 LW * ?",
+            "0 0 8 15W * ?",
+            "0 0 8 1W * ?",
+            "59 59 23 31 12 ?",
+            "0 0 0 29 2 ?",
+            "0 0 0 31 * ?",
+            "0 0 0 1 1/3 ?",
+            "0 0 0 ? * L",
+            "0 11 11 11 11 ? 2030",
+            "0 0 0 1 * ? 2025-2030",
+            "0 0 0 1 1 ? 2020",
+            "10-20 5 3 ? JAN,JUN,DEC SUN",
+    };
+
+    @Test
+    public void differential() {
+        TimeZone[] zones = {TimeZone.getTimeZone("UTC"), TimeZone.getTimeZone("Asia/Shanghai"), TimeZone.getTimeZone("GMT+05:30")};
+        Random random = new Random(42);
+        int checked = 0;
+        int mismatch = 0;
+        for (TimeZone zone : zones) {
+            for (String expression : EXPRESSIONS) {
+                Cron cron = Cron.of(expression);
+                cron.setTimeZone(zone);
+                CronEvaluator evaluator = cron.getEvaluator();
+                for (int i = 0; i < 300; i++) {
+                    // 2000 ~ 2040
+                    long from = 946684800000L + (long) (random.nextDouble() * 1262304000000L);
+                    Date expected = cron.getNextValidTimeAfter(new Date(from));
+                    long actual = evaluator.nextTime(from);
+                    checked++;
+                    if ((expected == null ? -1 : expected.getTime()) != actual) {
+                        mismatch++;
+                        System.out.println(zone.getID() + " " + expression + " from: " + new Date(from)
+                                + " expected: " + expected + " actual: " + (actual == -1 ? null : new Date(actual)));
+                    }
+                    // 上次执行时间
+                    if (actual != -1) {
+                        long previous = evaluator.previousTime(actual);
+                        if (previous != -1) {
+                            Date next = cron.getNextValidTimeAfter(new Date(previous));
+                            if (next == null || next.getTime() != actual || previous >= actual) {
+                                mismatch++;
+                                System.out.println(zone.getID() + " " + expression + " previous: " + new Date(previous) + " next: " + new Date(actual));
+                            }
+                        }
+                        Assert.assertTrue(evaluator.isSatisfiedBy(actual));
+                    }
+                }
+            }
+        }
+        System.out.println("checked: " + checked + " mismatch: " + mismatch);
+        Assert.assertEquals(0, mismatch);
+    }
+
+    @Test
+    public void dst() {
+        Cron cron = Cron.of("0 30 2 * * ?");
+        cron.setTimeZone(TimeZone.getTimeZone("America/New_York"));
+        CronEvaluator evaluator = cron.getEvaluator();
+        // 2025-03-08 12:00 UTC, 2:30 当地时间在 3-09 不存在
+        evaluator.nextTimes(1741435200000L, 4)
+                .mapToObj(Date::new)
+                .forEach(System.out::println);
+        // 2025-11-01 12:00 UTC
+        System.out.println(evaluator.nextTimes(1762000000000L, 3)
+                .mapToObj(t -> new Date(t).toString())
+                .collect(Collectors.joining(", ")));
+    }
+
+    @Test
+    public void nextTimes() {
+        CronEvaluator evaluator = CronEvaluator.of("0 0 12 ? * MON-FRI");
+        evaluator.nextTimes(System.currentTimeMillis(), 10)
+                .mapToObj(Date::new)
+                .forEach(System.out::println);
+        Assert.assertEquals(0, CronEvaluator.of("0 0 0 1 1 ? 2020").nextTimes(System.currentTimeMillis(), 5).count());
+    }
+
+    @Test
+    public void benchmark() {
+        String[] expressions = {"0/1 * * * * ?", "0 15 10 ? * 6L", "0 0 8 LW * ?", "0 0/15 9-17 ? * MON-FRI"};
+        int times = 100000;
+        for (String expression : expressions) {
+            Cron cron = Cron.of(expression);
+            CronEvaluator evaluator = cron.getEvaluator();
+            for (int r = 0; r < 2; r++) {
+                long from = System.currentTimeMillis();
+                long start = System.nanoTime();
+                Date date = new Date(from);
+                for (int i = 0; i < times; i++) {
+                    date = i % 500 == 0 ? new Date(from) : cron.getNextValidTimeAfter(date);
+                }
+                long cronCost = System.nanoTime() - start;
+                start = System.nanoTime();
+                long next = from;
+                for (int i = 0; i < times; i++) {
+                    next = i % 500 == 0 ? from : evaluator.nextTime(next);
+                }
+                long evaluatorCost = System.nanoTime() - start;
+                Assert.assertEquals(date.getTime(), next);
+                System.out.println(expression + " cron: " + cronCost / times + "ns evaluator: " + evaluatorCost / times + "ns");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.date;
+
+import cn.orionsec.kit.lang.define.cron.*;
+import cn.orionsec.kit.lang.utils.Threads;
+import cn.orionsec.kit.lang.utils.time.cron.Cron;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 15:30
+ */
+public class CronSchedulerTests {
+
+    @Test
+    public void schedule() {
+        CronScheduler scheduler = CronScheduler.create();
+        AtomicInteger counter = new AtomicInteger();
+        CronJob job = scheduler.schedule("counter", "* * * * * ?", counter::incrementAndGet);
+        System.out.println(job + " next: " + job.getNextTime());
+        Threads.sleep(3200);
+        job.cancel();
+        System.out.println("count: " + counter.get() + " execute: " + job.getExecuteCount()
+                + " avgLatency: " + job.getAverageLatency() + " maxLatency: " + job.getMaxLatency()
+                + " done: " + job.isDone() + " jobs: " + scheduler.getJobCount());
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void overlap() {
+        CronScheduler scheduler = CronSchedulerBuilder.create()
+                .exceptionHandler((job, e) -> System.out.println(job.getName() + " error: " + e.getMessage()))
+                .build();
+        Cron cron = Cron.of("* * * * * ?");
+        Runnable slow = () -> Threads.sleep(2500);
+        CronJob skip = scheduler.schedule("skip", cron, slow, MisfirePolicy.FIRE_ONCE, OverlapPolicy.SKIP);
+        CronJob serial = scheduler.schedule("serial", cron, slow, MisfirePolicy.FIRE_ONCE, OverlapPolicy.SERIAL);
+        CronJob allow = scheduler.schedule("allow", cron, slow, MisfirePolicy.FIRE_ONCE, OverlapPolicy.ALLOW);
+        CronJob error = scheduler.schedule("error", cron, () -> {
+            throw new IllegalStateException("failed");
+        });
+        Threads.sleep(4200);
+        for (CronJob job : scheduler.getJobs()) {
+            System.out.println(job.getName() + " execute: " + job.getExecuteCount() + " skip: " + job.getSkipCount()
+                    + " error: " + job.getErrorCount() + " running: " + job.isRunning()
+                    + " avgDuration: " + job.getAverageDuration() + " avgLatency: " + job.getAverageLatency());
+        }
+        System.out.println(skip.getSkipCount() + " " + serial.getSkipCount() + " " + allow.getSkipCount() + " " + error.getLastError());
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void manyJobs() {
+        CronScheduler scheduler = CronScheduler.create();
+        AtomicInteger counter = new AtomicInteger();
+        int size = 5000;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            scheduler.schedule("job-" + i, "0/1 * * * * ?", counter::incrementAndGet);
+        }
+        System.out.println("schedule " + size + " jobs: " + (System.currentTimeMillis() - start) + "ms");
+        Threads.sleep(2500);
+        long maxLatency = scheduler.getJobs().stream().mapToLong(CronJob::getMaxLatency).max().orElse(0);
+        System.out.println("executed: " + counter.get() + " maxLatency: " + maxLatency + "ms");
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void scheduleAfterShutdown() {
+        CronScheduler scheduler = CronScheduler.create();
+        scheduler.shutdown();
+        try {
+            scheduler.schedule("late", "* * * * * ?", () -> {
+            });
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
+        }
+        Assert.assertEquals(0, scheduler.getJobCount());
+    }
+
+}
@@ -56,11 +56,11 @@ import org.junit.Test;
  */
 public class CompressTests {
 
-    private String dir = "C:\\Users\\ljh15\\Desktop\\3.0";
+    private String desktop = System.getProperty("java.io.tmpdir") + "/orion-compress";
 
-    private String desktop = "C:\\Users\\ljh15\\Desktop";
+    private String dir = desktop + "/3.0";
 
-    private String target = "C:\\Users\\ljh15\\Desktop\\target1";
+    private String target = desktop + "/target1";
 
     @Test
     public void zipCompress() throws Exception {
@@ -78,7 +78,7 @@ public class CompressTests {
     @Test
     public void zipDecompress() throws Exception {
         ZipDecompressor d = new ZipDecompressor();
-        d.setDecompressFile("C:\\Users\\ljh15\\Desktop\\3.0.zip");
+        d.setDecompressFile(desktop + "/3.0.zip");
         d.setDecompressTargetPath(target);
         d.decompress();
         Files1.delete(target);
@@ -101,7 +101,7 @@ public class CompressTests {
     @Test
     public void jarDecompress() throws Exception {
         JarDecompressor d = new JarDecompressor();
-        d.setDecompressFile("C:\\Users\\ljh15\\Desktop\\3.0.jar");
+        d.setDecompressFile(desktop + "/3.0.jar");
         d.setDecompressTargetPath(target);
         d.decompress();
         Files1.delete(target);
@@ -124,7 +124,7 @@ public class CompressTests {
     @Test
     public void z7Decompress() throws Exception {
         Z7Decompressor d = new Z7Decompressor();
-        d.setDecompressFile("C:\\Users\\ljh15\\Desktop\\3.0.7z");
+        d.setDecompressFile(desktop + "/3.0.7z");
         d.setDecompressTargetPath(target);
         d.decompress();
         Files1.delete(target);
@@ -147,7 +147,7 @@ public class CompressTests {
     @Test
     public void tarDecompress() throws Exception {
         TarDecompressor d = new TarDecompressor();
-        d.setDecompressFile("C:\\Users\\ljh15\\Desktop\\3.0.tar");
+        d.setDecompressFile(desktop + "/3.0.tar");
         d.setDecompressTargetPath(target);
         d.decompress();
         Files1.delete(target);
@@ -168,7 +168,7 @@ public class CompressTests {
     @Test
     public void gzDecompress() throws Exception {
         GzDecompressor d = new GzDecompressor();
-        d.setDecompressFile("C:\\Users\\ljh15\\Desktop\\3.0.gz");
+        d.setDecompressFile(desktop + "/3.0.gz");
         d.setDecompressTargetPath(target);
         d.decompress();
         System.out.println(d.getDecompressTargetFile());
@@ -190,7 +190,7 @@ public class CompressTests {
     @Test
     public void bz2Decompress() throws Exception {
         Bz2Decompressor d = new Bz2Decompressor();
-        d.setDecompressFile("C:\\Users\\ljh15\\Desktop\\3.0.bz2");
+        d.setDecompressFile(desktop + "/3.0.bz2");
         d.setDecompressTargetPath(target);
         d.setDecompressTargetFileName("README");
         d.decompress();
@@ -215,7 +215,7 @@ public class CompressTests {
     @Test
     public void tarGzDecompress() throws Exception {
         TarGzDecompressor d = new TarGzDecompressor();
-        d.setDecompressFile("C:\\Users\\ljh15\\Desktop\\3.0.tar.gz");
+        d.setDecompressFile(desktop + "/3.0.tar.gz");
         d.setDecompressTargetPath(target);
         d.decompress();
         Files1.delete(target);
@@ -238,7 +238,7 @@ public class CompressTests {
     @Test
     public void tarBz2Decompress() throws Exception {
         TarBz2Decompressor d = new TarBz2Decompressor();
-        d.setDecompressFile("C:\\Users\\ljh15\\Desktop\\3.0.tar.bz2");
+        d.setDecompressFile(desktop + "/3.0.tar.bz2");
         d.setDecompressTargetPath(target);
         d.decompress();
         Files1.delete(target);
@@ -293,7 +293,7 @@ public class CompressTests {
         System.out.println(absoluteCompressPath);
 
         FileDecompressor d = zip.decompressor().get();
-        d.setDecompressFile("C:\\Users\\ljh15\\Desktop\\3.0.zip");
+        d.setDecompressFile(desktop + "/3.0.zip");
         d.setDecompressTargetPath(target);
         d.decompress();
         Files1.delete(target);
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.file;
+
+import cn.orionsec.kit.lang.utils.io.Files1;
+import cn.orionsec.kit.lang.utils.io.split.FileBlockManifest;
+import cn.orionsec.kit.lang.utils.io.split.ParallelFileMerge;
+import cn.orionsec.kit.lang.utils.io.split.ParallelFileSplit;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并行文件拆分合并测试
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/2 14:30
+ */
+public class ParallelFileSplitMergeTests {
+
+    @Test
+    public void splitMerge() throws IOException {
+        File file = createFile(32 * 1024 * 1024 + 17);
+        System.out.println(Files1.md5(file));
+        long start = System.currentTimeMillis();
+        ParallelFileSplit split = new ParallelFileSplit(file, 8);
+        String[] blocks = split.call();
+        System.out.println("split used: " + (System.currentTimeMillis() - start) + "ms, blocks: " + blocks.length);
+        for (FileBlockManifest.Block block : split.getManifest().getBlocks()) {
+            System.out.println(block);
+        }
+        start = System.currentTimeMillis();
+        String merged = new ParallelFileMerge(new File(file.getAbsolutePath() + ".block")).verify(true).call();
+        System.out.println("merge used: " + (System.currentTimeMillis() - start) + "ms");
+        System.out.println(Files1.md5(merged));
+    }
+
+    @Test
+    public void resume() throws IOException {
+        File file = createFile(4 * 1024 * 1024);
+        ParallelFileSplit.ofBlockSize(file, 1024 * 1024L).call();
+        File dir = new File(file.getAbsolutePath() + ".block");
+        // 损坏第 3 块
+        File block = new File(dir, FileBlockManifest.getBlockName(file.getName(), 3));
+        byte[] origin = Files.readAllBytes(block.toPath());
+        try (RandomAccessFile r = new RandomAccessFile(block, "rw")) {
+            r.seek(100);
+            r.write(~origin[100]);
+        }
+        try {
+            new ParallelFileMerge(dir).call();
+        } catch (Exception e) {
+            System.out.println("merge failed: " + e.getMessage());
+        }
+        System.out.println("progress: " + new String(Files.readAllBytes(new File(dir, file.getName() + ParallelFileMerge.PROGRESS_SUFFIX).toPath())).replace('\n', ' '));
+        // 修复后续合
+        Files.write(block.toPath(), origin);
+        String merged = new ParallelFileMerge(dir).verify(true).call();
+        System.out.println(Files1.md5(file));
+        System.out.println(Files1.md5(merged));
+    }
+
+    @Test
+    public void nested() throws Exception {
+        File file = createFile(4 * 1024 * 1024);
+        // 在线程池唯一的线程中调用 块全部由调用线程执行
+        ExecutorService pool = Executors.newFixedThreadPool(1);
+        String merged = pool.submit(() -> {
+            new ParallelFileSplit(file, 8, pool).call();
+            return new ParallelFileMerge(new File(file.getAbsolutePath() + ".block"), pool).verify(true).call();
+        }).get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+        Assert.assertEquals(Files1.md5(file), Files1.md5(merged));
+    }
+
+    private static File createFile(int length) throws IOException {
+        File dir = Files.createTempDirectory("orion-split").toFile();
+        File file = new File(dir, "data.bin");
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        Files.write(file.toPath(), bytes);
+        return file;
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.hash;
+
+import cn.orionsec.kit.lang.utils.hash.*;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 节点定位器测试
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/1 14:10
+ */
+public class NodeLocatorTests {
+
+    private static final int KEYS = 100000;
+
+    @Test
+    public void charHash() {
+        String s = "orion-kit 一致性hash";
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_16LE);
+        System.out.println(MurmurHash.hash64(s, 7));
+        System.out.println(MurmurHash.hash64(bytes, bytes.length, 7));
+    }
+
+    @Test
+    public void ring() {
+        List<String> nodes = nodes(10);
+        HashRing<String> ring = HashRing.of(nodes);
+        System.out.println("points: " + ring.getPointCount());
+        System.out.println("distribution: " + distribution(ring));
+        // 增删节点只迁移该节点的 key
+        HashRing<String> added = ring.add("node-10");
+        System.out.println("add moved: " + moved(ring, added));
+        HashRing<String> removed = ring.remove("node-3");
+        System.out.println("remove moved: " + moved(ring, removed));
+        System.out.println("rebuild equals: " + (moved(HashRing.of(nodes(11)), added) == 0));
+    }
+
+    @Test
+    public void weight() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("node-a", 1);
+        weights.put("node-b", 2);
+        weights.put("node-c", 4);
+        System.out.println("ring: " + distribution(HashRing.of(HashRing.DEFAULT_REPLICAS, weights)));
+        System.out.println("rendezvous: " + distribution(RendezvousHash.of(weights)));
+    }
+
+    @Test
+    public void jump() {
+        JumpConsistentHash<String> jump = JumpConsistentHash.of(nodes(10));
+        System.out.println("distribution: " + distribution(jump));
+        System.out.println("add moved: " + moved(jump, jump.add("node-10")));
+        System.out.println("remove last moved: " + moved(jump, jump.remove("node-9")));
+    }
+
+    @Test
+    public void rendezvous() {
+        RendezvousHash<String> hash = RendezvousHash.of(nodes(10));
+        System.out.println("distribution: " + distribution(hash));
+        System.out.println("add moved: " + moved(hash, hash.add("node-10")));
+        System.out.println("remove moved: " + moved(hash, hash.remove("node-3")));
+    }
+
+    @Test
+    public void consistentHash() {
+        ConsistentHash<String> hash = new ConsistentHash<>(160, nodes(10));
+        Map<String, Integer> count = new TreeMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            count.merge(hash.get("key-" + i), 1, Integer::sum);
+        }
+        System.out.println(count);
+        hash.remove("node-3");
+        System.out.println(hash.get("key-1"));
+    }
+
+    private static List<String> nodes(int size) {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            nodes.add("node-" + i);
+        }
+        return nodes;
+    }
+
+    private static Map<String, Integer> distribution(NodeLocator<String> locator) {
+        Map<String, Integer> count = new TreeMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            count.merge(locator.get("key-" + i), 1, Integer::sum);
+        }
+        return count;
+    }
+
+    private static int moved(NodeLocator<String> before, NodeLocator<String> after) {
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "key-" + i;
+            if (!before.get(key).equals(after.get(key))) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+}
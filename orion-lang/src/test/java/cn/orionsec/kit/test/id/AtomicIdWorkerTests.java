@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.id;
+
+import cn.orionsec.kit.lang.id.AtomicIdWorker;
+import cn.orionsec.kit.lang.utils.Threads;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * 无锁 id 生成器测试
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/9/29 16:20
+ */
+public class AtomicIdWorkerTests {
+
+    @Test
+    public void unique() throws Exception {
+        AtomicIdWorker worker = AtomicIdWorker.snowFlake(1, 1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        long start = System.currentTimeMillis();
+        Threads.blockRun(() -> {
+            for (int i = 0; i < 50000; i++) {
+                ids.add(worker.nextLongId());
+            }
+        }, 16, pool);
+        pool.shutdown();
+        System.out.println("used: " + (System.currentTimeMillis() - start) + "ms");
+        System.out.println(ids.size());
+        Assert.assertEquals(16 * 50000, ids.size());
+    }
+
+    @Test
+    public void batch() {
+        AtomicIdWorker worker = AtomicIdWorker.sequence(1, 1);
+        long[] ids = worker.nextIds(10000);
+        boolean ordered = true;
+        for (int i = 1; i < ids.length; i++) {
+            ordered &= ids[i] > ids[i - 1];
+        }
+        System.out.println(ids.length + " " + ordered);
+        Assert.assertTrue(ordered);
+        System.out.println(worker.nextIdStream(5).boxed().collect(Collectors.toList()));
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.reflect;
+
+import cn.orionsec.kit.lang.utils.collect.Maps;
+import cn.orionsec.kit.lang.utils.reflect.BeanAccessor;
+import cn.orionsec.kit.lang.utils.reflect.BeanCopier;
+import cn.orionsec.kit.lang.utils.reflect.BeanMap;
+import cn.orionsec.kit.lang.utils.reflect.BeanWrapper;
+import cn.orionsec.kit.test.reflect.value.Shop;
+import cn.orionsec.kit.test.reflect.value.User;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/5 14:20
+ */
+public class BeanCopierTests {
+
+    @Test
+    public void copy() {
+        User user = this.createUser();
+        BeanCopier<User, User> copier = BeanCopier.create(User.class, User.class);
+        System.out.println(copier.copy(user));
+        User target = new User();
+        copier.copy(user, target, null, "name", "balance");
+        System.out.println(target);
+    }
+
+    @Test
+    public void copyMapper() {
+        User user = this.createUser();
+        // int -> Long 需要转换
+        Map<String, String> mapper = Maps.of("id", "shopId", "name", "shopName", "age", "userId");
+        Shop shop = BeanWrapper.copyProperties(user, Shop.class, mapper);
+        System.out.println(shop.getShopId() + " " + shop.getShopName() + " " + shop.getUserId());
+    }
+
+    @Test
+    public void privateBean() {
+        Item item = new Item();
+        item.setCount(3);
+        item.setLabel("label");
+        System.out.println(BeanWrapper.copyProperties(item, Item.class));
+        System.out.println(BeanMap.create(item));
+        BeanAccessor accessor = BeanAccessor.of(Item.class);
+        accessor.set(item, "count", 5);
+        System.out.println((Integer) accessor.get(item, "count"));
+    }
+
+    @Test
+    public void throughput() {
+        User user = this.createUser();
+        BeanCopier<User, User> copier = BeanCopier.create(User.class, User.class);
+        int count = 1000000;
+        for (int i = 0; i < count; i++) {
+            copier.copy(user, new User());
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            copier.copy(user, new User());
+        }
+        long copierNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            BeanWrapper.copyProperties(user, new User());
+        }
+        long wrapperNanos = System.nanoTime() - start;
+        System.out.println("copier:  " + (count * 1000000000L / copierNanos) + " ops/s");
+        System.out.println("wrapper: " + (count * 1000000000L / wrapperNanos) + " ops/s");
+    }
+
+    private User createUser() {
+        User user = new User();
+        user.setId(10L);
+        user.setAge(18);
+        user.setSex(true);
+        user.setName("whh");
+        user.setType(1);
+        user.setVipType(2);
+        user.setBalance(BigDecimal.TEN);
+        return user;
+    }
+
+    private static class Item {
+
+        private int count;
+
+        private String label;
+
+        public Item() {
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public Item setLabel(String label) {
+            this.label = label;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "Item{" +
+                    "count=" + count +
+                    ", label='" + label + '\'' +
+                    '}';
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.reflect;
+
+import cn.orionsec.kit.lang.able.Buildable;
+import cn.orionsec.kit.lang.utils.Strings;
+import cn.orionsec.kit.lang.utils.reflect.PackageScanner;
+import cn.orionsec.kit.lang.utils.reflect.index.ClassIndex;
+import cn.orionsec.kit.lang.utils.reflect.index.ClassIndexScanner;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 17:20
+ */
+public class ClassIndexTests {
+
+    @Test
+    public void directory() {
+        PackageScanner scanner = new PackageScanner("cn.orionsec.kit.lang.*").with(Strings.class);
+        long loaded = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+        long start = System.nanoTime();
+        ClassIndex index = scanner.index();
+        long indexCost = System.nanoTime() - start;
+        long indexLoaded = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount() - loaded;
+        start = System.nanoTime();
+        scanner.scan();
+        long scanCost = System.nanoTime() - start;
+        System.out.println("classes: " + index.size() + " index: " + indexCost / 1000000 + "ms loaded: " + indexLoaded
+                + " scan: " + scanCost / 1000000 + "ms");
+        this.compare(scanner, index);
+    }
+
+    @Test
+    public void jar() throws Exception {
+        URL location = Test.class.getProtectionDomain().getCodeSource().getLocation();
+        URL jar = new URL("jar:" + location + "!/");
+        PackageScanner scanner = new PackageScanner("org.junit.*").addResource(jar);
+        ClassIndex index = scanner.index();
+        scanner.scan();
+        System.out.println("jar classes: " + index.size());
+        this.compare(scanner, index);
+        // file 协议的 jar
+        ClassIndex fileIndex = new ClassIndexScanner("org.junit.*").addResource(location).scan();
+        Assert.assertEquals(index.getClassNames(), fileIndex.getClassNames());
+    }
+
+    @Test
+    public void indexFile() throws Exception {
+        File file = File.createTempFile("class-index", ".idx");
+        file.delete();
+        ClassIndexScanner scanner = new PackageScanner("cn.orionsec.kit.lang.*")
+                .with(Strings.class)
+                .indexScanner()
+                .indexFile(file);
+        long start = System.nanoTime();
+        ClassIndex cold = scanner.scan();
+        long coldCost = System.nanoTime() - start;
+        start = System.nanoTime();
+        ClassIndex warm = scanner.scan();
+        long warmCost = System.nanoTime() - start;
+        System.out.println("cold: " + coldCost / 1000000 + "ms warm: " + warmCost / 1000000 + "ms size: " + file.length());
+        Assert.assertNotSame(cold, warm);
+        Assert.assertEquals(cold.getClassNames(), warm.getClassNames());
+        Assert.assertEquals(cold.getImplClassNames(Buildable.class.getName()), warm.getImplClassNames(Buildable.class.getName()));
+        Assert.assertEquals(cold.getAnnotatedMethodClassNames(Override.class.getName()), warm.getAnnotatedMethodClassNames(Override.class.getName()));
+        file.delete();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void compare(PackageScanner scanner, ClassIndex index) {
+        Assert.assertEquals(names(scanner.getClasses()), names(index.getClasses()));
+        Assert.assertEquals(names(scanner.getImplClass(Buildable.class)), names(index.getImplClass(Buildable.class)));
+        Assert.assertEquals(names(scanner.getImplClass(Function.class)), names(index.getImplClass(Function.class)));
+        Assert.assertEquals(names(scanner.getImplClass(Exception.class)), names(index.getImplClass(Exception.class)));
+        Assert.assertEquals(names(scanner.getImplClass(Object.class)), names(index.getImplClass(Object.class)));
+        Assert.assertEquals(names(scanner.getAnnotatedClass(FunctionalInterface.class)), names(index.getAnnotatedClass(FunctionalInterface.class)));
+        Assert.assertEquals(names(scanner.getAnnotatedClass(Deprecated.class)), names(index.getAnnotatedClass(Deprecated.class)));
+        Assert.assertEquals(scanner.getAnnotatedMethod(SafeVarargs.class), index.getAnnotatedMethod(SafeVarargs.class));
+        Assert.assertEquals(scanner.getAnnotatedMethod(Deprecated.class), index.getAnnotatedMethod(Deprecated.class));
+        Assert.assertEquals(scanner.getAnnotatedField(Deprecated.class), index.getAnnotatedField(Deprecated.class));
+        Assert.assertEquals(scanner.getAnnotatedConstructor(Deprecated.class), index.getAnnotatedConstructor(Deprecated.class));
+        Assert.assertEquals(scanner.getAnnotatedConstructor(SafeVarargs.class), index.getAnnotatedConstructor(SafeVarargs.class));
+        Assert.assertEquals(scanner.getAnnotatedMethodByAnnotatedClass(FunctionalInterface.class, Deprecated.class),
+                index.getAnnotatedMethodByAnnotatedClass(FunctionalInterface.class, Deprecated.class));
+        System.out.println("impl Buildable: " + index.getImplClassNames(Buildable.class.getName()).size()
+                + " @SafeVarargs methods: " + index.getAnnotatedMethodClassNames(SafeVarargs.class.getName()).size());
+    }
+
+    private static Set<String> names(Set<Class<?>> classes) {
+        return classes.stream().map(Class::getName).collect(Collectors.toSet());
+    }
+
+}
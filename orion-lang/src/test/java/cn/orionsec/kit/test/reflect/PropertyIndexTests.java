@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.test.reflect;
+
+import cn.orionsec.kit.lang.utils.reflect.BeanAccessor;
+import cn.orionsec.kit.lang.utils.reflect.Methods;
+import cn.orionsec.kit.lang.utils.reflect.PropertyIndex;
+import cn.orionsec.kit.test.reflect.value.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/5 17:30
+ */
+public class PropertyIndexTests {
+
+    @Test
+    public void properties() {
+        PropertyIndex index = PropertyIndex.of(User.class);
+        index.getProperties().forEach(p -> System.out.println(p.getName() + " " + p.getType().getSimpleName()
+                + " field: " + (p.getField() != null)
+                + " getter: " + (p.getGetter() == null ? null : p.getGetter().getName())
+                + " setter: " + (p.getSetter() == null ? null : p.getSetter().getName())));
+        System.out.println(index.getGetters().keySet());
+        System.out.println(index.getSetters().keySet());
+    }
+
+    @Test
+    public void shared() {
+        // 属性索引与访问器共用同一个类缓存
+        Assert.assertSame(BeanAccessor.of(User.class).getPropertyIndex(), PropertyIndex.of(User.class));
+        PropertyIndex.Property name = PropertyIndex.of(User.class).getProperty("name");
+        User user = new User();
+        name.set(user, "whh");
+        Assert.assertEquals("whh", name.get(user));
+        Assert.assertEquals("whh", BeanAccessor.of(User.class).get(user, "name"));
+    }
+
+    @Test
+    public void invoke() {
+        User user = new User();
+        Methods.invokeSetter(user, "name", "whh");
+        Methods.invokeSetterInfer(user, "age", "18");
+        Methods.invokeSetterInfer(user, "sex", true);
+        System.out.println(user);
+        System.out.println((String) Methods.invokeGetter(user, "name"));
+        System.out.println((Integer) Methods.invokeGetter(user, "age"));
+        System.out.println((Boolean) Methods.invokeGetter(user, "sex"));
+        System.out.println(Methods.getGetterMethodByCache(User.class, "sex"));
+        System.out.println(Methods.getSetterMethodByCache(User.class, "balance"));
+    }
+
+    @Test
+    public void lookup() {
+        User user = new User();
+        user.setName("whh");
+        int count = 1000000;
+        for (int i = 0; i < count; i++) {
+            Methods.invokeGetter(user, "name");
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            Methods.invokeGetter(user, "name");
+        }
+        System.out.println("invokeGetter: " + (System.nanoTime() - start) / count + " ns/op");
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            Methods.getGetterMethodByCache(User.class, "balance");
+        }
+        System.out.println("getGetterMethodByCache: " + (System.nanoTime() - start) / count + " ns/op");
+    }
+
+}
@@ -26,10 +26,14 @@
  */
 package cn.orionsec.kit.test.type;
 
+import cn.orionsec.kit.lang.function.Conversion;
+import cn.orionsec.kit.lang.utils.convert.Converts;
 import cn.orionsec.kit.lang.utils.convert.TypeStore;
 import org.junit.Test;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author Jiahang Li
@@ -69,4 +73,55 @@ public class TypeStoreTests {
         });
     }
 
+    @Test
+    public void compile() {
+        Conversion<String, Integer> conversion = Converts.compile(String.class, int.class);
+        System.out.println(conversion.apply("10") + 1);
+        Conversion<Object, Long> objectToLong = Converts.compile(Object.class, Long.class);
+        // 子类按值的类型转换
+        System.out.println(objectToLong.apply("20"));
+        System.out.println(objectToLong.apply(30));
+    }
+
+    @Test
+    public void bulk() {
+        List<Object> values = Arrays.asList("1", "2", 3, 4L, "5");
+        System.out.println(Converts.toList(values, Integer.class));
+        System.out.println(Arrays.toString(Converts.toArray(values, long.class)));
+    }
+
+    @Test
+    public void resolved() {
+        TypeStore store = new TypeStore();
+        System.out.println(store.isConvertible(StringBuilder.class, Integer.class));
+        try {
+            store.to(new StringBuilder("1"), Integer.class);
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+        }
+        // 注册后失效
+        store.register(StringBuilder.class, Integer.class, s -> Integer.valueOf(s.toString()));
+        System.out.println(store.isConvertible(StringBuilder.class, Integer.class));
+        System.out.println(store.to(new StringBuilder("1"), Integer.class));
+    }
+
+    @Test
+    public void throughput() {
+        int count = 1000000;
+        for (int i = 0; i < count; i++) {
+            TypeStore.STORE.to("1", Long.class);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            TypeStore.STORE.to("1", Long.class);
+        }
+        System.out.println("to: " + (System.nanoTime() - start) / count + " ns/op");
+        Conversion<String, Long> conversion = Converts.compile(String.class, Long.class);
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            conversion.apply("1");
+        }
+        System.out.println("compile: " + (System.nanoTime() - start) / count + " ns/op");
+    }
+
 }
@@ -28,12 +28,9 @@ package cn.orionsec.kit.net.ftp.client.pool;
 
 import cn.orionsec.kit.lang.able.SafeCloseable;
 import cn.orionsec.kit.lang.utils.Threads;
-import org.apache.commons.net.ftp.FTPClient;
-
-import java.util.concurrent.BlockingQueue;
 
 /**
- * FTP 监听长连接心跳
+ * FTP 监听长连接心跳 定时检查连接池的空闲连接
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -78,22 +75,11 @@ public class FtpClientKeepAlive implements SafeCloseable {
 
         @Override
         public void run() {
-            FTPClient ftpClient;
             while (flag) {
-                BlockingQueue<FTPClient> queue = pool.getPool();
-                if (queue != null && queue.size() > 0) {
-                    for (FTPClient q : queue) {
-                        ftpClient = q;
-                        try {
-                            if (!ftpClient.sendNoOp()) {
-                                pool.invalidClient(ftpClient);
-                                pool.addClient();
-                            }
-                        } catch (Exception e) {
-                            pool.invalidClient(ftpClient);
-                            pool.addClient();
-                        }
-                    }
+                try {
+                    pool.evict();
+                } catch (Exception e) {
+                    // 下次检查时重试
                 }
                 Threads.sleep(heartCheckTime);
             }
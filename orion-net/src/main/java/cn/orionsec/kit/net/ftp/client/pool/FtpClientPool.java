@@ -38,12 +38,29 @@ import org.apache.commons.net.ftp.FTPClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * FTP 连接池
+ * <p>
+ * 借出和归还不加锁, 空闲连接后进先出, 连接不足时等待线程挂起直到有连接归还或销毁
+ * 连接在第一次借出时才会创建, 需要预热时调用 {@link #warmUp()}
+ * <p>
+ * 连接校验:
+ * 借出时校验 {@link #validateOnBorrow(boolean)} 每次借出前发送 NOOP, 默认开启
+ * 后台回收 {@link #keepAliveListener()} 定时检查空闲连接, 销毁失效和空闲超时的连接并补足最小空闲连接
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -56,20 +73,78 @@ public class FtpClientPool implements AutoCloseable {
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(FtpClientPool.class);
 
+    /**
+     * 单次挂起的最长时间 ns
+     */
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
     /**
      * 如果池中连接不足是否创建而不是阻塞后报错
      */
-    private boolean noAvailableThenCreate;
+    private volatile boolean noAvailableThenCreate;
+
+    /**
+     * 借出等待超时时间 ms
+     */
+    private volatile int timeout;
+
+    /**
+     * 最大连接数
+     */
+    private volatile int maxTotal;
+
+    /**
+     * 最大空闲连接数
+     */
+    private volatile int maxIdle;
+
+    /**
+     * 最小空闲连接数
+     */
+    private volatile int minIdle;
+
+    /**
+     * 借出时是否校验连接
+     */
+    private volatile boolean validateOnBorrow;
 
     /**
-     * 入栈超时时间 ms
+     * 空闲超时时间 ms 0 不回收
      */
-    private int timeout;
+    private volatile long idleTimeout;
 
     /**
-     * 队列
+     * 空闲连接
      */
-    private final BlockingQueue<FTPClient> pool;
+    private final ConcurrentLinkedDeque<PooledClient> idle;
+
+    /**
+     * 池管理的所有连接
+     */
+    private final Map<FTPClient, PooledClient> clients;
+
+    /**
+     * 等待连接的线程
+     */
+    private final ConcurrentLinkedQueue<Thread> waiters;
+
+    private final AtomicInteger totalSize;
+
+    private final AtomicInteger idleSize;
+
+    private final AtomicInteger activeSize;
+
+    private final LongAdder borrowCount;
+
+    private final LongAdder waitCount;
+
+    private final LongAdder createCount;
+
+    private final LongAdder destroyCount;
+
+    private final LongAdder borrowWaitNanos;
+
+    private final AtomicLong maxBorrowWaitNanos;
 
     /**
      * 连接工厂
@@ -81,36 +156,37 @@ public class FtpClientPool implements AutoCloseable {
      */
     private FtpClientKeepAlive keepAlive;
 
+    private volatile boolean closed;
+
     public FtpClientPool(FtpClientFactory factory) {
         this(factory, Const.N_10);
     }
 
     public FtpClientPool(FtpClientFactory factory, int size) {
         Assert.notNull(factory, "ftp client factory is null");
+        Assert.isTrue(size > 0, "pool size must be greater than 0");
         this.timeout = Const.MS_S_5;
         this.noAvailableThenCreate = false;
+        this.maxTotal = size;
+        this.maxIdle = size;
+        this.validateOnBorrow = true;
         this.factory = factory;
-        this.pool = new ArrayBlockingQueue<>(size);
-        this.init(size);
+        this.idle = new ConcurrentLinkedDeque<>();
+        this.clients = new ConcurrentHashMap<>();
+        this.waiters = new ConcurrentLinkedQueue<>();
+        this.totalSize = new AtomicInteger();
+        this.idleSize = new AtomicInteger();
+        this.activeSize = new AtomicInteger();
+        this.borrowCount = new LongAdder();
+        this.waitCount = new LongAdder();
+        this.createCount = new LongAdder();
+        this.destroyCount = new LongAdder();
+        this.borrowWaitNanos = new LongAdder();
+        this.maxBorrowWaitNanos = new AtomicLong();
     }
 
     /**
-     * 初始化
-     *
-     * @param maxPoolSize 池内数量
-     */
-    private void init(int maxPoolSize) {
-        try {
-            for (int i = 0; i < maxPoolSize; i++) {
-                this.addClient();
-            }
-        } catch (Exception e) {
-            throw Exceptions.ftp("init ftp client to pool error", e);
-        }
-    }
-
-    /**
-     * 入栈超时 ms
+     * 借出等待超时时间 ms
      *
      * @param timeout timeout ms
      * @return this
@@ -131,15 +207,98 @@ public class FtpClientPool implements AutoCloseable {
         return this;
     }
 
+    /**
+     * 最大连接数
+     *
+     * @param maxTotal maxTotal
+     * @return this
+     */
+    public FtpClientPool maxTotal(int maxTotal) {
+        Assert.isTrue(maxTotal > 0, "max total must be greater than 0");
+        this.maxTotal = maxTotal;
+        return this;
+    }
+
+    /**
+     * 最大空闲连接数 归还时超过则销毁
+     *
+     * @param maxIdle maxIdle
+     * @return this
+     */
+    public FtpClientPool maxIdle(int maxIdle) {
+        this.maxIdle = maxIdle;
+        return this;
+    }
+
+    /**
+     * 最小空闲连接数 预热和后台回收时补足
+     *
+     * @param minIdle minIdle
+     * @return this
+     */
+    public FtpClientPool minIdle(int minIdle) {
+        this.minIdle = minIdle;
+        return this;
+    }
+
+    /**
+     * 借出时是否校验连接
+     *
+     * @param validateOnBorrow 是否校验
+     * @return this
+     */
+    public FtpClientPool validateOnBorrow(boolean validateOnBorrow) {
+        this.validateOnBorrow = validateOnBorrow;
+        return this;
+    }
+
+    /**
+     * 空闲超时时间 后台回收时销毁超时且超出最小空闲数的连接
+     *
+     * @param idleTimeout 超时时间 ms 0 不回收
+     * @return this
+     */
+    public FtpClientPool idleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
     /**
      * 监听 keepAlive 的连接是否超时
      *
      * @return this
      */
     public FtpClientPool keepAliveListener() {
-        // keepAlive 监听
+        return this.keepAliveListener(factory.getConfig().getConnTimeout() / 2);
+    }
+
+    /**
+     * 监听 keepAlive 的连接是否超时
+     *
+     * @param interval 检查间隔 ms
+     * @return this
+     */
+    public FtpClientPool keepAliveListener(int interval) {
+        Assert.isTrue(interval > 0, "keep alive interval must be greater than 0");
+        Streams.close(keepAlive);
         this.keepAlive = new FtpClientKeepAlive(this);
-        keepAlive.listener(factory.getConfig().getConnTimeout() / 2);
+        keepAlive.listener(interval);
+        return this;
+    }
+
+    /**
+     * 预热 创建连接直到空闲连接数达到最小空闲连接数
+     *
+     * @return this
+     */
+    public FtpClientPool warmUp() {
+        try {
+            while (!closed && idleSize.get() < minIdle && this.offerNewClient()) {
+                LOGGER.debug("warm up ftp client with pool");
+            }
+        } catch (Exception e) {
+            throw Exceptions.ftp("init ftp client to pool error", e);
+        }
         return this;
     }
 
@@ -148,28 +307,36 @@ public class FtpClientPool implements AutoCloseable {
      *
      * @return 连接
      */
-    public synchronized FTPClient getClient() {
+    public FTPClient getClient() {
         LOGGER.debug("get ftp client with pool");
-        try {
-            if (pool.size() == 0 && noAvailableThenCreate) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeout);
+        boolean waited = false;
+        while (true) {
+            this.checkClosed();
+            PooledClient pooled = this.pollIdle();
+            if (pooled != null) {
+                // 不存活
+                if (validateOnBorrow && !Ftps.isActive(pooled.client)) {
+                    this.destroy(pooled);
+                    continue;
+                }
+                return this.lease(pooled, start, waited);
+            }
+            if (this.reserve()) {
+                return this.lease(this.create(), start, waited);
+            }
+            if (noAvailableThenCreate) {
                 LOGGER.debug("there are no free ftp connections in the pool, used create temp client");
                 return factory.createClient();
             }
-            FTPClient client = pool.poll(timeout, TimeUnit.MILLISECONDS);
-            if (client == null) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
                 LOGGER.error("cannot get ftp client with pool, not have more free ftp connection");
                 throw Exceptions.ftp("cannot get ftp client with pool, not have more free ftp connection");
             }
-            // 不存活
-            if (!Ftps.isActive(client)) {
-                this.invalidClient(client);
-                this.addClient();
-                return this.getClient();
-            }
-            return client;
-        } catch (InterruptedException e) {
-            LOGGER.error("get ftp client with pool error", e);
-            throw Exceptions.ftp("get ftp client with pool error", e);
+            waited = true;
+            this.await(remaining);
         }
     }
 
@@ -178,71 +345,302 @@ public class FtpClientPool implements AutoCloseable {
      *
      * @return this
      */
-    public synchronized IFtpInstance getInstance() {
+    public IFtpInstance getInstance() {
         return new FtpInstance(this);
     }
 
     /**
-     * 归还一个连接, 如果归还超时则销毁改对象
+     * 归还一个连接, 空闲连接超过最大空闲数或连接池已关闭则销毁该连接
      *
      * @param client 客户端
      */
-    public synchronized void returnClient(FTPClient client) {
-        try {
-            Assert.notNull(client, "return client is null");
-            LOGGER.debug("return ftp client with pool");
-            if (!pool.offer(client, timeout, TimeUnit.MILLISECONDS)) {
-                Ftps.destroy(client);
-            }
-        } catch (InterruptedException e) {
-            LOGGER.error("return ftp client with to pool error", e);
+    public void returnClient(FTPClient client) {
+        Assert.notNull(client, "return client is null");
+        LOGGER.debug("return ftp client with pool");
+        PooledClient pooled = clients.get(client);
+        if (pooled == null) {
+            // 临时连接
+            Ftps.destroy(client);
+            return;
+        }
+        if (!pooled.borrowed.compareAndSet(true, false)) {
+            return;
+        }
+        activeSize.decrementAndGet();
+        if (closed || idleSize.get() >= maxIdle) {
+            this.destroy(pooled);
+            return;
+        }
+        pooled.lastReturnTime = System.currentTimeMillis();
+        this.offerIdle(pooled);
+        // 关闭时可能已经清空过空闲连接
+        if (closed) {
+            this.clear();
         }
     }
 
     /**
-     * 新建一个连接到池中
+     * 使客户端无效 借出的连接不可用时调用以代替归还
+     * <p>
+     * 由 protected 放开为 public, 供分片下载等池外组件销毁失效连接
+     *
+     * @param client 客户端
      */
-    protected synchronized void addClient() {
-        try {
-            pool.offer(factory.createClient(), timeout, TimeUnit.MILLISECONDS);
-            LOGGER.debug("add ftp client with pool");
-        } catch (InterruptedException e) {
-            LOGGER.error("cannot add a new connection to the pool", e);
+    public void invalidClient(FTPClient client) {
+        LOGGER.debug("invalid ftp client with pool");
+        PooledClient pooled = clients.get(client);
+        if (pooled == null) {
+            Ftps.destroy(client);
+            return;
+        }
+        if (pooled.borrowed.compareAndSet(true, false)) {
+            activeSize.decrementAndGet();
+        } else if (idle.remove(pooled)) {
+            idleSize.decrementAndGet();
+        } else {
+            return;
         }
+        this.destroy(pooled);
     }
 
     /**
-     * 使客户端无效
+     * 新建一个连接到池中 达到最大连接数时不创建
+     */
+    protected void addClient() {
+        this.offerNewClient();
+    }
+
+    /**
+     * 新建一个连接到池中
      *
-     * @param client 客户端
+     * @return 是否创建 达到最大连接数返回 false
      */
-    protected synchronized void invalidClient(FTPClient client) {
-        LOGGER.debug("invalid ftp client with pool");
-        pool.remove(client);
-        Ftps.destroy(client);
+    private boolean offerNewClient() {
+        if (!this.reserve()) {
+            return false;
+        }
+        PooledClient pooled = this.create();
+        pooled.lastReturnTime = System.currentTimeMillis();
+        this.offerIdle(pooled);
+        LOGGER.debug("add ftp client with pool");
+        return true;
+    }
+
+    /**
+     * 检查空闲连接 销毁失效和空闲超时的连接并补足最小空闲连接
+     * <p>
+     * 从最久未使用的连接开始逐个取出检查, 检查期间其他连接仍可被借出
+     */
+    protected void evict() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledClient> iterator = idle.descendingIterator();
+        while (iterator.hasNext() && !closed) {
+            PooledClient pooled = iterator.next();
+            // 移除失败说明已被借出
+            if (!idle.removeLastOccurrence(pooled)) {
+                continue;
+            }
+            idleSize.decrementAndGet();
+            boolean expired = idleTimeout > 0
+                    && now - pooled.lastReturnTime >= idleTimeout
+                    && idleSize.get() >= minIdle;
+            if (expired || !Ftps.isActive(pooled.client)) {
+                LOGGER.debug("evict ftp client with pool expired: {}", expired);
+                this.destroy(pooled);
+            } else {
+                idleSize.incrementAndGet();
+                idle.offerLast(pooled);
+                this.signal();
+            }
+        }
+        try {
+            this.warmUp();
+        } catch (Exception e) {
+            LOGGER.error("cannot add a new connection to the pool", e);
+        }
     }
 
     /**
      * 关闭连接池 并且释放连接
+     * <p>
+     * 空闲连接立即释放, 借出的连接在归还时释放
      *
      * @throws InterruptedException 释放连接超时
      */
     @Override
     public void close() throws InterruptedException {
         LOGGER.debug("ftp client pool closing...");
+        this.closed = true;
         Streams.close(keepAlive);
-        while (pool.iterator().hasNext()) {
-            FTPClient client = pool.take();
-            Ftps.destroy(client);
+        this.clear();
+        Thread waiter;
+        while ((waiter = waiters.poll()) != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * 从空闲连接中取出最近归还的连接
+     *
+     * @return 连接
+     */
+    private PooledClient pollIdle() {
+        PooledClient pooled = idle.pollFirst();
+        if (pooled != null) {
+            idleSize.decrementAndGet();
+        }
+        return pooled;
+    }
+
+    /**
+     * 放入空闲连接并唤醒一个等待线程
+     *
+     * @param pooled 连接
+     */
+    private void offerIdle(PooledClient pooled) {
+        idleSize.incrementAndGet();
+        idle.offerFirst(pooled);
+        this.signal();
+    }
+
+    /**
+     * 占用一个连接数
+     *
+     * @return 是否占用成功
+     */
+    private boolean reserve() {
+        while (true) {
+            int total = totalSize.get();
+            if (total >= maxTotal) {
+                return false;
+            }
+            if (totalSize.compareAndSet(total, total + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 创建连接 需要先占用连接数
+     *
+     * @return 连接
+     */
+    private PooledClient create() {
+        FTPClient client;
+        try {
+            client = factory.createClient();
+        } catch (RuntimeException e) {
+            totalSize.decrementAndGet();
+            this.signal();
+            throw e;
+        }
+        PooledClient pooled = new PooledClient(client);
+        clients.put(client, pooled);
+        createCount.increment();
+        return pooled;
+    }
+
+    /**
+     * 借出连接并记录等待时间
+     *
+     * @param pooled 连接
+     * @param start  开始借出时间 ns
+     * @param waited 是否等待过
+     * @return 连接
+     */
+    private FTPClient lease(PooledClient pooled, long start, boolean waited) {
+        pooled.borrowed.set(true);
+        activeSize.incrementAndGet();
+        borrowCount.increment();
+        if (waited) {
+            waitCount.increment();
+        }
+        long wait = System.nanoTime() - start;
+        borrowWaitNanos.add(wait);
+        maxBorrowWaitNanos.accumulateAndGet(wait, Math::max);
+        return pooled.client;
+    }
+
+    /**
+     * 销毁连接并唤醒一个等待线程
+     *
+     * @param pooled 连接
+     */
+    private void destroy(PooledClient pooled) {
+        if (clients.remove(pooled.client) == null) {
+            return;
+        }
+        totalSize.decrementAndGet();
+        destroyCount.increment();
+        Ftps.destroy(pooled.client);
+        this.signal();
+    }
+
+    /**
+     * 释放所有空闲连接
+     */
+    private void clear() {
+        PooledClient pooled;
+        while ((pooled = this.pollIdle()) != null) {
+            this.destroy(pooled);
+        }
+    }
+
+    /**
+     * 等待连接归还或销毁
+     *
+     * @param remaining 剩余等待时间 ns
+     */
+    private void await(long remaining) {
+        Thread current = Thread.currentThread();
+        waiters.offer(current);
+        try {
+            // 入队后再次检查 防止错过入队前的唤醒
+            if (!idle.isEmpty() || totalSize.get() < maxTotal || closed) {
+                return;
+            }
+            LockSupport.parkNanos(this, Math.min(remaining, PARK_NANOS));
+        } finally {
+            waiters.remove(current);
+        }
+        if (Thread.interrupted()) {
+            current.interrupt();
+            LOGGER.error("get ftp client with pool interrupted");
+            throw Exceptions.ftp("get ftp client with pool interrupted");
+        }
+    }
+
+    /**
+     * 唤醒一个等待线程
+     */
+    private void signal() {
+        Thread waiter = waiters.poll();
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * 检查是否已关闭
+     */
+    private void checkClosed() {
+        if (closed) {
+            throw Exceptions.ftp("ftp client pool is closed");
         }
     }
 
     /**
      * 获取连接池
      *
-     * @return 连接池
+     * @return 空闲连接的快照 修改不会影响连接池
+     * @deprecated 连接池不再使用阻塞队列, 使用 {@link #getFreeSize()} {@link #getClient()} {@link #returnClient(FTPClient)}
      */
+    @Deprecated
     protected BlockingQueue<FTPClient> getPool() {
+        BlockingQueue<FTPClient> pool = new LinkedBlockingQueue<>();
+        for (PooledClient pooled : idle) {
+            pool.offer(pooled.client);
+        }
         return pool;
     }
 
@@ -269,7 +667,131 @@ public class FtpClientPool implements AutoCloseable {
      * @return 数量
      */
     public int getFreeSize() {
-        return pool.size();
+        return idleSize.get();
+    }
+
+    /**
+     * 获取借出的连接数量
+     *
+     * @return 数量
+     */
+    public int getActiveSize() {
+        return activeSize.get();
+    }
+
+    /**
+     * 获取池管理的连接数量 包含空闲和借出的连接
+     *
+     * @return 数量
+     */
+    public int getTotalSize() {
+        return totalSize.get();
+    }
+
+    /**
+     * 获取等待连接的线程数量
+     *
+     * @return 数量
+     */
+    public int getWaiterSize() {
+        return waiters.size();
+    }
+
+    /**
+     * @return 借出次数
+     */
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    /**
+     * @return 需要等待的借出次数
+     */
+    public long getWaitCount() {
+        return waitCount.sum();
+    }
+
+    /**
+     * @return 创建的连接数
+     */
+    public long getCreateCount() {
+        return createCount.sum();
+    }
+
+    /**
+     * @return 销毁的连接数
+     */
+    public long getDestroyCount() {
+        return destroyCount.sum();
+    }
+
+    /**
+     * 获取平均借出耗时 包含等待 创建和校验的时间
+     *
+     * @param unit 时间单位
+     * @return 平均耗时
+     */
+    public long getAverageBorrowWait(TimeUnit unit) {
+        long count = borrowCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return unit.convert(borrowWaitNanos.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 获取最长借出耗时
+     *
+     * @param unit 时间单位
+     * @return 最长耗时
+     */
+    public long getMaxBorrowWait(TimeUnit unit) {
+        return unit.convert(maxBorrowWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public boolean isValidateOnBorrow() {
+        return validateOnBorrow;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 池中的连接
+     */
+    private static class PooledClient {
+
+        private final FTPClient client;
+
+        private final AtomicBoolean borrowed;
+
+        /**
+         * 最后归还时间
+         */
+        private volatile long lastReturnTime;
+
+        private PooledClient(FTPClient client) {
+            this.client = client;
+            this.borrowed = new AtomicBoolean();
+        }
+
     }
 
 }
@@ -31,7 +31,10 @@ import cn.orionsec.kit.lang.utils.Exceptions;
 import cn.orionsec.kit.lang.utils.io.Streams;
 import cn.orionsec.kit.net.ftp.client.FtpFile;
 import cn.orionsec.kit.net.ftp.client.instance.IFtpInstance;
+import cn.orionsec.kit.net.ftp.client.pool.FtpClientFactory;
+import cn.orionsec.kit.net.ftp.client.pool.FtpClientPool;
 import cn.orionsec.kit.net.specification.transfer.BaseFileDownloader;
+import cn.orionsec.kit.net.specification.transfer.ISegmentConnection;
 
 import java.io.File;
 import java.io.IOException;
@@ -39,6 +42,9 @@ import java.io.InputStream;
 
 /**
  * FTP 大文件下载 支持断点续传, 实时速率
+ * <p>
+ * 分段下载时实例来自连接池则从连接池借出连接, 否则创建连接
+ * 使用连接池时并行的连接数不超过连接池剩余的容量, 每个连接依次下载多个分段
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -97,6 +103,25 @@ public class FtpDownloader extends BaseFileDownloader {
         }
     }
 
+    @Override
+    protected int getSegmentConnectionLimit() {
+        FtpClientPool pool = instance.getPool();
+        if (pool == null || pool.isNoAvailableThenCreate()) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(1, pool.getMaxTotal() - pool.getActiveSize());
+    }
+
+    @Override
+    protected ISegmentConnection openSegmentConnection() {
+        FtpClientPool pool = instance.getPool();
+        if (pool != null) {
+            return new FtpSegmentConnection(pool.getInstance());
+        } else {
+            return new FtpSegmentConnection(new FtpClientFactory(instance.getConfig()).createInstance());
+        }
+    }
+
     @Override
     protected int read(byte[] bs) throws IOException {
         return in.read(bs);
@@ -121,6 +146,10 @@ public class FtpDownloader extends BaseFileDownloader {
 
     @Override
     public void abort() {
+        this.aborted = true;
+        if (in == null) {
+            return;
+        }
         try {
             in.close();
         } catch (IOException e) {
@@ -132,4 +161,60 @@ public class FtpDownloader extends BaseFileDownloader {
         return instance;
     }
 
-}
\ No newline at end of file
+    /**
+     * FTP 分段连接
+     */
+    private class FtpSegmentConnection implements ISegmentConnection {
+
+        private final IFtpInstance segment;
+
+        /**
+         * 连接是否可以复用
+         */
+        private boolean reusable;
+
+        private FtpSegmentConnection(IFtpInstance segment) {
+            this.segment = segment;
+            this.reusable = true;
+        }
+
+        @Override
+        public InputStream openInputStream(long offset) throws IOException {
+            return segment.openInputStream(remote, offset);
+        }
+
+        @Override
+        public void closeInputStream(InputStream in, boolean eof) {
+            Streams.close(in);
+            try {
+                // 未读取到文件末尾的分段会提前关闭数据连接, 服务端返回中断响应 (426)
+                // 读取响应后控制连接仍然可用 可以复用; 读取到文件末尾的传输需要正常完成才能复用
+                boolean completed = segment.pending();
+                this.reusable = completed || !eof;
+            } catch (Exception e) {
+                this.reusable = false;
+            }
+        }
+
+        @Override
+        public boolean isReusable() {
+            return reusable;
+        }
+
+        @Override
+        public void close() {
+            if (!reusable) {
+                FtpClientPool pool = segment.getPool();
+                if (pool != null) {
+                    pool.invalidClient(segment.getClient());
+                } else {
+                    segment.destroy();
+                }
+                return;
+            }
+            segment.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.host.pool;
+
+import cn.orionsec.kit.lang.able.SafeCloseable;
+import cn.orionsec.kit.lang.utils.Threads;
+
+/**
+ * SSH 会话心跳 定时检查会话池的空闲会话
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:10
+ */
+public class SessionKeepAlive implements SafeCloseable {
+
+    /**
+     * 会话池
+     */
+    private final SessionPool pool;
+
+    /**
+     * 心跳检测间隔
+     */
+    private int heartCheckTime;
+
+    /**
+     * 运行状态
+     */
+    private volatile boolean flag;
+
+    protected SessionKeepAlive(SessionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 监听心跳
+     */
+    protected void listener(int heartCheckTime) {
+        this.heartCheckTime = heartCheckTime;
+        this.flag = true;
+        Threads.CACHE_EXECUTOR.execute(new SessionKeepAliveListener());
+    }
+
+    @Override
+    public void close() {
+        flag = false;
+    }
+
+    private class SessionKeepAliveListener implements Runnable {
+
+        @Override
+        public void run() {
+            while (flag) {
+                try {
+                    pool.evict();
+                } catch (Exception e) {
+                    // 下次检查时重试
+                }
+                Threads.sleep(heartCheckTime);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,886 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.host.pool;
+
+import cn.orionsec.kit.lang.able.SafeCloseable;
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.crypto.Signatures;
+import cn.orionsec.kit.lang.utils.io.Streams;
+import cn.orionsec.kit.net.host.SessionHolder;
+import cn.orionsec.kit.net.host.SessionStore;
+import com.jcraft.jsch.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SSH 会话池
+ * <p>
+ * 按 主机 端口 用户名 凭证 分组缓存已认证的会话, 每次借出占用会话的一个通道名额
+ * 密码不同的借出不会共享会话, 每个会话只借给认证它的凭证
+ * 同一个会话上最多同时打开 {@link #maxChannels(int)} 个 exec/sftp/shell 通道, 需要不大于服务端的 MaxSessions (OpenSSH 默认 10)
+ * 会话通道已满时创建新的会话, 会话数达到 {@link #maxSessions(int)} 后阻塞等待归还
+ * <p>
+ * 借出的 {@link SessionStore} 每次只用来打开一个通道, 关闭时归还通道名额而不断开会话
+ * 后台心跳 {@link #keepAliveListener()} 定时向空闲会话发送心跳, 销毁失效和空闲超时的会话
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:10
+ */
+public class SessionPool implements SafeCloseable {
+
+    /**
+     * LOG
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionPool.class);
+
+    /**
+     * 单次挂起的最长时间 ns
+     */
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * 会话已被回收的通道数标记
+     */
+    private static final int EVICTED = -1;
+
+    /**
+     * 分组已被移除的会话数标记
+     */
+    private static final int RETIRED = -1;
+
+    /**
+     * 会话持有者 用于创建会话
+     */
+    private final SessionHolder holder;
+
+    /**
+     * 会话分组
+     */
+    private final Map<String, SessionGroup> groups;
+
+    /**
+     * 每个分组的最大会话数
+     */
+    private volatile int maxSessions;
+
+    /**
+     * 每个会话的最大通道数
+     */
+    private volatile int maxChannels;
+
+    /**
+     * 连接超时时间 ms
+     */
+    private volatile int connectTimeout;
+
+    /**
+     * 借出等待超时时间 ms
+     */
+    private volatile int timeout;
+
+    /**
+     * 空闲超时时间 ms 0 不回收
+     */
+    private volatile long idleTimeout;
+
+    private final LongAdder borrowCount;
+
+    private final LongAdder waitCount;
+
+    private final LongAdder createCount;
+
+    private final LongAdder destroyCount;
+
+    private final LongAdder failCount;
+
+    private final LongAdder borrowWaitNanos;
+
+    private final AtomicLong maxBorrowWaitNanos;
+
+    /**
+     * 长连接心跳监听
+     */
+    private SessionKeepAlive keepAlive;
+
+    private volatile boolean closed;
+
+    public SessionPool() {
+        this(SessionHolder.create());
+    }
+
+    public SessionPool(SessionHolder holder) {
+        Assert.notNull(holder, "session holder is null");
+        this.holder = holder;
+        this.groups = new ConcurrentHashMap<>();
+        this.maxSessions = Const.N_2;
+        this.maxChannels = Const.N_10;
+        this.connectTimeout = Const.MS_S_10;
+        this.timeout = Const.MS_S_30;
+        this.borrowCount = new LongAdder();
+        this.waitCount = new LongAdder();
+        this.createCount = new LongAdder();
+        this.destroyCount = new LongAdder();
+        this.failCount = new LongAdder();
+        this.borrowWaitNanos = new LongAdder();
+        this.maxBorrowWaitNanos = new AtomicLong();
+    }
+
+    /**
+     * 每个分组 (主机 端口 用户名) 的最大会话数
+     *
+     * @param maxSessions 最大会话数
+     * @return this
+     */
+    public SessionPool maxSessions(int maxSessions) {
+        Assert.isTrue(maxSessions > 0, "max sessions must be greater than 0");
+        this.maxSessions = maxSessions;
+        return this;
+    }
+
+    /**
+     * 每个会话的最大通道数 需要不大于服务端的 MaxSessions
+     *
+     * @param maxChannels 最大通道数
+     * @return this
+     */
+    public SessionPool maxChannels(int maxChannels) {
+        Assert.isTrue(maxChannels > 0, "max channels must be greater than 0");
+        this.maxChannels = maxChannels;
+        return this;
+    }
+
+    /**
+     * 连接超时时间 ms
+     *
+     * @param connectTimeout connectTimeout ms
+     * @return this
+     */
+    public SessionPool connectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    /**
+     * 借出等待超时时间 ms
+     *
+     * @param timeout timeout ms
+     * @return this
+     */
+    public SessionPool timeout(int timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * 空闲超时时间 ms 没有打开通道的会话超时后由心跳销毁 0 不回收
+     *
+     * @param idleTimeout idleTimeout ms
+     * @return this
+     */
+    public SessionPool idleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        return this;
+    }
+
+    /**
+     * 开启心跳 默认间隔 1min
+     *
+     * @return this
+     */
+    public SessionPool keepAliveListener() {
+        return this.keepAliveListener(Const.MS_S_60);
+    }
+
+    /**
+     * 开启心跳
+     *
+     * @param interval 心跳间隔 ms
+     * @return this
+     */
+    public SessionPool keepAliveListener(int interval) {
+        Streams.close(keepAlive);
+        this.keepAlive = new SessionKeepAlive(this);
+        keepAlive.listener(interval);
+        return this;
+    }
+
+    public SessionStore getSession(String host, String username, String password) {
+        return this.getSession(host, SessionHolder.DEFAULT_SSH_PORT, username, password);
+    }
+
+    /**
+     * 借出一个私钥认证的会话 私钥需要添加到 {@link #getHolder()}
+     *
+     * @param host     主机
+     * @param port     端口
+     * @param username 用户名
+     * @return SessionStore
+     */
+    public SessionStore getSession(String host, int port, String username) {
+        return this.getSession(host, port, username, null);
+    }
+
+    /**
+     * 借出一个会话
+     * <p>
+     * 返回的会话只能用来打开一个通道, 关闭时归还通道名额
+     *
+     * @param host     主机
+     * @param port     端口
+     * @param username 用户名
+     * @param password 密码 私钥认证为 null
+     * @return SessionStore
+     */
+    public SessionStore getSession(String host, int port, String username, String password) {
+        Assert.notBlank(host, "host is blank");
+        Assert.notBlank(username, "username is blank");
+        this.checkClosed();
+        // 分组包含凭证摘要 防止使用错误的密码借出已认证的会话
+        String key = getGroupKey(host, port, username, password);
+        SessionGroup group = this.getGroup(key, host, port, username, password);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeout);
+        boolean waited = false;
+        while (true) {
+            this.checkClosed();
+            PooledSession pooled = this.acquire(group);
+            if (pooled != null) {
+                return this.lease(group, pooled, start, waited);
+            }
+            if (group.reserve(maxSessions)) {
+                return this.lease(group, this.create(group), start, waited);
+            }
+            if (group.count.get() == RETIRED) {
+                // 分组已被回收 重新获取分组
+                group = this.getGroup(key, host, port, username, password);
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                failCount.increment();
+                LOGGER.error("cannot get session with pool, not have more free channel: {}", group.key());
+                throw Exceptions.timeout("cannot get session with pool, not have more free channel: " + group.key());
+            }
+            waited = true;
+            this.await(group, remaining);
+        }
+    }
+
+    /**
+     * 检查空闲会话 发送心跳, 销毁失效和空闲超时的会话
+     */
+    protected void evict() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, SessionGroup> entry : groups.entrySet()) {
+            SessionGroup group = entry.getValue();
+            // 移除没有会话和等待线程的分组 标记后借出线程会重新获取分组
+            if (group.waiters.isEmpty() && group.count.compareAndSet(0, RETIRED)) {
+                groups.remove(entry.getKey(), group);
+                continue;
+            }
+            for (PooledSession pooled : group.sessions) {
+                if (closed) {
+                    return;
+                }
+                // 占用空闲会话 防止检查期间被借出
+                if (!pooled.channels.compareAndSet(0, EVICTED)) {
+                    if (!pooled.isAlive()) {
+                        // 使用中的失效会话在归还时销毁
+                        pooled.invalid = true;
+                    }
+                    continue;
+                }
+                boolean expired = idleTimeout > 0 && now - pooled.lastReturnTime >= idleTimeout;
+                if (expired || !pooled.isAlive() || !pooled.sendKeepAlive()) {
+                    LOGGER.debug("evict session with pool expired: {} {}", expired, group.key());
+                    this.destroy(group, pooled);
+                } else {
+                    pooled.channels.set(0);
+                    group.signal();
+                }
+            }
+        }
+    }
+
+    /**
+     * 关闭会话池
+     * <p>
+     * 空闲会话立即断开, 使用中的会话在通道全部归还时断开
+     */
+    @Override
+    public void close() {
+        LOGGER.debug("session pool closing...");
+        this.closed = true;
+        Streams.close(keepAlive);
+        for (SessionGroup group : groups.values()) {
+            for (PooledSession pooled : group.sessions) {
+                pooled.invalid = true;
+                if (pooled.channels.compareAndSet(0, EVICTED)) {
+                    this.destroy(group, pooled);
+                }
+            }
+            Thread waiter;
+            while ((waiter = group.waiters.poll()) != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    /**
+     * 归还通道名额
+     *
+     * @param store 借出的会话
+     */
+    protected void release(PooledSessionStore store) {
+        SessionGroup group = store.group;
+        PooledSession pooled = store.pooled;
+        pooled.lastReturnTime = System.currentTimeMillis();
+        if (pooled.channels.decrementAndGet() == 0
+                && (pooled.invalid || closed || !pooled.isAlive())
+                && pooled.channels.compareAndSet(0, EVICTED)) {
+            this.destroy(group, pooled);
+        } else {
+            group.signal();
+        }
+    }
+
+    /**
+     * 获取分组 不存在或已被回收时创建
+     *
+     * @param key      分组 key
+     * @param host     主机
+     * @param port     端口
+     * @param username 用户名
+     * @param password 密码
+     * @return 分组
+     */
+    private SessionGroup getGroup(String key, String host, int port, String username, String password) {
+        SessionGroup group = groups.get(key);
+        if (group != null && group.count.get() != RETIRED) {
+            return group;
+        }
+        return groups.compute(key, (k, v) -> v == null || v.count.get() == RETIRED
+                ? new SessionGroup(host, port, username, password)
+                : v);
+    }
+
+    /**
+     * 从分组中占用一个有空余通道的会话
+     * <p>
+     * 优先填满靠前的会话 使靠后的会话可以空闲回收
+     *
+     * @param group 分组
+     * @return 会话
+     */
+    private PooledSession acquire(SessionGroup group) {
+        int max = maxChannels;
+        for (PooledSession pooled : group.sessions) {
+            if (pooled.invalid) {
+                continue;
+            }
+            if (!pooled.isAlive()) {
+                pooled.invalid = true;
+                if (pooled.channels.compareAndSet(0, EVICTED)) {
+                    this.destroy(group, pooled);
+                }
+                continue;
+            }
+            while (true) {
+                int channels = pooled.channels.get();
+                if (channels < 0 || channels >= max) {
+                    break;
+                }
+                if (pooled.channels.compareAndSet(channels, channels + 1)) {
+                    return pooled;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 创建会话 需要先占用会话数
+     *
+     * @param group 分组
+     * @return 会话
+     */
+    private PooledSession create(SessionGroup group) {
+        SessionStore store;
+        try {
+            store = holder.getSession(group.host, group.port, group.username);
+            if (group.password != null) {
+                store.password(group.password);
+            }
+            store.timeout(connectTimeout).connect(connectTimeout);
+        } catch (RuntimeException e) {
+            group.count.decrementAndGet();
+            failCount.increment();
+            group.signal();
+            throw e;
+        }
+        PooledSession pooled = new PooledSession(store.getSession());
+        pooled.channels.set(1);
+        group.sessions.add(pooled);
+        createCount.increment();
+        LOGGER.debug("create session with pool: {}", group.key());
+        return pooled;
+    }
+
+    /**
+     * 借出通道名额并记录等待时间
+     *
+     * @param group  分组
+     * @param pooled 会话
+     * @param start  开始借出时间 ns
+     * @param waited 是否等待过
+     * @return SessionStore
+     */
+    private SessionStore lease(SessionGroup group, PooledSession pooled, long start, boolean waited) {
+        borrowCount.increment();
+        if (waited) {
+            waitCount.increment();
+        }
+        long wait = System.nanoTime() - start;
+        borrowWaitNanos.add(wait);
+        maxBorrowWaitNanos.accumulateAndGet(wait, Math::max);
+        return new PooledSessionStore(this, group, pooled);
+    }
+
+    /**
+     * 断开会话并唤醒一个等待线程 需要先将通道数标记为 {@link #EVICTED}
+     *
+     * @param group  分组
+     * @param pooled 会话
+     */
+    private void destroy(SessionGroup group, PooledSession pooled) {
+        if (!group.sessions.remove(pooled)) {
+            return;
+        }
+        group.count.decrementAndGet();
+        destroyCount.increment();
+        try {
+            pooled.session.disconnect();
+        } catch (Exception e) {
+            // ignore
+        }
+        group.signal();
+    }
+
+    /**
+     * 等待通道归还或会话销毁
+     *
+     * @param group     分组
+     * @param remaining 剩余等待时间 ns
+     */
+    private void await(SessionGroup group, long remaining) {
+        Thread current = Thread.currentThread();
+        group.waiters.offer(current);
+        try {
+            // 入队后再次检查 防止错过入队前的唤醒
+            if (group.count.get() < maxSessions || closed) {
+                return;
+            }
+            LockSupport.parkNanos(this, Math.min(remaining, PARK_NANOS));
+        } finally {
+            group.waiters.remove(current);
+        }
+        if (Thread.interrupted()) {
+            current.interrupt();
+            failCount.increment();
+            throw Exceptions.state("get session with pool interrupted");
+        }
+    }
+
+    /**
+     * 检查是否已关闭
+     */
+    private void checkClosed() {
+        if (closed) {
+            throw Exceptions.state("session pool is closed");
+        }
+    }
+
+    private static String getKey(String host, int port, String username) {
+        return username + "@" + host + ":" + port;
+    }
+
+    /**
+     * 获取分组 key 密码只保存摘要
+     *
+     * @param host     主机
+     * @param port     端口
+     * @param username 用户名
+     * @param password 密码 私钥认证为 null
+     * @return key
+     */
+    private static String getGroupKey(String host, int port, String username, String password) {
+        String key = getKey(host, port, username);
+        if (password == null) {
+            return key;
+        }
+        return key + "#" + Signatures.sha256(password);
+    }
+
+    public SessionHolder getHolder() {
+        return holder;
+    }
+
+    /**
+     * @return 会话数
+     */
+    public int getSessionSize() {
+        int size = 0;
+        for (SessionGroup group : groups.values()) {
+            size += group.sessions.size();
+        }
+        return size;
+    }
+
+    /**
+     * 获取主机用户的会话数 包含所有凭证的分组
+     *
+     * @param host     主机
+     * @param port     端口
+     * @param username 用户名
+     * @return 会话数
+     */
+    public int getSessionSize(String host, int port, String username) {
+        String key = getKey(host, port, username);
+        int size = 0;
+        for (SessionGroup group : groups.values()) {
+            if (group.key().equals(key)) {
+                size += group.sessions.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return 没有打开通道的会话数
+     */
+    public int getIdleSessionSize() {
+        int size = 0;
+        for (SessionGroup group : groups.values()) {
+            for (PooledSession pooled : group.sessions) {
+                if (pooled.channels.get() == 0) {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return 借出中的通道数
+     */
+    public int getActiveChannelSize() {
+        int size = 0;
+        for (SessionGroup group : groups.values()) {
+            for (PooledSession pooled : group.sessions) {
+                size += Math.max(pooled.channels.get(), 0);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return 失效但未销毁的会话数
+     */
+    public int getUnhealthySessionSize() {
+        int size = 0;
+        for (SessionGroup group : groups.values()) {
+            for (PooledSession pooled : group.sessions) {
+                if (pooled.invalid || !pooled.isAlive()) {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return 等待中的线程数
+     */
+    public int getWaiterSize() {
+        int size = 0;
+        for (SessionGroup group : groups.values()) {
+            size += group.waiters.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return 借出次数
+     */
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    /**
+     * @return 借出时等待过的次数
+     */
+    public long getWaitCount() {
+        return waitCount.sum();
+    }
+
+    /**
+     * @return 创建会话次数
+     */
+    public long getCreateCount() {
+        return createCount.sum();
+    }
+
+    /**
+     * @return 销毁会话次数
+     */
+    public long getDestroyCount() {
+        return destroyCount.sum();
+    }
+
+    /**
+     * @return 借出失败次数 包含连接失败和等待超时
+     */
+    public long getFailCount() {
+        return failCount.sum();
+    }
+
+    /**
+     * 获取平均借出耗时 包含等待和建立连接的时间
+     *
+     * @param unit 时间单位
+     * @return 平均耗时
+     */
+    public long getAverageBorrowWait(TimeUnit unit) {
+        long count = borrowCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return unit.convert(borrowWaitNanos.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 获取最长借出耗时
+     *
+     * @param unit 时间单位
+     * @return 最长耗时
+     */
+    public long getMaxBorrowWait(TimeUnit unit) {
+        return unit.convert(maxBorrowWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public int getMaxChannels() {
+        return maxChannels;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 会话分组 主机 端口 用户名 凭证 相同的会话
+     */
+    protected static class SessionGroup {
+
+        private final String host;
+
+        private final int port;
+
+        private final String username;
+
+        private final String password;
+
+        private final CopyOnWriteArrayList<PooledSession> sessions;
+
+        /**
+         * 会话数 包含创建中的会话
+         */
+        private final AtomicInteger count;
+
+        private final ConcurrentLinkedQueue<Thread> waiters;
+
+        private SessionGroup(String host, int port, String username, String password) {
+            this.host = host;
+            this.port = port;
+            this.username = username;
+            this.password = password;
+            this.sessions = new CopyOnWriteArrayList<>();
+            this.count = new AtomicInteger();
+            this.waiters = new ConcurrentLinkedQueue<>();
+        }
+
+        /**
+         * 占用一个会话数
+         *
+         * @param max 最大会话数
+         * @return 是否占用成功
+         */
+        private boolean reserve(int max) {
+            while (true) {
+                int c = count.get();
+                if (c == RETIRED || c >= max) {
+                    return false;
+                }
+                if (count.compareAndSet(c, c + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * 唤醒一个等待线程
+         */
+        private void signal() {
+            Thread waiter = waiters.poll();
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+
+        private String key() {
+            return getKey(host, port, username);
+        }
+
+    }
+
+    /**
+     * 池化的会话
+     */
+    protected static class PooledSession {
+
+        private final Session session;
+
+        /**
+         * 打开的通道数 {@link #EVICTED} 为回收中
+         */
+        private final AtomicInteger channels;
+
+        private volatile long lastReturnTime;
+
+        /**
+         * 是否已失效 失效后不再借出
+         */
+        private volatile boolean invalid;
+
+        private PooledSession(Session session) {
+            this.session = session;
+            this.channels = new AtomicInteger();
+            this.lastReturnTime = System.currentTimeMillis();
+        }
+
+        private boolean isAlive() {
+            return session.isConnected();
+        }
+
+        /**
+         * 发送心跳
+         *
+         * @return 是否发送成功
+         */
+        private boolean sendKeepAlive() {
+            try {
+                session.sendKeepAliveMsg();
+                return true;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+    }
+
+    /**
+     * 借出的会话 关闭时归还通道名额
+     */
+    protected static class PooledSessionStore extends SessionStore {
+
+        private final SessionPool pool;
+
+        private final SessionGroup group;
+
+        private final PooledSession pooled;
+
+        private final AtomicBoolean released;
+
+        private PooledSessionStore(SessionPool pool, SessionGroup group, PooledSession pooled) {
+            super(pooled.session);
+            this.pool = pool;
+            this.group = group;
+            this.pooled = pooled;
+            this.released = new AtomicBoolean();
+        }
+
+        /**
+         * 池中的会话已建立连接
+         *
+         * @param timeout 超时时间
+         * @return this
+         */
+        @Override
+        public SessionStore connect(int timeout) {
+            return this;
+        }
+
+        /**
+         * 标记会话失效 会话在所有通道归还后断开
+         */
+        @Override
+        public void disconnect() {
+            pooled.invalid = true;
+            this.close();
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                pool.release(this);
+            }
+        }
+
+    }
+
+}
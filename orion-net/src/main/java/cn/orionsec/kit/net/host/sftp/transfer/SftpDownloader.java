@@ -33,6 +33,9 @@ import cn.orionsec.kit.lang.utils.io.Streams;
 import cn.orionsec.kit.net.host.sftp.SftpExecutor;
 import cn.orionsec.kit.net.host.sftp.SftpFile;
 import cn.orionsec.kit.net.specification.transfer.BaseFileDownloader;
+import cn.orionsec.kit.net.specification.transfer.ISegmentConnection;
+import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.JSchException;
 
 import java.io.File;
 import java.io.IOException;
@@ -40,6 +43,8 @@ import java.io.InputStream;
 
 /**
  * SFTP 大文件下载 支持断点续传, 实时速率
+ * <p>
+ * 分段下载时每个分段在执行器所属的会话上打开新的 sftp 通道
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -98,6 +103,35 @@ public class SftpDownloader extends BaseFileDownloader {
         }
     }
 
+    @Override
+    protected ISegmentConnection openSegmentConnection() {
+        ChannelSftp channel;
+        try {
+            channel = (ChannelSftp) executor.getChannel().getSession().openChannel("sftp");
+        } catch (JSchException e) {
+            throw Exceptions.sftp("could not open segment channel", e);
+        }
+        SftpExecutor segment = new SftpExecutor(channel, executor.getCharset());
+        segment.connect();
+        return new ISegmentConnection() {
+
+            @Override
+            public InputStream openInputStream(long offset) throws IOException {
+                return segment.openInputStream(remote, offset);
+            }
+
+            @Override
+            public void closeInputStream(InputStream in, boolean eof) {
+                Streams.close(in);
+            }
+
+            @Override
+            public void close() {
+                segment.close();
+            }
+        };
+    }
+
     @Override
     protected int read(byte[] bs) throws IOException {
         return in.read(bs);
@@ -115,6 +149,7 @@ public class SftpDownloader extends BaseFileDownloader {
 
     @Override
     public void abort() {
+        this.aborted = true;
         Streams.close(executor);
     }
 
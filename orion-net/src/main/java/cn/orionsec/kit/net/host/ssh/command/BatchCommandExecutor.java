@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.host.ssh.command;
+
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.support.Attempt;
+import cn.orionsec.kit.lang.support.timeout.TimeoutChecker;
+import cn.orionsec.kit.lang.support.timeout.TimeoutCheckers;
+import cn.orionsec.kit.lang.support.timeout.TimeoutEndpoint;
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.Strings;
+import cn.orionsec.kit.lang.utils.Threads;
+import cn.orionsec.kit.lang.utils.io.Streams;
+import cn.orionsec.kit.net.host.SessionHolder;
+import cn.orionsec.kit.net.host.SessionStore;
+import cn.orionsec.kit.net.host.pool.SessionPool;
+import com.jcraft.jsch.ChannelExec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 批量命令执行器 在多台主机上执行同一个命令
+ * <p>
+ * 最多同时在 {@link #concurrency(int)} 台主机上执行, 会话从 {@link SessionPool} 借出
+ * 输出按行回调 {@link #lineHandler(BiConsumer)} 不在内存中缓存, 超长的行按 {@link #maxLineLength(int)} 截断为多行
+ * 每台主机只保留最后 {@link #tailLines(int)} 行输出用于排查, 内存占用与输出量无关
+ * <p>
+ * 每台主机的超时时间从命令开始执行时计算, 超时后断开通道
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:20
+ */
+public class BatchCommandExecutor {
+
+    private static final int BUFFER_SIZE = Const.BUFFER_KB_8;
+
+    private static final int DEFAULT_CONCURRENCY = 32;
+
+    /**
+     * 等待退出码的最长时间 ms
+     */
+    private static final long EXIT_STATUS_WAIT = Const.MS_S_1;
+
+    /**
+     * 会话池
+     */
+    private final SessionPool pool;
+
+    /**
+     * 主机
+     */
+    private final List<HostTarget> hosts;
+
+    /**
+     * 最大并发数
+     */
+    private int concurrency;
+
+    /**
+     * 每台主机的超时时间 ms 0 不超时
+     */
+    private long timeout;
+
+    /**
+     * 超时检测器 为空则执行期间创建时间轮检测器
+     */
+    private TimeoutChecker<TimeoutEndpoint> checker;
+
+    /**
+     * 执行线程池
+     */
+    private ExecutorService executor;
+
+    /**
+     * 编码
+     */
+    private String charset;
+
+    /**
+     * 单行最大字节数
+     */
+    private int maxLineLength;
+
+    /**
+     * 每台主机保留的输出行数
+     */
+    private int tailLines;
+
+    /**
+     * 是否合并标准输出流和错误输出流
+     */
+    private boolean merge;
+
+    /**
+     * 行处理器 host : line
+     */
+    private BiConsumer<HostCommandResult, String> lineHandler;
+
+    public BatchCommandExecutor(SessionPool pool) {
+        Assert.notNull(pool, "session pool is null");
+        this.pool = pool;
+        this.hosts = new ArrayList<>();
+        this.concurrency = DEFAULT_CONCURRENCY;
+        this.charset = Const.UTF_8;
+        this.maxLineLength = Const.BUFFER_KB_8;
+        this.tailLines = Const.N_10;
+        this.merge = true;
+        this.executor = Threads.CACHE_EXECUTOR;
+    }
+
+    public BatchCommandExecutor addHost(String host, String username, String password) {
+        return this.addHost(host, SessionHolder.DEFAULT_SSH_PORT, username, password);
+    }
+
+    /**
+     * 添加主机
+     *
+     * @param host     主机
+     * @param port     端口
+     * @param username 用户名
+     * @param password 密码 私钥认证为 null
+     * @return this
+     */
+    public BatchCommandExecutor addHost(String host, int port, String username, String password) {
+        Assert.notBlank(host, "host is blank");
+        Assert.notBlank(username, "username is blank");
+        hosts.add(new HostTarget(host, port, username, password));
+        return this;
+    }
+
+    /**
+     * 最大并发数
+     *
+     * @param concurrency 并发数
+     * @return this
+     */
+    public BatchCommandExecutor concurrency(int concurrency) {
+        Assert.isTrue(concurrency > 0, "concurrency must be greater than 0");
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * 每台主机的超时时间
+     *
+     * @param timeout timeout ms
+     * @return this
+     */
+    public BatchCommandExecutor timeout(long timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * 超时检测器 需要调用方启动和关闭
+     *
+     * @param checker checker
+     * @return this
+     */
+    public BatchCommandExecutor checker(TimeoutChecker<TimeoutEndpoint> checker) {
+        this.checker = checker;
+        return this;
+    }
+
+    /**
+     * 执行线程池
+     *
+     * @param executor executor
+     * @return this
+     */
+    public BatchCommandExecutor executor(ExecutorService executor) {
+        this.executor = Assert.notNull(executor, "executor is null");
+        return this;
+    }
+
+    public BatchCommandExecutor charset(String charset) {
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * 单行最大字节数 超过后截断为多行
+     *
+     * @param maxLineLength 最大字节数
+     * @return this
+     */
+    public BatchCommandExecutor maxLineLength(int maxLineLength) {
+        Assert.isTrue(maxLineLength > 0, "max line length must be greater than 0");
+        this.maxLineLength = maxLineLength;
+        return this;
+    }
+
+    /**
+     * 每台主机保留的输出行数
+     *
+     * @param tailLines 行数
+     * @return this
+     */
+    public BatchCommandExecutor tailLines(int tailLines) {
+        this.tailLines = tailLines;
+        return this;
+    }
+
+    /**
+     * 是否合并标准输出流和错误输出流 不合并时只读取标准输出
+     *
+     * @param merge merge
+     * @return this
+     */
+    public BatchCommandExecutor merge(boolean merge) {
+        this.merge = merge;
+        return this;
+    }
+
+    /**
+     * 行处理器 在读取输出的线程中回调, 需要自行处理线程安全
+     *
+     * @param lineHandler host : line
+     * @return this
+     */
+    public BatchCommandExecutor lineHandler(BiConsumer<HostCommandResult, String> lineHandler) {
+        this.lineHandler = lineHandler;
+        return this;
+    }
+
+    /**
+     * 执行命令 阻塞至所有主机执行完毕
+     *
+     * @param command 命令
+     * @return 执行结果
+     */
+    public BatchCommandResult exec(String command) {
+        Assert.notNull(command, "command is null");
+        long start = System.currentTimeMillis();
+        int size = hosts.size();
+        if (size == 0) {
+            return new BatchCommandResult(new ArrayList<>(), 0);
+        }
+        // 未设置检测器时创建时间轮
+        TimeoutChecker<TimeoutEndpoint> timeoutChecker = checker;
+        boolean createChecker = timeout > 0 && timeoutChecker == null;
+        if (createChecker) {
+            timeoutChecker = TimeoutCheckers.createWheel();
+            // 检测器使用独立线程 不占用工作线程池 防止线程池饱和时超时无法触发
+            Thread checkerThread = new Thread(timeoutChecker, "batch-command-timeout-checker");
+            checkerThread.setDaemon(true);
+            checkerThread.start();
+        }
+        byte[] commandBytes = Strings.bytes(command, charset);
+        List<HostCommandResult> results = new ArrayList<>(size);
+        for (HostTarget host : hosts) {
+            results.add(new HostCommandResult(host.host, host.port, host.username, tailLines));
+        }
+        AtomicInteger index = new AtomicInteger();
+        int workers = Math.min(concurrency, size);
+        CountDownLatch latch = new CountDownLatch(workers);
+        TimeoutChecker<TimeoutEndpoint> workerChecker = timeoutChecker;
+        try {
+            for (int i = 0; i < workers; i++) {
+                executor.execute(() -> {
+                    try {
+                        int current;
+                        while ((current = index.getAndIncrement()) < size) {
+                            this.execHost(results.get(current), hosts.get(current).password, commandBytes, workerChecker);
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Exceptions.interruptedRuntime(e);
+        } finally {
+            if (createChecker) {
+                Streams.close(timeoutChecker);
+            }
+        }
+        return new BatchCommandResult(results, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 在单台主机上执行命令
+     *
+     * @param result   结果
+     * @param password 密码
+     * @param command  命令
+     * @param checker  超时检测器
+     */
+    private void execHost(HostCommandResult result, String password, byte[] command, TimeoutChecker<TimeoutEndpoint> checker) {
+        result.start();
+        CommandExecutor executor = null;
+        try (SessionStore session = pool.getSession(result.getHost(), result.getPort(), result.getUsername(), password)) {
+            executor = session.getCommandExecutor(command);
+            if (merge) {
+                executor.merge();
+            }
+            executor.streamHandler(Attempt.rethrows(in -> {
+                this.readLines(in, result);
+            }));
+            if (timeout > 0) {
+                executor.timeout(timeout, checker);
+            }
+            executor.connect();
+            executor.exec();
+            int exitCode = this.waitExitCode(executor.getChannel());
+            result.finish(exitCode, executor.isTimeout(), null);
+        } catch (Exception e) {
+            boolean isTimeout = executor != null && executor.isTimeout();
+            result.finish(-1, isTimeout, e);
+        } finally {
+            Streams.close(executor);
+        }
+    }
+
+    /**
+     * 按行读取输出 超长的行截断为多行
+     *
+     * @param in     输入流
+     * @param result 结果
+     * @throws IOException IOException
+     */
+    private void readLines(InputStream in, HostCommandResult result) throws IOException {
+        Charset cs = Charset.forName(charset);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] line = new byte[maxLineLength];
+        int lineLength = 0;
+        int read;
+        try {
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (b == '\n') {
+                        this.acceptLine(result, line, lineLength, 1, cs);
+                        lineLength = 0;
+                        continue;
+                    }
+                    if (lineLength == line.length) {
+                        this.acceptLine(result, line, lineLength, 0, cs);
+                        lineLength = 0;
+                    }
+                    line[lineLength++] = b;
+                }
+            }
+        } catch (IOException e) {
+            if (!Const.STREAM_CLOSE.equals(e.getMessage())) {
+                throw e;
+            }
+        }
+        if (lineLength > 0) {
+            this.acceptLine(result, line, lineLength, 0, cs);
+        }
+    }
+
+    /**
+     * 处理一行输出
+     *
+     * @param result  结果
+     * @param line    行
+     * @param length  行字节数
+     * @param skip    行尾换行符字节数
+     * @param charset 编码
+     */
+    private void acceptLine(HostCommandResult result, byte[] line, int length, int skip, Charset charset) {
+        int bytes = length + skip;
+        // 去除 \r
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        String s = new String(line, 0, length, charset);
+        result.addLine(s, bytes);
+        if (lineHandler != null) {
+            lineHandler.accept(result, s);
+        }
+    }
+
+    /**
+     * 等待通道关闭获取退出码 退出码可能在输出流结束后到达
+     *
+     * @param channel channel
+     * @return 退出码
+     */
+    private int waitExitCode(ChannelExec channel) {
+        long deadline = System.currentTimeMillis() + EXIT_STATUS_WAIT;
+        while (!channel.isClosed() && System.currentTimeMillis() < deadline) {
+            Threads.sleep(Const.N_5);
+        }
+        return channel.getExitStatus();
+    }
+
+    /**
+     * @return 主机数
+     */
+    public int getHostSize() {
+        return hosts.size();
+    }
+
+    /**
+     * 目标主机
+     */
+    private static class HostTarget {
+
+        private final String host;
+
+        private final int port;
+
+        private final String username;
+
+        private final String password;
+
+        private HostTarget(String host, int port, String username, String password) {
+            this.host = host;
+            this.port = port;
+            this.username = username;
+            this.password = password;
+        }
+
+    }
+
+}
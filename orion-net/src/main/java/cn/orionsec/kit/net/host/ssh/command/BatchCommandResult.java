@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.host.ssh.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 批量命令执行结果
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:20
+ */
+public class BatchCommandResult {
+
+    /**
+     * 各主机的执行结果 顺序与添加主机的顺序相同
+     */
+    private final List<HostCommandResult> results;
+
+    /**
+     * 总耗时 ms
+     */
+    private final long duration;
+
+    protected BatchCommandResult(List<HostCommandResult> results, long duration) {
+        this.results = Collections.unmodifiableList(results);
+        this.duration = duration;
+    }
+
+    /**
+     * @return 是否全部执行成功
+     */
+    public boolean isAllSuccess() {
+        return results.stream().allMatch(HostCommandResult::isSuccess);
+    }
+
+    /**
+     * @return 执行成功的主机
+     */
+    public List<HostCommandResult> getSuccess() {
+        return results.stream()
+                .filter(HostCommandResult::isSuccess)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return 执行失败的主机 包含超时 异常和非 0 退出码
+     */
+    public List<HostCommandResult> getFailed() {
+        return results.stream()
+                .filter(s -> !s.isSuccess())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return 执行超时的主机
+     */
+    public List<HostCommandResult> getTimeout() {
+        return results.stream()
+                .filter(HostCommandResult::isTimeout)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 获取掉队的主机 耗时超过中位数 factor 倍的主机, 按耗时倒序
+     *
+     * @param factor 倍数
+     * @return 掉队的主机
+     */
+    public List<HostCommandResult> getStragglers(double factor) {
+        long median = this.getDurationPercentile(50);
+        return results.stream()
+                .filter(s -> s.getDuration() > median * factor)
+                .sorted(Comparator.comparingLong(HostCommandResult::getDuration).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 获取耗时百分位
+     *
+     * @param percentile 百分位 0 ~ 100
+     * @return 耗时 ms
+     */
+    public long getDurationPercentile(int percentile) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        List<Long> durations = new ArrayList<>(results.size());
+        for (HostCommandResult result : results) {
+            durations.add(result.getDuration());
+        }
+        Collections.sort(durations);
+        int index = (int) Math.ceil(percentile / 100D * durations.size()) - 1;
+        return durations.get(Math.min(Math.max(index, 0), durations.size() - 1));
+    }
+
+    /**
+     * 按退出码分组统计主机数 未正常退出为 -1
+     *
+     * @return exitCode : count
+     */
+    public Map<Integer, Long> getExitCodeCount() {
+        return results.stream()
+                .collect(Collectors.groupingBy(HostCommandResult::getExitCode, TreeMap::new, Collectors.counting()));
+    }
+
+    public List<HostCommandResult> getResults() {
+        return results;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return "hosts: " + results.size() +
+                ", success: " + this.getSuccess().size() +
+                ", timeout: " + this.getTimeout().size() +
+                ", duration: " + duration + "ms" +
+                ", p50: " + this.getDurationPercentile(50) + "ms" +
+                ", p99: " + this.getDurationPercentile(99) + "ms";
+    }
+
+}
@@ -30,6 +30,7 @@ import cn.orionsec.kit.lang.constant.Const;
 import cn.orionsec.kit.lang.support.Attempt;
 import cn.orionsec.kit.lang.support.timeout.TimeoutChecker;
 import cn.orionsec.kit.lang.support.timeout.TimeoutEndpoint;
+import cn.orionsec.kit.lang.support.timeout.TimingWheelTimeoutChecker;
 import cn.orionsec.kit.lang.utils.Exceptions;
 import cn.orionsec.kit.lang.utils.Strings;
 import cn.orionsec.kit.lang.utils.io.Streams;
@@ -82,6 +83,11 @@ public class CommandExecutor extends BaseHostExecutor<ChannelExec> implements IC
      */
     private TimeoutChecker<TimeoutEndpoint> checker;
 
+    /**
+     * 时间轮检测句柄 执行完成时取消
+     */
+    private TimingWheelTimeoutChecker.TimeoutTask<TimeoutEndpoint> timeoutTask;
+
     /**
      * 开始时间
      */
@@ -171,12 +177,21 @@ public class CommandExecutor extends BaseHostExecutor<ChannelExec> implements IC
         return true;
     }
 
+    @Override
+    public long getTimeoutDeadline() {
+        return timeout == 0 ? 0 : startTime + timeout;
+    }
+
     @Override
     protected void listenerOutput() {
         this.startTime = System.currentTimeMillis();
         // 检测超时
         if (timeout > 0 && checker != null) {
-            checker.addTask(this);
+            if (checker instanceof TimingWheelTimeoutChecker) {
+                this.timeoutTask = ((TimingWheelTimeoutChecker<TimeoutEndpoint>) checker).schedule(this);
+            } else {
+                checker.addTask(this);
+            }
         }
         try {
             // 监听读取
@@ -193,6 +208,10 @@ public class CommandExecutor extends BaseHostExecutor<ChannelExec> implements IC
             throw e;
         } finally {
             this.done = true;
+            // 从时间轮中移除 不需要等到超时时间点
+            if (timeoutTask != null) {
+                timeoutTask.cancel();
+            }
             if (callback != null) {
                 callback.run();
             }
@@ -30,6 +30,7 @@ import cn.orionsec.kit.lang.utils.Assert;
 import cn.orionsec.kit.lang.utils.io.Streams;
 import cn.orionsec.kit.net.host.SessionHolder;
 import cn.orionsec.kit.net.host.SessionStore;
+import cn.orionsec.kit.net.host.pool.SessionPool;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -82,6 +83,26 @@ public class CommandExecutors {
         }
     }
 
+    /**
+     * 使用会话池执行命令获取命令输出 复用已认证的会话
+     *
+     * @param pool     会话池
+     * @param host     机器主机
+     * @param port     port
+     * @param username 用户名
+     * @param password 密码
+     * @param command  命令
+     * @return 命令输出
+     * @throws IOException IOException
+     */
+    public static String getCommandOutputResult(SessionPool pool, String host, int port, String username, String password, String command) throws IOException {
+        Assert.notNull(pool, "session pool is null");
+        try (SessionStore session = pool.getSession(host, port, username, password);
+             CommandExecutor executor = session.getCommandExecutor(command)) {
+            return getCommandOutputResultString(executor);
+        }
+    }
+
     /**
      * 执行命令获取命令输出
      *
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.host.ssh.command;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单台主机的命令执行结果
+ * <p>
+ * 只保留最后 {@link BatchCommandExecutor#tailLines(int)} 行输出, 完整输出需要通过行处理器消费
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:20
+ */
+public class HostCommandResult {
+
+    private final String host;
+
+    private final int port;
+
+    private final String username;
+
+    /**
+     * 退出码 未正常退出为 -1
+     */
+    private volatile int exitCode;
+
+    /**
+     * 是否超时
+     */
+    private volatile boolean timeout;
+
+    /**
+     * 执行异常 包含连接异常
+     */
+    private volatile Exception exception;
+
+    /**
+     * 开始时间 ms
+     */
+    private volatile long startTime;
+
+    /**
+     * 执行耗时 ms
+     */
+    private volatile long duration;
+
+    /**
+     * 输出行数
+     */
+    private long lineCount;
+
+    /**
+     * 输出字节数
+     */
+    private long byteCount;
+
+    /**
+     * 最后几行输出
+     */
+    private final ArrayDeque<String> tail;
+
+    private final int tailLines;
+
+    protected HostCommandResult(String host, int port, String username, int tailLines) {
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.tailLines = tailLines;
+        this.exitCode = -1;
+        this.tail = new ArrayDeque<>(Math.max(tailLines, 1));
+    }
+
+    /**
+     * 记录一行输出
+     *
+     * @param line  行
+     * @param bytes 行字节数
+     */
+    protected synchronized void addLine(String line, int bytes) {
+        lineCount++;
+        byteCount += bytes;
+        if (tailLines <= 0) {
+            return;
+        }
+        if (tail.size() == tailLines) {
+            tail.pollFirst();
+        }
+        tail.offerLast(line);
+    }
+
+    protected void start() {
+        this.startTime = System.currentTimeMillis();
+    }
+
+    protected void finish(int exitCode, boolean timeout, Exception exception) {
+        this.exitCode = exitCode;
+        this.timeout = timeout;
+        this.exception = exception;
+        this.duration = System.currentTimeMillis() - startTime;
+    }
+
+    /**
+     * @return 是否执行成功 无异常未超时且退出码为 0
+     */
+    public boolean isSuccess() {
+        return exception == null && !timeout && exitCode == 0;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    public boolean isTimeout() {
+        return timeout;
+    }
+
+    public Exception getException() {
+        return exception;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public synchronized long getLineCount() {
+        return lineCount;
+    }
+
+    public synchronized long getByteCount() {
+        return byteCount;
+    }
+
+    public synchronized List<String> getTail() {
+        return new ArrayList<>(tail);
+    }
+
+    @Override
+    public String toString() {
+        return username + "@" + host + ":" + port +
+                " exitCode: " + exitCode +
+                ", timeout: " + timeout +
+                ", duration: " + duration + "ms" +
+                (exception == null ? "" : ", exception: " + exception.getMessage());
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.socket.nio;
+
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.utils.Assert;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 直接内存缓冲区池
+ * <p>
+ * 缓冲区大小固定, 池中最多保留 maxIdle 个空闲缓冲区, 超出的缓冲区归还时直接丢弃由 GC 回收
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:30
+ */
+public class NioBufferPool {
+
+    /**
+     * 缓冲区大小
+     */
+    private final int chunkSize;
+
+    /**
+     * 最大空闲缓冲区数
+     */
+    private final int maxIdle;
+
+    private final ConcurrentLinkedQueue<ByteBuffer> idle;
+
+    private final AtomicInteger idleSize;
+
+    private final LongAdder allocateCount;
+
+    public NioBufferPool() {
+        this(Const.BUFFER_KB_8, Const.N_1000);
+    }
+
+    public NioBufferPool(int chunkSize, int maxIdle) {
+        Assert.isTrue(chunkSize > NioFrame.HEADER_LENGTH, "chunk size must be greater than " + NioFrame.HEADER_LENGTH);
+        Assert.isTrue(maxIdle >= 0, "max idle must be greater than or equal 0");
+        this.chunkSize = chunkSize;
+        this.maxIdle = maxIdle;
+        this.idle = new ConcurrentLinkedQueue<>();
+        this.idleSize = new AtomicInteger();
+        this.allocateCount = new LongAdder();
+    }
+
+    /**
+     * 借出缓冲区
+     *
+     * @return 已清空的直接内存缓冲区
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = idle.poll();
+        if (buffer != null) {
+            idleSize.decrementAndGet();
+            buffer.clear();
+            return buffer;
+        }
+        allocateCount.increment();
+        return ByteBuffer.allocateDirect(chunkSize);
+    }
+
+    /**
+     * 归还缓冲区
+     *
+     * @param buffer 缓冲区
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.capacity() != chunkSize) {
+            return;
+        }
+        if (idleSize.incrementAndGet() > maxIdle) {
+            idleSize.decrementAndGet();
+            return;
+        }
+        idle.offer(buffer);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * @return 空闲缓冲区数
+     */
+    public int getIdleSize() {
+        return idleSize.get();
+    }
+
+    /**
+     * @return 分配缓冲区次数
+     */
+    public long getAllocateCount() {
+        return allocateCount.sum();
+    }
+
+}
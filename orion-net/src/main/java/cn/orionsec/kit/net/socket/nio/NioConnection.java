@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.socket.nio;
+
+import cn.orionsec.kit.lang.able.SafeCloseable;
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.io.Streams;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NIO 连接
+ * <p>
+ * 发送的帧放入写队列由 selector 线程写出, 不会阻塞调用线程
+ * 写队列超过 highWaterMark 后拒绝发送 (背压), 可以通过 {@link #isWritable()} 判断是否可以继续发送
+ * 写队列为空时总是接收一帧, 大于 highWaterMark 的帧不会被永久拒绝
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:30
+ */
+public class NioConnection implements SafeCloseable {
+
+    private static final AtomicLong ID_SEQ = new AtomicLong();
+
+    /**
+     * 帧缓冲区的初始大小 收到数据后按需扩容
+     */
+    private static final int INITIAL_PAYLOAD_SIZE = Const.BUFFER_KB_8;
+
+    private final long id;
+
+    private final SocketChannel channel;
+
+    private final NioWorker worker;
+
+    private final SocketAddress remoteAddress;
+
+    /**
+     * 写队列
+     */
+    private final Queue<PendingWrite> writeQueue;
+
+    /**
+     * 写队列中的字节数
+     */
+    private final AtomicLong queuedBytes;
+
+    /**
+     * 是否已提交写出
+     */
+    private final AtomicBoolean writeScheduled;
+
+    private final AtomicBoolean closed;
+
+    /**
+     * 拒绝发送的帧数
+     */
+    private final AtomicLong droppedCount;
+
+    private volatile Object attachment;
+
+    /**
+     * 以下字段只在 selector 线程中访问
+     */
+    private SelectionKey key;
+
+    private final ByteBuffer header;
+
+    private byte[] payload;
+
+    private int payloadLength;
+
+    private int payloadPosition;
+
+    NioConnection(SocketChannel channel, NioWorker worker) {
+        this.id = ID_SEQ.incrementAndGet();
+        this.channel = channel;
+        this.worker = worker;
+        this.remoteAddress = getRemoteAddress(channel);
+        this.writeQueue = new ConcurrentLinkedQueue<>();
+        this.queuedBytes = new AtomicLong();
+        this.writeScheduled = new AtomicBoolean();
+        this.closed = new AtomicBoolean();
+        this.droppedCount = new AtomicLong();
+        this.header = ByteBuffer.allocate(NioFrame.HEADER_LENGTH);
+    }
+
+    /**
+     * 发送一帧数据
+     *
+     * @param bs 数据
+     * @return 是否放入写队列 连接已关闭或写队列已满返回 false
+     */
+    public boolean send(byte[] bs) {
+        return this.send(bs, 0, bs.length);
+    }
+
+    /**
+     * 发送一帧数据
+     *
+     * @param bs  数据
+     * @param off 偏移量
+     * @param len 长度
+     * @return 是否放入写队列 连接已关闭或写队列已满返回 false
+     */
+    public boolean send(byte[] bs, int off, int len) {
+        NioFrame frame = NioFrame.encode(worker.getBufferPool(), bs, off, len);
+        try {
+            return this.send(frame);
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * 发送帧 成功时持有帧的一个引用
+     *
+     * @param frame 帧
+     * @return 是否放入写队列
+     */
+    boolean send(NioFrame frame) {
+        if (closed.get()) {
+            return false;
+        }
+        int length = frame.length();
+        long queued;
+        do {
+            queued = queuedBytes.get();
+            // 写队列为空时不检查 只限制后续的帧
+            if (queued > 0 && queued + length > worker.getHighWaterMark()) {
+                droppedCount.incrementAndGet();
+                if (worker.isCloseOnOverflow()) {
+                    this.close();
+                }
+                return false;
+            }
+        } while (!queuedBytes.compareAndSet(queued, queued + length));
+        frame.retain();
+        writeQueue.offer(new PendingWrite(frame));
+        if (closed.get()) {
+            // 入队期间连接被关闭 关闭线程可能已经清空过写队列
+            this.clearWriteQueue();
+            return false;
+        }
+        if (writeScheduled.compareAndSet(false, true)) {
+            worker.scheduleWrite(this);
+        }
+        return true;
+    }
+
+    /**
+     * 关闭连接 未写出的数据会被丢弃
+     */
+    @Override
+    public void close() {
+        if (!closed.get()) {
+            worker.execute(() -> this.doClose(null));
+        }
+    }
+
+    /**
+     * 注册到 selector 在 selector 线程中调用
+     */
+    void register() throws IOException {
+        this.key = channel.register(worker.getSelector(), SelectionKey.OP_READ, this);
+        worker.getHandler().onOpen(this);
+        if (!writeQueue.isEmpty()) {
+            this.flush();
+        }
+    }
+
+    /**
+     * 读取并解码 在 selector 线程中调用
+     *
+     * @param buffer selector 线程的读缓冲区
+     */
+    void read(ByteBuffer buffer) throws IOException {
+        int read = channel.read(buffer);
+        if (read < 0) {
+            this.doClose(null);
+            return;
+        }
+        buffer.flip();
+        try {
+            this.decode(buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 写出写队列 在 selector 线程中调用
+     */
+    void flush() throws IOException {
+        writeScheduled.set(false);
+        if (key == null || !key.isValid()) {
+            return;
+        }
+        ByteBuffer[] gather = worker.getGatherBuffers();
+        while (true) {
+            int count = 0;
+            Iterator<PendingWrite> iterator = writeQueue.iterator();
+            while (count < gather.length && iterator.hasNext()) {
+                gather[count++] = iterator.next().buffer;
+            }
+            if (count == 0) {
+                // 写完 取消写事件
+                if ((key.interestOps() & SelectionKey.OP_WRITE) != 0) {
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+                return;
+            }
+            try {
+                channel.write(gather, 0, count);
+            } finally {
+                Arrays.fill(gather, 0, count, null);
+            }
+            int completed = 0;
+            PendingWrite write;
+            while (completed < count && (write = writeQueue.peek()) != null && !write.buffer.hasRemaining()) {
+                writeQueue.poll();
+                queuedBytes.addAndGet(-write.frame.length());
+                write.frame.release();
+                completed++;
+            }
+            if (completed < count) {
+                // 发送缓冲区已满 等待可写
+                if ((key.interestOps() & SelectionKey.OP_WRITE) == 0) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 关闭连接 在 selector 线程中调用
+     *
+     * @param e 异常
+     */
+    void doClose(Throwable e) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (key != null) {
+            key.cancel();
+        }
+        Streams.close(channel);
+        this.clearWriteQueue();
+        worker.removeConnection(this);
+        NioHandler handler = worker.getHandler();
+        try {
+            if (e != null) {
+                handler.onError(this, e);
+            }
+        } finally {
+            handler.onClose(this);
+        }
+    }
+
+    /**
+     * 释放写队列中未写出的帧 连接关闭后调用
+     */
+    private void clearWriteQueue() {
+        PendingWrite write;
+        while ((write = writeQueue.poll()) != null) {
+            write.frame.release();
+        }
+        queuedBytes.set(0);
+    }
+
+    /**
+     * 解码长度头帧
+     * <p>
+     * 帧缓冲区随收到的数据扩容, 不按长度头预分配, 防止伪造的长度头占用内存
+     *
+     * @param buffer 读取的数据
+     */
+    private void decode(ByteBuffer buffer) throws IOException {
+        NioHandler handler = worker.getHandler();
+        // 处理消息时连接可能被关闭 关闭后丢弃剩余的数据
+        while (buffer.hasRemaining() && !closed.get()) {
+            if (payload == null) {
+                int length;
+                if (header.position() == 0 && buffer.remaining() >= NioFrame.HEADER_LENGTH) {
+                    length = buffer.getInt();
+                } else {
+                    while (header.hasRemaining() && buffer.hasRemaining()) {
+                        header.put(buffer.get());
+                    }
+                    if (header.hasRemaining()) {
+                        return;
+                    }
+                    header.flip();
+                    length = header.getInt();
+                    header.clear();
+                }
+                if (length < 0 || length > worker.getMaxFrameLength()) {
+                    throw Exceptions.io("frame length error: " + length);
+                }
+                this.payload = new byte[Math.min(length, INITIAL_PAYLOAD_SIZE)];
+                this.payloadLength = length;
+                this.payloadPosition = 0;
+            }
+            int size = Math.min(payloadLength - payloadPosition, buffer.remaining());
+            if (payloadPosition + size > payload.length) {
+                int capacity = (int) Math.min(payloadLength, Math.max((long) payload.length << 1, payloadPosition + size));
+                this.payload = Arrays.copyOf(payload, capacity);
+            }
+            buffer.get(payload, payloadPosition, size);
+            payloadPosition += size;
+            if (payloadPosition == payloadLength) {
+                byte[] message = payload;
+                this.payload = null;
+                handler.onMessage(this, message);
+            }
+        }
+    }
+
+    private static SocketAddress getRemoteAddress(SocketChannel channel) {
+        try {
+            return channel.getRemoteAddress();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    public SocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    public boolean isOpen() {
+        return !closed.get();
+    }
+
+    /**
+     * @return 写队列是否低于 highWaterMark
+     */
+    public boolean isWritable() {
+        return !closed.get() && queuedBytes.get() < worker.getHighWaterMark();
+    }
+
+    /**
+     * @return 写队列中的字节数
+     */
+    public long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    /**
+     * @return 写队列已满被拒绝的帧数
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public void attach(Object attachment) {
+        this.attachment = attachment;
+    }
+
+    public Object getAttachment() {
+        return attachment;
+    }
+
+    @Override
+    public String toString() {
+        return "NioConnection{id=" + id + ", remote=" + remoteAddress + "}";
+    }
+
+    /**
+     * 待写出的帧
+     */
+    private static class PendingWrite {
+
+        private final NioFrame frame;
+
+        private final ByteBuffer buffer;
+
+        private PendingWrite(NioFrame frame) {
+            this.frame = frame;
+            this.buffer = frame.duplicate();
+        }
+
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.socket.nio;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 编码后的帧 4 字节长度 + 数据
+ * <p>
+ * 引用计数 广播时多个连接共享同一个缓冲区, 全部写出后归还到缓冲区池
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:30
+ */
+class NioFrame {
+
+    /**
+     * 长度头字节数
+     */
+    static final int HEADER_LENGTH = 4;
+
+    /**
+     * 帧数据 编码后不再修改
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * 所属缓冲区池 未池化为 null
+     */
+    private final NioBufferPool pool;
+
+    private final AtomicInteger refs;
+
+    private NioFrame(ByteBuffer buffer, NioBufferPool pool) {
+        this.buffer = buffer;
+        this.pool = pool;
+        this.refs = new AtomicInteger(1);
+    }
+
+    /**
+     * 编码帧 能放入池中缓冲区时使用直接内存, 否则使用堆内存
+     *
+     * @param pool 缓冲区池
+     * @param bs   数据
+     * @param off  偏移量
+     * @param len  长度
+     * @return 帧
+     */
+    static NioFrame encode(NioBufferPool pool, byte[] bs, int off, int len) {
+        ByteBuffer buffer;
+        NioBufferPool owner = null;
+        if (HEADER_LENGTH + len <= pool.getChunkSize()) {
+            buffer = pool.acquire();
+            owner = pool;
+        } else {
+            buffer = ByteBuffer.allocate(HEADER_LENGTH + len);
+        }
+        buffer.putInt(len).put(bs, off, len).flip();
+        return new NioFrame(buffer, owner);
+    }
+
+    /**
+     * @return 帧总长度
+     */
+    int length() {
+        return buffer.limit();
+    }
+
+    /**
+     * @return 独立读写位置的视图
+     */
+    ByteBuffer duplicate() {
+        return buffer.duplicate();
+    }
+
+    void retain() {
+        refs.incrementAndGet();
+    }
+
+    void release() {
+        if (refs.decrementAndGet() == 0 && pool != null) {
+            pool.release(buffer);
+        }
+    }
+
+}
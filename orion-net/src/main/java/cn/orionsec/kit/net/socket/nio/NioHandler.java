@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.socket.nio;
+
+/**
+ * NIO 连接事件处理器
+ * <p>
+ * 所有回调都在连接所属的 selector 线程中执行, 不能阻塞, 耗时操作需要提交到其他线程池
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:30
+ */
+@FunctionalInterface
+public interface NioHandler {
+
+    /**
+     * 连接建立
+     *
+     * @param connection 连接
+     */
+    default void onOpen(NioConnection connection) {
+    }
+
+    /**
+     * 收到一个完整的帧
+     *
+     * @param connection 连接
+     * @param message    帧数据
+     */
+    void onMessage(NioConnection connection, byte[] message);
+
+    /**
+     * 连接关闭
+     *
+     * @param connection 连接
+     */
+    default void onClose(NioConnection connection) {
+    }
+
+    /**
+     * 连接异常 回调后连接会被关闭
+     *
+     * @param connection 连接
+     * @param e          异常
+     */
+    default void onError(NioConnection connection, Throwable e) {
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.socket.nio;
+
+import cn.orionsec.kit.lang.able.SafeCloseable;
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.define.thread.ExecutorBuilder;
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.io.Streams;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * NIO TCP Client
+ * <p>
+ * 多个连接共享 {@link #workers(int)} 个 selector 线程, 分帧方式与 {@link NioTcpServer} 相同
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:30
+ */
+public class NioTcpClient implements SafeCloseable {
+
+    private final NioHandler handler;
+
+    private int workerSize;
+
+    private int highWaterMark;
+
+    private int maxFrameLength;
+
+    private boolean closeOnOverflow;
+
+    private int connectTimeout;
+
+    private NioBufferPool bufferPool;
+
+    private NioWorker[] workers;
+
+    private ExecutorService executor;
+
+    private final AtomicInteger next;
+
+    private volatile boolean running;
+
+    public NioTcpClient(NioHandler handler) {
+        Assert.notNull(handler, "handler is null");
+        this.handler = handler;
+        this.workerSize = 1;
+        this.highWaterMark = NioWorker.DEFAULT_HIGH_WATER_MARK;
+        this.maxFrameLength = NioWorker.DEFAULT_MAX_FRAME_LENGTH;
+        this.connectTimeout = Const.MS_S_10;
+        this.bufferPool = new NioBufferPool();
+        this.next = new AtomicInteger();
+    }
+
+    public NioTcpClient workers(int workerSize) {
+        Assert.isTrue(workerSize > 0, "worker size must be greater than 0");
+        this.workerSize = workerSize;
+        return this;
+    }
+
+    public NioTcpClient highWaterMark(int highWaterMark) {
+        this.highWaterMark = highWaterMark;
+        return this;
+    }
+
+    public NioTcpClient maxFrameLength(int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+        return this;
+    }
+
+    public NioTcpClient closeOnOverflow(boolean closeOnOverflow) {
+        this.closeOnOverflow = closeOnOverflow;
+        return this;
+    }
+
+    public NioTcpClient connectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    public NioTcpClient bufferPool(NioBufferPool bufferPool) {
+        this.bufferPool = Assert.notNull(bufferPool, "buffer pool is null");
+        return this;
+    }
+
+    /**
+     * 启动 selector 线程
+     *
+     * @return this
+     * @throws IOException IOException
+     */
+    public NioTcpClient start() throws IOException {
+        Assert.isTrue(!running, "client is running");
+        this.workers = new NioWorker[workerSize];
+        for (int i = 0; i < workerSize; i++) {
+            workers[i] = new NioWorker(handler, bufferPool, highWaterMark, maxFrameLength, closeOnOverflow);
+        }
+        this.executor = ExecutorBuilder.create()
+                .namedThreadFactory("orion-nio-client-")
+                .corePoolSize(workerSize)
+                .maxPoolSize(workerSize)
+                .workQueue(new LinkedBlockingQueue<>())
+                .build();
+        this.running = true;
+        for (NioWorker worker : workers) {
+            executor.execute(worker);
+        }
+        return this;
+    }
+
+    /**
+     * 建立连接 阻塞至连接建立
+     *
+     * @param host host
+     * @param port port
+     * @return 连接
+     * @throws IOException IOException
+     */
+    public NioConnection connect(String host, int port) throws IOException {
+        Assert.isTrue(running, "client is not running");
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.socket().connect(new InetSocketAddress(host, port), connectTimeout);
+            return workers[Math.abs(next.getAndIncrement() % workers.length)].register(channel);
+        } catch (IOException e) {
+            Streams.close(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * 关闭所有连接
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        this.running = false;
+        for (NioWorker worker : workers) {
+            worker.shutdown();
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * @return 连接数
+     */
+    public int getConnectionSize() {
+        int size = 0;
+        for (NioWorker worker : workers) {
+            size += worker.getConnections().size();
+        }
+        return size;
+    }
+
+    public NioBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+}
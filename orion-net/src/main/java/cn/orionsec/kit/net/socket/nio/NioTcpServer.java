@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.socket.nio;
+
+import cn.orionsec.kit.lang.able.SafeCloseable;
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.define.thread.ExecutorBuilder;
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Threads;
+import cn.orionsec.kit.lang.utils.io.Streams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * NIO TCP Server
+ * <p>
+ * 一个 accept 线程和 {@link #workers(int)} 个 selector 线程, 连接轮询分配到 selector 线程
+ * 数据按 4 字节长度头分帧, 发送的帧放入连接的写队列由 selector 线程写出
+ * 广播时只编码一次, 所有连接共享同一个缓冲区, 写队列已满的慢连接会被跳过或关闭, 不会阻塞广播
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:30
+ */
+public class NioTcpServer implements SafeCloseable {
+
+    /**
+     * LOG
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(NioTcpServer.class);
+
+    private static final int DEFAULT_BACKLOG = 1024;
+
+    /**
+     * accept 失败后的等待时间 ms 防止文件描述符耗尽时空转
+     */
+    private static final int ACCEPT_ERROR_BACKOFF = 100;
+
+    private final int port;
+
+    private final NioHandler handler;
+
+    /**
+     * selector 线程数
+     */
+    private int workerSize;
+
+    /**
+     * 每个连接写队列的最大字节数
+     */
+    private int highWaterMark;
+
+    /**
+     * 最大帧长度
+     */
+    private int maxFrameLength;
+
+    /**
+     * 写队列已满时是否关闭连接
+     */
+    private boolean closeOnOverflow;
+
+    private int backlog;
+
+    private NioBufferPool bufferPool;
+
+    private ServerSocketChannel serverChannel;
+
+    private Selector acceptSelector;
+
+    private NioWorker[] workers;
+
+    private ExecutorService executor;
+
+    private volatile boolean running;
+
+    public NioTcpServer(int port, NioHandler handler) {
+        Assert.notNull(handler, "handler is null");
+        this.port = port;
+        this.handler = handler;
+        this.workerSize = Math.min(Runtime.getRuntime().availableProcessors(), Const.N_4);
+        this.highWaterMark = NioWorker.DEFAULT_HIGH_WATER_MARK;
+        this.maxFrameLength = NioWorker.DEFAULT_MAX_FRAME_LENGTH;
+        this.backlog = DEFAULT_BACKLOG;
+        this.bufferPool = new NioBufferPool();
+    }
+
+    /**
+     * selector 线程数
+     *
+     * @param workerSize 线程数
+     * @return this
+     */
+    public NioTcpServer workers(int workerSize) {
+        Assert.isTrue(workerSize > 0, "worker size must be greater than 0");
+        this.workerSize = workerSize;
+        return this;
+    }
+
+    /**
+     * 每个连接写队列的最大字节数 超过后拒绝发送
+     *
+     * @param highWaterMark 字节数
+     * @return this
+     */
+    public NioTcpServer highWaterMark(int highWaterMark) {
+        this.highWaterMark = highWaterMark;
+        return this;
+    }
+
+    /**
+     * 最大帧长度 超过后关闭连接
+     *
+     * @param maxFrameLength 字节数
+     * @return this
+     */
+    public NioTcpServer maxFrameLength(int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+        return this;
+    }
+
+    /**
+     * 写队列已满时是否关闭连接 默认只丢弃当前帧
+     *
+     * @param closeOnOverflow 是否关闭
+     * @return this
+     */
+    public NioTcpServer closeOnOverflow(boolean closeOnOverflow) {
+        this.closeOnOverflow = closeOnOverflow;
+        return this;
+    }
+
+    public NioTcpServer backlog(int backlog) {
+        this.backlog = backlog;
+        return this;
+    }
+
+    public NioTcpServer bufferPool(NioBufferPool bufferPool) {
+        this.bufferPool = Assert.notNull(bufferPool, "buffer pool is null");
+        return this;
+    }
+
+    /**
+     * 启动
+     *
+     * @return this
+     * @throws IOException IOException
+     */
+    public NioTcpServer start() throws IOException {
+        Assert.isTrue(!running, "server is running");
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(new InetSocketAddress(port), backlog);
+        serverChannel.configureBlocking(false);
+        this.acceptSelector = Selector.open();
+        serverChannel.register(acceptSelector, SelectionKey.OP_ACCEPT);
+        this.workers = new NioWorker[workerSize];
+        for (int i = 0; i < workerSize; i++) {
+            workers[i] = new NioWorker(handler, bufferPool, highWaterMark, maxFrameLength, closeOnOverflow);
+        }
+        this.executor = ExecutorBuilder.create()
+                .namedThreadFactory("orion-nio-server-")
+                .corePoolSize(workerSize + 1)
+                .maxPoolSize(workerSize + 1)
+                .workQueue(new LinkedBlockingQueue<>())
+                .build();
+        this.running = true;
+        for (NioWorker worker : workers) {
+            executor.execute(worker);
+        }
+        executor.execute(this::acceptLoop);
+        return this;
+    }
+
+    /**
+     * 广播 只编码一次 写队列已满的连接会被跳过
+     *
+     * @param bs 数据
+     * @return 放入写队列的连接数
+     */
+    public int broadcast(byte[] bs) {
+        return this.broadcast(bs, 0, bs.length);
+    }
+
+    /**
+     * 广播 只编码一次 写队列已满的连接会被跳过
+     *
+     * @param bs  数据
+     * @param off 偏移量
+     * @param len 长度
+     * @return 放入写队列的连接数
+     */
+    public int broadcast(byte[] bs, int off, int len) {
+        NioFrame frame = NioFrame.encode(bufferPool, bs, off, len);
+        int count = 0;
+        try {
+            for (NioWorker worker : workers) {
+                for (NioConnection connection : worker.getConnections()) {
+                    if (connection.send(frame)) {
+                        count++;
+                    }
+                }
+            }
+        } finally {
+            frame.release();
+        }
+        return count;
+    }
+
+    /**
+     * @return 所有连接
+     */
+    public List<NioConnection> getConnections() {
+        List<NioConnection> list = new ArrayList<>();
+        for (NioWorker worker : workers) {
+            list.addAll(worker.getConnections());
+        }
+        return list;
+    }
+
+    /**
+     * @return 连接数
+     */
+    public int getConnectionSize() {
+        int size = 0;
+        for (NioWorker worker : workers) {
+            size += worker.getConnections().size();
+        }
+        return size;
+    }
+
+    /**
+     * 关闭 server 和所有连接
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        this.running = false;
+        acceptSelector.wakeup();
+        for (NioWorker worker : workers) {
+            worker.shutdown();
+        }
+        executor.shutdown();
+    }
+
+    private void acceptLoop() {
+        int next = 0;
+        try {
+            while (running) {
+                try {
+                    acceptSelector.select();
+                    acceptSelector.selectedKeys().clear();
+                    SocketChannel channel;
+                    while (running && (channel = serverChannel.accept()) != null) {
+                        NioWorker worker = workers[next];
+                        next = (next + 1) % workers.length;
+                        try {
+                            worker.register(channel);
+                        } catch (IOException e) {
+                            LOGGER.error("NioTcpServer register error", e);
+                            Streams.close(channel);
+                        }
+                    }
+                } catch (ClosedChannelException e) {
+                    throw e;
+                } catch (IOException e) {
+                    // 文件描述符耗尽等可恢复的异常 等待连接释放后继续
+                    LOGGER.error("NioTcpServer accept error", e);
+                    Threads.sleep(ACCEPT_ERROR_BACKOFF);
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("NioTcpServer accept loop error", e);
+        } finally {
+            // 异常退出时关闭 server 使 isRunning 返回 false
+            if (running) {
+                this.close();
+            }
+            Streams.close(acceptSelector);
+            Streams.close(serverChannel);
+        }
+    }
+
+    /**
+     * @return 监听端口 端口为 0 时返回实际绑定的端口
+     */
+    public int getPort() {
+        if (serverChannel != null && serverChannel.socket().isBound()) {
+            return serverChannel.socket().getLocalPort();
+        }
+        return port;
+    }
+
+    public NioBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+}
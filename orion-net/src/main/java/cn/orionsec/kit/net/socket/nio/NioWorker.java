@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.socket.nio;
+
+import cn.orionsec.kit.lang.constant.Const;
+import cn.orionsec.kit.lang.utils.io.Streams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * selector 线程 负责一组连接的读写
+ * <p>
+ * 其他线程通过任务队列和写队列提交操作, 所有 channel 操作都在本线程中执行
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:30
+ */
+class NioWorker implements Runnable {
+
+    /**
+     * LOG
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(NioWorker.class);
+
+    /**
+     * 默认每个连接写队列的最大字节数 1MB
+     */
+    static final int DEFAULT_HIGH_WATER_MARK = Const.BUFFER_KB_1 * Const.BUFFER_KB_1;
+
+    /**
+     * 默认最大帧长度 1MB
+     */
+    static final int DEFAULT_MAX_FRAME_LENGTH = DEFAULT_HIGH_WATER_MARK;
+
+    /**
+     * 单次聚合写出的最大帧数
+     */
+    private static final int GATHER_SIZE = 64;
+
+    /**
+     * 读缓冲区大小
+     */
+    private static final int READ_BUFFER_SIZE = Const.BUFFER_KB_64;
+
+    private final Selector selector;
+
+    private final NioHandler handler;
+
+    private final NioBufferPool bufferPool;
+
+    private final int highWaterMark;
+
+    private final int maxFrameLength;
+
+    private final boolean closeOnOverflow;
+
+    /**
+     * 任务队列
+     */
+    private final Queue<Runnable> tasks;
+
+    /**
+     * 待写出的连接
+     */
+    private final Queue<NioConnection> writes;
+
+    /**
+     * 管理的连接
+     */
+    private final Set<NioConnection> connections;
+
+    /**
+     * 是否已唤醒 selector
+     */
+    private final AtomicBoolean wakenUp;
+
+    private final ByteBuffer[] gatherBuffers;
+
+    private volatile boolean running;
+
+    private volatile Thread thread;
+
+    NioWorker(NioHandler handler, NioBufferPool bufferPool, int highWaterMark, int maxFrameLength, boolean closeOnOverflow) throws IOException {
+        this.selector = Selector.open();
+        this.handler = handler;
+        this.bufferPool = bufferPool;
+        this.highWaterMark = highWaterMark;
+        this.maxFrameLength = maxFrameLength;
+        this.closeOnOverflow = closeOnOverflow;
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.writes = new ConcurrentLinkedQueue<>();
+        this.connections = ConcurrentHashMap.newKeySet();
+        this.wakenUp = new AtomicBoolean();
+        this.gatherBuffers = new ByteBuffer[GATHER_SIZE];
+        this.running = true;
+    }
+
+    @Override
+    public void run() {
+        this.thread = Thread.currentThread();
+        ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        try {
+            while (running) {
+                try {
+                    wakenUp.set(false);
+                    if (tasks.isEmpty() && writes.isEmpty()) {
+                        selector.select();
+                    } else {
+                        selector.selectNow();
+                    }
+                    this.runTasks();
+                    this.processWrites();
+                    this.processKeys(readBuffer);
+                } catch (Throwable e) {
+                    LOGGER.error("NioWorker select error", e);
+                }
+            }
+        } finally {
+            this.runTasks();
+            for (NioConnection connection : new ArrayList<>(connections)) {
+                connection.doClose(null);
+            }
+            Streams.close(selector);
+        }
+    }
+
+    /**
+     * 注册连接
+     *
+     * @param channel channel
+     * @return 连接
+     */
+    NioConnection register(SocketChannel channel) throws IOException {
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        NioConnection connection = new NioConnection(channel, this);
+        connections.add(connection);
+        this.execute(() -> {
+            try {
+                connection.register();
+            } catch (Exception e) {
+                connection.doClose(e);
+            }
+        });
+        return connection;
+    }
+
+    /**
+     * 在 selector 线程中执行任务
+     *
+     * @param task task
+     */
+    void execute(Runnable task) {
+        if (Thread.currentThread() == thread) {
+            task.run();
+            return;
+        }
+        tasks.offer(task);
+        this.wakeup();
+    }
+
+    /**
+     * 提交连接写出
+     *
+     * @param connection 连接
+     */
+    void scheduleWrite(NioConnection connection) {
+        if (Thread.currentThread() == thread) {
+            this.flush(connection);
+            return;
+        }
+        writes.offer(connection);
+        this.wakeup();
+    }
+
+    void removeConnection(NioConnection connection) {
+        connections.remove(connection);
+    }
+
+    /**
+     * 停止 连接在 selector 线程退出时关闭
+     */
+    void shutdown() {
+        this.running = false;
+        selector.wakeup();
+    }
+
+    private void wakeup() {
+        if (wakenUp.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                LOGGER.error("NioWorker run task error", e);
+            }
+        }
+    }
+
+    private void processWrites() {
+        NioConnection connection;
+        while ((connection = writes.poll()) != null) {
+            this.flush(connection);
+        }
+    }
+
+    private void processKeys(ByteBuffer readBuffer) {
+        Set<SelectionKey> keys = selector.selectedKeys();
+        if (keys.isEmpty()) {
+            return;
+        }
+        Iterator<SelectionKey> iterator = keys.iterator();
+        while (iterator.hasNext()) {
+            SelectionKey key = iterator.next();
+            iterator.remove();
+            NioConnection connection = (NioConnection) key.attachment();
+            try {
+                if (key.isValid() && key.isReadable()) {
+                    connection.read(readBuffer);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    connection.flush();
+                }
+            } catch (Exception e) {
+                connection.doClose(e);
+            }
+        }
+    }
+
+    private void flush(NioConnection connection) {
+        try {
+            connection.flush();
+        } catch (Exception e) {
+            connection.doClose(e);
+        }
+    }
+
+    Selector getSelector() {
+        return selector;
+    }
+
+    NioHandler getHandler() {
+        return handler;
+    }
+
+    NioBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    int getMaxFrameLength() {
+        return maxFrameLength;
+    }
+
+    boolean isCloseOnOverflow() {
+        return closeOnOverflow;
+    }
+
+    ByteBuffer[] getGatherBuffers() {
+        return gatherBuffers;
+    }
+
+    Set<NioConnection> getConnections() {
+        return connections;
+    }
+
+}
@@ -28,17 +28,30 @@ package cn.orionsec.kit.net.specification.transfer;
 
 import cn.orionsec.kit.lang.support.progress.ByteTransferRateProgress;
 import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.Objects1;
+import cn.orionsec.kit.lang.utils.Threads;
 import cn.orionsec.kit.lang.utils.io.FileLocks;
 import cn.orionsec.kit.lang.utils.io.Files1;
 import cn.orionsec.kit.lang.utils.io.Streams;
 
-import java.io.BufferedOutputStream;
-import java.io.File;
-import java.io.IOException;
-import java.io.OutputStream;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 大文件下载 基类 支持断点续传, 实时速率
+ * <p>
+ * 设置分段数后使用多个连接并行下载文件的不同范围, 并按位置写入本地文件
+ * 每个分段使用一个文件锁记录已下载的位置, 中断后按分段续传
  *
  * @author Jiahang Li
  * @version 1.0.0
@@ -86,14 +99,46 @@ public abstract class BaseFileDownloader implements IFileDownloader {
      */
     protected Long remoteFileLength;
 
+    /**
+     * 分段数 大于 1 时使用多个连接并行下载
+     */
+    protected int segments;
+
+    /**
+     * 分段下载线程池
+     */
+    protected ExecutorService segmentExecutor;
+
+    /**
+     * 是否已中断
+     */
+    protected volatile boolean aborted;
+
+    /**
+     * 最小分段大小
+     */
+    private static final long MIN_SEGMENT_SIZE = 1024 * 1024;
+
+    /**
+     * 分段记录下载位置的间隔
+     */
+    private static final long SEGMENT_CHECKPOINT = 4 * 1024 * 1024;
+
+    /**
+     * 锁后缀
+     */
+    private final String lockSuffix;
+
     public BaseFileDownloader(String remote, File local, String lockSuffix, int bufferSize) {
         Assert.notEmpty(remote, "download remote file is empty");
         Assert.notNull(local, "local file is null");
         this.remote = remote;
         this.local = local;
         this.bufferSize = bufferSize;
+        this.lockSuffix = lockSuffix;
         this.lock = FileLocks.getSuffixFileLock(lockSuffix, local);
         this.progress = new ByteTransferRateProgress(0);
+        this.segments = 1;
     }
 
     @Override
@@ -106,6 +151,21 @@ public abstract class BaseFileDownloader implements IFileDownloader {
         this.fileSizeEqualOverride = fileSizeEqualOverride;
     }
 
+    @Override
+    public void segments(int segments) {
+        Assert.isTrue(segments > 0, "segments must be greater than 0");
+        this.segments = segments;
+    }
+
+    /**
+     * 设置分段下载线程池 默认使用 {@link Threads#CACHE_EXECUTOR}
+     *
+     * @param segmentExecutor 线程池
+     */
+    public void segmentExecutor(ExecutorService segmentExecutor) {
+        this.segmentExecutor = segmentExecutor;
+    }
+
     @Override
     public long getRemoteFileLength() throws IOException {
         if (remoteFileLength != null) {
@@ -127,6 +187,10 @@ public abstract class BaseFileDownloader implements IFileDownloader {
      * @throws IOException IOException
      */
     protected void startDownload() throws IOException {
+        if (segments > 1) {
+            this.startSegmentDownload();
+            return;
+        }
         boolean error = false;
         try {
             // 获取远程文件大小
@@ -141,26 +205,22 @@ public abstract class BaseFileDownloader implements IFileDownloader {
             }
             if (Files1.isFile(local)) {
                 long localSize = local.length();
-                if (localSize == remoteSize) {
-                    // 文件大小一样 检测是否覆盖下载
-                    if (fileSizeEqualOverride) {
-                        // 如果设置文件大小一致覆盖 则重新下载
-                        this.download();
-                    } else {
-                        // 认为是文件相同(大文件节约性能) 则跳过
-                        lock.unLock();
-                        progress.startTime(System.currentTimeMillis());
-                        this.transferFinish();
-                    }
-                } else {
-                    // 文件大小不一样 检测是否断点续传
-                    if (lock.isLocked()) {
-                        // 被锁定 继续下载
+                if (lock.isLocked()) {
+                    // 被锁定 检测是否断点续传
+                    if (localSize < remoteSize) {
+                        // 继续下载
                         this.breakPointResume(localSize);
                     } else {
-                        // 没被锁定 重新下载
+                        // 分段下载预分配了文件大小 大小一样也不能认为已下载完成 重新下载
                         this.download();
                     }
+                } else if (localSize == remoteSize && !fileSizeEqualOverride) {
+                    // 认为是文件相同(大文件节约性能) 则跳过
+                    progress.startTime(System.currentTimeMillis());
+                    this.transferFinish();
+                } else {
+                    // 文件大小不一样或设置文件大小一致覆盖 重新下载
+                    this.download();
                 }
             } else {
                 // 直接下载
@@ -227,6 +287,293 @@ public abstract class BaseFileDownloader implements IFileDownloader {
         }
     }
 
+    /**
+     * 开始分段下载
+     *
+     * @throws IOException IOException
+     */
+    protected void startSegmentDownload() throws IOException {
+        // 上一次下载失败或中断后可以重新下载
+        this.aborted = false;
+        boolean error = false;
+        try {
+            // 获取远程文件大小
+            long remoteSize = this.getRemoteFileLength();
+            // 设置进度条终点
+            progress.setEnd(remoteSize);
+            List<Segment> list = null;
+            if (!forceOverride && Files1.isFile(local)) {
+                long localSize = local.length();
+                if (lock.isLocked()) {
+                    // 被锁定 读取分段继续下载
+                    list = this.loadSegments(remoteSize);
+                    if (list == null && localSize < remoteSize) {
+                        // 非分段下载中断 从已下载的位置开始分段
+                        list = this.createSegments(localSize, remoteSize);
+                    }
+                    // 分段记录无效时从头下载 预分配的文件大小与远程文件相同, 不能认为已下载完成
+                } else if (localSize == remoteSize && !fileSizeEqualOverride) {
+                    // 认为是文件相同 则跳过
+                    progress.startTime(System.currentTimeMillis());
+                    this.transferFinish();
+                    return;
+                }
+            }
+            if (list == null) {
+                list = this.createSegments(0, remoteSize);
+            }
+            this.downloadSegments(list, remoteSize);
+        } catch (Exception e) {
+            error = true;
+            throw e;
+        } finally {
+            progress.finish(error);
+        }
+    }
+
+    /**
+     * 并行下载分段
+     *
+     * @param list       分段
+     * @param remoteSize 远程文件大小
+     * @throws IOException IOException
+     */
+    protected void downloadSegments(List<Segment> list, long remoteSize) throws IOException {
+        long downloaded = remoteSize;
+        for (Segment segment : list) {
+            downloaded -= segment.end - segment.position;
+        }
+        progress.setStart(downloaded);
+        progress.setCurrent(downloaded);
+        progress.start();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(local.toPath(), StandardOpenOption.WRITE);
+            ExecutorService executor = Objects1.def(segmentExecutor, Threads.CACHE_EXECUTOR);
+            // 分段作为任务队列 由有限的连接依次领取, 分段数多于可用连接数时不会等待借出连接超时
+            int workers = Math.max(1, Math.min(list.size(), this.getSegmentConnectionLimit()));
+            AtomicInteger next = new AtomicInteger();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                FileChannel target = channel;
+                futures.add(CompletableFuture.runAsync(() -> {
+                    ISegmentConnection connection = null;
+                    try {
+                        int i;
+                        while (!aborted && (i = next.getAndIncrement()) < list.size()) {
+                            connection = this.downloadSegment(list.get(i), target, remoteSize, connection);
+                        }
+                    } catch (Throwable e) {
+                        // 其他分段停止下载
+                        this.aborted = true;
+                        error.compareAndSet(null, e);
+                    } finally {
+                        Streams.close(connection);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            Throwable e = error.get();
+            if (e != null) {
+                throw e instanceof IOException ? (IOException) e : Exceptions.io("segment download error", e);
+            }
+            if (aborted) {
+                throw Exceptions.io("segment download aborted");
+            }
+            lock.unLock();
+        } catch (CompletionException e) {
+            throw Exceptions.io("segment download error", e.getCause());
+        } finally {
+            for (Segment segment : list) {
+                Streams.close(segment.state);
+            }
+            Streams.close(channel);
+            this.transferFinish();
+        }
+    }
+
+    /**
+     * 下载一个分段
+     *
+     * @param segment    分段
+     * @param channel    本地文件
+     * @param remoteSize 远程文件大小
+     * @param connection 上一个分段使用的连接 可以为 null
+     * @return 可以继续使用的连接 不可复用时为 null
+     * @throws IOException IOException
+     */
+    protected ISegmentConnection downloadSegment(Segment segment, FileChannel channel, long remoteSize, ISegmentConnection connection) throws IOException {
+        if (segment.position < segment.end) {
+            if (connection == null) {
+                connection = this.openSegmentConnection();
+            }
+            boolean reusable = false;
+            try {
+                InputStream in = connection.openInputStream(segment.position);
+                boolean eof = false;
+                try {
+                    byte[] bs = new byte[bufferSize];
+                    ByteBuffer buffer = ByteBuffer.wrap(bs);
+                    long checkpoint = segment.position;
+                    while (segment.position < segment.end) {
+                        if (aborted) {
+                            throw Exceptions.io("segment download aborted");
+                        }
+                        int read = in.read(bs, 0, (int) Math.min(bs.length, segment.end - segment.position));
+                        if (read == -1) {
+                            throw new EOFException("unexpected end of remote file at " + segment.position);
+                        }
+                        buffer.clear();
+                        buffer.limit(read);
+                        long position = segment.position;
+                        while (buffer.hasRemaining()) {
+                            position += channel.write(buffer, position);
+                        }
+                        segment.position = position;
+                        progress.accept(read);
+                        if (position - checkpoint >= SEGMENT_CHECKPOINT) {
+                            segment.save();
+                            checkpoint = position;
+                        }
+                    }
+                    // 最后一个分段读取到文件末尾
+                    eof = segment.end == remoteSize && in.read() == -1;
+                } finally {
+                    connection.closeInputStream(in, eof);
+                }
+                reusable = connection.isReusable();
+            } finally {
+                if (!reusable) {
+                    Streams.close(connection);
+                    connection = null;
+                }
+            }
+        }
+        Streams.close(segment.state);
+        segment.lock.unLock();
+        return connection;
+    }
+
+    /**
+     * 创建分段 并记录到文件锁
+     *
+     * @param from       开始位置
+     * @param remoteSize 远程文件大小
+     * @return 分段
+     * @throws IOException IOException
+     */
+    protected List<Segment> createSegments(long from, long remoteSize) throws IOException {
+        // 清除之前的分段
+        int previous = this.readSegmentCount();
+        for (int i = 0; i < previous; i++) {
+            this.getSegmentLock(i).unLock();
+        }
+        Files1.touch(local);
+        lock.tryLock();
+        long size = remoteSize - from;
+        int count = (int) Math.max(1, Math.min(segments, (size + MIN_SEGMENT_SIZE - 1) / MIN_SEGMENT_SIZE));
+        long length = size / count;
+        List<Segment> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long start = from + length * i;
+            long end = i == count - 1 ? remoteSize : start + length;
+            FileLocks.NamedFileLock segmentLock = this.getSegmentLock(i);
+            segmentLock.tryLock();
+            Segment segment = new Segment(segmentLock, start, end);
+            segment.save();
+            list.add(segment);
+        }
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(lock.getLockFile()))) {
+            out.writeInt(count);
+        }
+        // 分段记录完成后再设置文件大小 防止中断后被认为是相同的文件
+        try (RandomAccessFile file = new RandomAccessFile(local, "rw")) {
+            file.setLength(remoteSize);
+        }
+        return list;
+    }
+
+    /**
+     * 读取未完成的分段
+     *
+     * @param remoteSize 远程文件大小
+     * @return 分段 没有分段记录或记录无效返回 null
+     * @throws IOException IOException
+     */
+    protected List<Segment> loadSegments(long remoteSize) throws IOException {
+        int count = this.readSegmentCount();
+        if (count <= 0 || local.length() != remoteSize) {
+            return null;
+        }
+        List<Segment> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            FileLocks.NamedFileLock segmentLock = this.getSegmentLock(i);
+            // 没有锁定说明分段已完成
+            if (!segmentLock.isLocked()) {
+                continue;
+            }
+            long position;
+            long end;
+            try (DataInputStream in = new DataInputStream(new FileInputStream(segmentLock.getLockFile()))) {
+                position = in.readLong();
+                end = in.readLong();
+            } catch (EOFException e) {
+                return null;
+            }
+            if (position < 0 || position > end || end > remoteSize) {
+                return null;
+            }
+            list.add(new Segment(segmentLock, position, end));
+        }
+        return list;
+    }
+
+    /**
+     * 读取分段数
+     *
+     * @return 分段数 没有记录返回 0
+     * @throws IOException IOException
+     */
+    private int readSegmentCount() throws IOException {
+        File lockFile = lock.getLockFile();
+        if (!lockFile.isFile() || lockFile.length() < 4) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(lockFile))) {
+            return in.readInt();
+        }
+    }
+
+    /**
+     * 获取分段锁
+     *
+     * @param index 分段索引
+     * @return 文件锁
+     */
+    private FileLocks.NamedFileLock getSegmentLock(int index) {
+        return FileLocks.getSuffixFileLock(lockSuffix + "." + index, local);
+    }
+
+    /**
+     * 分段下载的最大连接数 分段数大于连接数时每个连接依次下载多个分段
+     *
+     * @return 最大连接数
+     */
+    protected int getSegmentConnectionLimit() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * 打开分段下载连接 连接不可复用时会重新打开
+     *
+     * @return 连接
+     * @throws IOException IOException
+     */
+    protected ISegmentConnection openSegmentConnection() throws IOException {
+        throw Exceptions.unsupported("segment download is not supported");
+    }
+
     /**
      * 获取远程文件大小
      *
@@ -265,4 +612,48 @@ public abstract class BaseFileDownloader implements IFileDownloader {
         return progress;
     }
 
-}
\ No newline at end of file
+    /**
+     * 下载分段
+     */
+    protected static class Segment {
+
+        /**
+         * 分段锁 锁文件记录下载位置和结束位置
+         */
+        private final FileLocks.NamedFileLock lock;
+
+        /**
+         * 下一个下载的位置
+         */
+        private volatile long position;
+
+        /**
+         * 结束位置 不包含
+         */
+        private final long end;
+
+        private RandomAccessFile state;
+
+        private Segment(FileLocks.NamedFileLock lock, long position, long end) {
+            this.lock = lock;
+            this.position = position;
+            this.end = end;
+        }
+
+        /**
+         * 记录下载位置
+         *
+         * @throws IOException IOException
+         */
+        private void save() throws IOException {
+            if (state == null) {
+                this.state = new RandomAccessFile(lock.getLockFile(), "rw");
+            }
+            state.seek(0);
+            state.writeLong(position);
+            state.writeLong(end);
+        }
+
+    }
+
+}
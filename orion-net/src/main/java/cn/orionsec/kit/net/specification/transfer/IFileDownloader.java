@@ -51,6 +51,13 @@ public interface IFileDownloader extends IFileTransfer {
      */
     void fileSizeEqualOverride(boolean fileSizeEqualOverride);
 
+    /**
+     * 设置分段数 大于 1 时使用多个连接并行下载文件的不同范围
+     *
+     * @param segments 分段数
+     */
+    void segments(int segments);
+
     /**
      * 获取远程文件大小
      *
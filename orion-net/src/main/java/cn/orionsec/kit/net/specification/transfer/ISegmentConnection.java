@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.specification.transfer;
+
+import cn.orionsec.kit.lang.able.SafeCloseable;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 分段下载连接 并行的分段使用独立的连接读取, 可复用的连接会依次读取多个分段
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 17:50
+ */
+public interface ISegmentConnection extends SafeCloseable {
+
+    /**
+     * 从偏移量开始打开远程文件
+     *
+     * @param offset 偏移量
+     * @return 输入流
+     * @throws IOException IOException
+     */
+    InputStream openInputStream(long offset) throws IOException;
+
+    /**
+     * 关闭输入流
+     *
+     * @param in  输入流
+     * @param eof 是否已读取到文件末尾 未读取到末尾时连接可能不可复用
+     */
+    void closeInputStream(InputStream in, boolean eof);
+
+    /**
+     * 关闭输入流后连接是否可以继续读取下一个分段
+     *
+     * @return 是否可复用
+     */
+    default boolean isReusable() {
+        return true;
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.ftp.clint;
+
+import cn.orionsec.kit.lang.utils.Threads;
+import cn.orionsec.kit.net.ftp.client.Ftps;
+import cn.orionsec.kit.net.ftp.client.config.FtpConfig;
+import cn.orionsec.kit.net.ftp.client.pool.FtpClientFactory;
+import cn.orionsec.kit.net.ftp.client.pool.FtpClientPool;
+import cn.orionsec.kit.net.ftp.server.FtpServerConfig;
+import cn.orionsec.kit.net.ftp.server.FtpServerInstance;
+import cn.orionsec.kit.net.ftp.server.FtpUser;
+import org.apache.commons.net.ftp.FTPClient;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 17:40
+ */
+public class FtpPoolServerTests {
+
+    private static final int PORT = 20021;
+
+    private static FtpServerInstance server;
+
+    @BeforeClass
+    public static void start() {
+        File home = new File(System.getProperty("java.io.tmpdir"), "orion-ftp-pool");
+        home.mkdirs();
+        FtpServerConfig serverConfig = new FtpServerConfig();
+        serverConfig.setMaxLogin(50);
+        serverConfig.setMaxThreads(20);
+        server = new FtpServerInstance(PORT)
+                .serverConfig(serverConfig)
+                .addUser(new FtpUser("user", "123", home.getAbsolutePath()))
+                .listener()
+                .start();
+    }
+
+    @AfterClass
+    public static void stop() {
+        server.stop();
+    }
+
+    private static FtpClientPool createPool(int size) {
+        FtpConfig config = new FtpConfig("127.0.0.1", PORT).auth("user", "123");
+        return new FtpClientPool(new FtpClientFactory(config), size);
+    }
+
+    @Test
+    public void lazy() throws InterruptedException {
+        FtpClientPool pool = createPool(4).minIdle(2);
+        System.out.println("before warm up total: " + pool.getTotalSize());
+        Assert.assertEquals(0, pool.getTotalSize());
+        pool.warmUp();
+        System.out.println("after warm up total: " + pool.getTotalSize() + " free: " + pool.getFreeSize());
+        Assert.assertEquals(2, pool.getFreeSize());
+        pool.close();
+        Assert.assertEquals(0, pool.getTotalSize());
+    }
+
+    @Test
+    public void concurrent() throws InterruptedException {
+        FtpClientPool pool = createPool(4).timeout(10000);
+        int threads = 16;
+        int times = 50;
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try {
+                    for (int j = 0; j < times; j++) {
+                        FTPClient client = pool.getClient();
+                        Assert.assertTrue(pool.getTotalSize() <= 4);
+                        pool.returnClient(client);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        System.out.println("borrow: " + pool.getBorrowCount() + " wait: " + pool.getWaitCount()
+                + " create: " + pool.getCreateCount() + " total: " + pool.getTotalSize()
+                + " active: " + pool.getActiveSize() + " free: " + pool.getFreeSize()
+                + " avgWait: " + pool.getAverageBorrowWait(TimeUnit.MICROSECONDS) + "us"
+                + " maxWait: " + pool.getMaxBorrowWait(TimeUnit.MILLISECONDS) + "ms");
+        Assert.assertEquals(threads * times, pool.getBorrowCount());
+        Assert.assertEquals(0, pool.getActiveSize());
+        Assert.assertTrue(pool.getTotalSize() <= 4);
+        pool.close();
+    }
+
+    @Test
+    public void validate() throws InterruptedException {
+        FtpClientPool pool = createPool(2);
+        FTPClient client = pool.getClient();
+        pool.returnClient(client);
+        Ftps.destroy(client);
+        FTPClient next = pool.getClient();
+        System.out.println("replaced: " + (next != client) + " destroy: " + pool.getDestroyCount());
+        Assert.assertNotSame(client, next);
+        Assert.assertTrue(Ftps.isActive(next));
+        pool.returnClient(next);
+        pool.close();
+    }
+
+    @Test
+    public void timeout() throws InterruptedException {
+        FtpClientPool pool = createPool(1).timeout(300);
+        FTPClient client = pool.getClient();
+        long start = System.currentTimeMillis();
+        try {
+            pool.getClient();
+            Assert.fail();
+        } catch (Exception e) {
+            System.out.println(e.getMessage() + " " + (System.currentTimeMillis() - start) + "ms");
+        }
+        new Thread(() -> {
+            Threads.sleep(100);
+            pool.returnClient(client);
+        }).start();
+        Assert.assertSame(client, pool.getClient());
+        pool.close();
+    }
+
+    @Test
+    public void evict() throws InterruptedException {
+        FtpClientPool pool = createPool(4)
+                .minIdle(1)
+                .idleTimeout(200)
+                .validateOnBorrow(false)
+                .keepAliveListener(100);
+        FTPClient[] clients = new FTPClient[4];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = pool.getClient();
+        }
+        for (FTPClient client : clients) {
+            pool.returnClient(client);
+        }
+        System.out.println("before evict free: " + pool.getFreeSize());
+        Threads.sleep(800);
+        System.out.println("after evict free: " + pool.getFreeSize() + " total: " + pool.getTotalSize()
+                + " destroy: " + pool.getDestroyCount());
+        Assert.assertEquals(1, pool.getTotalSize());
+        pool.close();
+    }
+
+}
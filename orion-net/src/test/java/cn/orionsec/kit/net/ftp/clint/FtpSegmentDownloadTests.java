@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.ftp.clint;
+
+import cn.orionsec.kit.lang.utils.Threads;
+import cn.orionsec.kit.lang.utils.io.Files1;
+import cn.orionsec.kit.net.ftp.client.config.FtpConfig;
+import cn.orionsec.kit.net.ftp.client.instance.IFtpInstance;
+import cn.orionsec.kit.net.ftp.client.pool.FtpClientFactory;
+import cn.orionsec.kit.net.ftp.client.pool.FtpClientPool;
+import cn.orionsec.kit.net.ftp.client.transfer.FtpDownloader;
+import cn.orionsec.kit.net.ftp.server.FtpServerConfig;
+import cn.orionsec.kit.net.ftp.server.FtpServerInstance;
+import cn.orionsec.kit.net.ftp.server.FtpUser;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:00
+ */
+public class FtpSegmentDownloadTests {
+
+    private static final int PORT = 20022;
+
+    private static final String REMOTE = "/segment.bin";
+
+    private static File home;
+
+    private static File source;
+
+    private static FtpServerInstance server;
+
+    private static FtpClientPool pool;
+
+    @BeforeClass
+    public static void start() throws IOException {
+        home = new File(System.getProperty("java.io.tmpdir"), "orion-ftp-segment");
+        home.mkdirs();
+        source = new File(home, "segment.bin");
+        Random random = new Random(1);
+        byte[] bs = new byte[1024 * 1024];
+        try (OutputStream out = new FileOutputStream(source)) {
+            for (int i = 0; i < 64; i++) {
+                random.nextBytes(bs);
+                out.write(bs, 0, i == 63 ? 12345 : bs.length);
+            }
+        }
+        FtpServerConfig serverConfig = new FtpServerConfig();
+        serverConfig.setMaxLogin(50);
+        serverConfig.setMaxThreads(20);
+        server = new FtpServerInstance(PORT)
+                .serverConfig(serverConfig)
+                .addUser(new FtpUser("user", "123", home.getAbsolutePath()))
+                .listener()
+                .start();
+        FtpConfig config = new FtpConfig("127.0.0.1", PORT).auth("user", "123");
+        // 连接池容量小于分段数 使用默认借出超时
+        pool = new FtpClientPool(new FtpClientFactory(config), 3);
+    }
+
+    @AfterClass
+    public static void stop() throws InterruptedException {
+        pool.close();
+        server.stop();
+    }
+
+    @Test
+    public void segment() {
+        File local = new File(home, "download/segment.bin");
+        Files1.delete(local);
+        IFtpInstance instance = pool.getInstance();
+        FtpDownloader downloader = new FtpDownloader(instance, REMOTE, local);
+        downloader.segments(8);
+        long start = System.currentTimeMillis();
+        downloader.run();
+        instance.close();
+        System.out.println("segment download: " + (System.currentTimeMillis() - start) + "ms " + local.length());
+        Assert.assertEquals(Files1.md5(source), Files1.md5(local));
+        Assert.assertEquals(0, pool.getActiveSize());
+    }
+
+    @Test
+    public void resume() {
+        File local = new File(home, "download/resume.bin");
+        Files1.delete(local);
+        IFtpInstance instance = pool.getInstance();
+        FtpDownloader downloader = new FtpDownloader(instance, REMOTE, local);
+        downloader.segments(8);
+        Thread aborter = new Thread(() -> {
+            while (downloader.getProgress().getCurrent() < 20 * 1024 * 1024 && !downloader.getProgress().isDone()) {
+                Threads.sleep(1);
+            }
+            downloader.abort();
+        });
+        aborter.start();
+        try {
+            downloader.run();
+            System.out.println("download finished before abort");
+        } catch (Exception e) {
+            System.out.println("aborted at: " + downloader.getProgress().getCurrent() + " " + e.getMessage());
+        }
+        // 同一个下载器中断后可以继续下载
+        downloader.run();
+        instance.close();
+        System.out.println("resume from: " + downloader.getProgress().getStart() + " " + local.length());
+        Assert.assertEquals(Files1.md5(source), Files1.md5(local));
+    }
+
+    @Test
+    public void resumeSingle() {
+        File local = new File(home, "download/resume-single.bin");
+        Files1.delete(local);
+        IFtpInstance instance = pool.getInstance();
+        FtpDownloader downloader = new FtpDownloader(instance, REMOTE, local);
+        downloader.segments(8);
+        Thread aborter = new Thread(() -> {
+            while (downloader.getProgress().getCurrent() < 20 * 1024 * 1024 && !downloader.getProgress().isDone()) {
+                Threads.sleep(1);
+            }
+            downloader.abort();
+        });
+        aborter.start();
+        try {
+            downloader.run();
+            System.out.println("download finished before abort");
+        } catch (Exception e) {
+            System.out.println("aborted at: " + downloader.getProgress().getCurrent() + " " + e.getMessage());
+        }
+        // 分段下载的文件已预分配大小 不分段重试时不能认为已下载完成
+        FtpDownloader single = new FtpDownloader(instance, REMOTE, local);
+        single.run();
+        instance.close();
+        Assert.assertEquals(Files1.md5(source), Files1.md5(local));
+    }
+
+}
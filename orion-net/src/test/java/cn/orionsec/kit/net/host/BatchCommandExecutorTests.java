@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.host;
+
+import cn.orionsec.kit.net.host.pool.SessionPool;
+import cn.orionsec.kit.net.host.ssh.command.BatchCommandExecutor;
+import cn.orionsec.kit.net.host.ssh.command.BatchCommandResult;
+import cn.orionsec.kit.net.host.ssh.command.HostCommandResult;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:20
+ */
+public class BatchCommandExecutorTests {
+
+    private SessionPool pool;
+
+    @Before
+    public void init() {
+        this.pool = new SessionPool()
+                .maxSessions(2)
+                .connectTimeout(3000);
+    }
+
+    @After
+    public void close() {
+        pool.close();
+    }
+
+    @Test
+    public void exec() {
+        BatchCommandExecutor executor = new BatchCommandExecutor(pool)
+                .concurrency(8)
+                .timeout(5000)
+                .lineHandler((h, line) -> System.out.println(h.getHost() + ": " + line));
+        for (int i = 0; i < 20; i++) {
+            executor.addHost("192.168.146.230", "root", "admin123");
+        }
+        BatchCommandResult result = executor.exec("hostname && echo $RANDOM");
+        System.out.println(result);
+        System.out.println(result.getExitCodeCount());
+        Assert.assertTrue(result.isAllSuccess());
+    }
+
+    @Test
+    public void chatty() {
+        AtomicLong lines = new AtomicLong();
+        BatchCommandExecutor executor = new BatchCommandExecutor(pool)
+                .tailLines(3)
+                .lineHandler((h, line) -> lines.incrementAndGet())
+                .addHost("192.168.146.230", "root", "admin123");
+        BatchCommandResult result = executor.exec("seq 1 2000000");
+        HostCommandResult host = result.getResults().get(0);
+        System.out.println(host + " lines: " + host.getLineCount() + " bytes: " + host.getByteCount() + " tail: " + host.getTail());
+        Assert.assertEquals(2000000, lines.get());
+        Assert.assertEquals(3, host.getTail().size());
+    }
+
+    @Test
+    public void timeout() {
+        BatchCommandExecutor executor = new BatchCommandExecutor(pool)
+                .timeout(1000)
+                .addHost("192.168.146.230", "root", "admin123")
+                .addHost("192.168.146.230", "root", "admin123");
+        BatchCommandResult result = executor.exec("sleep 10");
+        System.out.println(result + " stragglers: " + result.getStragglers(1.5));
+        Assert.assertEquals(2, result.getTimeout().size());
+    }
+
+    @Test
+    public void timeoutSingleThread() {
+        // 检测器不占用工作线程 单线程的线程池也能触发超时
+        ExecutorService single = Executors.newFixedThreadPool(1);
+        BatchCommandExecutor executor = new BatchCommandExecutor(pool)
+                .executor(single)
+                .concurrency(1)
+                .timeout(1000)
+                .addHost("192.168.146.230", "root", "admin123");
+        BatchCommandResult result = executor.exec("sleep 10");
+        single.shutdown();
+        System.out.println(result);
+        Assert.assertEquals(1, result.getTimeout().size());
+    }
+
+    @Test
+    public void refused() {
+        BatchCommandExecutor executor = new BatchCommandExecutor(pool).concurrency(4);
+        for (int i = 1; i <= 10; i++) {
+            executor.addHost("127.0.0.1", i, "root", "admin123");
+        }
+        BatchCommandResult result = executor.exec("echo 1");
+        for (HostCommandResult host : result.getResults()) {
+            System.out.println(host);
+        }
+        System.out.println(result);
+        Assert.assertEquals(10, result.getFailed().size());
+        Assert.assertEquals(10, pool.getFailCount());
+        Assert.assertEquals(Long.valueOf(10), result.getExitCodeCount().get(-1));
+    }
+
+}
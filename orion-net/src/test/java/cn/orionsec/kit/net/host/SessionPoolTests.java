@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.host;
+
+import cn.orionsec.kit.net.host.pool.SessionPool;
+import cn.orionsec.kit.net.host.ssh.command.CommandExecutors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:10
+ */
+public class SessionPoolTests {
+
+    private static final String HOST = "192.168.146.230";
+
+    private SessionPool pool;
+
+    @Before
+    public void init() {
+        this.pool = new SessionPool()
+                .maxSessions(2)
+                .maxChannels(5)
+                .idleTimeout(1000)
+                .keepAliveListener(500);
+    }
+
+    @After
+    public void close() {
+        pool.close();
+    }
+
+    @Test
+    public void multiplex() throws InterruptedException {
+        int threads = 20;
+        CountDownLatch latch = new CountDownLatch(threads);
+        Map<Integer, String> results = new ConcurrentHashMap<>();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int index = i;
+            new Thread(() -> {
+                try {
+                    results.put(index, CommandExecutors.getCommandOutputResult(pool, HOST, 22, "root", "admin123", "echo " + index));
+                } catch (Throwable e) {
+                    errors.add(e);
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        System.out.println("borrow: " + pool.getBorrowCount() + " wait: " + pool.getWaitCount()
+                + " create: " + pool.getCreateCount() + " sessions: " + pool.getSessionSize()
+                + " active: " + pool.getActiveChannelSize()
+                + " avgWait: " + pool.getAverageBorrowWait(TimeUnit.MILLISECONDS) + "ms"
+                + " maxWait: " + pool.getMaxBorrowWait(TimeUnit.MILLISECONDS) + "ms");
+        errors.forEach(Throwable::printStackTrace);
+        Assert.assertTrue(errors.isEmpty());
+        for (int i = 0; i < threads; i++) {
+            Assert.assertEquals(String.valueOf(i), results.get(i).trim());
+        }
+        Assert.assertTrue(pool.getCreateCount() <= 2);
+        Assert.assertEquals(0, pool.getActiveChannelSize());
+    }
+
+    @Test
+    public void sftp() {
+        try (SessionStore session = pool.getSession(HOST, 22, "root", "admin123")) {
+            System.out.println(session.getSftpExecutor().isConnected());
+        }
+        Assert.assertEquals(1, pool.getIdleSessionSize());
+    }
+
+    @Test
+    public void evict() throws Exception {
+        CommandExecutors.getCommandOutputResult(pool, HOST, 22, "root", "admin123", "hostname");
+        Assert.assertEquals(1, pool.getSessionSize());
+        Thread.sleep(2000);
+        System.out.println("sessions: " + pool.getSessionSize() + " destroy: " + pool.getDestroyCount());
+        Assert.assertEquals(0, pool.getSessionSize());
+    }
+
+    @Test
+    public void wrongPassword() throws Exception {
+        CommandExecutors.getCommandOutputResult(pool, HOST, 22, "root", "admin123", "hostname");
+        Assert.assertEquals(1, pool.getIdleSessionSize());
+        // 错误的密码不能借出已认证的会话
+        try {
+            pool.getSession(HOST, 22, "root", "wrong");
+            Assert.fail();
+        } catch (Exception e) {
+            System.out.println(e.getClass().getSimpleName() + " " + e.getMessage());
+        }
+        Assert.assertEquals(1, pool.getSessionSize(HOST, 22, "root"));
+    }
+
+    @Test
+    public void fail() {
+        try {
+            pool.connectTimeout(1000).getSession("127.0.0.1", 1, "root", "admin123");
+            Assert.fail();
+        } catch (Exception e) {
+            System.out.println(e.getClass().getSimpleName() + " " + e.getMessage());
+        }
+        System.out.println("fail: " + pool.getFailCount() + " sessions: " + pool.getSessionSize());
+        Assert.assertEquals(1, pool.getFailCount());
+        Assert.assertEquals(0, pool.getSessionSize());
+    }
+
+}
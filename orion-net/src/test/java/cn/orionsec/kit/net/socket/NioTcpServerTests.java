@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.net.socket;
+
+import cn.orionsec.kit.lang.utils.Threads;
+import cn.orionsec.kit.net.socket.nio.NioConnection;
+import cn.orionsec.kit.net.socket.nio.NioTcpClient;
+import cn.orionsec.kit.net.socket.nio.NioTcpServer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 18:30
+ */
+public class NioTcpServerTests {
+
+    @Test
+    public void echo() throws Exception {
+        NioTcpServer server = new NioTcpServer(0, NioConnection::send).workers(2).start();
+        int count = 1000;
+        List<byte[]> received = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(count);
+        NioTcpClient client = new NioTcpClient((c, m) -> {
+            received.add(m);
+            latch.countDown();
+        }).highWaterMark(Integer.MAX_VALUE).start();
+        NioConnection connection = client.connect("127.0.0.1", server.getPort());
+        Random random = new Random(1);
+        byte[][] sent = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            // 包含空帧 小于缓冲区和超过缓冲区的帧
+            int length = i % 100 == 0 ? 0 : i % 10 == 0 ? 100000 : random.nextInt(2000);
+            sent[i] = new byte[length];
+            random.nextBytes(sent[i]);
+            Assert.assertTrue(connection.send(sent[i]));
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            Assert.assertArrayEquals(sent[i], received.get(i));
+        }
+        System.out.println("echo frames: " + received.size() + " pool allocate: " + client.getBufferPool().getAllocateCount());
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void largeFrame() throws Exception {
+        NioTcpServer server = new NioTcpServer(0, NioConnection::send).start();
+        List<byte[]> received = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        NioTcpClient client = new NioTcpClient((c, m) -> {
+            received.add(m);
+            latch.countDown();
+        }).highWaterMark(1024).start();
+        NioConnection connection = client.connect("127.0.0.1", server.getPort());
+        // 空闲连接可以发送大于 highWaterMark 的帧
+        byte[] large = new byte[100000];
+        new Random(1).nextBytes(large);
+        Assert.assertTrue(connection.send(large));
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertArrayEquals(large, received.get(0));
+        System.out.println("large frame dropped: " + connection.getDroppedCount());
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void oversize() throws Exception {
+        NioTcpServer server = new NioTcpServer(0, NioConnection::send).start();
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            socket.setSoTimeout(5000);
+            // 长度头超过默认的最大帧长度 连接被关闭
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeInt(2 * 1024 * 1024);
+            out.write(new byte[1024]);
+            out.flush();
+            Assert.assertEquals(-1, socket.getInputStream().read());
+        }
+        server.close();
+    }
+
+    @Test
+    public void connections() throws Exception {
+        int size = 5000;
+        int messages = 10;
+        AtomicLong received = new AtomicLong();
+        CountDownLatch latch = new CountDownLatch(size * messages);
+        NioTcpServer server = new NioTcpServer(0, (c, m) -> {
+        }).workers(2).start();
+        NioTcpClient client = new NioTcpClient((c, m) -> {
+            received.incrementAndGet();
+            latch.countDown();
+        }).workers(2).start();
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            client.connect("127.0.0.1", server.getPort());
+        }
+        while (server.getConnectionSize() < size) {
+            Threads.sleep(10);
+        }
+        System.out.println("connected: " + server.getConnectionSize() + " " + (System.currentTimeMillis() - start) + "ms");
+        start = System.currentTimeMillis();
+        byte[] message = "hello".getBytes();
+        for (int i = 0; i < messages; i++) {
+            Assert.assertEquals(size, server.broadcast(message));
+        }
+        Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
+        System.out.println("broadcast received: " + received.get() + " " + (System.currentTimeMillis() - start) + "ms"
+                + " threads: " + Thread.activeCount());
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void slow() throws Exception {
+        NioTcpServer server = new NioTcpServer(0, (c, m) -> {
+        }).highWaterMark(256 * 1024).start();
+        AtomicLong received = new AtomicLong();
+        NioTcpClient client = new NioTcpClient((c, m) -> received.incrementAndGet()).start();
+        client.connect("127.0.0.1", server.getPort());
+        // 不读取数据的客户端
+        Socket slow = new Socket("127.0.0.1", server.getPort());
+        while (server.getConnectionSize() < 2) {
+            Threads.sleep(10);
+        }
+        byte[] message = new byte[4000];
+        Arrays.fill(message, (byte) 1);
+        long start = System.nanoTime();
+        int frames = 5000;
+        for (int i = 0; i < frames; i++) {
+            server.broadcast(message);
+            if (i % 100 == 0) {
+                Threads.sleep(1);
+            }
+        }
+        long cost = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Threads.sleep(500);
+        long dropped = 0;
+        for (NioConnection connection : server.getConnections()) {
+            System.out.println(connection + " queued: " + connection.getQueuedBytes() + " dropped: " + connection.getDroppedCount());
+            dropped += connection.getDroppedCount();
+        }
+        System.out.println("broadcast: " + cost + "ms received: " + received.get());
+        Assert.assertTrue(dropped > 0);
+        Assert.assertTrue(received.get() > frames / 4);
+        slow.close();
+        client.close();
+        server.close();
+    }
+
+}
@@ -0,0 +1,850 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.office.csv.core;
+
+import cn.orionsec.kit.lang.able.SafeCloseable;
+import cn.orionsec.kit.lang.constant.Letters;
+import cn.orionsec.kit.lang.utils.Assert;
+import cn.orionsec.kit.lang.utils.Exceptions;
+import cn.orionsec.kit.lang.utils.Objects1;
+import cn.orionsec.kit.lang.utils.Strings;
+import cn.orionsec.kit.lang.utils.io.Files1;
+import cn.orionsec.kit.lang.utils.io.Streams;
+import cn.orionsec.kit.office.csv.option.CsvOption;
+import cn.orionsec.kit.office.csv.option.CsvReaderOption;
+
+import java.io.*;
+import java.text.NumberFormat;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * csv 快速读取类
+ * <p>
+ * 与 {@link CsvReader} 的行列语义一致, 但不逐字符复制到列缓冲区:
+ * 读取到可复用的大缓冲区后按停止字符表扫描分隔符, 每列只记录在缓冲区中的起止位置
+ * 列值通过 {@link #getSlice(int)} 以 {@link CharSequence} 视图访问, 或通过 {@link #getInt(int)} {@link #getLong(int)} {@link #getDouble(int)} 直接解析
+ * 只有调用 {@link #get(int)} 时才会创建字符串
+ * <p>
+ * 列视图和列位置只在读取下一行前有效
+ * 不支持 {@link CsvOption#ESCAPE_MODE_BACKSLASH} 和原始行数据
+ *
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 17:30
+ */
+public class FastCsvReader implements SafeCloseable {
+
+    /**
+     * 默认缓冲区大小
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 最大列数和列长度
+     */
+    private static final int SAFETY_LIMIT = 100000;
+
+    /**
+     * 小数快速解析的 10 的幂
+     */
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * 小数快速解析的最大有效位数 保证尾数可以被 double 精确表示
+     */
+    private static final int MAX_FAST_DIGITS = 15;
+
+    private static final int ROW = 0;
+
+    private static final int NEED_MORE = 1;
+
+    private static final int END = 2;
+
+    private Reader reader;
+
+    private final CsvReaderOption option;
+
+    private final char delimiter;
+
+    private final char qualifier;
+
+    private final boolean useQualifier;
+
+    private final boolean customLineDelimiter;
+
+    private final char lineDelimiter;
+
+    private final boolean trim;
+
+    /**
+     * 停止字符表 分隔符和换行符
+     */
+    private final boolean[] stops;
+
+    private char[] buffer;
+
+    /**
+     * 当前行开始位置
+     */
+    private int position;
+
+    /**
+     * 缓冲区有效数据结束位置
+     */
+    private int limit;
+
+    private boolean eof;
+
+    /**
+     * 上一行以 \r 结束 下一个 \n 需要跳过
+     */
+    private boolean skipLf;
+
+    private int[] starts;
+
+    private int[] ends;
+
+    private boolean[] qualified;
+
+    private boolean[] escaped;
+
+    private ColumnSlice[] slices;
+
+    private int currentColumnCount;
+
+    /**
+     * 当前记录行
+     */
+    private long currentRecord;
+
+    private String[] headers;
+
+    private final Map<String, Integer> headerIndex;
+
+    private boolean closed;
+
+    public FastCsvReader(String file) {
+        this(file, new CsvReaderOption());
+    }
+
+    public FastCsvReader(String file, CsvReaderOption option) {
+        this(Files1.openInputStreamSafe(file), option);
+    }
+
+    public FastCsvReader(File file) {
+        this(file, new CsvReaderOption());
+    }
+
+    public FastCsvReader(File file, CsvReaderOption option) {
+        this(Files1.openInputStreamSafe(file), option);
+    }
+
+    public FastCsvReader(InputStream in) {
+        this(in, new CsvReaderOption());
+    }
+
+    public FastCsvReader(InputStream in, CsvReaderOption option) {
+        this(new InputStreamReader(Assert.notNull(in, "inputStream can not be null"),
+                Objects1.def(option, CsvReaderOption::new).getCharset()), option);
+    }
+
+    public FastCsvReader(Reader reader) {
+        this(reader, new CsvReaderOption());
+    }
+
+    public FastCsvReader(Reader reader, CsvReaderOption option) {
+        this(reader, option, DEFAULT_BUFFER_SIZE);
+    }
+
+    public FastCsvReader(Reader reader, CsvReaderOption option, int bufferSize) {
+        Assert.notNull(reader, "reader can not be null");
+        Assert.isTrue(bufferSize > 0, "buffer size must be greater than 0");
+        this.reader = reader;
+        this.option = Objects1.def(option, CsvReaderOption::new);
+        if (this.option.getEscapeMode() == CsvOption.ESCAPE_MODE_BACKSLASH) {
+            throw Exceptions.unsupported("fast csv reader does not support backslash escape mode");
+        }
+        this.delimiter = this.option.getDelimiter();
+        this.qualifier = this.option.getTextQualifier();
+        this.useQualifier = this.option.isUseTextQualifier();
+        this.customLineDelimiter = this.option.isUseCustomLineDelimiter();
+        this.lineDelimiter = this.option.getLineDelimiter();
+        this.trim = this.option.isTrim();
+        this.stops = new boolean[Character.MAX_VALUE + 1];
+        stops[delimiter] = true;
+        if (customLineDelimiter) {
+            stops[lineDelimiter] = true;
+        } else {
+            stops[Letters.CR] = true;
+            stops[Letters.LF] = true;
+        }
+        this.buffer = new char[bufferSize];
+        this.starts = new int[CsvOption.INITIAL_COLUMN_COUNT];
+        this.ends = new int[CsvOption.INITIAL_COLUMN_COUNT];
+        this.qualified = new boolean[CsvOption.INITIAL_COLUMN_COUNT];
+        this.escaped = new boolean[CsvOption.INITIAL_COLUMN_COUNT];
+        this.slices = new ColumnSlice[CsvOption.INITIAL_COLUMN_COUNT];
+        this.headerIndex = new HashMap<>();
+    }
+
+    /**
+     * 解析
+     *
+     * @param data text
+     * @return FastCsvReader
+     */
+    public static FastCsvReader parse(String data) {
+        return parse(data, new CsvReaderOption());
+    }
+
+    /**
+     * 解析
+     *
+     * @param data   text
+     * @param option option
+     * @return FastCsvReader
+     */
+    public static FastCsvReader parse(String data, CsvReaderOption option) {
+        Assert.notBlank(data, "data is blank");
+        return new FastCsvReader(new StringReader(data), option);
+    }
+
+    /**
+     * 读取一行数据
+     *
+     * @return 是否成功
+     * @throws IOException IOException
+     */
+    public boolean readRow() throws IOException {
+        this.checkClosed();
+        while (true) {
+            int state = this.parseRow();
+            if (state == ROW) {
+                this.unescape();
+                currentRecord++;
+                return true;
+            } else if (state == END) {
+                currentColumnCount = 0;
+                return false;
+            }
+            this.fill();
+        }
+    }
+
+    /**
+     * 跳过一行记录
+     *
+     * @return 是否成功
+     * @throws IOException IOException
+     */
+    public boolean skipRecord() throws IOException {
+        boolean read = this.readRow();
+        if (read) {
+            currentRecord--;
+        }
+        return read;
+    }
+
+    /**
+     * 读取数据的第一条记录作为列标题
+     *
+     * @return 是否成功
+     * @throws IOException IOException
+     */
+    public boolean readHeaders() throws IOException {
+        boolean result = this.readRow();
+        this.setHeaders(this.getRow());
+        if (result) {
+            currentRecord--;
+        }
+        currentColumnCount = 0;
+        return result;
+    }
+
+    /**
+     * 设置标题
+     *
+     * @param headers 标题
+     */
+    public void setHeaders(String[] headers) {
+        this.headers = headers;
+        headerIndex.clear();
+        if (headers != null) {
+            for (int i = 0; i < headers.length; i++) {
+                headerIndex.put(headers[i], i);
+            }
+        }
+    }
+
+    /**
+     * 获取标题
+     *
+     * @return 标题
+     */
+    public String[] getHeaders() {
+        return headers == null ? null : headers.clone();
+    }
+
+    /**
+     * 获取标题列的索引
+     *
+     * @param headerName 标题
+     * @return index 没找到返回-1
+     */
+    public int getHeaderIndex(String headerName) {
+        Integer index = headerIndex.get(headerName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 获取当前行的值 会为每列创建字符串
+     *
+     * @return 当前行的值
+     */
+    public String[] getRow() {
+        String[] row = new String[currentColumnCount];
+        for (int i = 0; i < currentColumnCount; i++) {
+            row[i] = new String(buffer, starts[i], ends[i] - starts[i]);
+        }
+        return row;
+    }
+
+    /**
+     * 获取列的值 会创建字符串
+     *
+     * @param columnIndex 列
+     * @return 值
+     */
+    public String get(int columnIndex) {
+        if (columnIndex > -1 && columnIndex < currentColumnCount) {
+            return new String(buffer, starts[columnIndex], ends[columnIndex] - starts[columnIndex]);
+        } else {
+            return Strings.EMPTY;
+        }
+    }
+
+    /**
+     * 获取标题对应列的值 会创建字符串
+     *
+     * @param headerName 标题
+     * @return 值
+     */
+    public String get(String headerName) {
+        return this.get(this.getHeaderIndex(headerName));
+    }
+
+    /**
+     * 获取列的值视图 不会复制数据
+     * <p>
+     * 视图每列复用, 只在读取下一行前有效, 需要保留时调用 toString
+     *
+     * @param columnIndex 列
+     * @return 值
+     */
+    public CharSequence getSlice(int columnIndex) {
+        if (columnIndex < 0 || columnIndex >= currentColumnCount) {
+            return Strings.EMPTY;
+        }
+        ColumnSlice slice = slices[columnIndex];
+        if (slice == null) {
+            slice = slices[columnIndex] = new ColumnSlice(columnIndex);
+        }
+        return slice;
+    }
+
+    /**
+     * 获取列的值长度
+     *
+     * @param columnIndex 列
+     * @return 长度
+     */
+    public int getLength(int columnIndex) {
+        if (columnIndex > -1 && columnIndex < currentColumnCount) {
+            return ends[columnIndex] - starts[columnIndex];
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * 列的值是否为空
+     *
+     * @param columnIndex 列
+     * @return 是否为空
+     */
+    public boolean isEmpty(int columnIndex) {
+        return this.getLength(columnIndex) == 0;
+    }
+
+    /**
+     * 列是否被文本限定符包围
+     *
+     * @param columnIndex 列
+     * @return qualified
+     */
+    public boolean isQualified(int columnIndex) {
+        if (columnIndex > -1 && columnIndex < currentColumnCount) {
+            return qualified[columnIndex];
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * 将列的值解析为 int
+     *
+     * @param columnIndex 列
+     * @return int
+     */
+    public int getInt(int columnIndex) {
+        long value = this.getLong(columnIndex);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw Exceptions.numberFormat("value out of int range: " + this.get(columnIndex));
+        }
+        return (int) value;
+    }
+
+    /**
+     * 将列的值解析为 long
+     *
+     * @param columnIndex 列
+     * @return long
+     */
+    public long getLong(int columnIndex) {
+        this.checkColumn(columnIndex);
+        char[] buf = buffer;
+        int p = starts[columnIndex];
+        int end = ends[columnIndex];
+        if (p == end) {
+            throw Exceptions.numberFormat("column " + columnIndex + " is empty");
+        }
+        boolean negative = false;
+        long min = -Long.MAX_VALUE;
+        char first = buf[p];
+        if (first == '-' || first == '+') {
+            if (first == '-') {
+                negative = true;
+                min = Long.MIN_VALUE;
+            }
+            if (++p == end) {
+                throw Exceptions.numberFormat("for input: " + this.get(columnIndex));
+            }
+        }
+        // 与 Long.parseLong 相同 按负数累加避免溢出 Long.MIN_VALUE
+        long multiplyMin = min / 10;
+        long result = 0;
+        for (; p < end; p++) {
+            int digit = buf[p] - '0';
+            if (digit < 0 || digit > 9 || result < multiplyMin) {
+                throw Exceptions.numberFormat("for input: " + this.get(columnIndex));
+            }
+            result *= 10;
+            if (result < min + digit) {
+                throw Exceptions.numberFormat("for input: " + this.get(columnIndex));
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 将列的值解析为 double
+     * <p>
+     * 不超过 15 位有效数字的普通小数直接计算, 其他格式使用 {@link Double#parseDouble(String)}
+     *
+     * @param columnIndex 列
+     * @return double
+     */
+    public double getDouble(int columnIndex) {
+        this.checkColumn(columnIndex);
+        char[] buf = buffer;
+        int p = starts[columnIndex];
+        int end = ends[columnIndex];
+        boolean negative = false;
+        if (p < end && (buf[p] == '-' || buf[p] == '+')) {
+            negative = buf[p] == '-';
+            p++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean dot = false;
+        boolean fast = p < end;
+        for (; p < end && fast; p++) {
+            char c = buf[p];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                if (dot) {
+                    scale++;
+                }
+                fast = ++digits <= MAX_FAST_DIGITS;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                fast = false;
+            }
+        }
+        if (fast && digits > 0) {
+            // 尾数和 10 的幂都可以被精确表示 一次除法的结果与 Double.parseDouble 一致
+            double value = (double) mantissa / POW10[scale];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(this.get(columnIndex));
+        } catch (NumberFormatException e) {
+            throw Exceptions.numberFormat("for input: " + this.get(columnIndex));
+        }
+    }
+
+    /**
+     * 获取列数
+     *
+     * @return 列数
+     */
+    public int getCurrentColumnCount() {
+        return currentColumnCount;
+    }
+
+    /**
+     * 获取当前记录索引
+     *
+     * @return 当前记录索引
+     */
+    public long getCurrentIndex() {
+        return currentRecord - 1;
+    }
+
+    public CsvReaderOption getOption() {
+        return option;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            Streams.close(reader);
+            this.reader = null;
+            this.buffer = null;
+            this.slices = null;
+            this.currentColumnCount = 0;
+            this.closed = true;
+        }
+    }
+
+    /**
+     * 从当前行开始解析一行
+     * <p>
+     * 缓冲区数据不足以确定行结束时返回 NEED_MORE, 补充数据后从行开始位置重新解析
+     * 只有空行和注释行会在行结束前提交位置
+     *
+     * @return ROW NEED_MORE END
+     */
+    private int parseRow() {
+        char[] buf = buffer;
+        boolean[] stops = this.stops;
+        int limit = this.limit;
+        boolean eof = this.eof;
+        int p = position;
+        // 跳过 \r\n 的 \n 空行 注释行
+        while (true) {
+            if (p == limit) {
+                return eof ? END : NEED_MORE;
+            }
+            char c = buf[p];
+            if (skipLf) {
+                this.skipLf = false;
+                if (c == Letters.LF) {
+                    this.position = ++p;
+                    continue;
+                }
+            }
+            if (this.isLineEnd(c) && option.isSkipEmptyRows()) {
+                this.skipLf = !customLineDelimiter && c == Letters.CR;
+                this.position = ++p;
+            } else if (option.isUseComments() && c == option.getComment()) {
+                int q = p;
+                while (q < limit && !this.isLineEnd(buf[q])) {
+                    q++;
+                }
+                if (q == limit) {
+                    if (eof) {
+                        this.position = limit;
+                        return END;
+                    }
+                    return NEED_MORE;
+                }
+                this.skipLf = !customLineDelimiter && buf[q] == Letters.CR;
+                this.position = p = q + 1;
+            } else {
+                break;
+            }
+        }
+        int count = 0;
+        while (true) {
+            if (trim) {
+                while (p < limit && (buf[p] == Letters.SPACE || buf[p] == Letters.TAB)) {
+                    p++;
+                }
+            }
+            if (p == limit && !eof) {
+                return NEED_MORE;
+            }
+            int start;
+            int end;
+            boolean quoted = false;
+            boolean escape = false;
+            if (p < limit && useQualifier && buf[p] == qualifier) {
+                quoted = true;
+                start = ++p;
+                while (true) {
+                    while (p < limit && buf[p] != qualifier) {
+                        p++;
+                    }
+                    if (p == limit) {
+                        if (!eof) {
+                            return NEED_MORE;
+                        }
+                        end = limit;
+                        break;
+                    }
+                    if (p + 1 == limit && !eof) {
+                        return NEED_MORE;
+                    }
+                    if (p + 1 < limit && buf[p + 1] == qualifier) {
+                        // 连续两个限定符转义为一个
+                        escape = true;
+                        p += 2;
+                        continue;
+                    }
+                    end = p++;
+                    break;
+                }
+                // 丢弃结束限定符之后到分隔符之间的字符
+                while (p < limit && !stops[buf[p]]) {
+                    p++;
+                }
+            } else {
+                start = p;
+                while (p < limit && !stops[buf[p]]) {
+                    p++;
+                }
+                end = p;
+                if (trim) {
+                    while (end > start && (buf[end - 1] == Letters.SPACE || buf[end - 1] == Letters.TAB)) {
+                        end--;
+                    }
+                }
+            }
+            if (p == limit && !eof) {
+                return NEED_MORE;
+            }
+            this.addColumn(count++, start, end, quoted, escape);
+            if (p == limit) {
+                break;
+            }
+            char c = buf[p++];
+            if (c != delimiter) {
+                this.skipLf = !customLineDelimiter && c == Letters.CR;
+                break;
+            }
+        }
+        this.position = p;
+        this.currentColumnCount = count;
+        return ROW;
+    }
+
+    /**
+     * 记录列位置
+     *
+     * @param index  列
+     * @param start  开始位置
+     * @param end    结束位置
+     * @param quoted 是否被限定符包围
+     * @param escape 是否包含转义的限定符
+     */
+    private void addColumn(int index, int start, int end, boolean quoted, boolean escape) {
+        if (option.isSafetySwitch()) {
+            if (index >= SAFETY_LIMIT) {
+                this.close();
+                throw Exceptions.unsafe("maximum column count of 100,000 exceeded in record "
+                        + NumberFormat.getIntegerInstance().format(currentRecord)
+                        + ". Set the SafetySwitch property to false"
+                        + " if you're expecting more than 100,000 columns per record to"
+                        + " avoid this error.");
+            }
+            if (end - start > SAFETY_LIMIT) {
+                this.close();
+                throw Exceptions.unsafe("maximum column length of 100,000 exceeded in column "
+                        + NumberFormat.getIntegerInstance().format(index)
+                        + " in record "
+                        + NumberFormat.getIntegerInstance().format(currentRecord)
+                        + ". Set the SafetySwitch property to false"
+                        + " if you're expecting column lengths greater than 100,000 characters to"
+                        + " avoid this error.");
+            }
+        }
+        if (index == starts.length) {
+            int newLength = starts.length * 2;
+            int[] startsHolder = new int[newLength];
+            int[] endsHolder = new int[newLength];
+            boolean[] qualifiedHolder = new boolean[newLength];
+            boolean[] escapedHolder = new boolean[newLength];
+            ColumnSlice[] slicesHolder = new ColumnSlice[newLength];
+            System.arraycopy(starts, 0, startsHolder, 0, index);
+            System.arraycopy(ends, 0, endsHolder, 0, index);
+            System.arraycopy(qualified, 0, qualifiedHolder, 0, index);
+            System.arraycopy(escaped, 0, escapedHolder, 0, index);
+            System.arraycopy(slices, 0, slicesHolder, 0, index);
+            this.starts = startsHolder;
+            this.ends = endsHolder;
+            this.qualified = qualifiedHolder;
+            this.escaped = escapedHolder;
+            this.slices = slicesHolder;
+        }
+        starts[index] = start;
+        ends[index] = end;
+        qualified[index] = quoted;
+        escaped[index] = escape;
+    }
+
+    /**
+     * 行解析完成后在缓冲区内原地还原转义的限定符
+     */
+    private void unescape() {
+        char[] buf = buffer;
+        for (int i = 0; i < currentColumnCount; i++) {
+            if (!escaped[i]) {
+                continue;
+            }
+            int write = starts[i];
+            int end = ends[i];
+            for (int read = write; read < end; read++) {
+                char c = buf[read];
+                buf[write++] = c;
+                if (c == qualifier) {
+                    read++;
+                }
+            }
+            ends[i] = write;
+        }
+    }
+
+    /**
+     * 将当前行移动到缓冲区开始位置并读取数据 当前行占满缓冲区时扩容
+     *
+     * @throws IOException IOException
+     */
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            this.limit -= position;
+            this.position = 0;
+        } else if (limit == buffer.length) {
+            char[] holder = new char[buffer.length * 2];
+            System.arraycopy(buffer, 0, holder, 0, limit);
+            this.buffer = holder;
+        }
+        int read;
+        try {
+            read = reader.read(buffer, limit, buffer.length - limit);
+        } catch (IOException e) {
+            this.close();
+            throw e;
+        }
+        if (read == -1) {
+            this.eof = true;
+        } else {
+            this.limit += read;
+        }
+    }
+
+    private boolean isLineEnd(char c) {
+        if (customLineDelimiter) {
+            return c == lineDelimiter;
+        } else {
+            return c == Letters.CR || c == Letters.LF;
+        }
+    }
+
+    private void checkColumn(int columnIndex) {
+        if (columnIndex < 0 || columnIndex >= currentColumnCount) {
+            throw Exceptions.index("column index out of range: " + columnIndex);
+        }
+    }
+
+    /**
+     * 检查是否已关闭
+     */
+    private void checkClosed() {
+        if (closed) {
+            throw Exceptions.ioRuntime("this instance already been closed");
+        }
+    }
+
+    /**
+     * 列值视图 直接读取缓冲区
+     */
+    private class ColumnSlice implements CharSequence {
+
+        private final int index;
+
+        private ColumnSlice(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int length() {
+            return ends[index] - starts[index];
+        }
+
+        @Override
+        public char charAt(int i) {
+            if (i < 0 || i >= this.length()) {
+                throw new StringIndexOutOfBoundsException(i);
+            }
+            return buffer[starts[index] + i];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > this.length() || start > end) {
+                throw new StringIndexOutOfBoundsException("start " + start + ", end " + end + ", length " + this.length());
+            }
+            return new String(buffer, starts[index] + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, starts[index], ends[index] - starts[index]);
+        }
+
+    }
+
+}
@@ -32,6 +32,7 @@ import cn.orionsec.kit.lang.utils.reflect.Annotations;
 import cn.orionsec.kit.lang.utils.reflect.Constructors;
 import cn.orionsec.kit.lang.utils.reflect.Fields;
 import cn.orionsec.kit.lang.utils.reflect.Methods;
+import cn.orionsec.kit.lang.utils.reflect.PropertyIndex;
 import cn.orionsec.kit.office.csv.annotation.ImportField;
 import cn.orionsec.kit.office.csv.annotation.ImportIgnore;
 import cn.orionsec.kit.office.csv.annotation.ImportSetting;
@@ -49,8 +50,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.function.Consumer;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * csv bean 读取器
@@ -193,14 +192,15 @@ public class CsvBeanReader<T> extends BaseCsvReader<T> {
      */
     protected void parseField() {
         // 注解field
+        PropertyIndex index = PropertyIndex.of(targetClass);
         List<Field> fieldList = Fields.getFieldsByCache(targetClass);
         // 注解method
         List<Method> methodList = Methods.getSetterMethodsByCache(targetClass);
-        this.setters = methodList.stream().collect(Collectors.toMap(Fields::getFieldNameByMethod, Function.identity()));
+        this.setters = index.getSetters();
         for (Field field : fieldList) {
             this.parseColumn(Annotations.getAnnotation(field, ImportField.class),
                     Annotations.getAnnotation(field, ImportIgnore.class),
-                    Methods.getGetterMethodByField(targetClass, field), field.getName());
+                    index.getAccessibleGetter(field), field.getName());
         }
         for (Method method : methodList) {
             this.parseColumn(Annotations.getAnnotation(method, ImportField.class),
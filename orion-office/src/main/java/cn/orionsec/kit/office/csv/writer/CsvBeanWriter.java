@@ -34,6 +34,7 @@ import cn.orionsec.kit.lang.utils.collect.Maps;
 import cn.orionsec.kit.lang.utils.reflect.Annotations;
 import cn.orionsec.kit.lang.utils.reflect.Fields;
 import cn.orionsec.kit.lang.utils.reflect.Methods;
+import cn.orionsec.kit.lang.utils.reflect.PropertyIndex;
 import cn.orionsec.kit.office.csv.annotation.ExportField;
 import cn.orionsec.kit.office.csv.annotation.ExportIgnore;
 import cn.orionsec.kit.office.csv.annotation.ExportSetting;
@@ -47,8 +48,6 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.nio.charset.Charset;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * csv bean 导出器
@@ -186,14 +185,15 @@ public class CsvBeanWriter<T> extends BaseCsvWriter<String, T> {
      */
     protected void parseField() {
         // 注解field
+        PropertyIndex index = PropertyIndex.of(targetClass);
         List<Field> fieldList = Fields.getFieldsByCache(targetClass);
         // 注解method
         List<Method> methodList = Methods.getGetterMethodsByCache(targetClass);
-        this.getters = methodList.stream().collect(Collectors.toMap(Fields::getFieldNameByMethod, Function.identity()));
+        this.getters = index.getGetters();
         for (Field field : fieldList) {
             this.parseColumn(Annotations.getAnnotation(field, ExportField.class),
                     Annotations.getAnnotation(field, ExportIgnore.class),
-                    Methods.getGetterMethodByField(targetClass, field), field.getName());
+                    index.getAccessibleGetter(field), field.getName());
         }
         for (Method method : methodList) {
             this.parseColumn(Annotations.getAnnotation(method, ExportField.class),
@@ -35,6 +35,7 @@ import cn.orionsec.kit.lang.utils.reflect.Annotations;
 import cn.orionsec.kit.lang.utils.reflect.Constructors;
 import cn.orionsec.kit.lang.utils.reflect.Fields;
 import cn.orionsec.kit.lang.utils.reflect.Methods;
+import cn.orionsec.kit.lang.utils.reflect.PropertyIndex;
 import cn.orionsec.kit.office.excel.Excels;
 import cn.orionsec.kit.office.excel.annotation.ImportField;
 import cn.orionsec.kit.office.excel.annotation.ImportIgnore;
@@ -259,13 +260,14 @@ public class ExcelBeanReader<T> extends BaseExcelReader<String, T> {
      */
     private void analysisField() {
         // setter cache
+        PropertyIndex index = PropertyIndex.of(targetClass);
         List<Method> setterMethodList = Methods.getSetterMethodsByCache(targetClass);
         // 扫描field
         List<Field> fieldList = Fields.getFieldsByCache(targetClass);
         for (Field field : fieldList) {
             this.analysisColumn(Annotations.getAnnotation(field, ImportField.class),
                     Annotations.getAnnotation(field, ImportIgnore.class),
-                    Methods.getSetterMethodByField(targetClass, field), field.getName());
+                    index.getAccessibleSetter(field), field.getName());
         }
         // 扫描setter
         for (Method method : setterMethodList) {
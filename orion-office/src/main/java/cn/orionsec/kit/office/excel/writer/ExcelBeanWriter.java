@@ -27,8 +27,8 @@
 package cn.orionsec.kit.office.excel.writer;
 
 import cn.orionsec.kit.lang.utils.Assert;
-import cn.orionsec.kit.lang.utils.reflect.Fields;
 import cn.orionsec.kit.lang.utils.reflect.Methods;
+import cn.orionsec.kit.lang.utils.reflect.PropertyIndex;
 import cn.orionsec.kit.office.excel.option.WriteFieldOption;
 import cn.orionsec.kit.office.excel.writer.exporting.ExcelExport;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -36,8 +36,6 @@ import org.apache.poi.ss.usermodel.Workbook;
 
 import java.lang.reflect.Method;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * excel bean 写入器 不支持注解
@@ -60,8 +58,7 @@ public class ExcelBeanWriter<T> extends BaseExcelWriter<String, T> {
     public ExcelBeanWriter(Workbook workbook, Sheet sheet, Class<T> targetClass) {
         super(workbook, sheet);
         this.targetClass = Assert.notNull(targetClass, "target class is null");
-        this.getters = Methods.getGetterMethodsByCache(targetClass).stream()
-                .collect(Collectors.toMap(Fields::getFieldNameByMethod, Function.identity()));
+        this.getters = PropertyIndex.of(targetClass).getGetters();
     }
 
     @Override
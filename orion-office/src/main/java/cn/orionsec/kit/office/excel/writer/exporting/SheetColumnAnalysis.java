@@ -34,6 +34,7 @@ import cn.orionsec.kit.lang.utils.reflect.Annotations;
 import cn.orionsec.kit.lang.utils.reflect.Classes;
 import cn.orionsec.kit.lang.utils.reflect.Fields;
 import cn.orionsec.kit.lang.utils.reflect.Methods;
+import cn.orionsec.kit.lang.utils.reflect.PropertyIndex;
 import cn.orionsec.kit.office.excel.annotation.*;
 import cn.orionsec.kit.office.excel.option.*;
 import cn.orionsec.kit.office.excel.type.ExcelFieldType;
@@ -69,6 +70,7 @@ public class SheetColumnAnalysis<T> implements Analysable {
     @Override
     public void analysis() {
         // 注解field
+        PropertyIndex index = PropertyIndex.of(targetClass);
         List<Field> fieldList = Fields.getFieldsByCache(targetClass);
         // 注解method
         List<Method> methodList = Methods.getGetterMethodsByCache(targetClass);
@@ -79,7 +81,7 @@ public class SheetColumnAnalysis<T> implements Analysable {
                     Annotations.getAnnotation(field, ExportLink.class),
                     Annotations.getAnnotation(field, ExportPicture.class),
                     Annotations.getAnnotation(field, ExportIgnore.class),
-                    Methods.getGetterMethodByField(targetClass, field), field.getName());
+                    index.getAccessibleGetter(field), field.getName());
         }
         for (Method method : methodList) {
             this.analysisColumn(Annotations.getAnnotation(method, ExportField.class),
@@ -397,12 +399,13 @@ public class SheetColumnAnalysis<T> implements Analysable {
      */
     public static Tuple getFieldOptionByFieldName(Class<?> targetClass, String fieldName) {
         // 解析method
-        Field field = Fields.getFieldByCache(targetClass, fieldName);
+        PropertyIndex index = PropertyIndex.of(targetClass);
+        Field field = index.getField(fieldName);
         Method getterMethod;
         if (field == null) {
-            getterMethod = Methods.getGetterMethodByCache(targetClass, fieldName);
+            getterMethod = index.getGetter(fieldName);
         } else {
-            getterMethod = Methods.getGetterMethodByField(targetClass, field);
+            getterMethod = index.getAccessibleGetter(field);
         }
         if (getterMethod == null) {
             throw Exceptions.parse("did not find " + fieldName + " getter method at " + targetClass);
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2019 - present Jiahang Li, All rights reserved.
+ *
+ *   https://kit.orionsec.cn
+ *
+ * Members:
+ *   Jiahang Li - ljh1553488six@139.com - author
+ *
+ * The MIT License (MIT)
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package cn.orionsec.kit.office.csv.reader;
+
+import cn.orionsec.kit.office.csv.core.CsvReader;
+import cn.orionsec.kit.office.csv.core.FastCsvReader;
+import cn.orionsec.kit.office.csv.option.CsvReaderOption;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @author Jiahang Li
+ * @version 1.0.0
+ * @since 2025/10/6 17:30
+ */
+public class FastReadTests {
+
+    private static final char[] LETTERS = {'a', 'b', '1', '2', '.', '-', ' ', ',', '"', '\r', '\n', '#', '中'};
+
+    @Test
+    public void differential() throws IOException {
+        Random random = new Random(1);
+        int rows = 0;
+        for (int i = 0; i < 3000; i++) {
+            String data = randomCsv(random);
+            for (int mode = 0; mode < 4; mode++) {
+                // CsvReader 在文件末尾的注释行以分隔符结尾时会多读出一个空行
+                String text = mode == 2 ? data + "\n" : data;
+                rows += compare(text, option(mode), 1 + random.nextInt(16));
+            }
+        }
+        System.out.println("compared rows: " + rows);
+    }
+
+    @Test
+    public void primitive() throws IOException {
+        FastCsvReader reader = FastCsvReader.parse("id,price,count\n1,12.50,-9223372036854775808\n\"2\",0.1,42\n3,1e3,7");
+        reader.readHeaders();
+        int price = reader.getHeaderIndex("price");
+        while (reader.readRow()) {
+            System.out.println(reader.getInt(0) + " " + reader.getDouble(price) + " " + reader.getLong(2)
+                    + " " + reader.getSlice(1) + " " + reader.isQualified(0));
+        }
+        reader.close();
+        Random random = new Random(2);
+        for (int i = 0; i < 100000; i++) {
+            String s = (random.nextBoolean() ? "-" : "") + random.nextInt(100000) + "." + random.nextInt(1000000);
+            FastCsvReader r = FastCsvReader.parse(s);
+            r.readRow();
+            if (r.getDouble(0) != Double.parseDouble(s)) {
+                throw new AssertionError(s);
+            }
+        }
+    }
+
+    @Test
+    public void benchmark() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500000; i++) {
+            sb.append(i).append(",user-").append(i).append(",\"desc, ").append(i).append("\",")
+                    .append(i * 0.25).append(',').append(System.nanoTime()).append('\n');
+        }
+        String data = sb.toString();
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            CsvReader reader = new CsvReader(new StringReader(data));
+            long sum = 0;
+            while (reader.readRow()) {
+                sum += Long.parseLong(reader.get(0));
+            }
+            reader.close();
+            long csv = System.nanoTime() - start;
+            start = System.nanoTime();
+            FastCsvReader fast = new FastCsvReader(new StringReader(data));
+            long fastSum = 0;
+            while (fast.readRow()) {
+                fastSum += fast.getLong(0);
+            }
+            fast.close();
+            long fastTime = System.nanoTime() - start;
+            System.out.println("chars: " + data.length() + " CsvReader: " + csv / 1000000 + "ms FastCsvReader: "
+                    + fastTime / 1000000 + "ms " + (sum == fastSum));
+        }
+    }
+
+    private static CsvReaderOption option(int mode) {
+        CsvReaderOption option = new CsvReaderOption();
+        option.setSkipRawRow(true);
+        switch (mode) {
+            case 1:
+                option.setSkipEmptyRows(false);
+                break;
+            case 2:
+                option.setUseComments(true);
+                break;
+            case 3:
+                option.setTrim(true);
+                option.setLineDelimiter(';');
+                break;
+            default:
+                break;
+        }
+        return option;
+    }
+
+    private static String randomCsv(Random random) {
+        int length = random.nextInt(60);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(random.nextInt(10) == 0 ? ';' : LETTERS[random.nextInt(LETTERS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String data) {
+        return data.replace("\r", "\\r").replace("\n", "\\n");
+    }
+
+    private static int compare(String data, CsvReaderOption option, int bufferSize) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(data), option);
+        FastCsvReader fast = new FastCsvReader(new StringReader(data), option, bufferSize);
+        int rows = 0;
+        while (true) {
+            boolean read = reader.readRow();
+            boolean fastRead = fast.readRow();
+            if (read != fastRead) {
+                throw new AssertionError("row mismatch: " + escape(data) + " " + read + " " + option.isSkipEmptyRows()
+                        + " " + option.isUseComments() + " " + option.isTrim() + " " + Arrays.toString(fast.getRow()));
+            }
+            if (!read) {
+                break;
+            }
+            rows++;
+            if (!Arrays.equals(reader.getRow(), fast.getRow())) {
+                throw new AssertionError("value mismatch: " + escape(data)
+                        + " " + Arrays.toString(reader.getRow()) + " " + Arrays.toString(fast.getRow()));
+            }
+            int count = fast.getCurrentColumnCount();
+            for (int i = 0; i < count; i++) {
+                // CsvReader 末尾分隔符产生的空列会沿用上一列的限定符标记
+                boolean trailing = i == count - 1 && fast.isEmpty(i);
+                if ((!trailing && reader.isQualified(i) != fast.isQualified(i)) || !reader.get(i).contentEquals(fast.getSlice(i))) {
+                    throw new AssertionError("column mismatch: " + escape(data) + " " + i);
+                }
+            }
+        }
+        reader.close();
+        fast.close();
+        return rows;
+    }
+
+}